@@ -175,11 +175,14 @@ parametricplot[PSTContext pstctx] : cmd=('\\parametricplot*' | '\\parametricplot
 
 psplot[PSTContext pstctx] : cmd=('\\psplot*' | '\\psplot') paramBlock[pstctx]? BRACE_OPEN x0=NUMBER BRACE_CLOSE BRACE_OPEN x1=NUMBER BRACE_CLOSE BRACE_OPEN fct+=text[pstctx]+ BRACE_CLOSE ;
 
-listplot[PSTContext pstctx] : cmd=('\\listplot*' | '\\listplot') paramBlock[pstctx]? BRACE_OPEN LATEXCMD+ BRACE_CLOSE ;
+listplot[PSTContext pstctx] : cmd=('\\listplot*' | '\\listplot') paramBlock[pstctx]? data=plotData ;
 
-dataplot[PSTContext pstctx] : cmd=('\\listplot*' | '\\listplot') paramBlock[pstctx]? BRACE_OPEN LATEXCMD+ BRACE_CLOSE ;
+dataplot[PSTContext pstctx] : cmd=('\\dataplot*' | '\\dataplot') paramBlock[pstctx]? data=plotData ;
 
-fileplot[PSTContext pstctx] : cmd=('\\listplot*' | '\\listplot') paramBlock[pstctx]? BRACE_OPEN LATEXCMD+ BRACE_CLOSE ;
+fileplot[PSTContext pstctx] : cmd=('\\fileplot*' | '\\fileplot') paramBlock[pstctx]? data=plotData ;
+
+// The data of the plot commands: a file name, macros defined by readdata, or numbers.
+plotData : BRACE_OPEN (plotData | ~(BRACE_OPEN | BRACE_CLOSE))* BRACE_CLOSE ;
 
 newpsobject[PSTContext pstctx] : '\\newpsobject' BRACE_OPEN name=IDENT BRACE_CLOSE BRACE_OPEN obj=IDENT BRACE_CLOSE BRACE_OPEN attrs=.*? ~(BRACE_CLOSE) BRACE_CLOSE ;
 
@@ -29,6 +29,7 @@ import javax.imageio.ImageIO;
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 import net.sf.latexdraw.util.LSystem;
 import net.sf.latexdraw.view.jfx.Canvas;
+import net.sf.latexdraw.view.jfx.ViewsUpdater;
 import net.sf.latexdraw.view.pst.PSTCodeGenerator;
 import org.malai.action.ActionImpl;
 
@@ -227,14 +228,25 @@ public class Export extends ActionImpl {
 	 */
 	private BufferedImage createRenderedImage() {
 		final Group views = canvas.getViews();
-		final Bounds bounds = views.getBoundsInParent();
+		final boolean culling = canvas.isViewportCulling();
 		final double scale = 3d;
-		final WritableImage img = new WritableImage((int) (bounds.getWidth() * scale), (int) (bounds.getHeight() * scale));
-		final SnapshotParameters snapshotParameters = new SnapshotParameters();
+		final WritableImage img;
 
-		snapshotParameters.setFill(Color.WHITE);
-		snapshotParameters.setTransform(new Scale(scale, scale));
-		views.snapshot(snapshotParameters, img);
+		// The snapshot must contain the views out of the viewport.
+		canvas.setViewportCulling(false);
+		try {
+			// The pending updates of the views must be done before the snapshot.
+			ViewsUpdater.INSTANCE.updateViews();
+			final Bounds bounds = views.getBoundsInParent();
+			final SnapshotParameters snapshotParameters = new SnapshotParameters();
+			img = new WritableImage((int) (bounds.getWidth() * scale), (int) (bounds.getHeight() * scale));
+
+			snapshotParameters.setFill(Color.WHITE);
+			snapshotParameters.setTransform(new Scale(scale, scale));
+			views.snapshot(snapshotParameters, img);
+		}finally {
+			canvas.setViewportCulling(culling);
+		}
 
 		while(img.isBackgroundLoading()) {
 			LSystem.INSTANCE.sleep(100L);
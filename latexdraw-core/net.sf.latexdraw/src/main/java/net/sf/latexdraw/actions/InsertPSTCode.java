@@ -11,6 +11,7 @@
 package net.sf.latexdraw.actions;
 
 
+import java.nio.file.Path;
 import java.util.Optional;
 import javafx.scene.control.Label;
 import net.sf.latexdraw.badaboom.BadaboomCollector;
@@ -42,11 +43,15 @@ public class InsertPSTCode extends DrawingActionImpl implements Undoable {
 	/** The added shapes. */
 	Optional<IShape> shapes;
 
+	/** The path of the edited document, against which the relative paths of the data files are resolved. */
+	Optional<Path> documentPath;
+
 	public InsertPSTCode() {
 		super();
 		code = Optional.empty();
 		statusBar = Optional.empty();
 		shapes = Optional.empty();
+		documentPath = Optional.empty();
 	}
 
 	@Override
@@ -54,6 +59,7 @@ public class InsertPSTCode extends DrawingActionImpl implements Undoable {
 		code.ifPresent(co -> {
 			try {
 				PSTLatexdrawListener listener = new PSTLatexdrawListener();
+				documentPath.ifPresent(listener::setDocumentPath);
 				final PSTParser parser = new PSTParser(new CommonTokenStream(new PSTLexer(CharStreams.fromString(co))));
 				parser.addParseListener(listener);
 				parser.pstCode(new PSTContext());
@@ -105,6 +111,10 @@ public class InsertPSTCode extends DrawingActionImpl implements Undoable {
 		code = Optional.ofNullable(value);
 	}
 
+	public void setDocumentPath(final Path value) {
+		documentPath = Optional.ofNullable(value);
+	}
+
 	@Override
 	public String getUndoName() {
 		return LangTool.INSTANCE.getBundle().getString("Actions.4");
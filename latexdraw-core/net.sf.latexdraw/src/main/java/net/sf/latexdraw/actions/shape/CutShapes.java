@@ -35,10 +35,8 @@ public class CutShapes extends CopyShapes implements Undoable, Modifying {
 	public void doActionBody() {
 		// Removing the shapes.
 		selection.getDrawing().ifPresent(dr -> {
-			final List<IShape> drawingSh = dr.getShapes();
-
 			copiedShapes = new ArrayList<>(selection.getShapes());
-			positionShapes = selection.getShapes().stream().map(drawingSh::indexOf).collect(Collectors.toList());
+			positionShapes = selection.getShapes().stream().map(dr::indexOf).collect(Collectors.toList());
 
 			deleteShapes();
 			selection.getShapes().clear();
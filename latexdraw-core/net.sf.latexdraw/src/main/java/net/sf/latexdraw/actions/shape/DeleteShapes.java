@@ -11,8 +11,8 @@
 package net.sf.latexdraw.actions.shape;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
 import net.sf.latexdraw.actions.DrawingActionImpl;
 import net.sf.latexdraw.actions.Modifying;
 import net.sf.latexdraw.actions.ShapesAction;
@@ -45,16 +45,43 @@ public class DeleteShapes extends DrawingActionImpl implements ShapesAction, Und
 	@Override
 	protected void doActionBody() {
 		drawing.ifPresent(dr -> {
-			final List<IShape> drawingSh = dr.getShapes();
-			positionShapes = shapes.stream().mapToInt(sh -> {
-				int pos = drawingSh.indexOf(sh);
-				dr.removeShape(sh);
-				return pos;
-			}).boxed().collect(Collectors.toList());
-			dr.setModified(true);
+			positionShapes = toSequentialPositions(shapes.stream().mapToInt(dr::indexOf).toArray(), dr.size());
+			dr.batch(() -> {
+				dr.getShapes().removeAll(new HashSet<>(shapes));
+				dr.setModified(true);
+			});
 		});
 	}
 
+	/**
+	 * Converts the positions of shapes in the drawing into the positions the shapes have when they are removed one after the other.
+	 * @param positions The positions of the shapes in the drawing (-1 for a shape not in the drawing).
+	 * @param drawingSize The number of shapes of the drawing.
+	 * @return The positions of the shapes when removed in the given order.
+	 */
+	static List<Integer> toSequentialPositions(final int[] positions, final int drawingSize) {
+		// A Fenwick tree counts the removed shapes located before each position.
+		final int[] removed = new int[drawingSize + 1];
+		final List<Integer> result = new ArrayList<>(positions.length);
+
+		for(final int pos : positions) {
+			if(pos < 0 || pos >= drawingSize) {
+				result.add(-1);
+			}else {
+				int nbBefore = 0;
+				for(int i = pos; i > 0; i -= i & -i) {
+					nbBefore += removed[i];
+				}
+				result.add(pos - nbBefore);
+				for(int i = pos + 1; i <= drawingSize; i += i & -i) {
+					removed[i]++;
+				}
+			}
+		}
+
+		return result;
+	}
+
 	@Override
 	public boolean canDo() {
 		return drawing.isPresent() && !shapes.isEmpty();
@@ -62,12 +89,12 @@ public class DeleteShapes extends DrawingActionImpl implements ShapesAction, Und
 
 	@Override
 	public void undo() {
-		drawing.ifPresent(dr -> {
+		drawing.ifPresent(dr -> dr.batch(() -> {
 			for(int i = positionShapes.size() - 1; i >= 0; i--) {
 				dr.addShape(shapes.get(i), positionShapes.get(i));
 			}
 			dr.setModified(true);
-		});
+		}));
 	}
 
 	@Override
@@ -52,8 +52,7 @@ public class JoinShapes extends DrawingActionImpl implements ShapesAction, Undoa
 
 	private void joinShapes() {
 		drawing.ifPresent(dr -> {
-			final List<IShape> drawingSh = dr.getShapes();
-			shapes.stream().sorted((s1, s2) -> drawingSh.indexOf(s1) < drawingSh.indexOf(s2) ? -1 : 1).forEach(sh -> {
+			shapes.stream().sorted((s1, s2) -> dr.indexOf(s1) < dr.indexOf(s2) ? -1 : 1).forEach(sh -> {
 				dr.removeShape(sh);
 				addedGroup.addShape(sh);
 			});
@@ -66,8 +65,7 @@ public class JoinShapes extends DrawingActionImpl implements ShapesAction, Undoa
 	@Override
 	public void undo() {
 		drawing.ifPresent(dr -> {
-			final List<IShape> drawingSh = dr.getShapes();
-			final Map<IShape, Integer> map = shapes.stream().collect(Collectors.toMap(sh -> sh, drawingSh::indexOf));
+			final Map<IShape, Integer> map = shapes.stream().collect(Collectors.toMap(sh -> sh, dr::indexOf));
 
 			dr.removeShape(addedGroup);
 			addedGroup.getShapes().forEach(sh -> dr.addShape(sh, map.get(sh)));
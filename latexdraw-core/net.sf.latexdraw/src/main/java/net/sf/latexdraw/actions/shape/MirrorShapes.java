@@ -10,8 +10,10 @@
  */
 package net.sf.latexdraw.actions.shape;
 
+import java.awt.geom.AffineTransform;
 import net.sf.latexdraw.actions.Modifying;
 import net.sf.latexdraw.actions.ShapeActionImpl;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.util.LangTool;
 import org.malai.undo.Undoable;
@@ -33,10 +35,11 @@ public class MirrorShapes extends ShapeActionImpl<IShape> implements Undoable, M
 	@Override
 	protected void doActionBody() {
 		shape.ifPresent(sh -> {
+			final IPoint gc = sh.getGravityCentre();
 			if(horizontally) {
-				sh.mirrorHorizontal(sh.getGravityCentre().getX());
+				sh.transform(new AffineTransform(-1d, 0d, 0d, 1d, 2d * gc.getX(), 0d));
 			}else {
-				sh.mirrorVertical(sh.getGravityCentre().getY());
+				sh.transform(new AffineTransform(1d, 0d, 0d, -1d, 0d, 2d * gc.getY()));
 			}
 			sh.setModified(true);
 		});
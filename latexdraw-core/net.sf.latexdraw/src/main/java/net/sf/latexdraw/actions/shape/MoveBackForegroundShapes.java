@@ -10,12 +10,11 @@
  */
 package net.sf.latexdraw.actions.shape;
 
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.SimpleIntegerProperty;
 import net.sf.latexdraw.actions.DrawingAction;
 import net.sf.latexdraw.actions.Modifying;
 import net.sf.latexdraw.actions.ShapeActionImpl;
@@ -32,7 +31,7 @@ import org.malai.undo.Undoable;
 public class MoveBackForegroundShapes extends ShapeActionImpl<IGroup> implements DrawingAction, Undoable, Modifying {
 	/** Defines whether the shapes must be placed in the foreground. */
 	private boolean foreground;
-	/** The former position of the shapes. */
+	/** The former position of the shapes, in the order of sortedSh. */
 	private int[] formerId;
 	/** The shapes sorted by their position. */
 	private List<IShape> sortedSh;
@@ -56,19 +55,11 @@ public class MoveBackForegroundShapes extends ShapeActionImpl<IGroup> implements
 
 	/** Puts the shapes in the foreground. */
 	private void moveForeground() {
-		shape.ifPresent(gp -> {
-			final int size = gp.size();
-			formerId = new int[size];
-			drawing.ifPresent(dr -> {
-				final List<IShape> drshapes = dr.getShapes();
-				sortedSh = gp.getShapes().stream().sorted((a, b) -> drshapes.indexOf(a) < drshapes.indexOf(b) ? -1 : 1).collect(Collectors.toList());
-
-				for(int i = 0; i < size; i++) {
-					IShape sh = sortedSh.get(i);
-					formerId[i] = drshapes.indexOf(sh);
-					dr.removeShape(sh);
-					dr.addShape(sh);
-				}
+		drawing.ifPresent(dr -> {
+			sortShapes(dr);
+			dr.batch(() -> {
+				dr.getShapes().removeAll(new HashSet<>(sortedSh));
+				dr.getShapes().addAll(sortedSh);
 				dr.setModified(true);
 			});
 		});
@@ -77,24 +68,24 @@ public class MoveBackForegroundShapes extends ShapeActionImpl<IGroup> implements
 
 	/** Puts the shapes in the background. */
 	private void moveBackground() {
-		shape.ifPresent(gp -> {
-			final int size = gp.size();
-			formerId = new int[size];
-			drawing.ifPresent(dr -> {
-				final List<IShape> drshapes = dr.getShapes();
-				sortedSh = gp.getShapes().stream().sorted((a, b) -> drshapes.indexOf(a) < drshapes.indexOf(b) ? -1 : 1).collect(Collectors.toList());
-
-				for(int i = size - 1; i >= 0; i--) {
-					IShape sh = sortedSh.get(i);
-					formerId[i] = drshapes.indexOf(sh);
-					dr.removeShape(sh);
-					dr.addShape(sh, 0);
-				}
+		drawing.ifPresent(dr -> {
+			sortShapes(dr);
+			dr.batch(() -> {
+				dr.getShapes().removeAll(new HashSet<>(sortedSh));
+				dr.getShapes().addAll(0, sortedSh);
 				dr.setModified(true);
 			});
 		});
 	}
 
+	/** Sorts the shapes to move by their position and stores these positions. */
+	private void sortShapes(final IDrawing dr) {
+		shape.ifPresent(gp -> {
+			sortedSh = gp.getShapes().stream().sorted(Comparator.comparingInt(dr::indexOf)).collect(Collectors.toList());
+			formerId = sortedSh.stream().mapToInt(dr::indexOf).toArray();
+		});
+	}
+
 	@Override
 	public boolean canDo() {
 		return super.canDo() && shape.isPresent() && !shape.get().isEmpty() && drawing.isPresent();
@@ -102,25 +93,14 @@ public class MoveBackForegroundShapes extends ShapeActionImpl<IGroup> implements
 
 	@Override
 	public void undo() {
-		drawing.ifPresent(dr -> {
-			if(foreground) {
-				final IntegerProperty i = new SimpleIntegerProperty(formerId.length - 1);
-				sortedSh.stream().sorted(Collections.reverseOrder()).forEach(sh -> {
-					dr.removeShape(sh);
-					dr.addShape(sh, formerId[i.get()]);
-					i.set(i.get() - 1);
-				});
-			}else {
-				final IntegerProperty i = new SimpleIntegerProperty(0);
-				sortedSh.forEach(sh -> {
-					dr.removeShape(sh);
-					dr.addShape(sh, formerId[i.get()]);
-					i.set(i.get() + 1);
-				});
+		drawing.ifPresent(dr -> dr.batch(() -> {
+			dr.getShapes().removeAll(new HashSet<>(sortedSh));
+			// Inserted by increasing former position, so that each shape gets back its position.
+			for(int i = 0, size = sortedSh.size(); i < size; i++) {
+				dr.addShape(sortedSh.get(i), formerId[i]);
 			}
-
 			dr.setModified(true);
-		});
+		}));
 	}
 
 	@Override
@@ -63,12 +63,12 @@ public class PasteShapes extends DrawingActionImpl implements Undoable, Modifyin
 			final int gapPaste = grid.isMagnetic() ? grid.getGridSpacing() : 10;
 			final int gap = copy.nbTimeCopied * gapPaste;
 
-			copy.copiedShapes.forEach(shape -> {
+			dr.batch(() -> copy.copiedShapes.forEach(shape -> {
 				final IShape sh = ShapeFactory.INST.duplicate(shape);
 				pastedShapes.add(sh);
 				sh.translate(gap, gap);
 				dr.addShape(sh);
-			});
+			}));
 
 			if(copy instanceof CutShapes) {
 				copy.nbTimeCopied++;
@@ -81,13 +81,13 @@ public class PasteShapes extends DrawingActionImpl implements Undoable, Modifyin
 	@Override
 	public void undo() {
 		drawing.ifPresent(dr -> {
-			int i = 0;
 			final int nbShapes = copy.copiedShapes.size();
 
-			while(i < nbShapes && !dr.isEmpty()) {
-				dr.removeShape(dr.size() - 1);
-				i++;
-			}
+			dr.batch(() -> {
+				for(int i = 0; i < nbShapes && !dr.isEmpty(); i++) {
+					dr.removeShape(dr.size() - 1);
+				}
+			});
 
 			copy.nbTimeCopied--;
 			dr.setModified(true);
@@ -101,7 +101,7 @@ public class PasteShapes extends DrawingActionImpl implements Undoable, Modifyin
 				copy.nbTimeCopied++;
 			}
 
-			pastedShapes.forEach(dr::addShape);
+			dr.batch(() -> pastedShapes.forEach(dr::addShape));
 
 			if(copy instanceof CutShapes) {
 				copy.nbTimeCopied++;
@@ -10,6 +10,7 @@
  */
 package net.sf.latexdraw.actions.shape;
 
+import java.awt.geom.AffineTransform;
 import java.util.Optional;
 import net.sf.latexdraw.actions.Modifying;
 import net.sf.latexdraw.actions.ShapeActionImpl;
@@ -60,7 +61,7 @@ public class RotateShapes extends ShapeActionImpl<IShape> implements Undoable, M
 	 */
 	private void rotateShapes(final double angleIncrement) {
 		shape.ifPresent(sh -> gc.ifPresent(centre -> {
-			sh.addToRotationAngle(centre, angleIncrement);
+			sh.transform(AffineTransform.getRotateInstance(angleIncrement, centre.getX(), centre.getY()));
 			sh.setModified(true);
 		}));
 	}
@@ -42,7 +42,7 @@ public class SeparateShapes extends ShapeActionImpl<IGroup> implements DrawingAc
 	@Override
 	protected void doActionBody() {
 		drawing.ifPresent(dr -> shape.ifPresent(sh -> {
-			final int position = dr.getShapes().indexOf(sh);
+			final int position = dr.indexOf(sh);
 			final int insertPos = position >= dr.size() - 1 ? -1 : position;
 			dr.removeShape(position);
 			sh.getShapes().forEach(s -> dr.addShape(s, insertPos));
@@ -53,7 +53,7 @@ public class SeparateShapes extends ShapeActionImpl<IGroup> implements DrawingAc
 	@Override
 	public void undo() {
 		drawing.ifPresent(dr -> shape.ifPresent(gp -> {
-			final int position = dr.getShapes().indexOf(gp.getShapeAt(0));
+			final int position = dr.indexOf(gp.getShapeAt(0));
 			final int addPosition = position >= dr.size() ? -1 : position;
 			IntStream.range(0, gp.getShapes().size()).forEach(i -> dr.removeShape(position));
 			dr.addShape(gp, addPosition);
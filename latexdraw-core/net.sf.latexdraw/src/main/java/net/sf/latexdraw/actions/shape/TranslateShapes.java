@@ -10,6 +10,7 @@
  */
 package net.sf.latexdraw.actions.shape;
 
+import java.awt.geom.AffineTransform;
 import java.util.Optional;
 import net.sf.latexdraw.actions.DrawingAction;
 import net.sf.latexdraw.actions.Modifying;
@@ -66,7 +67,7 @@ public class TranslateShapes extends ShapeActionImpl<IGroup> implements DrawingA
 	protected void doActionBody() {
 		shape.ifPresent(sh -> drawing.ifPresent(dr -> {
 			if(!MathUtils.INST.equalsDouble(tx - performedTx, 0.0) || !MathUtils.INST.equalsDouble(ty - performedTy, 0.0)) {
-				sh.translate(tx - performedTx, ty - performedTy);
+				sh.transform(AffineTransform.getTranslateInstance(tx - performedTx, ty - performedTy));
 				sh.setModified(true);
 				dr.setModified(true);
 				performedTx = tx;
@@ -84,7 +85,7 @@ public class TranslateShapes extends ShapeActionImpl<IGroup> implements DrawingA
 	@Override
 	public void undo() {
 		shape.ifPresent(sh -> drawing.ifPresent(dr -> {
-			sh.translate(-tx, -ty);
+			sh.transform(AffineTransform.getTranslateInstance(-tx, -ty));
 			sh.setModified(true);
 			dr.setModified(true);
 		}));
@@ -93,7 +94,7 @@ public class TranslateShapes extends ShapeActionImpl<IGroup> implements DrawingA
 	@Override
 	public void redo() {
 		shape.ifPresent(sh -> drawing.ifPresent(dr -> {
-			sh.translate(tx, ty);
+			sh.transform(AffineTransform.getTranslateInstance(tx, ty));
 			sh.setModified(true);
 			dr.setModified(true);
 		}));
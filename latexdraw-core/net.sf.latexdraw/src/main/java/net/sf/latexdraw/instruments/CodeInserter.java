@@ -10,7 +10,9 @@
  */
 package net.sf.latexdraw.instruments;
 
+import java.io.File;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.logging.Handler;
@@ -60,6 +62,7 @@ public class CodeInserter extends JfxInstrument implements Initializable {
 	private Stage codeInserterDialogue;
 	@Inject private IDrawing drawing;
 	@Inject private StatusBarController statusBar;
+	@Inject private FileLoaderSaver loader;
 
 	/**
 	 * Creates the instrument.
@@ -127,6 +130,7 @@ public class CodeInserter extends JfxInstrument implements Initializable {
 			final PSTLexer lexer = new PSTLexer(CharStreams.fromString(text.getText()));
 			lexer.addErrorListener(errorListener);
 			final PSTParser parser = new PSTParser(new CommonTokenStream(lexer));
+			listener.setDocumentPath(getDocumentPath());
 			parser.addParseListener(listener);
 			parser.addErrorListener(errorListener);
 			parser.pstCode(new PSTContext());
@@ -134,6 +138,13 @@ public class CodeInserter extends JfxInstrument implements Initializable {
 	}
 
 
+	/** @return The path of the edited document, or null if the document is not saved yet. */
+	private Path getDocumentPath() {
+		final File file = loader.getCurrentFile();
+		return file == null ? null : file.toPath();
+	}
+
+
 	/** @return The created latexdraw dialogue box. */
 	private Optional<Stage> getInsertCodeDialogue() {
 		if(codeInserterDialogue == null) {
@@ -159,6 +170,7 @@ public class CodeInserter extends JfxInstrument implements Initializable {
 		buttonBinder(InsertPSTCode.class).on(ok).init(action -> {
 			action.setDrawing(drawing);
 			action.setCode(text.getText());
+			action.setDocumentPath(getDocumentPath());
 			action.setStatusBar(statusBar.getLabel());
 		}).bind();
 		buttonBinder(InactivateInstrument.class).on(cancel, ok).init(action -> action.setInstrument(this)).bind();
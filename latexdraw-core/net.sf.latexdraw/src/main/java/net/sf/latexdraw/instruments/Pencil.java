@@ -40,6 +40,7 @@ import net.sf.latexdraw.util.Inject;
 import net.sf.latexdraw.util.LangTool;
 import net.sf.latexdraw.view.jfx.ViewFactory;
 import net.sf.latexdraw.view.jfx.ViewShape;
+import org.malai.action.Action;
 import org.malai.interaction.Interaction;
 import org.malai.javafx.binding.JfXWidgetBinding;
 import org.malai.javafx.interaction.JfxInteraction;
@@ -107,6 +108,15 @@ public class Pencil extends CanvasInstrument {
 		canvas.setCursor(Cursor.DEFAULT);
 	}
 
+	@Override
+	public void onActionExecuted(final Action action) {
+		super.onActionExecuted(action);
+		// The points of a freehand shape are appended without marking the shape as modified on each drag sample.
+		if(action instanceof AddShape) {
+			((AddShape) action).getShape().filter(sh -> sh instanceof IFreehand).ifPresent(sh -> sh.setModified(true));
+		}
+	}
+
 	@Override
 	protected void configureBindings() throws IllegalAccessException, InstantiationException {
 		addBinding(new Hand.DnD2MoveViewport(this));
@@ -229,7 +239,9 @@ public class Pencil extends CanvasInstrument {
 					final IPoint last = sh.getPtAt(-1);
 					if(!MathUtils.INST.equalsDouble(last.getX(), endPt.getX(), 0.0001) &&
 						!MathUtils.INST.equalsDouble(last.getY(), endPt.getY(), 0.0001)) {
-						replaceShape(ShapeFactory.INST.createFreeHandFrom((IFreehand) sh, endPt));
+						// The point is appended in place: the view of the shape only appends the corresponding path elements.
+						// The shape is marked as modified once, when the interaction ends (see onActionExecuted).
+						((IFreehand) sh).addPoint(endPt);
 					}
 				}else if(sh instanceof IRectangularShape) {
 					updateShapeFromDiag((IRectangularShape) sh, startPt, endPt);
@@ -170,4 +170,51 @@ public final class MathUtils {
 	public double getCutNumber(final double value, final double threshold) {
 		return Math.abs(value) < Math.abs(threshold) ? 0d : value;
 	}
+
+	/**
+	 * Rotates the point (x, y) around the point (cx, cy) without allocating any object.
+	 * Gives the same results as java.awt.geom.AffineTransform.getRotateInstance(theta, cx, cy).
+	 * @param x The X-coordinate of the point to rotate.
+	 * @param y The Y-coordinate of the point to rotate.
+	 * @param cx The X-coordinate of the centre of the rotation.
+	 * @param cy The Y-coordinate of the centre of the rotation.
+	 * @param theta The rotation angle in radian.
+	 * @param out The array that will contain the coordinates of the rotated point (at indexes 0 and 1).
+	 * @since 4.0
+	 */
+	public void rotate(final double x, final double y, final double cx, final double cy, final double theta, final double[] out) {
+		double sin = Math.sin(theta);
+		double cos;
+
+		// Same rounding as AffineTransform for the quadrant rotations.
+		if(sin == 1d || sin == -1d) {
+			cos = 0d;
+		}else {
+			cos = Math.cos(theta);
+			if(cos == 1d || cos == -1d) {
+				sin = 0d;
+			}
+		}
+
+		out[0] = cos * x - sin * y + cx * (1d - cos) + cy * sin;
+		out[1] = sin * x + cos * y + cy * (1d - cos) - cx * sin;
+	}
+
+	/**
+	 * @param x The X-coordinate of the vector.
+	 * @param y The Y-coordinate of the vector.
+	 * @return The magnitude of the vector (x, y).
+	 * @since 4.0
+	 */
+	public double magnitude(final double x, final double y) {
+		return Math.sqrt(x * x + y * y);
+	}
+
+	/**
+	 * @return The distance between the points (x1, y1) and (x2, y2).
+	 * @since 4.0
+	 */
+	public double distance(final double x1, final double y1, final double x2, final double y2) {
+		return magnitude(x2 - x1, y2 - y1);
+	}
 }
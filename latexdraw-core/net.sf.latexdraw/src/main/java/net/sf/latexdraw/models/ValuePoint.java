@@ -0,0 +1,132 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2017 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.models;
+
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+
+/**
+ * An immutable point used for geometric computations.
+ * Contrary to IPoint, it has no JavaFX property so that it is cheap to create in loops.
+ * @author Arnaud Blouin
+ */
+public final class ValuePoint {
+	/** The X-coordinate. */
+	public final double x;
+	/** The Y-coordinate. */
+	public final double y;
+
+	/**
+	 * Creates the point.
+	 * @param xCoord The X-coordinate.
+	 * @param yCoord The Y-coordinate.
+	 */
+	public ValuePoint(final double xCoord, final double yCoord) {
+		super();
+		x = xCoord;
+		y = yCoord;
+	}
+
+	/**
+	 * Creates the point from a model point.
+	 * @param pt The point to copy. Cannot be null.
+	 */
+	public ValuePoint(final IPoint pt) {
+		this(pt.getX(), pt.getY());
+	}
+
+	/**
+	 * @return The point (this + pt).
+	 */
+	public ValuePoint add(final ValuePoint pt) {
+		return new ValuePoint(x + pt.x, y + pt.y);
+	}
+
+	/**
+	 * @return The point (this - pt).
+	 */
+	public ValuePoint substract(final ValuePoint pt) {
+		return new ValuePoint(x - pt.x, y - pt.y);
+	}
+
+	/**
+	 * @return The point multiplied by the given factor.
+	 */
+	public ValuePoint zoom(final double factor) {
+		return new ValuePoint(x * factor, y * factor);
+	}
+
+	/**
+	 * @return The normalised vector. Its coordinates are NaN if the magnitude is zero.
+	 */
+	public ValuePoint normalise() {
+		final double magnitude = magnitude();
+		return new ValuePoint(x / magnitude, y / magnitude);
+	}
+
+	/**
+	 * @return The magnitude of the vector.
+	 */
+	public double magnitude() {
+		return MathUtils.INST.magnitude(x, y);
+	}
+
+	/**
+	 * @return The distance between the two points.
+	 */
+	public double distance(final ValuePoint pt) {
+		return MathUtils.INST.distance(x, y, pt.x, pt.y);
+	}
+
+	/**
+	 * @return The point in the middle of this point and the given one.
+	 */
+	public ValuePoint getMiddlePoint(final ValuePoint pt) {
+		return new ValuePoint((x + pt.x) / 2d, (y + pt.y) / 2d);
+	}
+
+	/**
+	 * @param cx The X-coordinate of the centre of the rotation.
+	 * @param cy The Y-coordinate of the centre of the rotation.
+	 * @param theta The rotation angle in radian.
+	 * @return The rotated point.
+	 */
+	public ValuePoint rotate(final double cx, final double cy, final double theta) {
+		final double[] rotated = new double[2];
+		MathUtils.INST.rotate(x, y, cx, cy, theta, rotated);
+		return new ValuePoint(rotated[0], rotated[1]);
+	}
+
+	/**
+	 * @return A model point having the coordinates of this point.
+	 */
+	public IPoint toPoint() {
+		return ShapeFactory.INST.createPoint(x, y);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if(this == obj) return true;
+		if(!(obj instanceof ValuePoint)) return false;
+		final ValuePoint pt = (ValuePoint) obj;
+		return Double.compare(x, pt.x) == 0 && Double.compare(y, pt.y) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		final long bits = Double.doubleToLongBits(x) * 31L + Double.doubleToLongBits(y);
+		return (int) (bits ^ (bits >>> 32));
+	}
+
+	@Override
+	public String toString() {
+		return "ValuePoint [x=" + x + ", y=" + y + "]";
+	}
+}
@@ -10,6 +10,7 @@
  */
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.util.Collections;
 import java.util.List;
@@ -37,26 +38,46 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 	protected final List<IPoint> firstCtrlPts;
 	/** Contains the second control points of each points; useful for closed curve. */
 	protected final List<IPoint> secondCtrlPts;
+	/** The modifiable list of the first control points. */
+	private final LPackedPoints firstCtrlPacked;
+	/** The modifiable list of the second control points. */
+	private final LPackedPoints secondCtrlPacked;
 
 	LAbstractCtrlPointShape(final List<IPoint> pts, final List<IPoint> ctrlPts) {
 		super(pts);
-		firstCtrlPts = Collections.unmodifiableList(ctrlPts.stream().map(pt -> ShapeFactory.INST.createPoint(pt)).collect(Collectors.toList()));
-		secondCtrlPts = Collections.unmodifiableList(pts.stream().map(pt -> ShapeFactory.INST.createPoint()).collect(Collectors.toList()));
+		secondCtrlPacked = new LPackedPoints(pts.size());
+		pts.forEach(pt -> secondCtrlPacked.add(0d, 0d));
+		firstCtrlPacked = new LPackedPoints(ctrlPts);
+		firstCtrlPts = Collections.unmodifiableList(firstCtrlPacked);
+		secondCtrlPts = Collections.unmodifiableList(secondCtrlPacked);
 		updateSecondControlPoints();
 	}
 
+	/**
+	 * Creates a shape that shares the coordinates of the points and of the control points of the given shape
+	 * until one of the two shapes is modified.
+	 * @param sh The shape to copy.
+	 */
+	LAbstractCtrlPointShape(final LAbstractCtrlPointShape sh) {
+		super(sh.points);
+		firstCtrlPacked = new LPackedPoints(sh.firstCtrlPacked);
+		secondCtrlPacked = new LPackedPoints(sh.secondCtrlPacked);
+		firstCtrlPts = Collections.unmodifiableList(firstCtrlPacked);
+		secondCtrlPts = Collections.unmodifiableList(secondCtrlPacked);
+	}
+
 	@Override
 	public void scale(final double prevWidth, final double prevHeight, final Position pos, final Rectangle2D bound) {
 		super.scale(prevWidth, prevHeight, pos, bound);
-		scaleSetPoints(firstCtrlPts, prevWidth, prevHeight, pos, bound);
-		scaleSetPoints(secondCtrlPts, prevWidth, prevHeight, pos, bound);
+		scaleSetPoints(firstCtrlPacked, prevWidth, prevHeight, pos, bound);
+		scaleSetPoints(secondCtrlPacked, prevWidth, prevHeight, pos, bound);
 	}
 
 	@Override
 	public void scaleWithRatio(final double prevWidth, final double prevHeight, final Position pos, final Rectangle2D bound) {
 		super.scaleWithRatio(prevWidth, prevHeight, pos, bound);
-		scaleSetPointsWithRatio(firstCtrlPts, prevWidth, prevHeight, pos, bound);
-		scaleSetPointsWithRatio(secondCtrlPts, prevWidth, prevHeight, pos, bound);
+		scaleSetPointsWithRatio(firstCtrlPacked, prevWidth, prevHeight, pos, bound);
+		scaleSetPointsWithRatio(secondCtrlPacked, prevWidth, prevHeight, pos, bound);
 	}
 
 	/**
@@ -158,8 +179,9 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 	public void mirrorHorizontal(final double x) {
 		super.mirrorHorizontal(x);
 		if(MathUtils.INST.isValidCoord(x)) {
-			firstCtrlPts.forEach(pt -> pt.setPoint(pt.horizontalSymmetry(x)));
-			secondCtrlPts.forEach(pt -> pt.setPoint(pt.horizontalSymmetry(x)));
+			final AffineTransform symmetry = getHorizontalSymmetry(x);
+			firstCtrlPacked.transform(symmetry);
+			secondCtrlPacked.transform(symmetry);
 		}
 	}
 
@@ -167,8 +189,9 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 	public void mirrorVertical(final double y) {
 		super.mirrorVertical(y);
 		if(MathUtils.INST.isValidCoord(y)) {
-			firstCtrlPts.forEach(pt -> pt.setPoint(pt.verticalSymmetry(y)));
-			secondCtrlPts.forEach(pt -> pt.setPoint(pt.verticalSymmetry(y)));
+			final AffineTransform symmetry = getVerticalSymmetry(y);
+			firstCtrlPacked.transform(symmetry);
+			secondCtrlPacked.transform(symmetry);
 		}
 	}
 
@@ -252,18 +275,29 @@ abstract class LAbstractCtrlPointShape extends LModifiablePointsShape implements
 			final IPoint gc = getGravityCentre();
 
 			super.setRotationAngle(angle);
-			firstCtrlPts.forEach(pt -> pt.setPoint(pt.rotatePoint(gc, diff)));
+			firstCtrlPacked.rotate(gc.getX(), gc.getY(), diff);
 			updateSecondControlPoints();
 		}
 	}
 
 
+	@Override
+	public void transform(final AffineTransform transform) {
+		if(isValidTransform(transform)) {
+			firstCtrlPacked.transform(transform);
+			secondCtrlPacked.transform(transform);
+			super.transform(transform);
+		}
+	}
+
+
 	@Override
 	public void translate(final double tx, final double ty) {
 		// Translating control points.
 		if(MathUtils.INST.isValidPt(tx, ty)) {
-			firstCtrlPts.forEach(pt -> pt.translate(tx, ty));
-			secondCtrlPts.forEach(pt -> pt.translate(tx, ty));
+			final AffineTransform translation = AffineTransform.getTranslateInstance(tx, ty);
+			firstCtrlPacked.transform(translation);
+			secondCtrlPacked.transform(translation);
 			super.translate(tx, ty);
 		}
 	}
@@ -55,6 +55,7 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 		gridEndx = new SimpleDoubleProperty(2d);
 		gridEndy = new SimpleDoubleProperty(2d);
 		labelSize = new SimpleIntegerProperty(10);
+		invalidateBoundsOn(gridStartx, gridStarty, gridEndx, gridEndy);
 	}
 
 
@@ -82,6 +83,12 @@ abstract class LAbstractGrid extends LPositionShape implements IStandardGrid {
 	}
 
 
+	@Override
+	public LBounds getCachedBounds() {
+		// The bounds depend on the start and the end of the grid, not only on its position.
+		return getCornersBounds();
+	}
+
 	@Override
 	public IPoint getBottomRightPoint() {
 		final IPoint pos = getPosition();
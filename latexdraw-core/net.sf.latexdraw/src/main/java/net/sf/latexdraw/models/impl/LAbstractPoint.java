@@ -0,0 +1,192 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2017 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.models.impl;
+
+import java.awt.geom.Point2D;
+import javafx.geometry.Point3D;
+import net.sf.latexdraw.models.MathUtils;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+
+import static java.lang.Math.atan;
+
+/**
+ * The base implementation of a point. Not a shape.
+ * The way the coordinates are stored is defined by the sub-classes.
+ * @author Arnaud Blouin
+ */
+abstract class LAbstractPoint implements IPoint {
+	LAbstractPoint() {
+		super();
+	}
+
+	@Override
+	public double computeAngle(final IPoint pt) {
+		if(!MathUtils.INST.isValidPt(pt)) return java.lang.Double.NaN;
+
+		double angle;
+		final double x2 = pt.getX() - getX();
+		final double y2 = pt.getY() - getY();
+
+		if(MathUtils.INST.equalsDouble(x2, 0d)) {
+			angle = Math.PI / 2d;
+
+			if(y2 < 0d) {
+				angle = Math.PI * 2d - angle;
+			}
+		}else {
+			angle = x2 < 0d ? Math.PI - atan(-y2 / x2) : atan(y2 / x2);
+		}
+
+		return angle;
+	}
+
+	@Override
+	public IPoint zoom(final double zoomLevel) {
+		return ShapeFactory.INST.createPoint(getX() * zoomLevel, getY() * zoomLevel);
+	}
+
+	@Override
+	public double computeRotationAngle(final IPoint pt1, final IPoint pt2) {
+		if(!MathUtils.INST.isValidPt(pt1) || !MathUtils.INST.isValidPt(pt2)) {
+			return Double.NaN;
+		}
+
+		final double thetaOld = computeAngle(pt1);
+		final double thetaNew = computeAngle(pt2);
+
+		return thetaNew - thetaOld;
+	}
+
+	@Override
+	public IPoint centralSymmetry(final IPoint centre) {
+		return rotatePoint(centre, Math.PI);
+	}
+
+	@Override
+	public IPoint rotatePoint(final IPoint gravityC, final double theta) {
+		if(!MathUtils.INST.isValidPt(gravityC) || !MathUtils.INST.isValidCoord(theta)) {
+			return null;
+		}
+
+		final double[] coords = new double[2];
+		MathUtils.INST.rotate(getX(), getY(), gravityC.getX(), gravityC.getY(), theta, coords);
+		return ShapeFactory.INST.createPoint(coords[0], coords[1]);
+	}
+
+	@Override
+	public boolean equals(final IPoint p, final double gap) {
+		return !(!MathUtils.INST.isValidCoord(gap) || !MathUtils.INST.isValidPt(p)) && MathUtils.INST.equalsDouble(getX(), p.getX(), gap) &&
+			MathUtils.INST.equalsDouble(getY(), p.getY(), gap);
+	}
+
+	@Override
+	public IPoint getMiddlePoint(final IPoint p) {
+		return p == null ? null : ShapeFactory.INST.createPoint((getX() + p.getX()) / 2., (getY() + p.getY()) / 2d);
+	}
+
+	@Override
+	public void translate(final double tx, final double ty) {
+		if(MathUtils.INST.isValidPt(tx, ty)) setPoint(getX() + tx, getY() + ty);
+	}
+
+	@Override
+	public IPoint horizontalSymmetry(final double x) {
+		if(!MathUtils.INST.isValidCoord(x)) return null;
+
+		return ShapeFactory.INST.createPoint(2d * x - getX(), getY());
+	}
+
+	@Override
+	public IPoint verticalSymmetry(final double y) {
+		if(!MathUtils.INST.isValidCoord(y)) return null;
+
+		return ShapeFactory.INST.createPoint(getX(), 2d * y - getY());
+	}
+
+	@Override
+	public void setPoint(final double newX, final double newY) {
+		setX(newX);
+		setY(newY);
+	}
+
+	@Override
+	public void setPoint(final IPoint pt) {
+		if(pt != null) setPoint(pt.getX(), pt.getY());
+	}
+
+	@Override
+	public double distance(final IPoint pt) {
+		return pt == null ? java.lang.Double.NaN : distance(pt.getX(), pt.getY());
+	}
+
+	@Override
+	public Point2D.Double toPoint2D() {
+		return new Point2D.Double(getX(), getY());
+	}
+
+	@Override
+	public Point3D toPoint3D() {
+		return new Point3D(getX(), getY(), 0d);
+	}
+
+	@Override
+	public void setPoint2D(final Point2D pt) {
+		if(pt != null) setPoint(pt.getX(), pt.getY());
+	}
+
+	@Override
+	public IPoint substract(final IPoint pt) {
+		if(pt == null) return null;
+		return ShapeFactory.INST.createPoint(getX() - pt.getX(), getY() - pt.getY());
+	}
+
+	@Override
+	public IPoint normalise() {
+		final double magnitude = magnitude();
+		return ShapeFactory.INST.createPoint(getX() / magnitude, getY() / magnitude);
+	}
+
+	@Override
+	public double magnitude() {
+		return MathUtils.INST.magnitude(getX(), getY());
+	}
+
+	@Override
+	public IPoint add(final IPoint pt) {
+		if(!MathUtils.INST.isValidPt(pt)) return ShapeFactory.INST.createPoint(this);
+		return ShapeFactory.INST.createPoint(getX() + pt.getX(), getY() + pt.getY());
+	}
+
+	@Override
+	public double distance(double xCoord, double yCoord) {
+		return MathUtils.INST.distance(getX(), getY(), xCoord, yCoord);
+	}
+
+	@Override
+	public int hashCode() {
+		// Two points are equal when their coordinates are close (see equals): no hash of their coordinates can be
+		// consistent with this tolerance. Points are mutable and are not used as keys anyway.
+		return 31;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if(this == obj) return true;
+		if(!(obj instanceof LAbstractPoint)) return false;
+		return equals((IPoint) obj, 0.0000001);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [x=" + getX() + ", y=" + getY() + "]";
+	}
+}
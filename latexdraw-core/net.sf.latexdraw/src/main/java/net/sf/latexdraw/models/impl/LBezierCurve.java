@@ -43,6 +43,17 @@ class LBezierCurve extends LAbstractCtrlPointShape implements IBezierCurve, LArr
 		isClosed = closed;
 	}
 
+	/**
+	 * Creates a curve that shares the coordinates of the given one until one of the two curves is modified.
+	 */
+	private LBezierCurve(final LBezierCurve curve) {
+		super(curve);
+		arrows = new ArrayList<>();
+		arrows.add(ShapeFactory.INST.createArrow(this));
+		arrows.add(ShapeFactory.INST.createArrow(this));
+		isClosed = curve.isClosed;
+	}
+
 	@Override
 	public ILine getArrowLine(final int index) {
 		if(getNbPoints() < 2) {
@@ -84,7 +95,7 @@ class LBezierCurve extends LAbstractCtrlPointShape implements IBezierCurve, LArr
 
 	@Override
 	public IBezierCurve duplicate() {
-		final IBezierCurve dup = ShapeFactory.INST.createBezierCurve(points, firstCtrlPts);
+		final IBezierCurve dup = new LBezierCurve(this);
 		dup.copy(this);
 		return dup;
 	}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2017 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.models.impl;
+
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+
+/**
+ * The cached bounds of a shape: its top-left, bottom-right, top-right and bottom-left points.
+ * The bounds are invalidated when the shape changes and recomputed on the next query.
+ * The shapes also invalidate the bounds of the groups that contain them (see LModifiedTracker),
+ * so that the bounds of a group are recomputed only when one of its shapes changes.
+ * @author Arnaud Blouin
+ */
+final class LBounds {
+	double tlX;
+	double tlY;
+	double brX;
+	double brY;
+	double trX;
+	double trY;
+	double blX;
+	double blY;
+	/** Defines whether the values are up to date. */
+	private boolean valid;
+
+	LBounds() {
+		super();
+		valid = false;
+	}
+
+	/**
+	 * @return True if the bounds are up to date.
+	 */
+	boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Marks the bounds as outdated.
+	 */
+	void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * Computes the bounds of the given points. All the values are set to zero if there is no point.
+	 * @param pts The points to consider.
+	 */
+	void setFromPoints(final LPackedPoints pts) {
+		final int size = pts.size();
+		double minX = size == 0 ? 0d : Double.MAX_VALUE;
+		double minY = minX;
+		double maxX = size == 0 ? 0d : -Double.MAX_VALUE;
+		double maxY = maxX;
+
+		for(int i = 0; i < size; i++) {
+			final double x = pts.getX(i);
+			final double y = pts.getY(i);
+			if(x < minX) minX = x;
+			if(x > maxX) maxX = x;
+			if(y < minY) minY = y;
+			if(y > maxY) maxY = y;
+		}
+
+		set(minX, minY, maxX, maxY, maxX, minY, minX, maxY);
+	}
+
+	/**
+	 * Sets the bounds from the corners of the given shape.
+	 * @param sh The shape to consider.
+	 */
+	void setFromShape(final IShape sh) {
+		final IPoint tl = sh.getTopLeftPoint();
+		final IPoint br = sh.getBottomRightPoint();
+		final IPoint tr = sh.getTopRightPoint();
+		final IPoint bl = sh.getBottomLeftPoint();
+		set(tl.getX(), tl.getY(), br.getX(), br.getY(), tr.getX(), tr.getY(), bl.getX(), bl.getY());
+	}
+
+	/**
+	 * Copies the given bounds.
+	 * @param b The bounds to copy.
+	 */
+	void setFrom(final LBounds b) {
+		set(b.tlX, b.tlY, b.brX, b.brY, b.trX, b.trY, b.blX, b.blY);
+	}
+
+	/**
+	 * Extends the bounds to contain the given ones.
+	 * @param b The bounds to merge.
+	 */
+	void merge(final LBounds b) {
+		set(Math.min(tlX, b.tlX), Math.min(tlY, b.tlY), Math.max(brX, b.brX), Math.max(brY, b.brY),
+			Math.max(trX, b.trX), Math.min(trY, b.trY), Math.min(blX, b.blX), Math.max(blY, b.blY));
+	}
+
+	/**
+	 * Sets the bounds. The bounds are then valid.
+	 */
+	void set(final double tlx, final double tly, final double brx, final double bry, final double trx, final double tRy,
+			final double blx, final double bly) {
+		tlX = tlx;
+		tlY = tly;
+		brX = brx;
+		brY = bry;
+		trX = trx;
+		trY = tRy;
+		blX = blx;
+		blY = bly;
+		valid = true;
+	}
+}
@@ -8,19 +8,16 @@
  * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
  * General Public License for more details.
  */
-package net.sf.latexdraw.parsers.ps;
-
-import java.util.Deque;
+package net.sf.latexdraw.models.impl;
 
 /**
- * The postscript abs command.
+ * Implemented by the shapes that cache their bounds.
  * @author Arnaud Blouin
  */
-public class PSAbsCommand implements PSArithemticCommand {
-	@Override
-	public void execute(final Deque<Double> stack, final double x) {
-		if(stack.isEmpty()) throw new InvalidFormatPSFunctionException();
-
-		stack.push(Math.abs(stack.pop()));
-	}
+interface LBoundsCache {
+	/**
+	 * @return The bounds of the shape, recomputed if they were invalidated. Null if the shape does not
+	 * cache its bounds, i.e. when its bounds depend on parameters not tracked by the cache.
+	 */
+	LBounds getCachedBounds();
 }
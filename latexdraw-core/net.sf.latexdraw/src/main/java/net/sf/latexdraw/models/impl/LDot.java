@@ -44,6 +44,7 @@ class LDot extends LPositionShape implements IDot {
 		super(pt);
 		style = new SimpleObjectProperty<>(DotStyle.DOT);
 		diametre = new SimpleDoubleProperty(40d);
+		invalidateBoundsOn(style, diametre);
 	}
 
 	@Override
@@ -119,6 +120,12 @@ class LDot extends LPositionShape implements IDot {
 		setDiametre(getDiametre() * Math.max(prevWidth / bound.getWidth(), prevHeight / bound.getHeight()));
 	}
 
+	@Override
+	public LBounds getCachedBounds() {
+		// The bounds depend on the style and the diametre of the dot, not only on its position.
+		return getCornersBounds();
+	}
+
 	@Override
 	public IPoint getPosition() {
 		// The position of the dot is its centre.
@@ -10,10 +10,18 @@
  */
 package net.sf.latexdraw.models.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.prop.ISetShapesProp;
 import net.sf.latexdraw.models.interfaces.shape.IDrawing;
 import net.sf.latexdraw.models.interfaces.shape.IGroup;
 import net.sf.latexdraw.models.interfaces.shape.IShape;
@@ -30,15 +38,41 @@ class LDrawing implements IDrawing, LSetShapes {
 	/** The selected shapes of the drawing. */
 	private final IGroup selection;
 
-	/** Defined if the shape has been modified. */
-	private boolean modified;
+	/** Tracks whether the drawing or one of its shapes has been modified. */
+	private final LModifiedTracker modified;
 
+	/** The shapes modified during an update (see beginUpdate). Null when no update is ongoing. */
+	private ObservableList<IShape> updatedShapes;
+
+	/** The number of nested updates. */
+	private int updateDepth;
+
+	/** Defines whether the drawing has been set as modified during an update. */
+	private boolean modifiedDuringUpdate;
+
+	/** The position of the shapes in the list of shapes. */
+	private final Positions positions;
+
+	/** The position of the shapes in the list of the shapes modified during an update. Null when no update is ongoing. */
+	private Positions updatedPositions;
 
 	LDrawing() {
 		super();
 		shapes = FXCollections.observableArrayList();
 		selection = ShapeFactory.INST.createGroup();
-		modified = false;
+		modified = new LModifiedTracker();
+		updatedShapes = null;
+		updateDepth = 0;
+		modifiedDuringUpdate = false;
+		updatedPositions = null;
+		positions = new Positions(shapes);
+		shapes.addListener(modified.childrenListener());
+	}
+
+	@Override
+	public int indexOf(final IShape sh) {
+		if(sh == null) return -1;
+		return updatedPositions == null ? positions.indexOf(sh) : updatedPositions.indexOf(sh);
 	}
 
 
@@ -49,8 +83,9 @@ class LDrawing implements IDrawing, LSetShapes {
 
 	@Override
 	public void setSelection(final List<IShape> newSelection) {
-		selection.clear();
-		newSelection.forEach(sh -> selection.addShape(sh));
+		// A single change of the selection, not one per selected shape.
+		selection.getShapes().setAll(newSelection.stream().filter(sh -> sh != null && !(sh instanceof ISetShapesProp && ((ISetShapesProp) sh).isEmpty())).
+			collect(Collectors.toList()));
 	}
 
 	@Override
@@ -61,19 +96,20 @@ class LDrawing implements IDrawing, LSetShapes {
 
 	@Override
 	public ObservableList<IShape> getShapes() {
-		return shapes;
+		return updatedShapes == null ? shapes : updatedShapes;
 	}
 
 	@Override
 	public boolean removeShape(final IShape sh) {
-		selection.removeShape(sh);
+		// During an update, the selection is updated at the end of the update.
+		if(updatedShapes == null) selection.removeShape(sh);
 		return LSetShapes.super.removeShape(sh);
 	}
 
 	@Override
 	public IShape removeShape(final int i) {
 		// Must be removed from the selection before removing from the main list (otherwise mapping selection2border will fail.
-		if(!shapes.isEmpty() && i >= -1 && i < shapes.size()) {
+		if(updatedShapes == null && !shapes.isEmpty() && i >= -1 && i < shapes.size()) {
 			if(i == -1) {
 				selection.removeShape(shapes.get(shapes.size() - 1));
 			}else {
@@ -86,19 +122,191 @@ class LDrawing implements IDrawing, LSetShapes {
 
 	@Override
 	public void setModified(final boolean modified) {
-		if(modified) MappingRegistry.REGISTRY.onObjectModified(this);
-		else shapes.forEach(sh -> sh.setModified(false));
+		if(modified) {
+			if(updatedShapes == null) MappingRegistry.REGISTRY.onObjectModified(this);
+			else modifiedDuringUpdate = true;
+		}else {
+			// Only the modified shapes have to be reset: the tracker knows them.
+			this.modified.getModifiedChildren().forEach(sh -> sh.setModified(false));
+		}
 
-		this.modified = modified;
+		this.modified.setModified(modified);
 	}
 
 	@Override
 	public boolean isModified() {
-		return modified || shapes.stream().anyMatch(sh -> sh.isModified());
+		return modified.isModified();
+	}
+
+	@Override
+	public void beginUpdate() {
+		if(updateDepth == 0) {
+			updatedShapes = FXCollections.observableArrayList(shapes);
+			updatedPositions = new Positions(updatedShapes);
+			modifiedDuringUpdate = false;
+		}
+		updateDepth++;
+	}
+
+	@Override
+	public void endUpdate() {
+		if(updateDepth == 0) return;
+
+		updateDepth--;
+
+		if(updateDepth == 0) {
+			final List<IShape> newShapes = updatedShapes;
+			updatedShapes = null;
+			updatedPositions = null;
+			applyUpdate(newShapes);
+
+			if(modifiedDuringUpdate) {
+				modifiedDuringUpdate = false;
+				MappingRegistry.REGISTRY.onObjectModified(this);
+			}
+		}
+	}
+
+	/**
+	 * Applies the result of an update to the list of shapes: one removal, then one addition per range of added shapes.
+	 * The kept shapes that changed of position (e.g. moved to the foreground) are removed and added again.
+	 */
+	private void applyUpdate(final List<IShape> newShapes) {
+		final Set<IShape> newSet = identitySet(newShapes);
+		final Set<IShape> removed = identitySet(shapes.stream().filter(sh -> !newSet.contains(sh)).collect(Collectors.toList()));
+		final Set<IShape> moved = getMovedShapes(newShapes);
+
+		if(!removed.isEmpty()) {
+			// Must be removed from the selection before removing from the main list.
+			selection.getShapes().removeAll(removed);
+		}
+
+		removed.addAll(moved);
+
+		if(!removed.isEmpty()) {
+			shapes.removeAll(removed);
+		}
+
+		int pos = 0;
+		int i = 0;
+		final int size = newShapes.size();
+
+		while(i < size) {
+			if(pos < shapes.size() && shapes.get(pos) == newShapes.get(i)) {
+				pos++;
+				i++;
+			}else {
+				final int start = i;
+				while(i < size && (pos >= shapes.size() || shapes.get(pos) != newShapes.get(i))) {
+					i++;
+				}
+				shapes.addAll(pos, newShapes.subList(start, i));
+				pos += i - start;
+			}
+		}
+	}
+
+	/**
+	 * @return The shapes of the drawing that must move to follow the order of the given list:
+	 * the shapes not in the longest sequence of shapes whose relative order does not change.
+	 */
+	private Set<IShape> getMovedShapes(final List<IShape> newShapes) {
+		final List<IShape> kept = new ArrayList<>();
+		final List<Integer> oldPos = new ArrayList<>();
+
+		newShapes.forEach(sh -> {
+			final int index = indexOf(sh);
+			if(index != -1) {
+				kept.add(sh);
+				oldPos.add(index);
+			}
+		});
+
+		// Longest increasing subsequence of the former positions (patience sorting).
+		final int n = kept.size();
+		final int[] tails = new int[n];
+		final int[] previous = new int[n];
+		int length = 0;
+
+		for(int i = 0; i < n; i++) {
+			final int value = oldPos.get(i);
+			int lo = 0;
+			int hi = length;
+			while(lo < hi) {
+				final int mid = (lo + hi) >>> 1;
+				if(oldPos.get(tails[mid]) < value) lo = mid + 1;
+				else hi = mid;
+			}
+			previous[i] = lo > 0 ? tails[lo - 1] : -1;
+			tails[lo] = i;
+			if(lo == length) length++;
+		}
+
+		final Set<IShape> stable = Collections.newSetFromMap(new IdentityHashMap<>());
+		for(int i = length > 0 ? tails[length - 1] : -1; i != -1; i = previous[i]) {
+			stable.add(kept.get(i));
+		}
+
+		final Set<IShape> moved = Collections.newSetFromMap(new IdentityHashMap<>());
+		kept.stream().filter(sh -> !stable.contains(sh)).forEach(moved::add);
+		return moved;
+	}
+
+	private static Set<IShape> identitySet(final List<IShape> list) {
+		final Set<IShape> set = Collections.newSetFromMap(new IdentityHashMap<>());
+		set.addAll(list);
+		return set;
 	}
 
 	@Override
 	public void reinit() {
 		clear();
 	}
+
+
+	/**
+	 * Indexes the position of the shapes of a list. The positions are computed lazily: a change of the list
+	 * only invalidates the positions located after it.
+	 */
+	private static final class Positions {
+		/** The indexed list. */
+		private final List<IShape> list;
+		/** The position of the shapes. Only the positions lower than validTo are up to date. */
+		private final Map<IShape, Integer> positions;
+		/** The positions of the shapes before this index are up to date. */
+		private int validTo;
+
+		Positions(final ObservableList<IShape> shapes) {
+			super();
+			list = shapes;
+			positions = new IdentityHashMap<>();
+			validTo = 0;
+			shapes.addListener((ListChangeListener.Change<? extends IShape> evt) -> {
+				while(evt.next()) {
+					validTo = Math.min(validTo, evt.getFrom());
+					if(evt.wasRemoved()) {
+						evt.getRemoved().forEach(sh -> positions.remove(sh));
+					}
+				}
+			});
+		}
+
+		/**
+		 * @return The position of the given shape in the list, or -1.
+		 */
+		int indexOf(final IShape sh) {
+			Integer pos = positions.get(sh);
+
+			if(pos == null || pos >= validTo) {
+				// Computing the positions not up to date.
+				for(int i = validTo, size = list.size(); i < size; i++) {
+					positions.put(list.get(i), i);
+				}
+				validTo = list.size();
+				pos = positions.get(sh);
+			}
+
+			return pos == null || pos >= list.size() || list.get(pos) != sh ? -1 : pos;
+		}
+	}
 }
@@ -14,9 +14,12 @@ import java.util.List;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.prop.IFreeHandProp;
 import net.sf.latexdraw.models.interfaces.shape.FreeHandStyle;
@@ -35,6 +38,8 @@ class LFreehand extends LShape implements IFreehand {
 	private final IntegerProperty interval;
 	/** Defines if the drawing is opened of closed. */
 	private final BooleanProperty open;
+	/** The number of points of the shape, to notify the views about added points. */
+	private final ReadOnlyIntegerWrapper nbPoints;
 
 
 	/**
@@ -48,6 +53,20 @@ class LFreehand extends LShape implements IFreehand {
 		interval = new SimpleIntegerProperty(2);
 		open = new SimpleBooleanProperty(true);
 		points.addAll(pts);
+		nbPoints = new ReadOnlyIntegerWrapper(points.size());
+	}
+
+	@Override
+	public void addPoint(final IPoint pt) {
+		if(MathUtils.INST.isValidPt(pt)) {
+			points.add(pt);
+			nbPoints.set(points.size());
+		}
+	}
+
+	@Override
+	public ReadOnlyIntegerProperty nbPointsProperty() {
+		return nbPoints.getReadOnlyProperty();
 	}
 
 	@Override
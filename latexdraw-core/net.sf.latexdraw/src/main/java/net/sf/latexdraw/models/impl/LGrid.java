@@ -82,6 +82,7 @@ class LGrid extends LAbstractGrid implements IGrid {
 		subGridDots = new SimpleIntegerProperty(PSTricksConstants.DEFAULT_SUBGRIDDOTS);
 		subGridWidth = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_SUB_GRID_WIDTH * PPC);
 		unit = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_UNIT);
+		invalidateBoundsOn(unit);
 	}
 
 
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.prop.IArcProp;
@@ -50,13 +51,70 @@ import net.sf.latexdraw.view.latex.DviPsColors;
  * @author Arnaud Blouin
  */
 class LGroup implements LGroupArc, LGroupArrowable, LGroupAxes, LGroupDot, LGroupFreeHand, LGroupLineArc, LGroupGrid,
-	LGroupShape, LGroupStdGrid, LGroupText, LSetShapes, LPlotGroup {
+	LGroupShape, LGroupStdGrid, LGroupText, LSetShapes, LPlotGroup, LBoundsCache, LModifiedTracked {
 	/** The set of shapes. */
 	private final ObservableList<IShape> shapes;
+	/** The cached bounds of the group. */
+	private final LBounds bounds;
+	/** True if one of the shapes cannot cache its bounds for now (e.g. a plot being sampled), so that the bounds of the group cannot be cached. */
+	private boolean uncachedShapes;
+	/** Tracks the modified state of the shapes of the group. */
+	private final LModifiedTracker modified;
 
 	LGroup() {
 		super();
 		shapes = FXCollections.observableArrayList();
+		bounds = new LBounds();
+		uncachedShapes = false;
+		modified = new LModifiedTracker(this, bounds);
+		shapes.addListener((ListChangeListener.Change<? extends IShape> evt) -> modified.invalidateBounds());
+		shapes.addListener(modified.childrenListener());
+	}
+
+	@Override
+	public LModifiedTracker getModifiedTracker() {
+		return modified;
+	}
+
+	@Override
+	public LBounds getGroupBounds() {
+		// The shapes invalidate the cached bounds when their own bounds change.
+		if(bounds.isValid() && !uncachedShapes) {
+			return bounds;
+		}
+
+		boolean uncached = false;
+		boolean empty = true;
+
+		for(final IShape sh : shapes) {
+			LBounds b = sh instanceof LBoundsCache ? ((LBoundsCache) sh).getCachedBounds() : null;
+
+			if(b == null) {
+				uncached = true;
+				b = new LBounds();
+				b.setFromShape(sh);
+			}
+
+			if(empty) {
+				bounds.setFrom(b);
+				empty = false;
+			}else {
+				bounds.merge(b);
+			}
+		}
+
+		if(empty) {
+			bounds.set(Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+		}
+
+		uncachedShapes = uncached;
+		return bounds;
+	}
+
+	@Override
+	public LBounds getCachedBounds() {
+		final LBounds b = getGroupBounds();
+		return uncachedShapes ? null : b;
 	}
 
 	@Override
@@ -66,12 +124,22 @@ class LGroup implements LGroupArc, LGroupArrowable, LGroupAxes, LGroupDot, LGrou
 
 	@Override
 	public void setModified(final boolean modified) {
-		getShapes().forEach(sh -> sh.setModified(modified));
+		if(modified) {
+			getShapes().forEach(sh -> sh.setModified(true));
+		}else {
+			// Only the modified shapes have to be reset.
+			this.modified.getModifiedChildren().forEach(sh -> sh.setModified(false));
+		}
 	}
 
 	@Override
 	public boolean isModified() {
-		return getShapes().parallelStream().anyMatch(sh -> sh.isModified());
+		return modified.isModified();
+	}
+
+	@Override
+	public long getRevision() {
+		return modified.getRevision();
 	}
 
 	@Override
@@ -10,6 +10,7 @@
  */
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -434,6 +435,11 @@ interface LGroupShape extends IGroup {
 		getShapes().forEach(sh -> sh.translate(tx, ty));
 	}
 
+	@Override
+	default void transform(final AffineTransform transform) {
+		getShapes().forEach(sh -> sh.transform(transform));
+	}
+
 	@Override
 	default void addToRotationAngle(final IPoint gravCentre, final double angle) {
 		final IPoint gc = getGravityCentre();
@@ -460,32 +466,34 @@ interface LGroupShape extends IGroup {
 		return isEmpty() ? ShapeFactory.INST.createPoint() : getTopLeftPoint().getMiddlePoint(getBottomRightPoint());
 	}
 
+	/**
+	 * @return The bounds of the group, computed from the bounds of its shapes.
+	 * The values are NaN when the group is empty.
+	 */
+	LBounds getGroupBounds();
+
 	@Override
 	default IPoint getBottomRightPoint() {
-		return getShapes().parallelStream().map(sh -> sh.getBottomRightPoint()).
-			reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.max(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).
-			orElse(ShapeFactory.INST.createPoint(Double.NaN, Double.NaN));
+		final LBounds b = getGroupBounds();
+		return ShapeFactory.INST.createPoint(b.brX, b.brY);
 	}
 
 	@Override
 	default IPoint getBottomLeftPoint() {
-		return getShapes().parallelStream().map(sh -> sh.getBottomLeftPoint()).
-			reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.min(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).
-			orElse(ShapeFactory.INST.createPoint(Double.NaN, Double.NaN));
+		final LBounds b = getGroupBounds();
+		return ShapeFactory.INST.createPoint(b.blX, b.blY);
 	}
 
 	@Override
 	default IPoint getTopLeftPoint() {
-		return getShapes().parallelStream().map(sh -> sh.getTopLeftPoint()).
-			reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.min(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).
-			orElse(ShapeFactory.INST.createPoint(Double.NaN, Double.NaN));
+		final LBounds b = getGroupBounds();
+		return ShapeFactory.INST.createPoint(b.tlX, b.tlY);
 	}
 
 	@Override
 	default IPoint getTopRightPoint() {
-		return getShapes().parallelStream().map(sh -> sh.getTopRightPoint()).
-			reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.max(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).
-			orElse(ShapeFactory.INST.createPoint(Double.NaN, Double.NaN));
+		final LBounds b = getGroupBounds();
+		return ShapeFactory.INST.createPoint(b.trX, b.trY);
 	}
 
 	@Override
@@ -10,10 +10,9 @@
  */
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.AffineTransform;
 import java.util.List;
-import java.util.stream.Collectors;
 import net.sf.latexdraw.models.MathUtils;
-import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.IModifiablePointsShape;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
 
@@ -24,9 +23,36 @@ import net.sf.latexdraw.models.interfaces.shape.IPoint;
 abstract class LModifiablePointsShape extends LShape implements IModifiablePointsShape {
 	protected LModifiablePointsShape(final List<IPoint> pts) {
 		super();
-		if(pts == null || pts.stream().anyMatch(pt -> !MathUtils.INST.isValidPt(pt)))
+		if(pts == null || !areValidPoints(pts))
 			throw new IllegalArgumentException();
-		points.addAll(pts.stream().map(pt -> ShapeFactory.INST.createPoint(pt)).collect(Collectors.toList()));
+		points.addAll(pts);
+	}
+
+	/**
+	 * @return True if all the given points are valid. Packed points are checked without creating any point.
+	 */
+	private static boolean areValidPoints(final List<IPoint> pts) {
+		if(pts instanceof LPackedPoints) {
+			final LPackedPoints packed = (LPackedPoints) pts;
+			for(int i = 0, size = packed.size(); i < size; i++) {
+				if(!MathUtils.INST.isValidPt(packed.getX(i), packed.getY(i))) return false;
+			}
+			return true;
+		}
+
+		for(final IPoint pt : pts) {
+			if(!MathUtils.INST.isValidPt(pt)) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void transform(final AffineTransform transform) {
+		// The rotations are applied to the points (see setRotationAngle), so the full matrix is applied
+		// to the points in a single pass and the rotation angle is not changed.
+		if(isValidTransform(transform)) {
+			points.transform(transform);
+		}
 	}
 
 	@Override
@@ -41,7 +67,7 @@ abstract class LModifiablePointsShape extends LShape implements IModifiablePoint
 			final IPoint gc2 = gc == null ? getGravityCentre() : gc;
 
 			super.setRotationAngle(angle);
-			points.forEach(pt -> pt.setPoint(pt.rotatePoint(gc2, diff)));
+			points.rotate(gc2.getX(), gc2.getY(), diff);
 		}
 	}
 
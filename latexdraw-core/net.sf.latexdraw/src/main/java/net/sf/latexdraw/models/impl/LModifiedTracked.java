@@ -8,17 +8,15 @@
  * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
  * General Public License for more details.
  */
-package net.sf.latexdraw.parsers.ps;
-
-import java.util.Deque;
+package net.sf.latexdraw.models.impl;
 
 /**
- * The Postscript variable.
+ * Implemented by the shapes that track their modified state with a LModifiedTracker.
  * @author Arnaud Blouin
  */
-public class PSPlotXVariable implements PSArithemticCommand {
-	@Override
-	public void execute(final Deque<Double> stack, final double x) {
-		stack.push(x);
-	}
+interface LModifiedTracked {
+	/**
+	 * @return The tracker of the modified state of the shape. Cannot be null.
+	 */
+	LModifiedTracker getModifiedTracker();
 }
@@ -0,0 +1,218 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2017 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.models.impl;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import javafx.collections.ListChangeListener;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+
+/**
+ * Tracks the modified state of a shape or of a set of shapes.
+ * A tracker is modified when its own flag is set or when one of its children is modified.
+ * Children notify their parents when their state changes, so that querying the state of a drawing
+ * or of a group does not require to go through all its shapes.
+ * The tracker also counts the modifications (its revision) so that caches can detect outdated entries.
+ * The same links invalidate the cached bounds of the containers when the bounds of a shape change.
+ * The parents are weakly referenced: the short-lived groups built around shapes (e.g. the selection)
+ * are not kept alive by their shapes.
+ * @author Arnaud Blouin
+ */
+final class LModifiedTracker {
+	/** The trackers of the containers of the tracked shape. Null until the shape is added to a container. */
+	private List<WeakReference<LModifiedTracker>> parents;
+	/** The cached bounds of the tracked container, invalidated when the bounds of one of its children change. Can be null. */
+	private final LBounds bounds;
+	/** The tracked shape. Null if the tracked object is not a shape (e.g. a drawing). */
+	private final IShape owner;
+	/** The modified children. Null until a child is modified. */
+	private Set<IShape> modifiedChildren;
+	/** The modified flag of the tracked object itself. */
+	private boolean modified;
+	/** Incremented each time the tracked object or one of its children is modified. */
+	private long revision;
+
+	LModifiedTracker() {
+		this(null, null);
+	}
+
+	/**
+	 * @param shape The tracked shape. Can be null.
+	 * @param containerBounds The cached bounds of the tracked container. Can be null.
+	 */
+	LModifiedTracker(final IShape shape, final LBounds containerBounds) {
+		super();
+		owner = shape;
+		bounds = containerBounds;
+		parents = null;
+		modifiedChildren = null;
+		modified = false;
+		revision = 0L;
+	}
+
+	/**
+	 * @return The number of modifications of the tracked object and of its children.
+	 */
+	long getRevision() {
+		return revision;
+	}
+
+	/**
+	 * Increments the revision of the tracked object and of its containers.
+	 */
+	void incrementRevision() {
+		revision++;
+		forEachParent(parent -> parent.incrementRevision());
+	}
+
+	/**
+	 * Invalidates the cached bounds of the containers of the tracked object.
+	 * Called when the bounds of the tracked object may have changed.
+	 */
+	void invalidateParentsBounds() {
+		forEachParent(parent -> parent.invalidateBounds());
+	}
+
+	/**
+	 * Invalidates the cached bounds of the tracked container and of its own containers.
+	 */
+	void invalidateBounds() {
+		// The containers of a container with outdated bounds have outdated bounds too.
+		if(bounds != null && bounds.isValid()) {
+			bounds.invalidate();
+			invalidateParentsBounds();
+		}
+	}
+
+	/**
+	 * @return The number of containers of the tracked object still in use.
+	 */
+	int getNbParents() {
+		final int[] nb = {0};
+		forEachParent(parent -> nb[0]++);
+		return nb[0];
+	}
+
+	/**
+	 * @return True if the tracked object or one of its children is modified.
+	 */
+	boolean isModified() {
+		return modified || modifiedChildren != null && !modifiedChildren.isEmpty();
+	}
+
+	/**
+	 * @return The modified children of the tracked object (a copy, so that they can be reset while iterating).
+	 */
+	List<IShape> getModifiedChildren() {
+		return modifiedChildren == null ? Collections.emptyList() : new ArrayList<>(modifiedChildren);
+	}
+
+	/**
+	 * Sets the modified flag of the tracked object itself.
+	 */
+	void setModified(final boolean value) {
+		final boolean before = isModified();
+		modified = value;
+		notifyParents(before);
+		if(value) {
+			incrementRevision();
+		}
+	}
+
+	/**
+	 * @return A listener that registers and unregisters this tracker as the parent of the added and removed shapes.
+	 */
+	ListChangeListener<IShape> childrenListener() {
+		return evt -> {
+			while(evt.next()) {
+				if(evt.wasRemoved()) {
+					evt.getRemoved().forEach(sh -> removeChild(sh));
+				}
+				if(evt.wasAdded()) {
+					evt.getAddedSubList().forEach(sh -> addChild(sh));
+				}
+			}
+		};
+	}
+
+	private void addChild(final IShape sh) {
+		if(sh instanceof LModifiedTracked) {
+			final LModifiedTracker child = ((LModifiedTracked) sh).getModifiedTracker();
+			if(child.parents == null) {
+				child.parents = new ArrayList<>(1);
+			}else {
+				child.parents.removeIf(ref -> ref.get() == null);
+			}
+			child.parents.add(new WeakReference<>(this));
+			if(child.isModified()) onChildChanged(sh, true);
+		}
+	}
+
+	private void removeChild(final IShape sh) {
+		if(sh instanceof LModifiedTracked) {
+			final LModifiedTracker child = ((LModifiedTracked) sh).getModifiedTracker();
+			if(child.parents != null && child.removeParent(this) && child.isModified()) onChildChanged(sh, false);
+		}
+	}
+
+	private boolean removeParent(final LModifiedTracker parent) {
+		final Iterator<WeakReference<LModifiedTracker>> it = parents.iterator();
+		while(it.hasNext()) {
+			if(it.next().get() == parent) {
+				it.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void onChildChanged(final IShape child, final boolean childModified) {
+		final boolean before = isModified();
+		if(childModified) {
+			if(modifiedChildren == null) {
+				modifiedChildren = Collections.newSetFromMap(new IdentityHashMap<>());
+			}
+			modifiedChildren.add(child);
+		}else if(modifiedChildren != null) {
+			modifiedChildren.remove(child);
+		}
+		notifyParents(before);
+	}
+
+	private void notifyParents(final boolean before) {
+		final boolean after = isModified();
+		if(before != after) {
+			forEachParent(parent -> parent.onChildChanged(owner, after));
+		}
+	}
+
+	/**
+	 * Applies the given action on the parents still in use and forgets the collected ones.
+	 */
+	private void forEachParent(final Consumer<LModifiedTracker> action) {
+		if(parents == null) return;
+		final Iterator<WeakReference<LModifiedTracker>> it = parents.iterator();
+		while(it.hasNext()) {
+			final LModifiedTracker parent = it.next().get();
+			if(parent == null) {
+				it.remove();
+			}else {
+				action.accept(parent);
+			}
+		}
+	}
+}
@@ -0,0 +1,450 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2017 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.models.impl;
+
+import java.awt.geom.AffineTransform;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import net.sf.latexdraw.models.MathUtils;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+
+/**
+ * A compact list of points: the coordinates are stored in a single array of doubles.
+ * The points returned by this list are light views over this array. The JavaFX properties of a point
+ * are only created (and the corresponding view kept by the list) when a caller asks for them (e.g. to bind them).
+ * Points can be appended and replaced, but not removed: remove and clear throw an UnsupportedOperationException
+ * since the points given to the views are bound to their position. The shapes only expose this list through an unmodifiable view.
+ * @author Arnaud Blouin
+ */
+class LPackedPoints extends AbstractList<IPoint> implements RandomAccess {
+	/** The coordinates of the points: x0, y0, x1, y1, etc. */
+	private double[] coords;
+	/** The number of points. */
+	private int size;
+	/** The points which JavaFX properties have been created. Null when no property has been created yet. */
+	private PackedPoint[] boundPts;
+	/** Called each time a point is added or moved. May be null. */
+	private final Runnable onChange;
+	/** True while the change callback must not be called. */
+	private boolean muted;
+	/** The users of the array of coordinates when it is shared with other lists: it must be copied before being modified. Null if not shared. */
+	private SharedCoords sharedCoords;
+
+	LPackedPoints() {
+		this(4, null);
+	}
+
+	/**
+	 * Creates the list.
+	 * @param changeCallback Called each time a point is added or moved. May be null.
+	 */
+	LPackedPoints(final Runnable changeCallback) {
+		this(4, changeCallback);
+	}
+
+	/**
+	 * Creates the list with a capacity.
+	 * @param capacity The expected number of points.
+	 */
+	LPackedPoints(final int capacity) {
+		this(capacity, null);
+	}
+
+	private LPackedPoints(final int capacity, final Runnable changeCallback) {
+		super();
+		coords = new double[Math.max(capacity, 1) * 2];
+		size = 0;
+		boundPts = null;
+		onChange = changeCallback;
+		muted = false;
+		sharedCoords = null;
+	}
+
+	/**
+	 * Creates the list from the coordinates of the given points.
+	 * @param pts The points to copy.
+	 */
+	LPackedPoints(final Collection<? extends IPoint> pts) {
+		this(pts instanceof LPackedPoints ? 1 : pts.size());
+		addAll(pts);
+	}
+
+	/**
+	 * Creates a list that uses the given array of coordinates. The array is not copied: it is copied
+	 * before the first modification of the list so that the caller can still use it.
+	 * @param coords The coordinates of the points: x0, y0, x1, y1, etc.
+	 * @return The created list.
+	 * @throws IllegalArgumentException If the number of coordinates is odd.
+	 */
+	static LPackedPoints wrap(final double[] coords) {
+		if(coords.length % 2 != 0) {
+			throw new IllegalArgumentException("Odd number of coordinates: " + coords.length);
+		}
+		final LPackedPoints pts = new LPackedPoints(1, null);
+		if(coords.length > 0) {
+			pts.coords = coords;
+			pts.size = coords.length / 2;
+			// The caller keeps the array: it is never released.
+			pts.sharedCoords = new SharedCoords(2);
+		}
+		return pts;
+	}
+
+	@Override
+	public IPoint get(final int index) {
+		checkIndex(index);
+		final PackedPoint bound = getBound(index);
+		return bound == null ? new PackedPoint(index) : bound;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Replaces the coordinates of the point at the given position. The properties of this point, if created, are updated.
+	 * @return A copy of the replaced point.
+	 */
+	@Override
+	public IPoint set(final int index, final IPoint pt) {
+		final IPoint old = ShapeFactory.INST.createPoint(getX(index), getY(index));
+		setX(index, pt.getX());
+		setY(index, pt.getY());
+		return old;
+	}
+
+	@Override
+	public boolean add(final IPoint pt) {
+		add(pt.getX(), pt.getY());
+		return true;
+	}
+
+	@Override
+	public boolean addAll(final Collection<? extends IPoint> pts) {
+		// Copying a packed list in an empty one: the coordinates are shared until one of the lists is modified.
+		if(size == 0 && pts instanceof LPackedPoints && pts != this) {
+			return shareCoords((LPackedPoints) pts);
+		}
+
+		ensureCapacity(size + pts.size());
+		pts.forEach(pt -> add(pt.getX(), pt.getY()));
+		return !pts.isEmpty();
+	}
+
+	/**
+	 * Appends a point.
+	 * @param x The X-coordinate of the point.
+	 * @param y The Y-coordinate of the point.
+	 */
+	void add(final double x, final double y) {
+		ensureCapacity(size + 1);
+		ensureWritable();
+		coords[size * 2] = x;
+		coords[size * 2 + 1] = y;
+		size++;
+		modCount++;
+		notifyChange();
+	}
+
+	/**
+	 * @param index The position of the point.
+	 * @return The X-coordinate of the point at the given position.
+	 */
+	double getX(final int index) {
+		checkIndex(index);
+		return coords[index * 2];
+	}
+
+	/**
+	 * @param index The position of the point.
+	 * @return The Y-coordinate of the point at the given position.
+	 */
+	double getY(final int index) {
+		checkIndex(index);
+		return coords[index * 2 + 1];
+	}
+
+	/**
+	 * Sets the X-coordinate of a point. If the property of this coordinate has been created, it is updated.
+	 * @param index The position of the point.
+	 * @param x The new X-coordinate.
+	 */
+	void setX(final int index, final double x) {
+		checkIndex(index);
+		final PackedPoint bound = getBound(index);
+		if(bound == null || bound.x == null) {
+			ensureWritable();
+			coords[index * 2] = x;
+			notifyChange();
+		}else {
+			bound.x.set(x);
+		}
+	}
+
+	/**
+	 * Sets the Y-coordinate of a point. If the property of this coordinate has been created, it is updated.
+	 * @param index The position of the point.
+	 * @param y The new Y-coordinate.
+	 */
+	void setY(final int index, final double y) {
+		checkIndex(index);
+		final PackedPoint bound = getBound(index);
+		if(bound == null || bound.y == null) {
+			ensureWritable();
+			coords[index * 2 + 1] = y;
+			notifyChange();
+		}else {
+			bound.y.set(y);
+		}
+	}
+
+	/**
+	 * Rotates all the points in place, without creating any point.
+	 * Nothing is done if one of the parameters is not valid.
+	 * @param cx The X-coordinate of the centre of the rotation.
+	 * @param cy The Y-coordinate of the centre of the rotation.
+	 * @param theta The rotation angle in radian.
+	 */
+	void rotate(final double cx, final double cy, final double theta) {
+		if(MathUtils.INST.isValidPt(cx, cy) && MathUtils.INST.isValidCoord(theta)) {
+			transform(AffineTransform.getRotateInstance(theta, cx, cy));
+		}
+	}
+
+	/**
+	 * Applies an affine transformation to all the points in a single pass over the coordinates.
+	 * The JavaFX properties of the points are then updated and the change callback is called once.
+	 * @param transform The transformation to apply.
+	 */
+	void transform(final AffineTransform transform) {
+		if(size == 0 || transform.isIdentity()) return;
+
+		ensureWritable();
+		transform.transform(coords, 0, coords, 0, size);
+		onCoordsChanged();
+	}
+
+	/**
+	 * Scales all the points from a reference point in a single pass over the coordinates.
+	 * The coordinates equal to the reference ones are not changed.
+	 * @param refX The X-coordinate of the reference point.
+	 * @param refY The Y-coordinate of the reference point.
+	 * @param sx The X scale factor.
+	 * @param sy The Y scale factor.
+	 */
+	void scale(final double refX, final double refY, final double sx, final double sy) {
+		if(size == 0) return;
+
+		ensureWritable();
+		for(int i = 0, len = size * 2; i < len; i += 2) {
+			if(sx != 1d && !MathUtils.INST.equalsDouble(coords[i], refX)) coords[i] = refX + (coords[i] - refX) * sx;
+			if(sy != 1d && !MathUtils.INST.equalsDouble(coords[i + 1], refY)) coords[i + 1] = refY + (coords[i + 1] - refY) * sy;
+		}
+		onCoordsChanged();
+	}
+
+	/**
+	 * Updates the JavaFX properties of the points once their coordinates changed and calls the change callback once.
+	 */
+	private void onCoordsChanged() {
+		if(boundPts != null) {
+			muted = true;
+			for(final PackedPoint pt : boundPts) {
+				if(pt != null && pt.index < size) {
+					if(pt.x != null) pt.x.set(coords[pt.index * 2]);
+					if(pt.y != null) pt.y.set(coords[pt.index * 2 + 1]);
+				}
+			}
+			muted = false;
+		}
+
+		notifyChange();
+	}
+
+	private void notifyChange() {
+		if(onChange != null && !muted) {
+			onChange.run();
+		}
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if(capacity * 2 > coords.length) {
+			coords = Arrays.copyOf(coords, Math.max(capacity * 2, coords.length * 2));
+			releaseCoords();
+		}
+	}
+
+	/**
+	 * Shares the coordinates of the given list.
+	 */
+	private boolean shareCoords(final LPackedPoints pts) {
+		if(pts.size == 0) return false;
+		releaseCoords();
+		if(pts.sharedCoords == null) {
+			pts.sharedCoords = new SharedCoords(1);
+		}
+		pts.sharedCoords.nbUsers++;
+		coords = pts.coords;
+		size = pts.size;
+		sharedCoords = pts.sharedCoords;
+		modCount++;
+		notifyChange();
+		return true;
+	}
+
+	/**
+	 * Copies the coordinates if they are shared with another list, before modifying them.
+	 */
+	private void ensureWritable() {
+		if(sharedCoords != null) {
+			// The last user of a shared array can modify it.
+			if(sharedCoords.nbUsers > 1) {
+				coords = coords.clone();
+			}
+			releaseCoords();
+		}
+	}
+
+	/**
+	 * Stops using the shared array of coordinates, if any.
+	 */
+	private void releaseCoords() {
+		if(sharedCoords != null) {
+			sharedCoords.nbUsers--;
+			sharedCoords = null;
+		}
+	}
+
+	/**
+	 * @return True if the array of coordinates is shared with other lists.
+	 */
+	boolean isSharingCoords() {
+		return sharedCoords != null && sharedCoords.nbUsers > 1;
+	}
+
+	private void checkIndex(final int index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * @return The point that owns the JavaFX properties of the position at the given index, or null.
+	 */
+	private PackedPoint getBound(final int index) {
+		return boundPts == null || index >= boundPts.length ? null : boundPts[index];
+	}
+
+	/**
+	 * Registers the given point as the point that owns the JavaFX properties of its position.
+	 */
+	private PackedPoint bind(final PackedPoint pt) {
+		if(boundPts == null) {
+			boundPts = new PackedPoint[Math.max(size, 4)];
+		}else if(boundPts.length < size) {
+			boundPts = Arrays.copyOf(boundPts, Math.max(size, boundPts.length * 2));
+		}
+
+		if(boundPts[pt.index] == null) {
+			boundPts[pt.index] = pt;
+		}
+
+		return boundPts[pt.index];
+	}
+
+
+	/**
+	 * Counts the lists that use the same array of coordinates.
+	 */
+	private static final class SharedCoords {
+		int nbUsers;
+
+		SharedCoords(final int users) {
+			super();
+			nbUsers = users;
+		}
+	}
+
+
+	/**
+	 * A point of the list. Its coordinates are stored in the list.
+	 */
+	private final class PackedPoint extends LAbstractPoint {
+		private final int index;
+		/** Lazily created. Once created, it is synchronised with the list. */
+		private DoubleProperty x;
+		/** Lazily created. Once created, it is synchronised with the list. */
+		private DoubleProperty y;
+
+		PackedPoint(final int position) {
+			super();
+			index = position;
+		}
+
+		@Override
+		public double getX() {
+			return coords[index * 2];
+		}
+
+		@Override
+		public double getY() {
+			return coords[index * 2 + 1];
+		}
+
+		@Override
+		public void setX(final double newX) {
+			if(MathUtils.INST.isValidCoord(newX)) LPackedPoints.this.setX(index, newX);
+		}
+
+		@Override
+		public void setY(final double newY) {
+			if(MathUtils.INST.isValidCoord(newY)) LPackedPoints.this.setY(index, newY);
+		}
+
+		@Override
+		public DoubleProperty xProperty() {
+			final PackedPoint bound = bind(this);
+			if(bound.x == null) {
+				bound.x = new SimpleDoubleProperty(getX()) {
+					@Override
+					protected void invalidated() {
+						ensureWritable();
+						coords[index * 2] = get();
+						notifyChange();
+					}
+				};
+			}
+			return bound.x;
+		}
+
+		@Override
+		public DoubleProperty yProperty() {
+			final PackedPoint bound = bind(this);
+			if(bound.y == null) {
+				bound.y = new SimpleDoubleProperty(getY()) {
+					@Override
+					protected void invalidated() {
+						ensureWritable();
+						coords[index * 2 + 1] = get();
+						notifyChange();
+					}
+				};
+			}
+			return bound.y;
+		}
+	}
+}
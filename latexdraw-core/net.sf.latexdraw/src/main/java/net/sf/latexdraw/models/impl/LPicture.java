@@ -136,6 +136,12 @@ class LPicture extends LPositionShape implements IPicture {
 	}
 
 
+	@Override
+	public LBounds getCachedBounds() {
+		// The bounds depend on the size of the image, not only on its position.
+		return getCornersBounds();
+	}
+
 	@Override
 	public IPoint getPosition() {
 		return getTopLeftPoint();
@@ -218,6 +224,7 @@ class LPicture extends LPositionShape implements IPicture {
 		if(pathSource != null) {
 			loadImage();
 		}
+		invalidateBounds();
 	}
 
 	@Override
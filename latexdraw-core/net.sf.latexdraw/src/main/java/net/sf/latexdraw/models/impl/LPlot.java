@@ -12,7 +12,9 @@ package net.sf.latexdraw.models.impl;
 
 import java.awt.geom.Rectangle2D;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
@@ -53,6 +55,11 @@ class LPlot extends LPositionShape implements IPlot {
 	private final DoubleProperty xscale;
 	private final DoubleProperty yscale;
 	private PSFunctionParser parser;
+	private final BooleanProperty adaptive;
+	/** The cached samples of the function. Volatile: the samples of large plots are computed out of the JFX thread. */
+	private volatile LPlotSamples samples;
+	/** The sampling in progress out of the JFX thread, if any. Atomic: cleared by the sampling task once done. */
+	private final AtomicReference<CompletableFuture<Void>> pendingSampling;
 
 	LPlot(final IPoint pt, final double xMin, final double xMax, final String equationPlot, final boolean polarCoord) {
 		super(pt);
@@ -71,6 +78,9 @@ class LPlot extends LPositionShape implements IPlot {
 		maxX = new SimpleDoubleProperty(xMax);
 		xscale = new SimpleDoubleProperty(1d);
 		yscale = new SimpleDoubleProperty(1d);
+		adaptive = new SimpleBooleanProperty(false);
+		pendingSampling = new AtomicReference<>();
+		invalidateBoundsOn(nbPoints, equation, minX, maxX, xscale, yscale, adaptive);
 	}
 
 
@@ -89,14 +99,25 @@ class LPlot extends LPositionShape implements IPlot {
 			maxX.set(plot.getPlotMaxX());
 			xscale.set(plot.getXScale());
 			yscale.set(plot.getYScale());
-			setPlotEquation(plot.getPlotEquation());
+
+			if(sh instanceof IPlot) {
+				adaptive.set(((IPlot) sh).isAdaptiveSampling());
+			}
+
+			if(sh instanceof LPlot) {
+				// The parsed function and the samples do not change once created: they are shared instead of being computed again.
+				final LPlot lplot = (LPlot) sh;
+				equation.set(plot.getPlotEquation());
+				parser = lplot.parser;
+				samples = lplot.samples;
+			}else {
+				setPlotEquation(plot.getPlotEquation());
+			}
 		}else if(sh instanceof IDotProp) {
 			final IDotProp dot = (IDotProp) sh;
 			dotStyle.set(dot.getDotStyle());
 			dotDiametre.set(dot.getDiametre());
 		}
-
-		parser = new PSFunctionParser(equation.get());
 	}
 
 
@@ -168,40 +189,135 @@ class LPlot extends LPositionShape implements IPlot {
 		return (getPlotMaxX() - getPlotMinX()) / (getNbPlottedPoints() - 1);
 	}
 
+	@Override
+	public LBounds getCachedBounds() {
+		// The bounds depend on the samples of the function. While they are computed out of the JFX thread,
+		// the bounds are not cached since they change once the sampling is done.
+		return isSamplingPending() ? null : getCornersBounds();
+	}
+
 	@Override
 	public IPoint getTopLeftPoint() {
-		final double step = getPlottingStep();
 		final IPoint pos = getPosition();
-		final double plotMinX = getPlotMinX();
-		final double yMax = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).max().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + plotMinX * IShape.PPC * getXScale(), pos.getY() - yMax * IShape.PPC * getYScale());
+		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMinX() * IShape.PPC * getXScale(), pos.getY() - getBoundsSamples().maxY * IShape.PPC * getYScale());
 	}
 
 	@Override
 	public IPoint getBottomRightPoint() {
-		final double step = getPlottingStep();
 		final IPoint pos = getPosition();
-		final double plotMinX = getPlotMinX();
-		final double yMin = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).min().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMaxX() * IShape.PPC * getXScale(), pos.getY() - yMin * IShape.PPC * getYScale());
+		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMaxX() * IShape.PPC * getXScale(), pos.getY() - getBoundsSamples().minY * IShape.PPC * getYScale());
 	}
 
 	@Override
 	public IPoint getTopRightPoint() {
-		final double step = getPlottingStep();
 		final IPoint pos = getPosition();
-		final double plotMinX = getPlotMinX();
-		final double maxY = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).max().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMaxX() * IShape.PPC * getXScale(), pos.getY() - maxY * IShape.PPC * getYScale());
+		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMaxX() * IShape.PPC * getXScale(), pos.getY() - getBoundsSamples().maxY * IShape.PPC * getYScale());
 	}
 
 	@Override
 	public IPoint getBottomLeftPoint() {
-		final double step = getPlottingStep();
 		final IPoint pos = getPosition();
-		final double plotMinX = getPlotMinX();
-		final double yMin = IntStream.range(0, getNbPlottedPoints()).mapToDouble(x -> getY(plotMinX + x * step)).min().orElse(0.0);
-		return ShapeFactory.INST.createPoint(pos.getX() + plotMinX * IShape.PPC * getXScale(), pos.getY() - yMin * IShape.PPC * getYScale());
+		return ShapeFactory.INST.createPoint(pos.getX() + getPlotMinX() * IShape.PPC * getXScale(), pos.getY() - getBoundsSamples().minY * IShape.PPC * getYScale());
+	}
+
+	@Override
+	public double[] getPlotSamplesX() {
+		return getSamples().xs;
+	}
+
+	@Override
+	public double[] getPlotSamplesY() {
+		return getSamples().ys;
+	}
+
+	@Override
+	public CompletableFuture<Void> sampleAsync() {
+		final CompletableFuture<Void> previous = pendingSampling.getAndSet(null);
+		if(previous != null) {
+			previous.cancel(false);
+		}
+
+		// The parameters are read in the calling thread: the job only uses this snapshot.
+		final int nbPts = getNbPlottedPoints();
+		final double min = getPlotMinX();
+		final double max = getPlotMaxX();
+		final boolean adapt = isAdaptiveSampling();
+		final PSFunctionParser fct = parser;
+		final LPlotSamples current = samples;
+
+		if(current != null && current.isSampling(fct, min, max, nbPts, adapt)) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		final CompletableFuture<Void> sampling = new CompletableFuture<>();
+		pendingSampling.set(sampling);
+		ForkJoinPool.commonPool().execute(() -> {
+			try {
+				final LPlotSamples computed = LPlotSamples.sample(fct, min, max, nbPts, adapt, sampling::isCancelled);
+				if(computed != null && !sampling.isCancelled()) {
+					samples = computed;
+					sampling.complete(null);
+				}
+			}catch(final RuntimeException ex) {
+				sampling.completeExceptionally(ex);
+			}finally {
+				pendingSampling.compareAndSet(sampling, null);
+			}
+		});
+		return sampling;
+	}
+
+	/**
+	 * @return The samples used to compute the bounds: the previous samples while a sampling is in progress out of the JFX thread
+	 * (to avoid sampling the function twice), the current samples otherwise.
+	 */
+	private LPlotSamples getBoundsSamples() {
+		final LPlotSamples current = samples;
+		if(current != null && isSamplingPending()) {
+			return current;
+		}
+		return getSamples();
+	}
+
+	/**
+	 * @return True if a sampling is in progress out of the JFX thread.
+	 */
+	private boolean isSamplingPending() {
+		final CompletableFuture<Void> pending = pendingSampling.get();
+		return pending != null && !pending.isDone();
+	}
+
+	/**
+	 * @return The samples of the function, computed again if one of their parameters changed since the last sampling.
+	 */
+	private LPlotSamples getSamples() {
+		final int nbPts = getNbPlottedPoints();
+		final double min = getPlotMinX();
+		final double max = getPlotMaxX();
+		final boolean adapt = isAdaptiveSampling();
+		final PSFunctionParser fct = parser;
+		LPlotSamples current = samples;
+
+		if(current == null || !current.isSampling(fct, min, max, nbPts, adapt)) {
+			current = LPlotSamples.sample(fct, min, max, nbPts, adapt);
+			samples = current;
+		}
+		return current;
+	}
+
+	@Override
+	public boolean isAdaptiveSampling() {
+		return adaptive.get();
+	}
+
+	@Override
+	public void setAdaptiveSampling(final boolean adaptiveSampling) {
+		adaptive.set(adaptiveSampling);
+	}
+
+	@Override
+	public BooleanProperty adaptiveSamplingProperty() {
+		return adaptive;
 	}
 
 	@Override
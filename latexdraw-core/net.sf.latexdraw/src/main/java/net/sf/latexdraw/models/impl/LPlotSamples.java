@@ -0,0 +1,210 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2017 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.models.impl;
+
+import java.util.PriorityQueue;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import net.sf.latexdraw.parsers.ps.PSFunctionParser;
+
+/**
+ * The samples of a plotted function, with the parameters used to compute them.
+ * Immutable: the samples can be shared by several plots.
+ * @author Arnaud Blouin
+ */
+final class LPlotSamples {
+	/** The number of points of the initial uniform sampling of the adaptive mode. */
+	static final int ADAPTIVE_INITIAL_POINTS = 17;
+	/** The maximal error of the adaptive sampling, relatively to the height of the plot. */
+	static final double ADAPTIVE_TOLERANCE = 1e-3;
+	/** From this number of points, the uniform sampling is computed in parallel. */
+	static final int PARALLEL_THRESHOLD = 10000;
+	/** The number of points evaluated by each task of the parallel sampling. */
+	static final int PARALLEL_CHUNK = 2048;
+
+	final double[] xs;
+	final double[] ys;
+	final double minY;
+	final double maxY;
+	private final PSFunctionParser parser;
+	private final double minX;
+	private final double maxX;
+	private final int nbPts;
+	private final boolean adaptive;
+
+	private LPlotSamples(final PSFunctionParser parser, final double minX, final double maxX, final int nbPts, final boolean adaptive,
+						final double[] xs, final double[] ys) {
+		super();
+		this.parser = parser;
+		this.minX = minX;
+		this.maxX = maxX;
+		this.nbPts = nbPts;
+		this.adaptive = adaptive;
+		this.xs = xs;
+		this.ys = ys;
+
+		if(ys.length == 0) {
+			minY = 0d;
+			maxY = 0d;
+		}else {
+			double min = ys[0];
+			double max = ys[0];
+			for(int i = 1; i < ys.length; i++) {
+				min = Math.min(min, ys[i]);
+				max = Math.max(max, ys[i]);
+			}
+			minY = min;
+			maxY = max;
+		}
+	}
+
+	/**
+	 * @return True if the samples were computed with the given parameters.
+	 */
+	boolean isSampling(final PSFunctionParser fct, final double min, final double max, final int nb, final boolean adapt) {
+		return parser == fct && minX == min && maxX == max && nbPts == nb && adaptive == adapt;
+	}
+
+	/**
+	 * Samples the function: nbPts points spaced by the same step from the min X, or at most nbPts points
+	 * if the adaptive mode is used.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 */
+	static LPlotSamples sample(final PSFunctionParser fct, final double min, final double max, final int nb, final boolean adapt) {
+		return sample(fct, min, max, nb, adapt, () -> false);
+	}
+
+	/**
+	 * Samples the function (see sample) until the given supplier states that the sampling is cancelled.
+	 * @return The samples, or null if the sampling was cancelled.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 */
+	static LPlotSamples sample(final PSFunctionParser fct, final double min, final double max, final int nb, final boolean adapt,
+							final BooleanSupplier cancelled) {
+		if(adapt) {
+			return sampleAdaptive(fct, min, max, nb, cancelled);
+		}
+		final double[] xs = uniformXs(min, max, nb);
+		final double[] ys = new double[xs.length];
+
+		if(xs.length < PARALLEL_THRESHOLD) {
+			fct.evaluate(xs, ys);
+		}else {
+			// Fork-join chunks: each chunk writes its own range of the arrays, so the result does not depend on the scheduling.
+			final int nbChunks = (nb + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+			IntStream.range(0, nbChunks).parallel().forEach(chunk -> {
+				if(!cancelled.getAsBoolean()) {
+					fct.evaluate(xs, ys, chunk * PARALLEL_CHUNK, Math.min(nb, (chunk + 1) * PARALLEL_CHUNK));
+				}
+			});
+		}
+
+		return cancelled.getAsBoolean() ? null : new LPlotSamples(fct, min, max, nb, false, xs, ys);
+	}
+
+	/**
+	 * @return nb X values spaced by the same step from min to max. Only min if nb is 1, no value if nb is not positive.
+	 */
+	static double[] uniformXs(final double min, final double max, final int nb) {
+		if(nb <= 0) return new double[0];
+
+		final double step = nb == 1 ? 0d : (max - min) / (nb - 1);
+		final double[] xs = new double[nb];
+		double x = min;
+
+		for(int i = 0; i < nb; i++, x += step) {
+			xs[i] = x;
+		}
+		return xs;
+	}
+
+	/**
+	 * Samples the function on a coarse uniform grid and then refines the segments the linear interpolation of which
+	 * deviates the most from the function, until the error is below the tolerance or the budget of points is reached.
+	 * The regions where the function is nearly linear thus get fewer points than with the uniform sampling.
+	 */
+	private static LPlotSamples sampleAdaptive(final PSFunctionParser fct, final double min, final double max, final int budget,
+											final BooleanSupplier cancelled) {
+		final int capacity = Math.max(0, budget);
+		final int initial = Math.min(capacity, ADAPTIVE_INITIAL_POINTS);
+		// The points form a linked list (next) to insert points between two others in constant time.
+		final double[] xs = new double[capacity];
+		final double[] ys = new double[capacity];
+		final int[] next = new int[capacity];
+		// The candidate middle point of the segment starting at each point, and its error.
+		final double[] midXs = new double[capacity];
+		final double[] midYs = new double[capacity];
+		final double[] errors = new double[capacity];
+		final PriorityQueue<Integer> segments = new PriorityQueue<>(Math.max(1, capacity), (i, j) -> Double.compare(errors[j], errors[i]));
+		final double minWidth = (max - min) * 1e-9;
+		final double[] stack = fct.createStack();
+		int size = initial;
+
+		System.arraycopy(uniformXs(min, max, initial), 0, xs, 0, initial);
+		fct.evaluate(xs, ys, 0, initial);
+
+		double minY = Double.POSITIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < initial; i++) {
+			next[i] = i + 1;
+			if(Double.isFinite(ys[i])) {
+				minY = Math.min(minY, ys[i]);
+				maxY = Math.max(maxY, ys[i]);
+			}
+		}
+		final double tolerance = maxY > minY ? (maxY - minY) * ADAPTIVE_TOLERANCE : Double.MIN_VALUE;
+
+		for(int i = 0; i < initial - 1; i++) {
+			addSegment(fct, stack, i, next[i], xs, ys, midXs, midYs, errors, segments, tolerance, minWidth);
+		}
+
+		while(size < budget && !segments.isEmpty()) {
+			if(cancelled.getAsBoolean()) return null;
+			final int left = segments.poll();
+			final int mid = size++;
+			xs[mid] = midXs[left];
+			ys[mid] = midYs[left];
+			next[mid] = next[left];
+			next[left] = mid;
+			addSegment(fct, stack, left, mid, xs, ys, midXs, midYs, errors, segments, tolerance, minWidth);
+			addSegment(fct, stack, mid, next[mid], xs, ys, midXs, midYs, errors, segments, tolerance, minWidth);
+		}
+
+		final double[] sortedXs = new double[size];
+		final double[] sortedYs = new double[size];
+		for(int i = 0, pt = 0; i < size; i++, pt = next[pt]) {
+			sortedXs[i] = xs[pt];
+			sortedYs[i] = ys[pt];
+		}
+
+		return new LPlotSamples(fct, min, max, budget, true, sortedXs, sortedYs);
+	}
+
+	/**
+	 * Computes the middle point of the given segment and queues the segment for refinement if the error is too large.
+	 */
+	private static void addSegment(final PSFunctionParser fct, final double[] stack, final int left, final int right, final double[] xs, final double[] ys,
+								final double[] midXs, final double[] midYs, final double[] errors, final PriorityQueue<Integer> segments,
+								final double tolerance, final double minWidth) {
+		if(xs[right] - xs[left] <= minWidth || !Double.isFinite(ys[left]) || !Double.isFinite(ys[right])) return;
+
+		final double x = (xs[left] + xs[right]) / 2d;
+		final double y = fct.getY(x, stack);
+		final double error = Double.isFinite(y) ? Math.abs(y - (ys[left] + ys[right]) / 2d) : Double.POSITIVE_INFINITY;
+
+		if(error > tolerance) {
+			midXs[left] = x;
+			midYs[left] = y;
+			errors[left] = error;
+			segments.add(left);
+		}
+	}
+}
@@ -10,8 +10,8 @@
  */
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javafx.beans.property.BooleanProperty;
@@ -20,6 +20,8 @@ import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.BorderPos;
@@ -35,126 +37,219 @@ import org.malai.mapping.MappingRegistry;
 
 /**
  * The base shape model.
+ * The values of the shape parameters are stored in plain fields. The JavaFX property of a parameter is only created
+ * the first time its accessor (e.g. thicknessProperty()) is called; this property then holds the value.
  * @author Arnaud Blouin
  */
-abstract class LShape implements ISingleShape {
+abstract class LShape implements ISingleShape, LBoundsCache, LModifiedTracked {
 	/** The thickness of the lines of the shape in pixels. */
-	protected final DoubleProperty thickness;
+	private double thicknessValue;
+	private DoubleProperty thickness;
 
 	/** The colour of the lines. */
-	protected final ObjectProperty<Color> lineColour;
+	private Color lineColourValue;
+	private ObjectProperty<Color> lineColour;
 
 	/** The style of the lines. */
-	protected final ObjectProperty<LineStyle> lineStyle;
+	private LineStyle lineStyleValue;
+	private ObjectProperty<LineStyle> lineStyle;
 
 	/** The style of the interior of the shape. */
-	protected final ObjectProperty<FillingStyle> fillingStyle;
+	private FillingStyle fillingStyleValue;
+	private ObjectProperty<FillingStyle> fillingStyle;
 
 	/** The white dash separator for dashed lines in pixel. */
-	protected final DoubleProperty dashSepWhite;
+	private double dashSepWhiteValue;
+	private DoubleProperty dashSepWhite;
 
 	/** The black dash separator for dashed lines in pixel. */
-	protected final DoubleProperty dashSepBlack;
+	private double dashSepBlackValue;
+	private DoubleProperty dashSepBlack;
 
 	/** The dot separator for dotted lines. */
-	protected final DoubleProperty dotSep;
+	private double dotSepValue;
+	private DoubleProperty dotSep;
 
 	/** The colour of the interior of the shape. */
-	protected final ObjectProperty<Color> fillingCol;
+	private Color fillingColValue;
+	private ObjectProperty<Color> fillingCol;
 
 	/** The start colour of the gradient. */
-	protected final ObjectProperty<Color> gradColStart;
+	private Color gradColStartValue;
+	private ObjectProperty<Color> gradColStart;
 
 	/** The end colour of the gradient. */
-	protected final ObjectProperty<Color> gradColEnd;
+	private Color gradColEndValue;
+	private ObjectProperty<Color> gradColEnd;
 
 	/** The angle of the gradient in radian. */
-	protected final DoubleProperty gradAngle;
+	private double gradAngleValue;
+	private DoubleProperty gradAngle;
 
 	/** The middle point of the gradient. */
-	protected final DoubleProperty gradMidPt;
+	private double gradMidPtValue;
+	private DoubleProperty gradMidPt;
 
 	/** The separation size between hatchings in pixel. */
-	protected final DoubleProperty hatchingsSep;
+	private double hatchingsSepValue;
+	private DoubleProperty hatchingsSep;
 
 	/** The colour of the hatchings. */
-	protected final ObjectProperty<Color> hatchingsCol;
+	private Color hatchingsColValue;
+	private ObjectProperty<Color> hatchingsCol;
 
 	/** The angle of the hatchings in radian. */
-	protected final DoubleProperty hatchingsAngle;
+	private double hatchingsAngleValue;
+	private DoubleProperty hatchingsAngle;
 
 	/** The thickness of the hatchings in pixel. */
-	protected final DoubleProperty hatchingsWidth;
+	private double hatchingsWidthValue;
+	private DoubleProperty hatchingsWidth;
 
 	/** The rotation angle of the shape. */
-	protected final DoubleProperty rotationAngle;
+	private double rotationAngleValue;
+	private DoubleProperty rotationAngle;
 
 	/** Defines if the points of the shape must be considered. */
 	protected boolean showPts;
 
 	/** Defines if the shape has double borders. */
-	protected final BooleanProperty hasDbleBord;
+	private boolean hasDbleBordValue;
+	private BooleanProperty hasDbleBord;
 
 	/** The colour of the double borders. */
-	protected final ObjectProperty<Color> dbleBordCol;
+	private Color dbleBordColValue;
+	private ObjectProperty<Color> dbleBordCol;
 
 	/** The separation size of the double borders in pixel. */
-	protected final DoubleProperty dbleBordSep;
+	private double dbleBordSepValue;
+	private DoubleProperty dbleBordSep;
 
 	/** Defines if the shape has a shadow. */
-	protected final BooleanProperty hasShadow;
+	private boolean hasShadowValue;
+	private BooleanProperty hasShadow;
 
 	/** The colour of the shadow. */
-	protected final ObjectProperty<Color> shadowCol;
+	private Color shadowColValue;
+	private ObjectProperty<Color> shadowCol;
 
 	/** The angle of the shadow in radian. */
-	protected final DoubleProperty shadowAngle;
+	private double shadowAngleValue;
+	private DoubleProperty shadowAngle;
 
 	/** The size of the shadow in pixel. */
-	protected final DoubleProperty shadowSize;
+	private double shadowSizeValue;
+	private DoubleProperty shadowSize;
 
 	/** The position of the border of the shape. */
-	protected final ObjectProperty<BorderPos> bordersPosition;
+	private BorderPos bordersPositionValue;
+	private ObjectProperty<BorderPos> bordersPosition;
 
-	/** The points of the shape. */
-	protected final List<IPoint> points;
+	/** The points of the shape, packed into an array of coordinates. */
+	protected final LPackedPoints points;
 
-	/** Defined if the shape has been modified. */
-	protected boolean modified;
+	/** The cached bounds of the points of the shape. Null until the bounds are queried. */
+	private LBounds bounds;
+
+	/** The cached bounds computed from the corner points of the shape (see getCornersBounds). Null until the bounds are queried. */
+	private LBounds cornersBounds;
+
+	/** Tracks whether the shape has been modified. */
+	private final LModifiedTracker modified;
 
 	/**
 	 * The second default constructor
 	 */
 	LShape() {
 		super();
-		modified = false;
-		thickness = new SimpleDoubleProperty(2d);
-		rotationAngle = new SimpleDoubleProperty(0d);
-		shadowAngle = new SimpleDoubleProperty(-Math.PI / 4d);
-		gradAngle = new SimpleDoubleProperty(0d);
-		hatchingsAngle = new SimpleDoubleProperty(0d);
-		hasShadow = new SimpleBooleanProperty(false);
-		hasDbleBord = new SimpleBooleanProperty(false);
-		lineStyle = new SimpleObjectProperty<>(LineStyle.SOLID);
-		lineColour = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_LINE_COLOR);
-		dotSep = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DOT_STEP * PPC);
-		dashSepBlack = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DASH_BLACK * PPC);
-		dashSepWhite = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_DASH_WHITE * PPC);
-		hatchingsCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_HATCHING_COLOR);
-		hatchingsSep = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_HATCH_SEP * PPC);
-		hatchingsWidth = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_HATCH_WIDTH * PPC);
-		fillingStyle = new SimpleObjectProperty<>(FillingStyle.NONE);
-		fillingCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_INTERIOR_COLOR);
-		bordersPosition = new SimpleObjectProperty<>(BorderPos.INTO);
-		dbleBordCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_DOUBLE_COLOR);
-		dbleBordSep = new SimpleDoubleProperty(6d);
-		shadowCol = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_SHADOW_COLOR);
-		shadowSize = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_SHADOW_SIZE * PPC);
-		gradColStart = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_GRADIENT_START_COLOR);
-		gradColEnd = new SimpleObjectProperty<>(PSTricksConstants.DEFAULT_GRADIENT_END_COLOR);
-		gradMidPt = new SimpleDoubleProperty(PSTricksConstants.DEFAULT_GRADIENT_MID_POINT);
+		modified = new LModifiedTracker(this, null);
+		thicknessValue = 2d;
+		rotationAngleValue = 0d;
+		shadowAngleValue = -Math.PI / 4d;
+		gradAngleValue = 0d;
+		hatchingsAngleValue = 0d;
+		hasShadowValue = false;
+		hasDbleBordValue = false;
+		lineStyleValue = LineStyle.SOLID;
+		lineColourValue = PSTricksConstants.DEFAULT_LINE_COLOR;
+		dotSepValue = PSTricksConstants.DEFAULT_DOT_STEP * PPC;
+		dashSepBlackValue = PSTricksConstants.DEFAULT_DASH_BLACK * PPC;
+		dashSepWhiteValue = PSTricksConstants.DEFAULT_DASH_WHITE * PPC;
+		hatchingsColValue = PSTricksConstants.DEFAULT_HATCHING_COLOR;
+		hatchingsSepValue = PSTricksConstants.DEFAULT_HATCH_SEP * PPC;
+		hatchingsWidthValue = PSTricksConstants.DEFAULT_HATCH_WIDTH * PPC;
+		fillingStyleValue = FillingStyle.NONE;
+		fillingColValue = PSTricksConstants.DEFAULT_INTERIOR_COLOR;
+		bordersPositionValue = BorderPos.INTO;
+		dbleBordColValue = PSTricksConstants.DEFAULT_DOUBLE_COLOR;
+		dbleBordSepValue = 6d;
+		shadowColValue = PSTricksConstants.DEFAULT_SHADOW_COLOR;
+		shadowSizeValue = PSTricksConstants.DEFAULT_SHADOW_SIZE * PPC;
+		gradColStartValue = PSTricksConstants.DEFAULT_GRADIENT_START_COLOR;
+		gradColEndValue = PSTricksConstants.DEFAULT_GRADIENT_END_COLOR;
+		gradMidPtValue = PSTricksConstants.DEFAULT_GRADIENT_MID_POINT;
 		showPts = false;
-		points = new ArrayList<>();
+		points = new LPackedPoints(() -> {
+			invalidateBounds();
+			modified.incrementRevision();
+		});
+	}
+
+	/**
+	 * Invalidates the cached bounds of the shape and of its groups. Called when the points of the shape change.
+	 */
+	protected void invalidateBounds() {
+		if(bounds != null) {
+			bounds.invalidate();
+		}
+		if(cornersBounds != null) {
+			cornersBounds.invalidate();
+		}
+		modified.invalidateParentsBounds();
+	}
+
+	/**
+	 * Invalidates the cached bounds of the shape each time one of the given values changes.
+	 * Used by the shapes which bounds depend on their parameters, not only on their points.
+	 * @param values The parameters the bounds depend on.
+	 */
+	protected void invalidateBoundsOn(final ObservableValue<?>... values) {
+		final ChangeListener<Object> listener = (obs, formerValue, newValue) -> invalidateBounds();
+		for(final ObservableValue<?> value : values) {
+			value.addListener(listener);
+		}
+	}
+
+	/**
+	 * @return The bounds computed from the corner points of the shape, cached until the bounds are invalidated.
+	 * Used by the shapes which bounds depend on their parameters (see invalidateBoundsOn).
+	 */
+	protected LBounds getCornersBounds() {
+		if(cornersBounds == null) {
+			cornersBounds = new LBounds();
+		}
+		if(!cornersBounds.isValid()) {
+			cornersBounds.setFromShape(this);
+		}
+		return cornersBounds;
+	}
+
+	@Override
+	public LBounds getCachedBounds() {
+		return getPointsBounds();
+	}
+
+	/**
+	 * @return The bounds of the points of the shape.
+	 */
+	private LBounds getPointsBounds() {
+		if(bounds == null) {
+			bounds = new LBounds();
+		}
+		if(!bounds.isValid()) {
+			bounds.setFromPoints(points);
+		}
+		return bounds;
 	}
 
 	@Override
@@ -201,19 +296,20 @@ abstract class LShape implements ISingleShape {
 
 			if(gravCentre != null) {
 				final IPoint gravityCentre = getGravityCentre();
-				final IPoint rotatedGC = gravityCentre.rotatePoint(gravCentre, angle);
-				translate(rotatedGC.getX() - gravityCentre.getX(), rotatedGC.getY() - gravityCentre.getY());
+				final double[] rotatedGC = new double[2];
+				MathUtils.INST.rotate(gravityCentre.getX(), gravityCentre.getY(), gravCentre.getX(), gravCentre.getY(), angle, rotatedGC);
+				translate(rotatedGC[0] - gravityCentre.getX(), rotatedGC[1] - gravityCentre.getY());
 			}
 		}
 	}
 
 	@Override
 	public double getBorderGap() {
-		switch(bordersPosition.get()) {
+		switch(getBordersPosition()) {
 			case MID:
-				return hasDbleBord() ? thickness.doubleValue() + getDbleBordSep() / 2d : thickness.doubleValue() / 2d;
+				return hasDbleBord() ? getThickness() + getDbleBordSep() / 2d : getThickness() / 2d;
 			case OUT:
-				return hasDbleBord() ? thickness.doubleValue() * 2d + getDbleBordSep() : thickness.doubleValue();
+				return hasDbleBord() ? getThickness() * 2d + getDbleBordSep() : getThickness();
 			case INTO:
 				return 0d;
 		}
@@ -222,42 +318,42 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public BorderPos getBordersPosition() {
-		return bordersPosition.get();
+		return bordersPosition == null ? bordersPositionValue : bordersPosition.get();
 	}
 
 	@Override
 	public double getDashSepBlack() {
-		return dashSepBlack.doubleValue();
+		return dashSepBlack == null ? dashSepBlackValue : dashSepBlack.get();
 	}
 
 	@Override
 	public double getDashSepWhite() {
-		return dashSepWhite.doubleValue();
+		return dashSepWhite == null ? dashSepWhiteValue : dashSepWhite.get();
 	}
 
 	@Override
 	public Color getDbleBordCol() {
-		return dbleBordCol.get();
+		return dbleBordCol == null ? dbleBordColValue : dbleBordCol.get();
 	}
 
 	@Override
 	public double getDbleBordSep() {
-		return dbleBordSep.doubleValue();
+		return dbleBordSep == null ? dbleBordSepValue : dbleBordSep.get();
 	}
 
 	@Override
 	public double getDotSep() {
-		return dotSep.doubleValue();
+		return dotSep == null ? dotSepValue : dotSep.get();
 	}
 
 	@Override
 	public Color getFillingCol() {
-		return fillingCol.get();
+		return fillingCol == null ? fillingColValue : fillingCol.get();
 	}
 
 	@Override
 	public FillingStyle getFillingStyle() {
-		return fillingStyle.get();
+		return fillingStyle == null ? fillingStyleValue : fillingStyle.get();
 	}
 
 	@Override
@@ -282,22 +378,22 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public double getGradAngle() {
-		return gradAngle.doubleValue();
+		return gradAngle == null ? gradAngleValue : gradAngle.get();
 	}
 
 	@Override
 	public Color getGradColEnd() {
-		return gradColEnd.get();
+		return gradColEnd == null ? gradColEndValue : gradColEnd.get();
 	}
 
 	@Override
 	public Color getGradColStart() {
-		return gradColStart.get();
+		return gradColStart == null ? gradColStartValue : gradColStart.get();
 	}
 
 	@Override
 	public double getGradMidPt() {
-		return gradMidPt.doubleValue();
+		return gradMidPt == null ? gradMidPtValue : gradMidPt.get();
 	}
 
 	@Override
@@ -307,32 +403,32 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public double getHatchingsAngle() {
-		return hatchingsAngle.doubleValue();
+		return hatchingsAngle == null ? hatchingsAngleValue : hatchingsAngle.get();
 	}
 
 	@Override
 	public Color getHatchingsCol() {
-		return hatchingsCol.get();
+		return hatchingsCol == null ? hatchingsColValue : hatchingsCol.get();
 	}
 
 	@Override
 	public double getHatchingsSep() {
-		return hatchingsSep.doubleValue();
+		return hatchingsSep == null ? hatchingsSepValue : hatchingsSep.get();
 	}
 
 	@Override
 	public double getHatchingsWidth() {
-		return hatchingsWidth.doubleValue();
+		return hatchingsWidth == null ? hatchingsWidthValue : hatchingsWidth.get();
 	}
 
 	@Override
 	public Color getLineColour() {
-		return lineColour.get();
+		return lineColour == null ? lineColourValue : lineColour.get();
 	}
 
 	@Override
 	public LineStyle getLineStyle() {
-		return lineStyle.get();
+		return lineStyle == null ? lineStyleValue : lineStyle.get();
 	}
 
 	@Override
@@ -357,52 +453,52 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public double getRotationAngle() {
-		return rotationAngle.get();
+		return rotationAngle == null ? rotationAngleValue : rotationAngle.get();
 	}
 
 	@Override
 	public double getShadowAngle() {
-		return shadowAngle.get();
+		return shadowAngle == null ? shadowAngleValue : shadowAngle.get();
 	}
 
 	@Override
 	public Color getShadowCol() {
-		return shadowCol.get();
+		return shadowCol == null ? shadowColValue : shadowCol.get();
 	}
 
 	@Override
 	public double getShadowSize() {
-		return shadowSize.get();
+		return shadowSize == null ? shadowSizeValue : shadowSize.get();
 	}
 
 	@Override
 	public double getThickness() {
-		return thickness.doubleValue();
+		return thickness == null ? thicknessValue : thickness.get();
 	}
 
 	@Override
 	public boolean hasDbleBord() {
-		return hasDbleBord.get();
+		return hasDbleBord == null ? hasDbleBordValue : hasDbleBord.get();
 	}
 
 	@Override
 	public boolean hasGradient() {
-		return isInteriorStylable() && fillingStyle.get() == FillingStyle.GRAD;
+		return isInteriorStylable() && getFillingStyle() == FillingStyle.GRAD;
 	}
 
 	@Override
 	public boolean hasHatchings() {
-		return isInteriorStylable() && fillingStyle.get().isHatchings();
+		return isInteriorStylable() && getFillingStyle().isHatchings();
 	}
 
 	@Override
 	public boolean hasShadow() {
-		return hasShadow.get();
+		return hasShadow == null ? hasShadowValue : hasShadow.get();
 	}
 
 	@Override
 	public boolean isFilled() {
-		return fillingStyle.get().isFilled();
+		return getFillingStyle().isFilled();
 	}
 
 	@Override
@@ -418,41 +514,49 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public void setBordersPosition(final BorderPos position) {
-		if(position != null && isBordersMovable()) bordersPosition.set(position);
+		if(position != null && isBordersMovable()) {
+			if(bordersPosition == null) bordersPositionValue = position;
+			else bordersPosition.set(position);
+		}
 	}
 
 	@Override
 	public void setDashSepBlack(final double dash) {
 		if(dash > 0d && MathUtils.INST.isValidCoord(dash)) {
-			dashSepBlack.set(dash);
+			if(dashSepBlack == null) dashSepBlackValue = dash;
+			else dashSepBlack.set(dash);
 		}
 	}
 
 	@Override
 	public void setDashSepWhite(final double dash) {
 		if(dash > 0d && MathUtils.INST.isValidCoord(dash)) {
-			dashSepWhite.set(dash);
+			if(dashSepWhite == null) dashSepWhiteValue = dash;
+			else dashSepWhite.set(dash);
 		}
 	}
 
 	@Override
 	public void setDbleBordCol(final Color col) {
 		if(col != null && isDbleBorderable()) {
-			dbleBordCol.set(col);
+			if(dbleBordCol == null) dbleBordColValue = col;
+			else dbleBordCol.set(col);
 		}
 	}
 
 	@Override
 	public void setDbleBordSep(final double sep) {
 		if(sep >= 0 && isDbleBorderable() && MathUtils.INST.isValidCoord(sep)) {
-			dbleBordSep.set(sep);
+			if(dbleBordSep == null) dbleBordSepValue = sep;
+			else dbleBordSep.set(sep);
 		}
 	}
 
 	@Override
 	public void setDotSep(final double sep) {
 		if(sep >= 0 && MathUtils.INST.isValidCoord(sep)) {
-			dotSep.set(sep);
+			if(dotSep == null) dotSepValue = sep;
+			else dotSep.set(sep);
 		}
 	}
 
@@ -460,18 +564,18 @@ abstract class LShape implements ISingleShape {
 	public void setFilled(final boolean isFilled) {
 		if(!isFillable()) return;
 
-		if(isFilled) switch(fillingStyle.get()) {
+		if(isFilled) switch(getFillingStyle()) {
 			case CLINES:
-				fillingStyle.set(FillingStyle.CLINES_PLAIN);
+				setFillingStyle(FillingStyle.CLINES_PLAIN);
 				break;
 			case VLINES:
-				fillingStyle.set(FillingStyle.VLINES_PLAIN);
+				setFillingStyle(FillingStyle.VLINES_PLAIN);
 				break;
 			case HLINES:
-				fillingStyle.set(FillingStyle.HLINES_PLAIN);
+				setFillingStyle(FillingStyle.HLINES_PLAIN);
 				break;
 			case NONE:
-				fillingStyle.set(FillingStyle.PLAIN);
+				setFillingStyle(FillingStyle.PLAIN);
 				break;
 			case PLAIN:
 			case GRAD:
@@ -481,18 +585,18 @@ abstract class LShape implements ISingleShape {
 					/* Nothing to do. */
 				break;
 		}
-		else switch(fillingStyle.get()) {
+		else switch(getFillingStyle()) {
 			case CLINES_PLAIN:
-				fillingStyle.set(FillingStyle.CLINES);
+				setFillingStyle(FillingStyle.CLINES);
 				break;
 			case VLINES_PLAIN:
-				fillingStyle.set(FillingStyle.VLINES);
+				setFillingStyle(FillingStyle.VLINES);
 				break;
 			case HLINES_PLAIN:
-				fillingStyle.set(FillingStyle.HLINES);
+				setFillingStyle(FillingStyle.HLINES);
 				break;
 			case PLAIN:
-				fillingStyle.set(FillingStyle.NONE);
+				setFillingStyle(FillingStyle.NONE);
 				break;
 			case NONE:
 			case GRAD:
@@ -507,96 +611,112 @@ abstract class LShape implements ISingleShape {
 	@Override
 	public void setFillingCol(final Color col) {
 		if(col != null && isFillable()) {
-			fillingCol.set(col);
+			if(fillingCol == null) fillingColValue = col;
+			else fillingCol.set(col);
 		}
 	}
 
 	@Override
 	public void setFillingStyle(final FillingStyle style) {
-		if(style != null && isFillable()) fillingStyle.set(style);
+		if(style != null && isFillable()) {
+			if(fillingStyle == null) fillingStyleValue = style;
+			else fillingStyle.set(style);
+		}
 	}
 
 	@Override
 	public void setGradAngle(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle) && isInteriorStylable()) {
-			gradAngle.set(angle);
+			if(gradAngle == null) gradAngleValue = angle;
+			else gradAngle.set(angle);
 		}
 	}
 
 	@Override
 	public void setGradColEnd(final Color col) {
 		if(col != null && isInteriorStylable()) {
-			gradColEnd.set(col);
+			if(gradColEnd == null) gradColEndValue = col;
+			else gradColEnd.set(col);
 		}
 	}
 
 	@Override
 	public void setGradColStart(final Color col) {
 		if(col != null && isInteriorStylable()) {
-			gradColStart.set(col);
+			if(gradColStart == null) gradColStartValue = col;
+			else gradColStart.set(col);
 		}
 	}
 
 	@Override
 	public void setGradMidPt(final double pt) {
 		if(pt >= 0 && pt <= 1 && isInteriorStylable()) {
-			gradMidPt.set(pt);
+			if(gradMidPt == null) gradMidPtValue = pt;
+			else gradMidPt.set(pt);
 		}
 	}
 
 	@Override
 	public void setHasDbleBord(final boolean bord) {
 		if(isDbleBorderable()) {
-			hasDbleBord.set(bord);
+			if(hasDbleBord == null) hasDbleBordValue = bord;
+			else hasDbleBord.set(bord);
 		}
 	}
 
 	@Override
 	public void setHasShadow(final boolean shad) {
 		if(isShadowable()) {
-			hasShadow.set(shad);
+			if(hasShadow == null) hasShadowValue = shad;
+			else hasShadow.set(shad);
 		}
 	}
 
 	@Override
 	public void setHatchingsAngle(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle) && isInteriorStylable()) {
-			hatchingsAngle.set(angle);
+			if(hatchingsAngle == null) hatchingsAngleValue = angle;
+			else hatchingsAngle.set(angle);
 		}
 	}
 
 	@Override
 	public void setHatchingsCol(final Color col) {
 		if(col != null && isInteriorStylable()) {
-			hatchingsCol.set(col);
+			if(hatchingsCol == null) hatchingsColValue = col;
+			else hatchingsCol.set(col);
 		}
 	}
 
 	@Override
 	public void setHatchingsSep(final double sep) {
 		if(MathUtils.INST.isValidCoord(sep) && sep >= 0d && isInteriorStylable()) {
-			hatchingsSep.set(sep);
+			if(hatchingsSep == null) hatchingsSepValue = sep;
+			else hatchingsSep.set(sep);
 		}
 	}
 
 	@Override
 	public void setHatchingsWidth(final double width) {
 		if(MathUtils.INST.isValidCoord(width) && width > 0d && isInteriorStylable()) {
-			hatchingsWidth.set(width);
+			if(hatchingsWidth == null) hatchingsWidthValue = width;
+			else hatchingsWidth.set(width);
 		}
 	}
 
 	@Override
 	public void setLineColour(final Color col) {
 		if(col != null) {
-			lineColour.set(col);
+			if(lineColour == null) lineColourValue = col;
+			else lineColour.set(col);
 		}
 	}
 
 	@Override
 	public void setLineStyle(final LineStyle style) {
 		if(style != null && isLineStylable()) {
-			lineStyle.setValue(style);
+			if(lineStyle == null) lineStyleValue = style;
+			else lineStyle.set(style);
 		}
 	}
 
@@ -615,55 +735,60 @@ abstract class LShape implements ISingleShape {
 	protected void scaleSetPointsWithRatio(final List<IPoint> pts, final double prevWidth, final double prevHeight, final Position pos, final Rectangle2D bound) {
 		final double s = Math.max(prevWidth / bound.getWidth(), prevHeight / bound.getHeight());
 		final IPoint refPt = pos.getReferencePoint(bound);
-		final double refX = refPt.getX();
-		final double refY = refPt.getY();
-
-		for(final IPoint pt : pts) {
-			if(!MathUtils.INST.equalsDouble(pt.getX(), refX)) pt.setX(refX + (pt.getX() - refX) * s);
-			if(!MathUtils.INST.equalsDouble(pt.getY(), refY)) pt.setY(refY + (pt.getY() - refY) * s);
-		}
+		scalePoints(pts, refPt.getX(), refPt.getY(), s, s);
 	}
 
 	protected void scaleSetPoints(final List<IPoint> pts, final double prevWidth, final double prevHeight, final Position pos, final Rectangle2D bound) {
-		final double sx = prevWidth / bound.getWidth();
-		final double sy = prevHeight / bound.getHeight();
-		final boolean xScale = pos.isEast() || pos.isWest();
-		final boolean yScale = pos.isNorth() || pos.isSouth();
+		final double sx = pos.isEast() || pos.isWest() ? prevWidth / bound.getWidth() : 1d;
+		final double sy = pos.isNorth() || pos.isSouth() ? prevHeight / bound.getHeight() : 1d;
 		final IPoint refPt = pos.getReferencePoint(bound);
-		final double refX = refPt.getX();
-		final double refY = refPt.getY();
+		scalePoints(pts, refPt.getX(), refPt.getY(), sx, sy);
+	}
 
-		pts.forEach(pt -> {
-			if(xScale && !MathUtils.INST.equalsDouble(pt.getX(), refX)) pt.setX(refX + (pt.getX() - refX) * sx);
-			if(yScale && !MathUtils.INST.equalsDouble(pt.getY(), refY)) pt.setY(refY + (pt.getY() - refY) * sy);
-		});
+	/**
+	 * Scales the given points from the given reference point. Packed points are scaled in a single pass.
+	 */
+	private static void scalePoints(final List<IPoint> pts, final double refX, final double refY, final double sx, final double sy) {
+		if(pts instanceof LPackedPoints) {
+			((LPackedPoints) pts).scale(refX, refY, sx, sy);
+		}else {
+			pts.forEach(pt -> {
+				if(sx != 1d && !MathUtils.INST.equalsDouble(pt.getX(), refX)) pt.setX(refX + (pt.getX() - refX) * sx);
+				if(sy != 1d && !MathUtils.INST.equalsDouble(pt.getY(), refY)) pt.setY(refY + (pt.getY() - refY) * sy);
+			});
+		}
 	}
 
 	@Override
 	public void setRotationAngle(final double angle) {
 		if(MathUtils.INST.isValidCoord(angle)) {
-			rotationAngle.set(angle);
+			if(rotationAngle == null) rotationAngleValue = angle;
+			else rotationAngle.set(angle);
+			invalidateBounds();
 		}
 	}
 
 	@Override
 	public void setShadowAngle(final double angle) {
 		if(isShadowable() && MathUtils.INST.isValidCoord(angle)) {
-			shadowAngle.set(angle);
+			if(shadowAngle == null) shadowAngleValue = angle;
+			else shadowAngle.set(angle);
 		}
 	}
 
 	@Override
 	public void setShadowCol(final Color col) {
 		if(col != null && isShadowable()) {
-			shadowCol.set(col);
+			if(shadowCol == null) shadowColValue = col;
+			else shadowCol.set(col);
 		}
 	}
 
 	@Override
 	public void setShadowSize(final double size) {
 		if(isShadowable() && size > 0 && MathUtils.INST.isValidCoord(size)) {
-			shadowSize.set(size);
+			if(shadowSize == null) shadowSizeValue = size;
+			else shadowSize.set(size);
 		}
 	}
 
@@ -675,7 +800,8 @@ abstract class LShape implements ISingleShape {
 	@Override
 	public void setThickness(final double thick) {
 		if(thick > 0 && isThicknessable() && MathUtils.INST.isValidCoord(thick)) {
-			thickness.setValue(thick);
+			if(thickness == null) thicknessValue = thick;
+			else thickness.set(thick);
 		}
 	}
 
@@ -686,41 +812,153 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public void translate(final double tx, final double ty) {
-		if(MathUtils.INST.isValidPt(tx, ty)) points.forEach(pt -> pt.translate(tx, ty));
+		if(MathUtils.INST.isValidPt(tx, ty)) points.transform(AffineTransform.getTranslateInstance(tx, ty));
+	}
+
+	@Override
+	public void transform(final AffineTransform transform) {
+		if(!isValidTransform(transform) || transform.isIdentity()) return;
+
+		final IPoint gc = getGravityCentre();
+		final double[] newGC = {gc.getX(), gc.getY()};
+		transform.transform(newGC, 0, newGC, 0, 1);
+		final double angle = getRotation(transform);
+
+		if(isIsometry(transform)) {
+			// The transformation is applied as a mirroring and a rotation around the gravity centre followed by a translation,
+			// so that the shapes that store a position and a rotation angle keep them consistent.
+			if(transform.getDeterminant() < 0d) {
+				if(isHorizontalSymmetry(transform)) {
+					mirrorHorizontal(gc.getX());
+				}else {
+					mirrorVertical(gc.getY());
+				}
+			}
+			if(!MathUtils.INST.equalsDouble(angle, 0d)) {
+				addToRotationAngle(null, angle);
+			}
+			translate(newGC[0] - gc.getX(), newGC[1] - gc.getY());
+			return;
+		}
+
+		if(transform.getDeterminant() < 0d) {
+			// The mirroring is applied first, so that the shapes keep the order of their points.
+			final AffineTransform mirror = new AffineTransform(-1d, 0d, 0d, 1d, 2d * gc.getX(), 0d);
+			final AffineTransform rest = new AffineTransform(transform);
+			rest.concatenate(mirror);
+			transform(mirror);
+			transform(rest);
+			return;
+		}
+
+		// The points are not rotated: the rotation of the transformation goes into the rotation angle
+		// and the remaining scale and shear are applied to the points in the frame of the shape.
+		final double rotation = getRotationAngle();
+		final AffineTransform ptsTransform = AffineTransform.getTranslateInstance(newGC[0], newGC[1]);
+		ptsTransform.rotate(-rotation - angle);
+		ptsTransform.concatenate(getLinearPart(transform));
+		ptsTransform.rotate(rotation);
+		ptsTransform.translate(-gc.getX(), -gc.getY());
+		points.transform(ptsTransform);
+		if(!MathUtils.INST.equalsDouble(angle, 0d)) {
+			setRotationAngle(rotation + angle);
+		}
+	}
+
+	/**
+	 * @return True if the given transformation is finite and invertible.
+	 */
+	static boolean isValidTransform(final AffineTransform transform) {
+		return transform != null && MathUtils.INST.isValidPt(transform.getTranslateX(), transform.getTranslateY()) &&
+			MathUtils.INST.isValidPt(transform.getScaleX(), transform.getScaleY()) &&
+			MathUtils.INST.isValidPt(transform.getShearX(), transform.getShearY()) &&
+			!MathUtils.INST.equalsDouble(transform.getDeterminant(), 0d);
+	}
+
+	/**
+	 * @return True if the given valid transformation preserves the distances.
+	 */
+	static boolean isIsometry(final AffineTransform transform) {
+		return MathUtils.INST.equalsDouble(Math.abs(transform.getDeterminant()), 1d) &&
+			MathUtils.INST.equalsDouble(transform.getScaleX() * transform.getScaleX() + transform.getShearY() * transform.getShearY(), 1d) &&
+			MathUtils.INST.equalsDouble(transform.getScaleX() * transform.getShearX() + transform.getShearY() * transform.getScaleY(), 0d);
+	}
+
+	/**
+	 * @return The given transformation without its translation.
+	 */
+	static AffineTransform getLinearPart(final AffineTransform transform) {
+		return new AffineTransform(transform.getScaleX(), transform.getShearY(), transform.getShearX(), transform.getScaleY(), 0d, 0d);
+	}
+
+	/**
+	 * @return True if the mirroring part of the given isometry is closer to a horizontal symmetry than to a vertical one.
+	 */
+	private static boolean isHorizontalSymmetry(final AffineTransform transform) {
+		return transform.getScaleX() < 0d;
+	}
+
+	/**
+	 * @return The rotation angle of the given transformation once its mirroring part (if any) removed. In ]-pi, pi].
+	 * For a scale or a shear, this is the rotation of the x-axis.
+	 */
+	static double getRotation(final AffineTransform transform) {
+		if(transform.getDeterminant() < 0d && isHorizontalSymmetry(transform)) {
+			return Math.atan2(-transform.getShearY(), -transform.getScaleX());
+		}
+		return Math.atan2(transform.getShearY(), transform.getScaleX());
 	}
 
 	@Override
 	public void mirrorHorizontal(final double x) {
 		if(MathUtils.INST.isValidCoord(x)) {
-			points.forEach(pt -> pt.setPoint(pt.horizontalSymmetry(x)));
+			points.transform(getHorizontalSymmetry(x));
 		}
 	}
 
 	@Override
 	public void mirrorVertical(final double y) {
 		if(MathUtils.INST.isValidCoord(y)) {
-			points.forEach(pt -> pt.setPoint(pt.verticalSymmetry(y)));
+			points.transform(getVerticalSymmetry(y));
 		}
 	}
 
+	/**
+	 * @return The affine transformation of the horizontal symmetry (x' = 2x - x).
+	 */
+	static AffineTransform getHorizontalSymmetry(final double x) {
+		return new AffineTransform(-1d, 0d, 0d, 1d, 2d * x, 0d);
+	}
+
+	/**
+	 * @return The affine transformation of the vertical symmetry (y' = 2y - y).
+	 */
+	static AffineTransform getVerticalSymmetry(final double y) {
+		return new AffineTransform(1d, 0d, 0d, -1d, 0d, 2d * y);
+	}
+
 	@Override
 	public IPoint getBottomRightPoint() {
-		return points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.max(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).orElse(ShapeFactory.INST.createPoint());
+		final LBounds b = getPointsBounds();
+		return ShapeFactory.INST.createPoint(b.brX, b.brY);
 	}
 
 	@Override
 	public IPoint getBottomLeftPoint() {
-		return points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.min(p1.getX(), p2.getX()), Math.max(p1.getY(), p2.getY()))).orElse(ShapeFactory.INST.createPoint());
+		final LBounds b = getPointsBounds();
+		return ShapeFactory.INST.createPoint(b.blX, b.blY);
 	}
 
 	@Override
 	public IPoint getTopLeftPoint() {
-		return points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.min(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).orElse(ShapeFactory.INST.createPoint());
+		final LBounds b = getPointsBounds();
+		return ShapeFactory.INST.createPoint(b.tlX, b.tlY);
 	}
 
 	@Override
 	public IPoint getTopRightPoint() {
-		return points.stream().reduce((p1, p2) -> ShapeFactory.INST.createPoint(Math.max(p1.getX(), p2.getX()), Math.min(p1.getY(), p2.getY()))).orElse(ShapeFactory.INST.createPoint());
+		final LBounds b = getPointsBounds();
+		return ShapeFactory.INST.createPoint(b.trX, b.trY);
 	}
 
 	@Override
@@ -737,11 +975,21 @@ abstract class LShape implements ISingleShape {
 			MappingRegistry.REGISTRY.onObjectModified(this);
 		}
 
-		modified = changed;
+		modified.setModified(changed);
 	}
 
 	@Override
 	public boolean isModified() {
+		return modified.isModified();
+	}
+
+	@Override
+	public long getRevision() {
+		return modified.getRevision();
+	}
+
+	@Override
+	public LModifiedTracker getModifiedTracker() {
 		return modified;
 	}
 
@@ -750,8 +998,9 @@ abstract class LShape implements ISingleShape {
 		final IPoint gc = getGravityCentre();
 
 		if(point != null && !gc.equals(point)) {// The position of the shape must be rotated.
-			final IPoint rotGC = gc.rotatePoint(point, angle);
-			translate(rotGC.getX() - gc.getX(), rotGC.getY() - gc.getY());
+			final double[] rotGC = new double[2];
+			MathUtils.INST.rotate(gc.getX(), gc.getY(), point.getX(), point.getY(), angle, rotGC);
+			translate(rotGC[0] - gc.getX(), rotGC[1] - gc.getY());
 		}
 
 		setRotationAngle(getRotationAngle() + angle);
@@ -814,126 +1063,151 @@ abstract class LShape implements ISingleShape {
 
 	@Override
 	public DoubleProperty thicknessProperty() {
+		if(thickness == null) thickness = new SimpleDoubleProperty(thicknessValue);
 		return thickness;
 	}
 
 	@Override
 	public ObjectProperty<LineStyle> linestyleProperty() {
+		if(lineStyle == null) lineStyle = new SimpleObjectProperty<>(lineStyleValue);
 		return lineStyle;
 	}
 
 	@Override
 	public ObjectProperty<BorderPos> borderPosProperty() {
+		if(bordersPosition == null) bordersPosition = new SimpleObjectProperty<>(bordersPositionValue);
 		return bordersPosition;
 	}
 
 	@Override
 	public ObjectProperty<Color> lineColourProperty() {
+		if(lineColour == null) lineColour = new SimpleObjectProperty<>(lineColourValue);
 		return lineColour;
 	}
 
 	@Override
 	public ObjectProperty<FillingStyle> fillingProperty() {
+		if(fillingStyle == null) fillingStyle = new SimpleObjectProperty<>(fillingStyleValue);
 		return fillingStyle;
 	}
 
 	@Override
 	public DoubleProperty dashSepWhiteProperty() {
+		if(dashSepWhite == null) dashSepWhite = new SimpleDoubleProperty(dashSepWhiteValue);
 		return dashSepWhite;
 	}
 
 	@Override
 	public DoubleProperty dashSepBlackProperty() {
+		if(dashSepBlack == null) dashSepBlack = new SimpleDoubleProperty(dashSepBlackValue);
 		return dashSepBlack;
 	}
 
 	@Override
 	public DoubleProperty dotSepProperty() {
+		if(dotSep == null) dotSep = new SimpleDoubleProperty(dotSepValue);
 		return dotSep;
 	}
 
 	@Override
 	public BooleanProperty dbleBordProperty() {
+		if(hasDbleBord == null) hasDbleBord = new SimpleBooleanProperty(hasDbleBordValue);
 		return hasDbleBord;
 	}
 
 	@Override
 	public DoubleProperty dbleBordSepProperty() {
+		if(dbleBordSep == null) dbleBordSep = new SimpleDoubleProperty(dbleBordSepValue);
 		return dbleBordSep;
 	}
 
 	@Override
 	public ObjectProperty<Color> dbleBordColProperty() {
+		if(dbleBordCol == null) dbleBordCol = new SimpleObjectProperty<>(dbleBordColValue);
 		return dbleBordCol;
 	}
 
 	@Override
 	public ObjectProperty<Color> gradColStartProperty() {
+		if(gradColStart == null) gradColStart = new SimpleObjectProperty<>(gradColStartValue);
 		return gradColStart;
 	}
 
 	@Override
 	public ObjectProperty<Color> gradColEndProperty() {
+		if(gradColEnd == null) gradColEnd = new SimpleObjectProperty<>(gradColEndValue);
 		return gradColEnd;
 	}
 
 	@Override
 	public ObjectProperty<Color> fillingColProperty() {
+		if(fillingCol == null) fillingCol = new SimpleObjectProperty<>(fillingColValue);
 		return fillingCol;
 	}
 
 	@Override
 	public DoubleProperty gradAngleProperty() {
+		if(gradAngle == null) gradAngle = new SimpleDoubleProperty(gradAngleValue);
 		return gradAngle;
 	}
 
 	@Override
 	public DoubleProperty gradMidPtProperty() {
+		if(gradMidPt == null) gradMidPt = new SimpleDoubleProperty(gradMidPtValue);
 		return gradMidPt;
 	}
 
 	@Override
 	public BooleanProperty shadowProperty() {
+		if(hasShadow == null) hasShadow = new SimpleBooleanProperty(hasShadowValue);
 		return hasShadow;
 	}
 
 	@Override
 	public ObjectProperty<Color> shadowColProperty() {
+		if(shadowCol == null) shadowCol = new SimpleObjectProperty<>(shadowColValue);
 		return shadowCol;
 	}
 
 	@Override
 	public DoubleProperty shadowAngleProperty() {
+		if(shadowAngle == null) shadowAngle = new SimpleDoubleProperty(shadowAngleValue);
 		return shadowAngle;
 	}
 
 	@Override
 	public DoubleProperty shadowSizeProperty() {
+		if(shadowSize == null) shadowSize = new SimpleDoubleProperty(shadowSizeValue);
 		return shadowSize;
 	}
 
 	@Override
 	public DoubleProperty hatchingsAngleProperty() {
+		if(hatchingsAngle == null) hatchingsAngle = new SimpleDoubleProperty(hatchingsAngleValue);
 		return hatchingsAngle;
 	}
 
 	@Override
 	public DoubleProperty hatchingsSepProperty() {
+		if(hatchingsSep == null) hatchingsSep = new SimpleDoubleProperty(hatchingsSepValue);
 		return hatchingsSep;
 	}
 
 	@Override
 	public DoubleProperty hatchingsWidthProperty() {
+		if(hatchingsWidth == null) hatchingsWidth = new SimpleDoubleProperty(hatchingsWidthValue);
 		return hatchingsWidth;
 	}
 
 	@Override
 	public ObjectProperty<Color> hatchingsColProperty() {
+		if(hatchingsCol == null) hatchingsCol = new SimpleObjectProperty<>(hatchingsColValue);
 		return hatchingsCol;
 	}
 
 	@Override
 	public DoubleProperty rotationAngleProperty() {
+		if(rotationAngle == null) rotationAngle = new SimpleDoubleProperty(rotationAngleValue);
 		return rotationAngle;
 	}
 }
@@ -344,11 +344,21 @@ public class LShapeFactory implements IShapeFactory {
 		return copy;
 	}
 
+	@Override
+	public IPolyline createPolyline(final double[] coords) {
+		return new LPolyline(LPackedPoints.wrap(coords));
+	}
+
 	@Override
 	public IPolygon createPolygon(final List<IPoint> pts) {
 		return new LPolygon(pts);
 	}
 
+	@Override
+	public IPolygon createPolygon(final double[] coords) {
+		return new LPolygon(LPackedPoints.wrap(coords));
+	}
+
 	@Override
 	public IPolygon createPolygonFrom(final IPolygon sh, final IPoint pointToAdd) {
 		if(sh == null || !MathUtils.INST.isValidPt(pointToAdd)) return null;
@@ -10,6 +10,7 @@
  */
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.ShapeFactory;
@@ -42,6 +43,26 @@ abstract class LSquaredShape extends LPositionShape implements ISquaredShape {
 		}
 	}
 
+	@Override
+	public void transform(final AffineTransform transform) {
+		if(!isValidTransform(transform) || isIsometry(transform) || transform.getDeterminant() < 0d) {
+			super.transform(transform);
+			return;
+		}
+
+		// A squared shape cannot be sheared or scaled non-uniformly: the transformation is replaced by a uniform scale
+		// that keeps the area, the rotation of the transformation and the move of the gravity centre.
+		final IPoint gc = getGravityCentre();
+		final double[] newGC = {gc.getX(), gc.getY()};
+		transform.transform(newGC, 0, newGC, 0, 1);
+		final double s = Math.sqrt(Math.abs(transform.getDeterminant()));
+		final AffineTransform uniform = AffineTransform.getTranslateInstance(newGC[0], newGC[1]);
+		uniform.rotate(getRotation(transform));
+		uniform.scale(s, s);
+		uniform.translate(-gc.getX(), -gc.getY());
+		super.transform(uniform);
+	}
+
 	@Override
 	public void copy(final IShape sh) {
 		super.copy(sh);
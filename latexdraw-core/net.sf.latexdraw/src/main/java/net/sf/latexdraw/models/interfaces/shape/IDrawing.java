@@ -32,4 +32,41 @@ public interface IDrawing extends ISetShapesProp, AbstractPresentation {
 	 * @since 3.0
 	 */
 	void setSelection(final List<IShape> shapes);
+
+	/**
+	 * @param sh The shape to look for.
+	 * @return The position of the shape in the drawing (its z-order), or -1 if the drawing does not contain the shape.
+	 * Runs in constant time (amortised) on the shapes located before the last modification of the drawing.
+	 * @since 4.0
+	 */
+	int indexOf(final IShape sh);
+
+	/**
+	 * Starts a set of modifications of the shapes of the drawing: until the matching call to endUpdate,
+	 * the shapes added or removed are not notified to the listeners of the list of shapes.
+	 * Calls can be nested.
+	 * @since 4.0
+	 */
+	void beginUpdate();
+
+	/**
+	 * Ends a set of modifications started by beginUpdate. When the outermost update ends, the changes
+	 * are applied to the list of shapes using as few change events as possible.
+	 * @since 4.0
+	 */
+	void endUpdate();
+
+	/**
+	 * Executes the given modifications of the drawing as a single update.
+	 * @param modifications The modifications to perform. Cannot be null.
+	 * @since 4.0
+	 */
+	default void batch(final Runnable modifications) {
+		beginUpdate();
+		try {
+			modifications.run();
+		}finally {
+			endUpdate();
+		}
+	}
 }
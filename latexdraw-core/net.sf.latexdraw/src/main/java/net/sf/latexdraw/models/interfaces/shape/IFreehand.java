@@ -13,6 +13,7 @@ package net.sf.latexdraw.models.interfaces.shape;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
 import net.sf.latexdraw.models.interfaces.prop.IFreeHandProp;
 
 /**
@@ -34,4 +35,18 @@ public interface IFreehand extends IFreeHandProp, ISingleShape {
 	 * @return The property of the interval parameter.
 	 */
 	IntegerProperty intervalProperty();
+
+	/**
+	 * Appends a point at the end of the freehand shape. Contrary to ShapeFactory::createFreeHandFrom,
+	 * the shape is modified in place: the existing points are neither copied nor replaced.
+	 * @param pt The point to add. Nothing is done if not valid.
+	 * @since 4.0
+	 */
+	void addPoint(final IPoint pt);
+
+	/**
+	 * @return The property of the number of points of the shape. Updated each time a point is added.
+	 * @since 4.0
+	 */
+	ReadOnlyIntegerProperty nbPointsProperty();
 }
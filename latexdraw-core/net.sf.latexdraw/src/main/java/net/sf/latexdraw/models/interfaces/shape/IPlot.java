@@ -10,6 +10,7 @@
  */
 package net.sf.latexdraw.models.interfaces.shape;
 
+import java.util.concurrent.CompletableFuture;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
@@ -28,6 +29,48 @@ public interface IPlot extends IPositionShape, IPlotProp {
 	 */
 	double getY(final double x);
 
+	/**
+	 * The function is sampled once over the plotting range: nbPlottedPoints points spaced by the plotting step from the min X,
+	 * or at most nbPlottedPoints points placed where the function bends if the adaptive sampling is used.
+	 * The samples are cached until the equation, the min/max X, the number of plotted points or the sampling mode changes.
+	 * @return The X values of the samples. The array must not be modified.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 * @since 4.0
+	 */
+	double[] getPlotSamplesX();
+
+	/**
+	 * @return The Y values of the samples (see getPlotSamplesX). The array must not be modified.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 * @since 4.0
+	 */
+	double[] getPlotSamplesY();
+
+	/**
+	 * Samples the function out of the calling thread (see getPlotSamplesX). The parameters of the sampling are read in the
+	 * calling thread. Until the samples are computed, the bounds of the plot are computed from the previous samples.
+	 * A new call cancels the pending sampling.
+	 * @return The sampling, completed exceptionally if an error occurs during the computation of the points (e.g. division by 0).
+	 * @since 4.0
+	 */
+	CompletableFuture<Void> sampleAsync();
+
+	/**
+	 * @return True if the function is sampled adaptively: segments are refined where the function bends, up to
+	 * nbPlottedPoints points, and nearly linear regions get fewer points. False (default): uniform sampling.
+	 * @since 4.0
+	 */
+	boolean isAdaptiveSampling();
+
+	/**
+	 * Sets whether the function is sampled adaptively.
+	 * @param adaptive True: adaptive sampling; false: uniform sampling.
+	 * @since 4.0
+	 */
+	void setAdaptiveSampling(final boolean adaptive);
+
+	BooleanProperty adaptiveSamplingProperty();
+
 	BooleanProperty polarProperty();
 
 	StringProperty plotEquationProperty();
@@ -10,6 +10,7 @@
  */
 package net.sf.latexdraw.models.interfaces.shape;
 
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.util.List;
 import org.malai.properties.Modifiable;
@@ -26,7 +27,7 @@ public interface IShape extends Modifiable {
 	double GOLDEN_ANGLE = 0.553574;
 
 	/**
-	 * @return The points of the shape.
+	 * @return The points of the shape. The list cannot be modified: the points must be modified through the shape.
 	 * @since 3.0
 	 */
 	List<IPoint> getPoints();
@@ -109,6 +110,13 @@ public interface IShape extends Modifiable {
 	 */
 	boolean isShadowable();
 
+	/**
+	 * @return A counter incremented each time the shape is flagged as modified or its points change.
+	 * The revision of a group also changes when one of its shapes changes.
+	 * @since 4.0
+	 */
+	long getRevision();
+
 	/**
 	 * @return The top left point of the shape. It does not take account
 	 * of the thickness, the rotation angle, the double border, nor any
@@ -206,6 +214,16 @@ public interface IShape extends Modifiable {
 	 */
 	void translate(final double tx, final double ty);
 
+	/**
+	 * Applies an affine transformation to the points of the shape in a single pass.
+	 * The shapes that store their rotation in a rotation angle get the rotation part of the transformation in this angle.
+	 * The shapes that cannot be sheared (squares, circles) are scaled uniformly; the size of dots, grids and texts does not change.
+	 * Nothing is done if the transformation is not invertible.
+	 * @param transform The transformation to apply.
+	 * @since 4.0
+	 */
+	void transform(final AffineTransform transform);
+
 	/**
 	 * @return True if the shape has hatchings.
 	 * @since 3.0
@@ -326,6 +326,15 @@ public interface IShapeFactory {
 
 	IPolyline createPolylineFrom(IPolyline sh, IPoint pointToAdd);
 
+	/**
+	 * Creates a polyline from packed coordinates, without creating a point object per coordinate.
+	 * @param coords The coordinates of the points: x0, y0, x1, y1, etc. The array is not copied.
+	 * @return The created polyline.
+	 * @throws IllegalArgumentException If the number of coordinates is odd or if a coordinate is not valid.
+	 * @since 4.0
+	 */
+	IPolyline createPolyline(final double[] coords);
+
 	/**
 	 * Creates a polygon with a set of points.
 	 * @param pts The points of the shape.
@@ -336,6 +345,15 @@ public interface IShapeFactory {
 
 	IPolygon createPolygonFrom(IPolygon sh, IPoint pointToAdd);
 
+	/**
+	 * Creates a polygon from packed coordinates, without creating a point object per coordinate.
+	 * @param coords The coordinates of the points: x0, y0, x1, y1, etc. The array is not copied.
+	 * @return The created polygon.
+	 * @throws IllegalArgumentException If the number of coordinates is odd or if a coordinate is not valid.
+	 * @since 4.0
+	 */
+	IPolygon createPolygon(final double[] coords);
+
 	/**
 	 * @return The created rectangle with position (0,0) and width=10 and height=10.
 	 * @since 3.0
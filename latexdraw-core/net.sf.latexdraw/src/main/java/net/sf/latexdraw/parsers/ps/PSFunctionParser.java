@@ -10,48 +10,83 @@
  */
 package net.sf.latexdraw.parsers.ps;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.function.Supplier;
+import net.sf.latexdraw.models.MathUtils;
 
 /**
  * A postscript function parser.
+ * The function is compiled once into a flat sequence of opcodes that is evaluated on a primitive stack.
  * @author Arnaud Blouin
  */
 public class PSFunctionParser {
+	private static final int OP_VALUE = 0;
+	private static final int OP_X = 1;
+	private static final int OP_ADD = 2;
+	private static final int OP_MUL = 3;
+	private static final int OP_SUB = 4;
+	private static final int OP_SIN = 5;
+	private static final int OP_COS = 6;
+	private static final int OP_DIV = 7;
+	private static final int OP_IDIV = 8;
+	private static final int OP_MOD = 9;
+	private static final int OP_NEG = 10;
+	private static final int OP_EXCH = 11;
+	private static final int OP_CLEAR = 12;
+	private static final int OP_DUP = 13;
+	private static final int OP_POP = 14;
+	private static final int OP_ROLL = 15;
+	private static final int OP_SQRT = 16;
+	private static final int OP_EXP = 17;
+	private static final int OP_ABS = 18;
+	private static final int OP_FLOOR = 19;
+	private static final int OP_CEILING = 20;
+	private static final int OP_COUNT = 21;
+	private static final int OP_LOG = 22;
+
 	/** The postscript function. */
 	private final String function;
-	private final List<PSArithemticCommand> commands;
-	private static final Map<String, Supplier<PSArithemticCommand>> factoryMap;
+	/** The opcodes of the compiled function. */
+	private int[] ops;
+	/** The values pushed by the OP_VALUE opcodes (indexed as the opcodes). */
+	private double[] values;
+	/** The number of opcodes. */
+	private int nbOps;
+	/** The maximal size of the stack required by the function. */
+	private int maxDepth;
+	/** True if the stack never underflows and contains a result at the end of the function. */
+	private boolean validStack;
+	/** True if the evaluation may fail depending on the value of x (e.g. division by 0). */
+	private boolean mayFail;
+	/** The stack used by getY(double), allocated once per parser and thread since the parser may be shared by several threads. */
+	private final ThreadLocal<double[]> threadStack;
+	private static final Map<String, Integer> opcodes;
 
 	static {
-		factoryMap = new HashMap<>();
-		factoryMap.put("add", () -> new PSAddCommand());
-		factoryMap.put("mul", () -> new PSMulCommand());
-		factoryMap.put("sub", () -> new PSSubCommand());
-		factoryMap.put("sin", () -> new PSSinCommand());
-		factoryMap.put("cos", () -> new PSCosCommand());
-		factoryMap.put("div", () -> new PSDivCommand());
-		factoryMap.put("idiv", () -> new PSIDivCommand());
-		factoryMap.put("mod", () -> new PSModCommand());
-		factoryMap.put("neg", () -> new PSNegCommand());
-		factoryMap.put("exch", () -> new PSExchCommand());
-		factoryMap.put("clear", () -> new PSClearCommand());
-		factoryMap.put("dup", () -> new PSDupCommand());
-		factoryMap.put("pop", () -> new PSPopCommand());
-		factoryMap.put("roll", () -> null);
-		factoryMap.put("sqrt", () -> null);
-		factoryMap.put("exp", () -> new PSExpCommand());
-		factoryMap.put("abs", () -> new PSAbsCommand());
-		factoryMap.put("floor", () -> new PSFloorCommand());
-		factoryMap.put("ceiling", () -> new PSCeilingCommand());
-		factoryMap.put("count", () -> new PSCountCommand());
-		factoryMap.put("x", () -> new PSPlotXVariable());
-		factoryMap.put("log", () -> new PSLogCommand());
+		opcodes = new HashMap<>();
+		opcodes.put("add", OP_ADD);
+		opcodes.put("mul", OP_MUL);
+		opcodes.put("sub", OP_SUB);
+		opcodes.put("sin", OP_SIN);
+		opcodes.put("cos", OP_COS);
+		opcodes.put("div", OP_DIV);
+		opcodes.put("idiv", OP_IDIV);
+		opcodes.put("mod", OP_MOD);
+		opcodes.put("neg", OP_NEG);
+		opcodes.put("exch", OP_EXCH);
+		opcodes.put("clear", OP_CLEAR);
+		opcodes.put("dup", OP_DUP);
+		opcodes.put("pop", OP_POP);
+		opcodes.put("roll", OP_ROLL);
+		opcodes.put("sqrt", OP_SQRT);
+		opcodes.put("exp", OP_EXP);
+		opcodes.put("abs", OP_ABS);
+		opcodes.put("floor", OP_FLOOR);
+		opcodes.put("ceiling", OP_CEILING);
+		opcodes.put("count", OP_COUNT);
+		opcodes.put("x", OP_X);
+		opcodes.put("log", OP_LOG);
 	}
 
 	/**
@@ -64,14 +99,20 @@ public class PSFunctionParser {
 		super();
 		if(fct == null || fct.isEmpty()) throw new IllegalArgumentException();
 
-		commands = new ArrayList<>();
 		function = fct;
+		ops = new int[8];
+		values = new double[8];
+		nbOps = 0;
 
 		parseFunction();
+		checkStack();
+		threadStack = ThreadLocal.withInitial(this::createStack);
 	}
 
 	/**
 	 * Checks whether the given equation is a valid post-fixed PS equation.
+	 * The stack usage of the equation is checked statically: the equation is sampled only if
+	 * its evaluation may fail for some values of x (e.g. a division by x).
 	 * @param eq The equation to check.
 	 * @param min The X-min of the plotting.
 	 * @param max The X-max of the plotting.
@@ -82,10 +123,15 @@ public class PSFunctionParser {
 	public static boolean isValidPostFixEquation(final String eq, final double min, final double max, final double nbPts) {
 		try {
 			final PSFunctionParser fct = new PSFunctionParser(eq);
+
+			if(!fct.validStack) return false;
+			if(!fct.mayFail) return true;
+
 			final double gap = (max - min) / (nbPts - 1);
+			final double[] stack = fct.createStack();
 
 			for(double x = min; x < max; x += gap) {
-				fct.getY(x);
+				fct.evaluate(x, stack);
 			}
 
 			return true;
@@ -94,6 +140,14 @@ public class PSFunctionParser {
 		}
 	}
 
+	/**
+	 * @return True if the stack never underflows during the evaluation of the function and contains the result at the end.
+	 * This check does not require the function to be evaluated.
+	 * @since 4.0
+	 */
+	public boolean isValidStack() {
+		return validStack;
+	}
 
 	/**
 	 * @param x The X-coordinate used to compute the Y using the function.
@@ -102,13 +156,214 @@ public class PSFunctionParser {
 	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
 	 */
 	public double getY(final double x) {
-		final Deque<Double> stack = new ArrayDeque<>();
+		return getY(x, threadStack.get());
+	}
+
+	/**
+	 * @param x The X-coordinate used to compute the Y using the function.
+	 * @param stk The stack of the evaluation, created by createStack. Lets loops evaluate the function without any allocation.
+	 * @return The y value corresponding to the given X value.
+	 * @throws InvalidFormatPSFunctionException If the function is not correct.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 * @since 4.0
+	 */
+	public double getY(final double x, final double[] stk) {
+		if(!validStack) throw new InvalidFormatPSFunctionException();
+		return evaluate(x, stk);
+	}
+
+	/**
+	 * @return A new stack large enough to evaluate the function (see getY(double, double[])).
+	 * @since 4.0
+	 */
+	public double[] createStack() {
+		return new double[maxDepth];
+	}
 
-		commands.forEach(cmd -> cmd.execute(stack, x));
+	/**
+	 * Computes the Y values of the given X values. The stack of the evaluation is allocated once for all the values.
+	 * @param xs The X-coordinates used to compute the Ys using the function.
+	 * @param ys The array to fill with the computed Y values. Its length must be greater or equal to the one of xs.
+	 * @throws InvalidFormatPSFunctionException If the function is not correct.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 * @since 4.0
+	 */
+	public void evaluate(final double[] xs, final double[] ys) {
+		evaluate(xs, ys, 0, xs.length);
+	}
 
-		if(stack.isEmpty()) throw new InvalidFormatPSFunctionException();
+	/**
+	 * Computes the Y values of a range of the given X values.
+	 * @param xs The X-coordinates used to compute the Ys using the function.
+	 * @param ys The array to fill with the computed Y values (at the same indexes than the X values).
+	 * @param from The index of the first X value to use (inclusive).
+	 * @param to The index of the last X value to use (exclusive).
+	 * @throws InvalidFormatPSFunctionException If the function is not correct.
+	 * @throws ArithmeticException If an error occurs during the computation of the points (e.g. division by 0).
+	 * @since 4.0
+	 */
+	public void evaluate(final double[] xs, final double[] ys, final int from, final int to) {
+		if(!validStack) throw new InvalidFormatPSFunctionException();
+
+		final double[] stk = createStack();
 
-		return stack.pop();
+		for(int i = from; i < to; i++) {
+			ys[i] = evaluate(xs[i], stk);
+		}
+	}
+
+	/**
+	 * Evaluates the compiled function. The stack usage has been checked statically, so only the roll operator checks its operands.
+	 */
+	private double evaluate(final double x, final double[] stack) {
+		int sp = 0;
+		double a;
+
+		for(int i = 0; i < nbOps; i++) {
+			switch(ops[i]) {
+				case OP_VALUE: stack[sp++] = values[i]; break;
+				case OP_X: stack[sp++] = x; break;
+				case OP_ADD: sp--; stack[sp - 1] += stack[sp]; break;
+				case OP_MUL: sp--; stack[sp - 1] *= stack[sp]; break;
+				case OP_SUB: sp--; stack[sp - 1] -= stack[sp]; break;
+				case OP_SIN: stack[sp - 1] = Math.sin(Math.toRadians(stack[sp - 1])); break;
+				case OP_COS: stack[sp - 1] = Math.cos(Math.toRadians(stack[sp - 1])); break;
+				case OP_DIV:
+					a = stack[--sp];
+					if(MathUtils.INST.equalsDouble(a, 0d)) throw new ArithmeticException();
+					stack[sp - 1] /= a;
+					break;
+				case OP_IDIV:
+					a = stack[--sp];
+					if(MathUtils.INST.equalsDouble(a, 0d)) throw new ArithmeticException();
+					stack[sp - 1] = Math.floor(stack[sp - 1] / a);
+					break;
+				case OP_MOD:
+					a = stack[--sp];
+					if(MathUtils.INST.equalsDouble(a, 0d)) throw new ArithmeticException();
+					stack[sp - 1] %= a;
+					break;
+				case OP_NEG: stack[sp - 1] = -stack[sp - 1]; break;
+				case OP_EXCH:
+					a = stack[sp - 1];
+					stack[sp - 1] = stack[sp - 2];
+					stack[sp - 2] = a;
+					break;
+				case OP_CLEAR: sp = 0; break;
+				case OP_DUP: stack[sp] = stack[sp - 1]; sp++; break;
+				case OP_POP: sp--; break;
+				case OP_ROLL: sp = roll(stack, sp); break;
+				case OP_SQRT:
+					if(stack[sp - 1] < 0d) throw new ArithmeticException();
+					stack[sp - 1] = Math.sqrt(stack[sp - 1]);
+					break;
+				case OP_EXP: sp--; stack[sp - 1] = Math.pow(stack[sp - 1], stack[sp]); break;
+				case OP_ABS: stack[sp - 1] = Math.abs(stack[sp - 1]); break;
+				case OP_FLOOR: stack[sp - 1] = Math.floor(stack[sp - 1]); break;
+				case OP_CEILING: stack[sp - 1] = Math.ceil(stack[sp - 1]); break;
+				case OP_COUNT: stack[sp] = sp; sp++; break;
+				case OP_LOG: stack[sp - 1] = Math.log10(stack[sp - 1]); break;
+				default: throw new InvalidFormatPSFunctionException();
+			}
+		}
+
+		return stack[sp - 1];
+	}
+
+	/**
+	 * The roll operator: 'n j roll' rolls the n top values of the stack j times.
+	 * @return The new size of the stack.
+	 */
+	private static int roll(final double[] stack, final int size) {
+		final int sp = size - 2;
+		final int n = (int) stack[sp];
+
+		if(n < 0 || n > sp) throw new InvalidFormatPSFunctionException();
+		if(n == 0) return sp;
+
+		final int j = Math.floorMod((int) stack[sp + 1], n);
+
+		if(j > 0) {
+			final int from = sp - n;
+			reverse(stack, from, sp - 1);
+			reverse(stack, from, from + j - 1);
+			reverse(stack, from + j, sp - 1);
+		}
+
+		return sp;
+	}
+
+	private static void reverse(final double[] stack, final int from, final int to) {
+		for(int i = from, k = to; i < k; i++, k--) {
+			final double tmp = stack[i];
+			stack[i] = stack[k];
+			stack[k] = tmp;
+		}
+	}
+
+	/**
+	 * Computes statically the stack usage of the function.
+	 */
+	private void checkStack() {
+		int depth = 0;
+		maxDepth = 1;
+		validStack = true;
+		mayFail = false;
+
+		for(int i = 0; i < nbOps && validStack; i++) {
+			final int required;
+			final int delta;
+
+			switch(ops[i]) {
+				case OP_VALUE: case OP_X: case OP_COUNT:
+					required = 0; delta = 1;
+					break;
+				case OP_DUP:
+					required = 1; delta = 1;
+					break;
+				case OP_POP:
+					required = 1; delta = -1;
+					break;
+				case OP_EXCH:
+					required = 2; delta = 0;
+					break;
+				case OP_ADD: case OP_MUL: case OP_SUB: case OP_EXP:
+					required = 2; delta = -1;
+					break;
+				case OP_DIV: case OP_IDIV: case OP_MOD:
+					required = 2; delta = -1; mayFail = true;
+					break;
+				case OP_CLEAR:
+					required = 0; delta = -depth;
+					break;
+				case OP_ROLL:
+					// The number of rolled values is known statically only when it is a constant.
+					if(i > 1 && ops[i - 2] == OP_VALUE && (ops[i - 1] == OP_VALUE || ops[i - 1] == OP_X)) {
+						required = 2 + Math.max(0, (int) values[i - 2]);
+						mayFail |= values[i - 2] < 0d;
+					}else {
+						required = 2;
+						mayFail = true;
+					}
+					delta = -2;
+					break;
+				case OP_SQRT:
+					required = 1; delta = 0; mayFail = true;
+					break;
+				default: // Unary operators.
+					required = 1; delta = 0;
+					break;
+			}
+
+			if(depth < required) {
+				validStack = false;
+			}else {
+				depth += delta;
+				maxDepth = Math.max(maxDepth, depth);
+			}
+		}
+
+		validStack = validStack && depth > 0;
 	}
 
 	/**
@@ -133,25 +388,33 @@ public class PSFunctionParser {
 			}
 
 			if(cmd.length() > 0) {
-				commands.add(identifyCommand(cmd.toString()));
+				compileCommand(cmd.toString());
 			}
 		}
 	}
 
 	/**
-	 * @param cmd The arithmetic command to analyse.
-	 * @return The arithmetic instance corresponding to the given command.
-	 * @throws InvalidFormatPSFunctionException If the function is not correct.
-	 * @throws NumberFormatException If the function is not correct.
-	 * @since 3.0
+	 * Adds the opcode of the given command to the compiled function.
+	 * @throws InvalidFormatPSFunctionException If the command is not correct.
 	 */
-	protected PSArithemticCommand identifyCommand(final String cmd) {
-		if(cmd == null || cmd.isEmpty()) throw new InvalidFormatPSFunctionException();
+	private void compileCommand(final String cmd) {
+		final Integer op = opcodes.get(cmd);
 
-		try {
-			return factoryMap.getOrDefault(cmd, () -> new PSValue(Double.parseDouble(cmd))).get();
-		}catch(final NumberFormatException ex) {
-			throw new InvalidFormatPSFunctionException("Cannot parse: " + cmd); //$NON-NLS-1$
+		if(nbOps == ops.length) {
+			ops = Arrays.copyOf(ops, nbOps * 2);
+			values = Arrays.copyOf(values, nbOps * 2);
+		}
+
+		if(op == null) {
+			try {
+				values[nbOps] = Double.parseDouble(cmd);
+			}catch(final NumberFormatException ex) {
+				throw new InvalidFormatPSFunctionException("Cannot parse: " + cmd); //$NON-NLS-1$
+			}
+			ops[nbOps] = OP_VALUE;
+		}else {
+			ops[nbOps] = op;
 		}
+		nbOps++;
 	}
 }
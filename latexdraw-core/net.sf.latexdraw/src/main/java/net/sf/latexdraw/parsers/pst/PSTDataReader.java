@@ -0,0 +1,303 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2017 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.parsers.pst;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the data of the PST plot commands (readdata, fileplot, listplot, dataplot).
+ * The data files are memory-mapped and their numbers are parsed from the bytes directly, without creating strings.
+ * The data consist of numbers separated by spaces, commas, or brackets; '%' starts a comment.
+ * The values are read as x/y pairs.
+ * @author Arnaud Blouin
+ */
+public final class PSTDataReader {
+	public static final PSTDataReader INSTANCE = new PSTDataReader();
+
+	/** The maximal size of a memory-mapped window of a data file. */
+	private static final int MAX_WINDOW = 1 << 30;
+	/** The powers of ten that are exactly represented as doubles. */
+	private static final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+		1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+	private PSTDataReader() {
+		super();
+	}
+
+	/**
+	 * Reads the coordinates contained in a data file.
+	 * @param file The data file.
+	 * @return The coordinates: x0, y0, x1, y1, etc. If the file contains an odd number of values, the last one is ignored.
+	 * @throws IOException If the file cannot be read.
+	 * @since 4.0
+	 */
+	public double[] readFile(final Path file) throws IOException {
+		return readFile(file, MAX_WINDOW);
+	}
+
+	/**
+	 * Reads the coordinates contained in a data file, mapped in memory by windows of the given size.
+	 */
+	double[] readFile(final Path file, final int windowSize) throws IOException {
+		try(final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			// Each value takes at least two bytes (a digit and a separator).
+			final DoubleArray values = new DoubleArray((int) Math.min(size / 2L + 1L, 1 << 20));
+			long pos = 0L;
+
+			while(pos < size) {
+				final int length = (int) Math.min(size - pos, windowSize);
+				final boolean last = pos + length >= size;
+				final int read = parse(channel.map(FileChannel.MapMode.READ_ONLY, pos, length), last, values);
+
+				if(read == 0) {
+					// A token larger than the window.
+					throw new IOException("Cannot parse the data file from the position " + pos);
+				}
+				pos += read;
+			}
+
+			return values.toCoordinates();
+		}
+	}
+
+	/**
+	 * Reads the coordinates contained in a text (e.g. the data given to listplot).
+	 * @param text The text to parse.
+	 * @return The coordinates: x0, y0, x1, y1, etc. If the text contains an odd number of values, the last one is ignored.
+	 * @since 4.0
+	 */
+	public double[] readText(final String text) {
+		final DoubleArray values = new DoubleArray(text.length() / 2 + 1);
+		parse(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)), true, values);
+		return values.toCoordinates();
+	}
+
+	/**
+	 * Reduces the number of points of a curve using the largest-triangle-three-buckets algorithm: the points are split into
+	 * buckets and the most significant point of each bucket is kept. The first and the last points are kept.
+	 * @param coords The coordinates of the points: x0, y0, x1, y1, etc.
+	 * @param nbPoints The expected number of points.
+	 * @return The coordinates of the kept points, or the given array if it does not contain more points than expected or if nbPoints is lower than 3.
+	 * @since 4.0
+	 */
+	public double[] decimate(final double[] coords, final int nbPoints) {
+		final int nb = coords.length / 2;
+
+		if(nbPoints < 3 || nb <= nbPoints) {
+			return coords;
+		}
+
+		final double[] res = new double[nbPoints * 2];
+		final double bucketSize = (nb - 2) / (double) (nbPoints - 2);
+		int kept = 0;
+		res[0] = coords[0];
+		res[1] = coords[1];
+
+		for(int i = 0; i < nbPoints - 2; i++) {
+			// The average point of the next bucket.
+			final int avgStart = (int) ((i + 1) * bucketSize) + 1;
+			final int avgEnd = Math.min((int) ((i + 2) * bucketSize) + 1, nb);
+			double avgX = 0d;
+			double avgY = 0d;
+			for(int j = avgStart; j < avgEnd; j++) {
+				avgX += coords[j * 2];
+				avgY += coords[j * 2 + 1];
+			}
+			avgX /= avgEnd - avgStart;
+			avgY /= avgEnd - avgStart;
+
+			// The point of the current bucket that forms the largest triangle with the previous kept point and the average point.
+			final double ax = coords[kept * 2];
+			final double ay = coords[kept * 2 + 1];
+			final int end = (int) ((i + 1) * bucketSize) + 1;
+			double maxArea = -1d;
+			for(int j = (int) (i * bucketSize) + 1; j < end; j++) {
+				final double area = Math.abs((ax - avgX) * (coords[j * 2 + 1] - ay) - (ax - coords[j * 2]) * (avgY - ay));
+				if(area > maxArea) {
+					maxArea = area;
+					kept = j;
+				}
+			}
+
+			res[i * 2 + 2] = coords[kept * 2];
+			res[i * 2 + 3] = coords[kept * 2 + 1];
+		}
+
+		res[nbPoints * 2 - 2] = coords[nb * 2 - 2];
+		res[nbPoints * 2 - 1] = coords[nb * 2 - 1];
+		return res;
+	}
+
+	/**
+	 * Parses the numbers of the given buffer.
+	 * @param last True if the buffer contains the end of the data: the last token is then complete.
+	 * @return The number of bytes parsed. If not last, the incomplete token at the end of the buffer is not parsed.
+	 */
+	private int parse(final ByteBuffer buf, final boolean last, final DoubleArray values) {
+		final int limit = buf.limit();
+		int i = 0;
+
+		while(i < limit) {
+			final byte c = buf.get(i);
+
+			if(isSeparator(c)) {
+				i++;
+			}else {
+				final int tokenEnd = c == '%' ? commentEnd(buf, i, limit) : tokenEnd(buf, i, limit);
+				if(tokenEnd == limit && !last) {
+					return i;
+				}
+				if(c != '%') {
+					parseNumber(buf, i, tokenEnd, values);
+				}
+				i = tokenEnd;
+			}
+		}
+
+		return limit;
+	}
+
+	private static int commentEnd(final ByteBuffer buf, final int from, final int limit) {
+		int i = from;
+		while(i < limit && buf.get(i) != '\n' && buf.get(i) != '\r') {
+			i++;
+		}
+		return i;
+	}
+
+	private static int tokenEnd(final ByteBuffer buf, final int from, final int limit) {
+		int i = from;
+		while(i < limit && !isSeparator(buf.get(i)) && buf.get(i) != '%') {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean isSeparator(final byte c) {
+		switch(c) {
+			case ' ': case '\t': case '\n': case '\r': case '\f': case ',': case ';':
+			case '{': case '}': case '[': case ']': case '(': case ')':
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static boolean isDigit(final byte c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Parses the number of the given token and adds it to the values. Tokens that are not numbers are ignored.
+	 * Numbers with more than 15 significant digits or with large exponents may differ from the closest double by a few ulps.
+	 */
+	private static void parseNumber(final ByteBuffer buf, final int from, final int to, final DoubleArray values) {
+		int i = from;
+		boolean negative = false;
+		long mantissa = 0L;
+		int nbDigits = 0;
+		int exp10 = 0;
+		boolean hasDigit = false;
+
+		// PST accepts several signs.
+		while(i < to && (buf.get(i) == '-' || buf.get(i) == '+')) {
+			negative ^= buf.get(i) == '-';
+			i++;
+		}
+
+		while(i < to && isDigit(buf.get(i))) {
+			hasDigit = true;
+			if(nbDigits < 18) {
+				mantissa = mantissa * 10L + buf.get(i) - '0';
+				if(mantissa != 0L) nbDigits++;
+			}else {
+				exp10++;
+			}
+			i++;
+		}
+
+		if(i < to && buf.get(i) == '.') {
+			i++;
+			while(i < to && isDigit(buf.get(i))) {
+				hasDigit = true;
+				if(nbDigits < 18) {
+					mantissa = mantissa * 10L + buf.get(i) - '0';
+					if(mantissa != 0L) nbDigits++;
+					exp10--;
+				}
+				i++;
+			}
+		}
+
+		if(!hasDigit) return;
+
+		if(i < to && (buf.get(i) == 'e' || buf.get(i) == 'E')) {
+			i++;
+			boolean negativeExp = false;
+			int exp = 0;
+			if(i < to && (buf.get(i) == '-' || buf.get(i) == '+')) {
+				negativeExp = buf.get(i) == '-';
+				i++;
+			}
+			if(i == to || !isDigit(buf.get(i))) return;
+			while(i < to && isDigit(buf.get(i))) {
+				exp = Math.min(exp * 10 + buf.get(i) - '0', 100000);
+				i++;
+			}
+			exp10 += negativeExp ? -exp : exp;
+		}
+
+		// Not a number (e.g. a word).
+		if(i != to) return;
+
+		final double value;
+		if(mantissa == 0L) {
+			value = 0d;
+		}else if(nbDigits <= 15 && exp10 >= -22 && exp10 <= 22) {
+			// Both the mantissa and the power of ten are exact doubles: the result is correctly rounded.
+			value = exp10 < 0 ? mantissa / POW10[-exp10] : mantissa * POW10[exp10];
+		}else {
+			value = exp10 < 0 ? mantissa / Math.pow(10d, -exp10) : mantissa * Math.pow(10d, exp10);
+		}
+
+		values.add(negative ? -value : value);
+	}
+
+
+	/** A growable array of doubles. */
+	private static final class DoubleArray {
+		private double[] values;
+		private int size;
+
+		DoubleArray(final int capacity) {
+			values = new double[Math.max(capacity, 2)];
+			size = 0;
+		}
+
+		void add(final double value) {
+			if(size == values.length) {
+				values = Arrays.copyOf(values, values.length + (values.length >> 1));
+			}
+			values[size++] = value;
+		}
+
+		double[] toCoordinates() {
+			return Arrays.copyOf(values, size - size % 2);
+		}
+	}
+}
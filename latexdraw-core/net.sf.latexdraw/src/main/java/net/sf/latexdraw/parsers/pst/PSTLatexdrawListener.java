@@ -10,11 +10,19 @@
  */
 package net.sf.latexdraw.parsers.pst;
 
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -58,14 +66,27 @@ import net.sf.latexdraw.models.interfaces.shape.TicksStyle;
 import net.sf.latexdraw.util.Tuple;
 import net.sf.latexdraw.view.latex.DviPsColors;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.misc.Interval;
 
 public class PSTLatexdrawListener extends PSTCtxListener {
+	/** The macros of the data defined by readdata. */
+	private static final Pattern DATA_MACRO = Pattern.compile("\\\\[a-zA-Z@]+");
+
 	private final Deque<IGroup> shapes;
+	/** The data read by the readdata commands, indexed by their macro name. */
+	private final Map<String, double[]> data;
+	/** The maximal number of points of the shapes created from plot data. 0 means no decimation. */
+	private int dataMaxNbPoints;
+	/** The folder against which the relative paths of the data files are resolved. Null: the working directory. */
+	private Path dataFolder;
 	Point2D psCustomLatestPt;
 
 	public PSTLatexdrawListener() {
 		super();
 		shapes = new ArrayDeque<>();
+		data = new HashMap<>();
+		dataMaxNbPoints = 0;
+		dataFolder = null;
 		PSTContext.PPC = IShape.PPC;
 		psCustomLatestPt = new Point2D(0d, 0d);
 	}
@@ -92,6 +113,44 @@ public class PSTLatexdrawListener extends PSTCtxListener {
 		flatLastGroup();
 	}
 
+	/**
+	 * Sets the path of the document that contains the parsed code: the relative paths of the data files
+	 * of readdata and fileplot are resolved against its folder.
+	 * @param document The path of the document. Null: the relative paths are resolved against the working directory.
+	 * @since 4.0
+	 */
+	public void setDocumentPath(final Path document) {
+		dataFolder = document == null ? null : document.toAbsolutePath().getParent();
+	}
+
+	/**
+	 * @return The path of the given data file, resolved against the folder of the document if it is relative.
+	 * @throws InvalidPathException If the path is not valid.
+	 */
+	private Path getDataFile(final String file) {
+		final Path path = Paths.get(file);
+		return dataFolder == null || path.isAbsolute() ? path : dataFolder.resolve(path);
+	}
+
+	/**
+	 * @return The maximal number of points of the shapes created from the data of listplot, dataplot, or fileplot.
+	 * 0 (the default value) means that the data are not decimated.
+	 * @since 4.0
+	 */
+	public int getDataMaxNbPoints() {
+		return dataMaxNbPoints;
+	}
+
+	/**
+	 * Sets the maximal number of points of the shapes created from the data of listplot, dataplot, or fileplot.
+	 * Larger data are decimated while keeping the shape of the curve.
+	 * @param maxNbPoints The maximal number of points. 0 (or lower than 3) means no decimation.
+	 * @since 4.0
+	 */
+	public void setDataMaxNbPoints(final int maxNbPoints) {
+		dataMaxNbPoints = Math.max(0, maxNbPoints);
+	}
+
 	private void addGroup() {
 		shapes.push(ShapeFactory.INST.createGroup());
 	}
@@ -483,9 +542,7 @@ public class PSTLatexdrawListener extends PSTCtxListener {
 						fh.setOpen(ifh.isOpen());
 					}else {
 						// Otherwise, the shape has two points. So, we take the last one and add it to the first shape.
-						final IFreehand fh2 = ShapeFactory.INST.createFreeHandFrom(fh, ifh.getPtAt(ifh.getNbPoints() - 1));
-						gp.getShapes().set(gp.getShapes().indexOf(fh), fh2);
-						fh = fh2;
+						fh.addPoint(ifh.getPtAt(ifh.getNbPoints() - 1));
 						fh.setType(ifh.getType());
 					}
 				}
@@ -551,6 +608,38 @@ public class PSTLatexdrawListener extends PSTCtxListener {
 		shapes.peek().addShape(plot);
 	}
 
+	@Override
+	public void exitReaddata(final net.sf.latexdraw.parsers.pst.PSTParser.ReaddataContext ctx) {
+		final String file = getText(ctx.BRACE_OPEN(1).getSymbol(), ctx.stop);
+		try {
+			data.put(ctx.LATEXCMD().getText(), PSTDataReader.INSTANCE.readFile(getDataFile(file)));
+		}catch(final IOException | InvalidPathException ex) {
+			LOG.severe("Cannot read the data file " + file + ": " + ex.getMessage());
+		}
+	}
+
+	@Override
+	public void exitFileplot(final net.sf.latexdraw.parsers.pst.PSTParser.FileplotContext ctx) {
+		final String file = getText(ctx.data.start, ctx.data.stop);
+		try {
+			addDataShape(PSTDataReader.INSTANCE.readFile(getDataFile(file)), ctx.pstctx, ctx.pstctx.starredCmd(ctx.cmd));
+		}catch(final IOException | InvalidPathException ex) {
+			LOG.severe("Cannot read the data file " + file + ": " + ex.getMessage());
+		}
+	}
+
+	@Override
+	public void exitDataplot(final net.sf.latexdraw.parsers.pst.PSTParser.DataplotContext ctx) {
+		addDataShape(getMacrosData(getText(ctx.data.start, ctx.data.stop)), ctx.pstctx, ctx.pstctx.starredCmd(ctx.cmd));
+	}
+
+	@Override
+	public void exitListplot(final net.sf.latexdraw.parsers.pst.PSTParser.ListplotContext ctx) {
+		final String txt = getText(ctx.data.start, ctx.data.stop);
+		final double[] coords = DATA_MACRO.matcher(txt).find() ? getMacrosData(txt) : PSTDataReader.INSTANCE.readText(txt);
+		addDataShape(coords, ctx.pstctx, ctx.pstctx.starredCmd(ctx.cmd));
+	}
+
 	@Override
 	public void exitTextcolor(final net.sf.latexdraw.parsers.pst.PSTParser.TextcolorContext ctx) {
 		DviPsColors.INSTANCE.getColour(ctx.name.getText()).ifPresent(colour -> shapes.peek().setLineColour(colour));
@@ -636,6 +725,86 @@ public class PSTLatexdrawListener extends PSTCtxListener {
 		ctx.pstctx.textParsed.add(ctx.getText());
 	}
 
+	/**
+	 * @return The raw text located between the two given braces.
+	 */
+	private static String getText(final Token openBrace, final Token closeBrace) {
+		return openBrace.getInputStream().getText(Interval.of(openBrace.getStopIndex() + 1, closeBrace.getStartIndex() - 1)).trim();
+	}
+
+	/**
+	 * @return The concatenation of the data of the readdata macros used in the given text.
+	 */
+	private double[] getMacrosData(final String txt) {
+		final Matcher matcher = DATA_MACRO.matcher(txt);
+		double[] coords = new double[0];
+
+		while(matcher.find()) {
+			final double[] macroData = data.get(matcher.group());
+			if(macroData == null) {
+				LOG.severe("Unknown data: " + matcher.group());
+			}else {
+				final int length = coords.length;
+				coords = Arrays.copyOf(coords, length + macroData.length);
+				System.arraycopy(macroData, 0, coords, length, macroData.length);
+			}
+		}
+
+		return coords;
+	}
+
+	/**
+	 * Creates the shape of a plot command from its data: dots, a polygon, or a polyline (curves are approximated by polylines).
+	 * @param coords The PST coordinates of the points: x0, y0, x1, y1, etc.
+	 */
+	private void addDataShape(final double[] coords, final PSTContext ctx, final boolean starred) {
+		final double[] pts = PSTDataReader.INSTANCE.decimate(coords, dataMaxNbPoints);
+		final double xUnit = PSTContext.PPC * ctx.xUnit * ctx.unit;
+		final double yUnit = -PSTContext.PPC * ctx.yUnit * ctx.unit;
+		final double[] res = new double[pts.length];
+		int size = 0;
+
+		for(int i = 0; i < pts.length; i += 2) {
+			final double x = pts[i] * xUnit;
+			final double y = pts[i + 1] * yUnit;
+			if(MathUtils.INST.isValidPt(x, y)) {
+				res[size++] = x;
+				res[size++] = y;
+			}
+		}
+
+		if(size == 0) {
+			return;
+		}
+
+		final PlotStyle style = PlotStyle.getPlotStyle(ctx.plotStyle);
+
+		if(style == PlotStyle.DOTS) {
+			for(int i = 0; i < size; i += 2) {
+				setDot(ShapeFactory.INST.createPoint(res[i], res[i + 1]), ctx, starred);
+			}
+			return;
+		}
+
+		final double[] shCoords = size == res.length ? res : Arrays.copyOf(res, size);
+		final IShape shape;
+
+		if(style == PlotStyle.POLYGON) {
+			shape = ShapeFactory.INST.createPolygon(shCoords);
+			setShapeParameters(shape, ctx);
+		}else {
+			final IPolyline line = ShapeFactory.INST.createPolyline(shCoords);
+			setShapeParameters(line, ctx);
+			setArrows(line, ctx);
+			shape = line;
+		}
+
+		if(starred) {
+			setShapeForStar(shape);
+		}
+		shapes.peek().addShape(shape);
+	}
+
 	private IFreehand createFreeHand(final boolean isLine, final PSTContext ctx, final IPoint pt) {
 		final IFreehand freeHand = ShapeFactory.INST.createFreeHand(Arrays.asList(ShapeFactory.INST.createPoint(psCustomLatestPt), pt));
 
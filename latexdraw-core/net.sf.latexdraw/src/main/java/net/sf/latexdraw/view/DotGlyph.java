@@ -0,0 +1,368 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2017 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import net.sf.latexdraw.models.MathUtils;
+import net.sf.latexdraw.models.interfaces.shape.Color;
+import net.sf.latexdraw.models.interfaces.shape.DotStyle;
+import net.sf.latexdraw.models.interfaces.shape.IDot;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+
+/**
+ * The geometry of a dot, relative to its centre. A dot is painted as a circle and a path, both optional.
+ * Glyphs are immutable and shared: they are obtained using getGlyph that caches them. They do not depend on any toolkit
+ * so that the JFX views and the SVG generators can use them.
+ * @author Arnaud Blouin
+ * @since 4.0
+ */
+public final class DotGlyph {
+	/** The maximal number of glyphs in the cache. */
+	private static final int CACHE_SIZE = 256;
+
+	private static final Map<Key, DotGlyph> CACHE = Collections.synchronizedMap(new LinkedHashMap<Key, DotGlyph>(CACHE_SIZE, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Key, DotGlyph> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	});
+
+	/**
+	 * @param style The style of the dot.
+	 * @param diametre The diametre of the dot.
+	 * @return The glyph of the dots that have the given style and diametre.
+	 * @throws NullPointerException If the style is null.
+	 */
+	public static DotGlyph getGlyph(final DotStyle style, final double diametre) {
+		return CACHE.computeIfAbsent(new Key(Objects.requireNonNull(style), diametre), key -> new DotGlyph(style, diametre));
+	}
+
+	/** The kinds of segments of the path of a glyph. */
+	public enum Segment {
+		MOVE, LINE, CLOSE
+	}
+
+	/** The line caps of the strokes of a glyph. */
+	public enum LineCap {
+		BUTT, SQUARE
+	}
+
+	/** The colours that fill the parts of a glyph. */
+	public enum Fill {
+		NONE, LINE_COLOUR, FILLING_COLOUR;
+
+		/**
+		 * @return The colour to use, or null if the part is not filled.
+		 */
+		public Color getColour(final Color lineColour, final Color fillingColour) {
+			switch(this) {
+				case LINE_COLOUR:
+					return lineColour;
+				case FILLING_COLOUR:
+					return fillingColour;
+				default:
+					return null;
+			}
+		}
+	}
+
+	private final DotStyle style;
+	private final double diametre;
+	private Segment[] segments;
+	/** The coordinates of the segments: two values per segment (0 for CLOSE segments). */
+	private double[] coords;
+	private int nbSegments;
+	/** NaN if the glyph has no circle. */
+	private double circleRadius;
+	private double circleStrokeWidth;
+	private LineCap circleLineCap;
+	private Fill circleFill;
+	private double pathStrokeWidth;
+	private LineCap pathLineCap;
+	private Fill pathFill;
+
+	private DotGlyph(final DotStyle dotStyle, final double diam) {
+		super();
+		style = dotStyle;
+		diametre = diam;
+		segments = new Segment[8];
+		coords = new double[16];
+		circleRadius = Double.NaN;
+		circleStrokeWidth = diam / IDot.THICKNESS_O_STYLE_FACTOR;
+		circleLineCap = LineCap.SQUARE;
+		circleFill = Fill.NONE;
+		pathStrokeWidth = diam / IDot.THICKNESS_O_STYLE_FACTOR;
+		pathLineCap = LineCap.SQUARE;
+		pathFill = Fill.NONE;
+		createGlyph();
+		segments = Arrays.copyOf(segments, nbSegments);
+		coords = Arrays.copyOf(coords, nbSegments * 2);
+	}
+
+	private void createGlyph() {
+		final double half = diametre / 2d;
+		final double dec = diametre / IDot.THICKNESS_O_STYLE_FACTOR;
+
+		switch(style) {
+			case ASTERISK:
+				createAsterisk(half, dec);
+				break;
+			case BAR:
+				pathStrokeWidth = diametre / 8d;
+				add(Segment.MOVE, 0d, -half + diametre / 16d);
+				add(Segment.LINE, 0d, half + diametre / 3.75);
+				break;
+			case DIAMOND:
+			case FDIAMOND:
+				pathFill = style == DotStyle.DIAMOND ? Fill.FILLING_COLOUR : Fill.LINE_COLOUR;
+				createDiamond(half, dec);
+				break;
+			case DOT:
+				circleRadius = (diametre - diametre * (0.1 / 2.6) * 2d) / 2d;
+				circleFill = Fill.LINE_COLOUR;
+				break;
+			case O:
+				circleRadius = (diametre - diametre * (0.1 / 3.6) * 2d) / 2d;
+				circleFill = Fill.FILLING_COLOUR;
+				break;
+			case OPLUS:
+				circleRadius = (diametre - diametre * (0.1 / 2.6) * 2d) / 2d;
+				pathLineCap = LineCap.BUTT;
+				add(Segment.MOVE, 0d, -half + dec * 2d);
+				add(Segment.LINE, 0d, half - dec * 2d);
+				add(Segment.MOVE, -half + dec * 2d, 0d);
+				add(Segment.LINE, half - dec * 2d, 0d);
+				break;
+			case OTIMES:
+				circleRadius = (diametre - diametre * (0.1 / 2.6) * 2d) / 2d;
+				pathLineCap = LineCap.BUTT;
+				addRotated(Segment.MOVE, 0d, -half + dec * 2d);
+				addRotated(Segment.LINE, 0d, half - dec * 2d);
+				addRotated(Segment.MOVE, -half + dec * 2d, 0d);
+				addRotated(Segment.LINE, half - dec * 2d, 0d);
+				break;
+			case PENTAGON:
+			case FPENTAGON:
+				pathFill = style == DotStyle.PENTAGON ? Fill.FILLING_COLOUR : Fill.LINE_COLOUR;
+				createPentagon(half, dec);
+				break;
+			case PLUS:
+				pathStrokeWidth = diametre / IDot.PLUS_COEFF_WIDTH;
+				final double plusGap = diametre / 160d;
+				add(Segment.MOVE, 0d, -half - plusGap);
+				add(Segment.LINE, 0d, half + plusGap);
+				add(Segment.MOVE, -half - plusGap, 0d);
+				add(Segment.LINE, half + plusGap, 0d);
+				break;
+			case SQUARE:
+			case FSQUARE:
+				pathFill = style == DotStyle.SQUARE ? Fill.FILLING_COLOUR : Fill.LINE_COLOUR;
+				pathLineCap = LineCap.BUTT;
+				final double width = diametre - dec * 3d;
+				final double xy = -half + dec * 1.5;
+				add(Segment.MOVE, xy, xy);
+				add(Segment.LINE, xy + width, xy);
+				add(Segment.LINE, xy + width, xy + width);
+				add(Segment.LINE, xy, xy + width);
+				add(Segment.CLOSE, 0d, 0d);
+				break;
+			case TRIANGLE:
+			case FTRIANGLE:
+				pathFill = style == DotStyle.TRIANGLE ? Fill.FILLING_COLOUR : Fill.LINE_COLOUR;
+				add(Segment.MOVE, 0d, -half - 1.5 * dec);
+				add(Segment.LINE, -half - 0.3 * dec, half - 3d * dec);
+				add(Segment.LINE, half + 0.3 * dec, half - 3d * dec);
+				add(Segment.CLOSE, 0d, 0d);
+				break;
+			case X:
+				final double crossGap = diametre / 10d;
+				pathStrokeWidth = crossGap;
+				add(Segment.MOVE, -half + crossGap, -half + crossGap);
+				add(Segment.LINE, half - crossGap, half - crossGap);
+				add(Segment.MOVE, half - crossGap, -half + crossGap);
+				add(Segment.LINE, -half + crossGap, half - crossGap);
+				break;
+		}
+	}
+
+	private void createAsterisk(final double half, final double dec) {
+		final double radius = Math.abs(-half + diametre / 10d - (half - diametre / 10d)) / 2d + dec;
+		add(Segment.MOVE, 0d, -half + diametre / 10d - dec);
+		add(Segment.LINE, 0d, half - diametre / 10d + dec);
+		add(Segment.MOVE, Math.cos(Math.PI / 6d) * radius, radius / 2d);
+		add(Segment.LINE, Math.cos(7d * Math.PI / 6d) * radius, Math.sin(7d * Math.PI / 6d) * radius);
+		add(Segment.MOVE, Math.cos(5d * Math.PI / 6d) * radius, Math.sin(5d * Math.PI / 6d) * radius);
+		add(Segment.LINE, Math.cos(11d * Math.PI / 6d) * radius, Math.sin(11d * Math.PI / 6d) * radius);
+	}
+
+	/**
+	 * A golden diamond: cf. http://mathworld.wolfram.com/GoldenRhombus.html
+	 */
+	private void createDiamond(final double half, final double dec) {
+		final double a = diametre / (2d * Math.sin(IShape.GOLDEN_ANGLE));
+		final double p = 2d * a * Math.cos(IShape.GOLDEN_ANGLE);
+		final double x1 = half - dec - 0.5 * dec;
+		final double x3 = -half + dec + 0.5 * dec;
+		add(Segment.MOVE, (x1 + x3) / 2d, p / 2d - dec - 0.5 * dec);
+		add(Segment.LINE, x1, 0d);
+		add(Segment.LINE, (x1 + x3) / 2d, -p / 2d + dec + 0.5 * dec);
+		add(Segment.LINE, x3, 0d);
+		add(Segment.CLOSE, 0d, 0d);
+	}
+
+	private void createPentagon(final double half, final double dec) {
+		final double dist = half + dec;
+		final double c1 = 0.25 * (Math.sqrt(5d) - 1d) * dist;
+		final double s1 = Math.sin(2d * Math.PI / 5d) * dist;
+		final double c2 = 0.25 * (Math.sqrt(5d) + 1d) * dist;
+		final double s2 = Math.sin(4d * Math.PI / 5d) * dist;
+		add(Segment.MOVE, 0d, -half - dec);
+		add(Segment.LINE, s1, -c1);
+		add(Segment.LINE, s2, c2);
+		add(Segment.LINE, -s2, c2);
+		add(Segment.LINE, -s1, -c1);
+		add(Segment.CLOSE, 0d, 0d);
+	}
+
+	private void addRotated(final Segment seg, final double x, final double y) {
+		final double[] rotated = new double[2];
+		MathUtils.INST.rotate(x, y, 0d, 0d, Math.PI / 4d, rotated);
+		add(seg, rotated[0], rotated[1]);
+	}
+
+	private void add(final Segment seg, final double x, final double y) {
+		segments[nbSegments] = seg;
+		coords[nbSegments * 2] = x;
+		coords[nbSegments * 2 + 1] = y;
+		nbSegments++;
+	}
+
+	/**
+	 * @return The style of the dots painted by the glyph.
+	 */
+	public DotStyle getStyle() {
+		return style;
+	}
+
+	/**
+	 * @return The diametre of the dots painted by the glyph.
+	 */
+	public double getDiametre() {
+		return diametre;
+	}
+
+	/**
+	 * @return True if the glyph contains a circle centred on the dot.
+	 */
+	public boolean hasCircle() {
+		return !Double.isNaN(circleRadius);
+	}
+
+	/**
+	 * @return The radius of the circle of the glyph or NaN if the glyph has no circle.
+	 */
+	public double getCircleRadius() {
+		return circleRadius;
+	}
+
+	public double getCircleStrokeWidth() {
+		return circleStrokeWidth;
+	}
+
+	public LineCap getCircleLineCap() {
+		return circleLineCap;
+	}
+
+	public Fill getCircleFill() {
+		return circleFill;
+	}
+
+	/**
+	 * @return True if the glyph contains a path.
+	 */
+	public boolean hasPath() {
+		return nbSegments > 0;
+	}
+
+	/**
+	 * @return The number of segments of the path of the glyph.
+	 */
+	public int getNbSegments() {
+		return nbSegments;
+	}
+
+	/**
+	 * @param i The index of the segment.
+	 * @return The kind of the segment at the given index.
+	 * @throws ArrayIndexOutOfBoundsException If the index is not valid.
+	 */
+	public Segment getSegment(final int i) {
+		return segments[i];
+	}
+
+	/**
+	 * @param i The index of the segment.
+	 * @return The X-coordinate, relative to the centre of the dot, of the segment at the given index (0 for CLOSE segments).
+	 * @throws ArrayIndexOutOfBoundsException If the index is not valid.
+	 */
+	public double getSegmentX(final int i) {
+		return coords[i * 2];
+	}
+
+	/**
+	 * @param i The index of the segment.
+	 * @return The Y-coordinate, relative to the centre of the dot, of the segment at the given index (0 for CLOSE segments).
+	 * @throws ArrayIndexOutOfBoundsException If the index is not valid.
+	 */
+	public double getSegmentY(final int i) {
+		return coords[i * 2 + 1];
+	}
+
+	public double getPathStrokeWidth() {
+		return pathStrokeWidth;
+	}
+
+	public LineCap getPathLineCap() {
+		return pathLineCap;
+	}
+
+	public Fill getPathFill() {
+		return pathFill;
+	}
+
+
+	private static final class Key {
+		private final DotStyle style;
+		private final double diametre;
+
+		Key(final DotStyle dotStyle, final double diam) {
+			style = dotStyle;
+			diametre = diam;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if(this == obj) return true;
+			if(!(obj instanceof Key)) return false;
+			final Key key = (Key) obj;
+			return style == key.style && Double.compare(diametre, key.diametre) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * style.hashCode() + Double.hashCode(diametre);
+		}
+	}
+}
@@ -13,7 +13,9 @@ package net.sf.latexdraw.view;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.ValuePoint;
 import net.sf.latexdraw.models.interfaces.shape.IBezierCurve;
 import net.sf.latexdraw.models.interfaces.shape.IDot;
 import net.sf.latexdraw.models.interfaces.shape.IPlot;
@@ -34,33 +36,175 @@ public final class PlotViewHelper {
 	}
 
 
-	private IPoint getPolarPoint(final IPlot shape, final double x, final double xs, final double ys, final double posX, final double posY) {
-		final double radius = shape.getY(x);
+	/**
+	 * Sets the coordinates of the polar point of the given angle and radius at the given index of the coordinates array.
+	 */
+	private void setPolarCoord(final double[] coords, final int index, final double radius, final double x, final double xs, final double ys,
+							final double posX, final double posY) {
 		final double angle = Math.toRadians(x);
-		final double x1 = radius * Math.cos(angle);
-		final double y1 = -radius * Math.sin(angle);
-		return ShapeFactory.INST.createPoint(x1 * IShape.PPC * xs + posX, y1 * IShape.PPC * ys + posY);
+		coords[index] = radius * Math.cos(angle) * IShape.PPC * xs + posX;
+		coords[index + 1] = -radius * Math.sin(angle) * IShape.PPC * ys + posY;
 	}
 
+	/**
+	 * Sets the coordinates of the point (x, y) of the plot at the given index of the coordinates array.
+	 */
+	private void setCoord(final double[] coords, final int index, final double x, final double y, final boolean polar, final double xs,
+						final double ys, final double posX, final double posY) {
+		if(polar) {
+			setPolarCoord(coords, index, y, x, xs, ys, posX, posY);
+		}else {
+			coords[index] = x * IShape.PPC * xs + posX;
+			coords[index + 1] = -y * IShape.PPC * ys + posY;
+		}
+	}
+
+	/**
+	 * Computes the points of the plot. The Y values are read from the samples of the plot when the given range matches them
+	 * (the ECURVE style shifts the range by one step: only its last point is then computed).
+	 * If the plot is sampled adaptively, its samples within the given range are used, bounded by the points at minX and maxX.
+	 */
 	public List<IPoint> fillPoints(final IPlot shape, final double posX, final double posY, final double minX,
 						   final double maxX, final double step) {
+		return toPoints(fillCoordinates(shape, posX, posY, minX, maxX, step));
+	}
+
+	private List<IPoint> toPoints(final double[] coords) {
+		final List<IPoint> pts = new ArrayList<>(coords.length / 2);
+		for(int i = 0; i < coords.length; i += 2) {
+			pts.add(ShapeFactory.INST.createPoint(coords[i], coords[i + 1]));
+		}
+		return pts;
+	}
+
+	/**
+	 * Computes the points of the plot as fillPoints does, without creating points.
+	 * @return The coordinates of the points: x0, y0, x1, y1, etc.
+	 * @since 4.0
+	 */
+	public double[] fillCoordinates(final IPlot shape, final double posX, final double posY, final double minX,
+						   final double maxX, final double step) {
 		final double xs = shape.getXScale();
 		final double ys = shape.getYScale();
+		final boolean polar = shape.isPolar();
+		final double[] samplesX = shape.getPlotSamplesX();
+		final double[] samplesY = shape.getPlotSamplesY();
+
+		// The adaptive samples do not follow the plotting step: the ones within the range are used.
+		if(shape.isAdaptiveSampling()) {
+			return fillAdaptiveCoordinates(shape, samplesX, samplesY, posX, posY, minX, maxX);
+		}
+
+		final int nbPts = shape.getNbPlottedPoints();
+		final double[] coords = new double[(polar ? nbPts + 1 : nbPts) * 2];
+		final int offset = getSamplesOffset(shape, minX, step);
 		double x = minX;
-		final List<IPoint> pts = new ArrayList<>();
 
-		if(shape.isPolar()) {
-			for(int i = 0; i < shape.getNbPlottedPoints(); i++, x += step) {
-				pts.add(getPolarPoint(shape, x, xs, ys, posX, posY));
+		for(int i = 0, j = offset; i < nbPts; i++, j++, x += step) {
+			final double px;
+			final double py;
+			if(offset >= 0 && j < samplesX.length) {
+				px = samplesX[j];
+				py = samplesY[j];
+			}else {
+				px = x;
+				py = shape.getY(x);
 			}
-			pts.add(getPolarPoint(shape, maxX, xs, ys, posX, posY));
-		}else {
-			for(int i = 0; i < shape.getNbPlottedPoints(); i++, x += step) {
-				pts.add(ShapeFactory.INST.createPoint(x * IShape.PPC * xs + posX, -shape.getY(x) * IShape.PPC * ys + posY));
+
+			setCoord(coords, i * 2, px, py, polar, xs, ys, posX, posY);
+		}
+
+		if(polar) {
+			setPolarCoord(coords, nbPts * 2, shape.getY(maxX), maxX, xs, ys, posX, posY);
+		}
+
+		return coords;
+	}
+
+	/**
+	 * Computes the points of an adaptively sampled plot: the samples between minX and maxX, plus the points at minX and maxX
+	 * when no sample lies on them (e.g. with the range of the ECURVE style).
+	 */
+	private double[] fillAdaptiveCoordinates(final IPlot shape, final double[] samplesX, final double[] samplesY, final double posX,
+											final double posY, final double minX, final double maxX) {
+		final double xs = shape.getXScale();
+		final double ys = shape.getYScale();
+		final boolean polar = shape.isPolar();
+		int from = 0;
+		int to = samplesX.length;
+
+		while(from < to && samplesX[from] < minX && !MathUtils.INST.equalsDouble(samplesX[from], minX)) {
+			from++;
+		}
+		while(to > from && samplesX[to - 1] > maxX && !MathUtils.INST.equalsDouble(samplesX[to - 1], maxX)) {
+			to--;
+		}
+
+		final boolean addMin = from == to || !MathUtils.INST.equalsDouble(samplesX[from], minX);
+		final boolean addMax = !MathUtils.INST.equalsDouble(minX, maxX) && (from == to || !MathUtils.INST.equalsDouble(samplesX[to - 1], maxX));
+		final double[] coords = new double[(to - from + (addMin ? 1 : 0) + (addMax ? 1 : 0)) * 2];
+		int index = 0;
+
+		if(addMin) {
+			setCoord(coords, index, minX, shape.getY(minX), polar, xs, ys, posX, posY);
+			index += 2;
+		}
+		for(int i = from; i < to; i++, index += 2) {
+			setCoord(coords, index, samplesX[i], samplesY[i], polar, xs, ys, posX, posY);
+		}
+		if(addMax) {
+			setCoord(coords, index, maxX, shape.getY(maxX), polar, xs, ys, posX, posY);
+		}
+
+		return coords;
+	}
+
+	/**
+	 * Computes the first control points of the curve that goes through the given points.
+	 * The algorithm follows this definition:
+	 * https://stackoverflow.com/questions/15864441/how-to-make-a-line-curve-through-points
+	 * The second control points are the central symmetry of the first ones.
+	 * @param coords The coordinates of the points: x0, y0, x1, y1, etc.
+	 * @return The coordinates of the first control points, ordered as the points.
+	 * @since 4.0
+	 */
+	public double[] computeFirstCtrlCoordinates(final double[] coords) {
+		final double scale = 0.33;
+		final double[] ctrls = new double[coords.length];
+		final int last = coords.length / 2 - 1;
+		// Value points are used to not create JavaFX properties during the computations.
+		ValuePoint prev = null;
+		ValuePoint pt = new ValuePoint(coords[0], coords[1]);
+
+		for(int i = 0; i <= last; i++) {
+			final ValuePoint next = i < last ? new ValuePoint(coords[i * 2 + 2], coords[i * 2 + 3]) : null;
+			final ValuePoint ctrl;
+			if(i == 0) {
+				ctrl = pt.add(next.substract(pt).zoom(scale));
+			}else if(i == last) {
+				ctrl = pt.substract(pt.substract(prev).zoom(scale));
+			}else {
+				final ValuePoint tangent = next.substract(prev).normalise();
+				ctrl = pt.substract(tangent.zoom(scale * pt.distance(prev)));
 			}
+			ctrls[i * 2] = ctrl.x;
+			ctrls[i * 2 + 1] = ctrl.y;
+			prev = pt;
+			pt = next;
 		}
 
-		return pts;
+		return ctrls;
+	}
+
+	/**
+	 * @return The index of the sample corresponding to the given min X, or -1 if the given range does not match the samples.
+	 */
+	private int getSamplesOffset(final IPlot shape, final double minX, final double step) {
+		final double plotStep = shape.getPlottingStep();
+		if(!MathUtils.INST.equalsDouble(step, plotStep)) return -1;
+		final long offset = Math.round((minX - shape.getPlotMinX()) / plotStep);
+		return offset >= 0 && offset <= shape.getNbPlottedPoints() &&
+			MathUtils.INST.equalsDouble(minX, shape.getPlotMinX() + offset * plotStep) ? (int) offset : -1;
 	}
 
 
@@ -90,38 +234,16 @@ public final class PlotViewHelper {
 
 
 	public IBezierCurve updateCurve(final IPlot shape, final double posX, final double posY, final double minX, final double maxX, final double step) {
-		// The algorithm follows this definition:
-		// https://stackoverflow.com/questions/15864441/how-to-make-a-line-curve-through-points
-		final double scale = 0.33;
-		final IBezierCurve bc = ShapeFactory.INST.createBezierCurve(fillPoints(shape, posX, posY, minX, maxX, step));
+		final double[] coords = fillCoordinates(shape, posX, posY, minX, maxX, step);
+		final IBezierCurve bc = ShapeFactory.INST.createBezierCurve(toPoints(coords));
+		final double[] ctrls = computeFirstCtrlCoordinates(coords);
 
 		bc.setIsClosed(shape.getPlotStyle() == PlotStyle.CCURVE);
 		bc.copy(shape);
-		int i = 0;
-		final int last = bc.getPoints().size() - 1;
 
-		for(IPoint pt : bc.getPoints()) {
-			if(i == 0) {
-				final IPoint p2 = bc.getPtAt(i + 1);
-				final IPoint tangent = p2.substract(pt);
-				final IPoint q1 = pt.add(tangent.zoom(scale));
-				bc.setXFirstCtrlPt(q1.getX(), i);
-				bc.setYFirstCtrlPt(q1.getY(), i);
-			}else if(i == last) {
-				final IPoint p0 = bc.getPtAt(i - 1);
-				final IPoint tangent = pt.substract(p0);
-				final IPoint q0 = pt.substract(tangent.zoom(scale));
-				bc.setXFirstCtrlPt(q0.getX(), i);
-				bc.setYFirstCtrlPt(q0.getY(), i);
-			}else {
-				final IPoint p0 = bc.getPtAt(i - 1);
-				final IPoint p2 = bc.getPtAt(i + 1);
-				final IPoint tangent = p2.substract(p0).normalise();
-				final IPoint q0 = pt.substract(tangent.zoom(scale * pt.substract(p0).magnitude()));
-				bc.setXFirstCtrlPt(q0.getX(), i);
-				bc.setYFirstCtrlPt(q0.getY(), i);
-			}
-			i++;
+		for(int i = 0, size = ctrls.length / 2; i < size; i++) {
+			bc.setXFirstCtrlPt(ctrls[i * 2], i);
+			bc.setYFirstCtrlPt(ctrls[i * 2 + 1], i);
 		}
 		bc.updateSecondControlPoints();
 		return bc;
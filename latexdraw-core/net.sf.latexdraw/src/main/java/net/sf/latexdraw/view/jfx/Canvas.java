@@ -13,20 +13,29 @@ package net.sf.latexdraw.view.jfx;
 import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.ParallelTransition;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.scene.Group;
 import javafx.scene.Parent;
@@ -75,6 +84,9 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 	/** The origin of the drawing in the whole drawing area. */
 	public static final IPoint ORIGIN = ShapeFactory.INST.createPoint(MARGINS, MARGINS);
 
+	/** The margin (in scene pixels) added around the viewport to decide whether a view is culled. */
+	private static final double CULLING_MARGIN = 300d;
+
 	/** The model of the view. */
 	private final IDrawing drawing;
 
@@ -105,6 +117,42 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 	/** The temporary view that the canvas may contain. */
 	private Optional<ViewShape<?>> tempView;
 
+	/** The views detached from the scene graph since they are out of the viewport. They are still bound to their shape. */
+	private final Set<ViewShape<?>> culledViews;
+
+	/** Defines whether the views out of the viewport are detached. */
+	private boolean viewportCulling;
+
+	/** True when an update of the culled views is planned. */
+	private boolean cullingScheduled;
+
+	/** True when all the views must be checked at the next update of the culled views (e.g. the viewport changed). */
+	private boolean fullCullingScheduled;
+
+	/** The views whose bounds or selection changed since the last update of the culled views. */
+	private final Set<ViewShape<?>> cullingCandidates;
+
+	/** Plans the culling check of the views whose bounds change. */
+	private final InvalidationListener boundsCullingListener;
+
+	/** True when an update of the magnetic grid to the viewport is planned. */
+	private boolean gridUpdateScheduled;
+
+	/** The scroll pane whose viewport is observed for the culling. */
+	private ScrollPane cullingScrollPane;
+
+	/** Updates the culling and the magnetic grid on the changes of the viewport of the scroll pane. */
+	private final InvalidationListener viewportListener;
+
+	/**
+	 * The number of views in the views pane, indexed by the position of the shapes in the drawing: attachedCounts[i] is the number
+	 * of attached views of the shapes located before i. The counts are computed lazily: only the counts up to countsValidTo are up to date.
+	 */
+	private int[] attachedCounts;
+
+	/** The counts of attached views up to this position in the drawing are up to date. */
+	private int countsValidTo;
+
 	/**
 	 * Creates the canvas.
 	 */
@@ -125,6 +173,17 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 		widgetsPane = new Group();
 		shapesPane = new Group();
 		shapesToViewMap = new HashMap<>();
+		culledViews = new HashSet<>();
+		viewportCulling = true;
+		cullingScheduled = false;
+		fullCullingScheduled = false;
+		cullingCandidates = new HashSet<>();
+		boundsCullingListener = obs -> requestViewportCulling((ViewShape<?>) ((ReadOnlyProperty<?>) obs).getBean());
+		gridUpdateScheduled = false;
+		cullingScrollPane = null;
+		viewportListener = obs -> onViewportChanged();
+		attachedCounts = new int[1];
+		countsValidTo = 0;
 		selectionBorder = new Rectangle();
 		ongoingSelectionBorder = new Rectangle();
 
@@ -149,6 +208,7 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 
 		defineShapeListToViewBinding();
 		configureSelection();
+		configureViewportCulling();
 
 		ActionsRegistry.INSTANCE.addHandler(this);
 
@@ -168,7 +228,258 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 		selectionBorder.setStrokeLineCap(StrokeLineCap.BUTT);
 		selectionBorder.getStrokeDashArray().addAll(7d, 7d);
 
-		drawing.getSelection().getShapes().addListener((Change<? extends IShape> evt) -> updateSelectionBorders());
+		drawing.getSelection().getShapes().addListener((Change<? extends IShape> evt) -> {
+			updateSelectionBorders();
+			// The selected views must be attached, the unselected ones may be culled.
+			while(evt.next()) {
+				evt.getRemoved().forEach(sh -> requestViewportCulling(shapesToViewMap.get(sh)));
+				evt.getAddedSubList().forEach(sh -> requestViewportCulling(shapesToViewMap.get(sh)));
+			}
+		});
+	}
+
+
+	/**
+	 * The culling and the magnetic grid are updated when the viewport of the scroll pane that contains the canvas changes.
+	 */
+	private void configureViewportCulling() {
+		sceneProperty().addListener((observable, oldScene, newScene) -> {
+			setCullingScrollPane(newScene == null ? null : getScrollPane());
+			onViewportChanged();
+		});
+		scaleXProperty().addListener(viewportListener);
+	}
+
+
+	/**
+	 * Observes the viewport of the given scroll pane instead of the one of the previous scroll pane, if different.
+	 */
+	private void setCullingScrollPane(final ScrollPane scrollPane) {
+		if(scrollPane == cullingScrollPane) return;
+
+		if(cullingScrollPane != null) {
+			cullingScrollPane.hvalueProperty().removeListener(viewportListener);
+			cullingScrollPane.vvalueProperty().removeListener(viewportListener);
+			cullingScrollPane.viewportBoundsProperty().removeListener(viewportListener);
+		}
+
+		cullingScrollPane = scrollPane;
+
+		if(scrollPane != null) {
+			scrollPane.hvalueProperty().addListener(viewportListener);
+			scrollPane.vvalueProperty().addListener(viewportListener);
+			scrollPane.viewportBoundsProperty().addListener(viewportListener);
+		}
+	}
+
+
+	private void onViewportChanged() {
+		requestViewportCulling();
+		// The grid is updated once the scroll pane laid out, so that the new viewport is known.
+		if(!gridUpdateScheduled && getScene() != null) {
+			gridUpdateScheduled = true;
+			Platform.runLater(() -> {
+				gridUpdateScheduled = false;
+				magneticGrid.onViewportChanged();
+			});
+		}
+	}
+
+
+	/**
+	 * Plans an update of all the culled views. Several requests during the same pulse lead to a single update.
+	 */
+	private void requestViewportCulling() {
+		fullCullingScheduled = true;
+		scheduleViewportCulling();
+	}
+
+
+	/**
+	 * Plans the culling check of the given view only (e.g. its bounds changed). Several requests during the same pulse lead to a single update.
+	 */
+	private void requestViewportCulling(final ViewShape<?> view) {
+		if(view != null) {
+			cullingCandidates.add(view);
+			scheduleViewportCulling();
+		}
+	}
+
+
+	private void scheduleViewportCulling() {
+		if(!cullingScheduled && (viewportCulling || !culledViews.isEmpty()) && getScene() != null) {
+			cullingScheduled = true;
+			Platform.runLater(() -> {
+				final Set<ViewShape<?>> candidates = new HashSet<>(cullingCandidates);
+				final boolean full = fullCullingScheduled;
+				cullingScheduled = false;
+				fullCullingScheduled = false;
+				cullingCandidates.clear();
+				if(full) {
+					updateViewportCulling();
+				}else {
+					updateViewportCulling(candidates);
+				}
+			});
+		}
+	}
+
+
+	/**
+	 * @param node The node in which coordinates system the visible area is expressed.
+	 * @param margin The margin (in scene pixels) added around the visible area.
+	 * @return The visible area of the canvas in the coordinates system of the given node, or nothing if the canvas is not in a scroll pane.
+	 */
+	Optional<Bounds> getViewportBounds(final javafx.scene.Node node, final double margin) {
+		final ScrollPane scrollPane = getScene() == null ? null : getScrollPane();
+		if(scrollPane == null) return Optional.empty();
+
+		final Bounds bounds = scrollPane.localToScene(scrollPane.getLayoutBounds());
+		return Optional.ofNullable(node.sceneToLocal(new BoundingBox(bounds.getMinX() - margin, bounds.getMinY() - margin,
+			bounds.getWidth() + margin * 2d, bounds.getHeight() + margin * 2d)));
+	}
+
+
+	/**
+	 * @return True if the given view must be attached to the scene graph: it is in the viewport or its shape is selected.
+	 */
+	private static boolean mustBeAttached(final ViewShape<?> view, final Bounds viewport, final Set<IShape> selection) {
+		return viewport == null || view.getBoundsInParent().intersects(viewport) || selection.contains(view.getModel());
+	}
+
+
+	/**
+	 * @return The selected shapes, to look for a shape in constant time.
+	 */
+	private Set<IShape> getSelectionSet() {
+		final List<IShape> selection = drawing.getSelection().getShapes();
+		if(selection.isEmpty()) return Collections.emptySet();
+		final Set<IShape> set = Collections.newSetFromMap(new IdentityHashMap<>());
+		set.addAll(selection);
+		return set;
+	}
+
+
+	/**
+	 * Detaches the views out of the viewport and attaches the culled views back into the viewport.
+	 * The views are kept in the order of their shapes.
+	 */
+	void updateViewportCulling() {
+		final Bounds viewport = viewportCulling ? getViewportBounds(shapesPane, CULLING_MARGIN).orElse(null) : null;
+		final Set<IShape> selection = getSelectionSet();
+		final ObservableList<javafx.scene.Node> children = shapesPane.getChildren();
+
+		if(viewport != null) {
+			final Set<javafx.scene.Node> detached = new HashSet<>();
+			children.forEach(child -> {
+				if(child instanceof ViewShape<?> && !tempView.filter(v -> v == child).isPresent() && !mustBeAttached((ViewShape<?>) child, viewport, selection)) {
+					detached.add(child);
+					culledViews.add((ViewShape<?>) child);
+				}
+			});
+			if(!detached.isEmpty()) {
+				children.removeAll(detached);
+				countsValidTo = 0;
+			}
+		}
+
+		attachCulledViews(viewport, selection);
+	}
+
+
+	/**
+	 * Detaches the given views if out of the viewport and attaches them back if culled and into the viewport.
+	 * The other views are not checked so that the cost of the update depends on the changed views only.
+	 */
+	private void updateViewportCulling(final Set<ViewShape<?>> views) {
+		final Bounds viewport = viewportCulling ? getViewportBounds(shapesPane, CULLING_MARGIN).orElse(null) : null;
+		final Set<IShape> selection = getSelectionSet();
+		final Set<javafx.scene.Node> detached = new HashSet<>();
+		boolean toAttach = false;
+
+		for(final ViewShape<?> view : views) {
+			// The removed views and the temporary view are ignored.
+			if(shapesToViewMap.get(view.getModel()) == view) {
+				if(culledViews.contains(view)) {
+					toAttach = toAttach || mustBeAttached(view, viewport, selection);
+				}else if(viewport != null && !mustBeAttached(view, viewport, selection)) {
+					detached.add(view);
+					culledViews.add(view);
+					invalidateAttachedCounts(drawing.indexOf(view.getModel()));
+				}
+			}
+		}
+
+		if(!detached.isEmpty()) {
+			shapesPane.getChildren().removeAll(detached);
+		}
+		if(toAttach) {
+			attachCulledViews(viewport, selection);
+		}
+	}
+
+
+	/**
+	 * Attaches the culled views that are into the viewport or selected. The views are kept in the order of their shapes.
+	 */
+	private void attachCulledViews(final Bounds viewport, final Set<IShape> selection) {
+		if(culledViews.isEmpty()) return;
+
+		final ObservableList<javafx.scene.Node> children = shapesPane.getChildren();
+
+		// The attached views are in the order of their shapes: the culled views to attach are inserted by ranges.
+		final List<javafx.scene.Node> toAttach = new ArrayList<>();
+		final List<IShape> shapes = drawing.getShapes();
+		int index = 0;
+
+		for(int i = 0, size = shapes.size(); i < size; i++) {
+			final ViewShape<?> view = shapesToViewMap.get(shapes.get(i));
+			if(view != null) {
+				if(!culledViews.contains(view)) {
+					if(!toAttach.isEmpty()) {
+						children.addAll(index, toAttach);
+						index += toAttach.size();
+						toAttach.clear();
+					}
+					index++;
+				}else if(mustBeAttached(view, viewport, selection)) {
+					culledViews.remove(view);
+					toAttach.add(view);
+					invalidateAttachedCounts(i);
+				}
+			}
+		}
+
+		if(!toAttach.isEmpty()) {
+			children.addAll(index, toAttach);
+		}
+	}
+
+
+	/**
+	 * Defines whether the views out of the viewport are detached from the scene graph to speed up the rendering.
+	 * The views stay bound to their shape. Disabling the culling attaches all the views (e.g. to take a snapshot of the drawing).
+	 * @param culling True to enable the culling.
+	 * @since 4.0
+	 */
+	public void setViewportCulling(final boolean culling) {
+		if(viewportCulling != culling) {
+			viewportCulling = culling;
+			if(culling) {
+				requestViewportCulling();
+			}else {
+				updateViewportCulling();
+			}
+		}
+	}
+
+
+	/**
+	 * @return True if the views out of the viewport are detached from the scene graph.
+	 * @since 4.0
+	 */
+	public boolean isViewportCulling() {
+		return viewportCulling;
 	}
 
 
@@ -219,32 +530,118 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 	private void defineShapeListToViewBinding() {
 		drawing.getShapes().addListener((Change<? extends IShape> evt) -> {
 			while(evt.next()) {
+				invalidateAttachedCounts(evt.getFrom());
+				if(evt.wasRemoved()) {
+					removeViews(evt.getFrom(), evt.getRemoved());
+				}
 				if(evt.wasAdded()) {
+					// The views of a range of added shapes are added at once.
+					// The views out of the viewport are directly culled.
+					final Bounds viewport = viewportCulling ? getViewportBounds(shapesPane, CULLING_MARGIN).orElse(null) : null;
+					final Set<IShape> selection = getSelectionSet();
+					final List<ViewShape<?>> views = new ArrayList<>();
 					evt.getAddedSubList().forEach(sh -> ViewFactory.INSTANCE.createView(sh).ifPresent(v -> {
-						final int index = drawing.getShapes().indexOf(sh);
-						if(index != -1) {
-							shapesToViewMap.put(sh, v);
-							if(index == drawing.size()) {
-								shapesPane.getChildren().add(v);
-							}else {
-								shapesPane.getChildren().add(index, v);
-							}
+						shapesToViewMap.put(sh, v);
+						if(mustBeAttached(v, viewport, selection)) {
+							views.add(v);
+						}else {
+							culledViews.add(v);
 						}
+						v.boundsInParentProperty().addListener(boundsCullingListener);
 					}));
-				}else {
-					if(evt.wasRemoved()) {
-						evt.getRemoved().forEach(sh -> {
-							final ViewShape<?> toRemove = shapesToViewMap.remove(sh);
-							shapesPane.getChildren().remove(toRemove);
-							toRemove.flush();
-						});
-					}
+					shapesPane.getChildren().addAll(getViewIndex(evt.getFrom(), 0), views);
 				}
 			}
 		});
 	}
 
 
+	/**
+	 * @param from The position in the drawing of the first shape of a range of shapes.
+	 * @param nbRangeViews The number of views of the range that are in the views pane.
+	 * @return The position in the views pane of the first view of the given range of shapes.
+	 */
+	private int getViewIndex(final int from, final int nbRangeViews) {
+		if(culledViews.isEmpty()) {
+			final int nbViews = shapesPane.getChildren().size() - (tempView.isPresent() ? 1 : 0);
+			return Math.min(from, nbViews - nbRangeViews);
+		}
+		// The culled views are not in the views pane.
+		return countAttachedViews(from);
+	}
+
+
+	/**
+	 * @param position A position in the drawing.
+	 * @return The number of views in the views pane of the shapes located before the given position.
+	 */
+	private int countAttachedViews(final int position) {
+		if(position > countsValidTo) {
+			final List<IShape> shapes = drawing.getShapes();
+			if(attachedCounts.length <= position) {
+				attachedCounts = Arrays.copyOf(attachedCounts, Math.max(position + 1, attachedCounts.length * 2));
+			}
+			// Computing the counts not up to date.
+			for(int i = countsValidTo; i < position; i++) {
+				final ViewShape<?> view = shapesToViewMap.get(shapes.get(i));
+				attachedCounts[i + 1] = attachedCounts[i] + (view == null || culledViews.contains(view) ? 0 : 1);
+			}
+			countsValidTo = position;
+		}
+		return attachedCounts[position];
+	}
+
+
+	/**
+	 * Invalidates the counts of attached views located after the given position in the drawing
+	 * (e.g. the view of the shape at this position has been detached).
+	 */
+	private void invalidateAttachedCounts(final int position) {
+		if(position >= 0 && position < countsValidTo) {
+			countsValidTo = position;
+		}
+	}
+
+
+	/**
+	 * Removes the views of the given removed shapes. The views are located at the same position as their shape
+	 * so that a range of views can be removed at once, without looking for each view.
+	 */
+	private void removeViews(final int from, final List<? extends IShape> removed) {
+		final List<ViewShape<?>> views = new ArrayList<>();
+		final ObservableList<javafx.scene.Node> children = shapesPane.getChildren();
+
+		removed.forEach(sh -> {
+			final ViewShape<?> view = shapesToViewMap.remove(sh);
+			if(view != null) {
+				view.boundsInParentProperty().removeListener(boundsCullingListener);
+			}
+			// The culled views are not in the views pane.
+			if(view != null && culledViews.remove(view)) {
+				view.flush();
+			}else if(view != null) {
+				views.add(view);
+			}
+		});
+
+		final int fromView = getViewIndex(from, views.size());
+		final int to = fromView + views.size();
+		boolean sameRange = to <= children.size();
+
+		for(int i = 0, size = views.size(); i < size && sameRange; i++) {
+			sameRange = children.get(fromView + i) == views.get(i);
+		}
+
+		if(sameRange) {
+			children.remove(fromView, to);
+		}else {
+			children.removeAll(new HashSet<>(views));
+		}
+
+		views.forEach(v -> v.flush());
+	}
+
+
 	/**
 	 * @return The point where the page is located.
 	 */
@@ -266,6 +663,7 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 
 	@Override
 	public void update() {
+		// The views moved into or out of the viewport are culled on the changes of their bounds.
 		updateSelectionBorders();
 	}
 
@@ -386,21 +784,49 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 		update();
 	}
 
+	/**
+	 * @return The bounds of all the views, including the culled ones.
+	 */
+	private Bounds getDrawingBounds() {
+		final Bounds bounds = shapesPane.getBoundsInLocal();
+
+		if(culledViews.isEmpty()) {
+			return bounds;
+		}
+
+		double minX = bounds.isEmpty() ? Double.MAX_VALUE : bounds.getMinX();
+		double minY = bounds.isEmpty() ? Double.MAX_VALUE : bounds.getMinY();
+		double maxX = bounds.isEmpty() ? -Double.MAX_VALUE : bounds.getMaxX();
+		double maxY = bounds.isEmpty() ? -Double.MAX_VALUE : bounds.getMaxY();
+
+		for(final ViewShape<?> view : culledViews) {
+			final Bounds b = view.getBoundsInParent();
+			if(!b.isEmpty()) {
+				minX = Math.min(minX, b.getMinX());
+				minY = Math.min(minY, b.getMinY());
+				maxX = Math.max(maxX, b.getMaxX());
+				maxY = Math.max(maxY, b.getMaxY());
+			}
+		}
+
+		return minX > maxX ? bounds : new BoundingBox(minX, minY, maxX - minX, maxY - minY);
+	}
+
 	@Override
 	public IPoint getTopRightDrawingPoint() {
-		final Bounds border = shapesPane.getBoundsInLocal();
+		final Bounds border = getDrawingBounds();
 		return ShapeFactory.INST.createPoint(border.getMaxX(), border.getMinY());
 	}
 
 	@Override
 	public IPoint getBottomLeftDrawingPoint() {
-		final Bounds border = shapesPane.getBoundsInLocal();
+		final Bounds border = getDrawingBounds();
 		return ShapeFactory.INST.createPoint(border.getMinX(), border.getMaxY());
 	}
 
 	@Override
 	public IPoint getOriginDrawingPoint() {
-		final Bounds border = shapesPane.getBoundsInLocal();
+		final Bounds border = getDrawingBounds();
 		return ShapeFactory.INST.createPoint(border.getMinX(), (border.getMaxY() - border.getMinY()) / 2.0);
 	}
 
@@ -506,7 +932,7 @@ public class Canvas extends Pane implements ConcretePresentation, ActionHandler,
 	}
 
 	/**
-	 * @return The views that the canvas contains.
+	 * @return The views that the canvas contains. The views out of the viewport may be detached from this group (see setViewportCulling).
 	 */
 	public Group getViews() {
 		return shapesPane;
@@ -0,0 +1,280 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2017 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.transform.Scale;
+import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
+
+/**
+ * A small image that contains a periodic part of hatchings. Filling a shape with hatchings consists in repeating the tile
+ * using an image pattern, so that the tile does not depend on the size of the shape.
+ * Tiles are immutable and shared: they are obtained using getTile that caches them once their image is drawn.
+ * The direction of the hatchings is rounded so that the tile is periodic and small (the error is lower than TOLERANCE).
+ * @author Arnaud Blouin
+ */
+final class HatchingTile {
+	/** The maximal number of tiles in the cache. */
+	private static final int CACHE_SIZE = 64;
+	/** The maximal error (in radian) between the angle of the hatchings and the angle of the hatchings of the tile. */
+	private static final double TOLERANCE = Math.toRadians(0.25);
+	/** The maximal denominator used to round the slope of the hatchings. */
+	private static final int MAX_DIV = 32;
+
+	private static final Map<Key, HatchingTile> CACHE = Collections.synchronizedMap(new LinkedHashMap<Key, HatchingTile>(CACHE_SIZE, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Key, HatchingTile> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	});
+
+	/**
+	 * @param style The hatchings filling style (VLINES, HLINES, CLINES, or their PLAIN versions).
+	 * @param angle The angle of the hatchings (radian).
+	 * @param sep The separation between two hatchings.
+	 * @param width The width of the hatchings.
+	 * @param colour The colour of the hatchings.
+	 * @param fillColour The colour of the background of the hatchings. Null if the style is not filled.
+	 * @return The tile of the given hatchings. Out of the JFX thread, the image of a tile not cached yet is drawn later.
+	 * @throws NullPointerException If the style or the colour is null.
+	 */
+	static HatchingTile getTile(final FillingStyle style, final double angle, final double sep, final double width, final Color colour,
+								final Color fillColour) {
+		final Key key = new Key(Objects.requireNonNull(style), angle, sep, width, Objects.requireNonNull(colour), style.isFilled() ? fillColour : null);
+
+		if(Platform.isFxApplicationThread()) {
+			return CACHE.computeIfAbsent(key, k -> {
+				final HatchingTile tile = new HatchingTile(k);
+				tile.drawImage(k);
+				return tile;
+			});
+		}
+
+		final HatchingTile cached = CACHE.get(key);
+		if(cached != null) return cached;
+
+		// The snapshot can only be taken in the JFX thread: the tile is cached once its image is drawn,
+		// so that the cache never provides a blank tile.
+		final HatchingTile tile = new HatchingTile(key);
+		Platform.runLater(() -> {
+			tile.drawImage(key);
+			CACHE.putIfAbsent(key, tile);
+		});
+		return tile;
+	}
+
+	/**
+	 * Removes all the cached tiles.
+	 */
+	static void clearCache() {
+		CACHE.clear();
+	}
+
+	/**
+	 * @return The number of cached tiles.
+	 */
+	static int getCacheSize() {
+		return CACHE.size();
+	}
+
+
+	private final WritableImage image;
+	/** The width of the tile, in the coordinates system of the shapes. */
+	private final double tileWidth;
+	/** The height of the tile, in the coordinates system of the shapes. */
+	private final double tileHeight;
+	/** The rounded normal of the hatchings. */
+	private final double normalX;
+	private final double normalY;
+
+	private HatchingTile(final Key key) {
+		super();
+		final double gap = key.width + key.sep;
+		final boolean crossed = key.style == FillingStyle.CLINES || key.style == FillingStyle.CLINES_PLAIN;
+		final double angle = key.style == FillingStyle.HLINES || key.style == FillingStyle.HLINES_PLAIN ?
+			key.angle > 0d ? key.angle - Math.PI / 2d : key.angle + Math.PI / 2d : key.angle;
+		// The normal of the hatchings is rounded to (p, q) / length, p and q being integers.
+		final int[] pq = getRoundedNormal(angle);
+		final int p = Math.abs(pq[0]);
+		final int q = Math.abs(pq[1]);
+		final double length = Math.sqrt((double) p * p + (double) q * q);
+		normalX = pq[0] / length;
+		normalY = pq[1] / length;
+
+		if(crossed) {
+			tileWidth = p > 0 && q > 0 ? gap * length : gap;
+			tileHeight = tileWidth;
+		}else {
+			tileWidth = p > 0 ? gap * length / p : gap;
+			tileHeight = q > 0 ? gap * length / q : gap;
+		}
+
+		image = new WritableImage(Math.max(1, (int) Math.ceil(tileWidth)), Math.max(1, (int) Math.ceil(tileHeight)));
+	}
+
+
+	/**
+	 * Draws the hatchings into the image of the tile. Must be called in the JFX thread.
+	 */
+	private void drawImage(final Key key) {
+		final double gap = key.width + key.sep;
+		final Group hatchings = new Group();
+		addHatchings(hatchings, key, normalX, normalY, gap);
+		if(key.style == FillingStyle.CLINES || key.style == FillingStyle.CLINES_PLAIN) {
+			addHatchings(hatchings, key, -normalY, normalX, gap);
+		}
+
+		final double imgWidth = image.getWidth();
+		final double imgHeight = image.getHeight();
+		final SnapshotParameters params = new SnapshotParameters();
+		params.setTransform(new Scale(imgWidth / tileWidth, imgHeight / tileHeight));
+		params.setViewport(new Rectangle2D(0d, 0d, imgWidth, imgHeight));
+		if(key.fillColour != null) {
+			params.setFill(key.fillColour);
+		}
+
+		hatchings.snapshot(params, image);
+	}
+
+
+	/**
+	 * @return The normal of the hatchings of the given angle, as two integers, rounded to the smallest integers
+	 * that respect the tolerance.
+	 */
+	private static int[] getRoundedNormal(final double angle) {
+		final double cos = Math.cos(angle);
+		final double sin = Math.sin(angle);
+		final double target = Math.atan2(Math.abs(sin), Math.abs(cos));
+		int[] rounded = null;
+		int[] closest = null;
+		double roundedLength = Double.MAX_VALUE;
+		double closestError = Double.MAX_VALUE;
+
+		for(int p = 0; p <= MAX_DIV; p++) {
+			for(int q = p == 0 ? 1 : 0; q <= MAX_DIV; q++) {
+				final double error = Math.abs(Math.atan2(q, p) - target);
+				final double length = (double) p * p + (double) q * q;
+				if(error < TOLERANCE && length < roundedLength) {
+					rounded = new int[] {p, q};
+					roundedLength = length;
+				}
+				if(error < closestError) {
+					closest = new int[] {p, q};
+					closestError = error;
+				}
+			}
+		}
+
+		final int[] pq = rounded == null ? closest : rounded;
+		return new int[] {cos < 0d ? -pq[0] : pq[0], sin < 0d ? -pq[1] : pq[1]};
+	}
+
+
+	/**
+	 * Adds the hatchings of the given normal that cross the tile. The hatchings are the lines nx*x + ny*y = k*gap.
+	 */
+	private void addHatchings(final Group hatchings, final Key key, final double nx, final double ny, final double gap) {
+		final double c1 = nx * tileWidth;
+		final double c2 = ny * tileHeight;
+		final double min = Math.min(Math.min(0d, c1), Math.min(c2, c1 + c2)) - key.width - gap;
+		final double max = Math.max(Math.max(0d, c1), Math.max(c2, c1 + c2)) + key.width + gap;
+		final double half = tileWidth + tileHeight + gap;
+
+		for(long k = (long) Math.floor(min / gap), last = (long) Math.ceil(max / gap); k <= last; k++) {
+			final double x = nx * k * gap;
+			final double y = ny * k * gap;
+			final Line line = new Line(x + ny * half, y - nx * half, x - ny * half, y + nx * half);
+			line.setStrokeWidth(key.width);
+			line.setStrokeLineJoin(StrokeLineJoin.MITER);
+			line.setStrokeLineCap(StrokeLineCap.SQUARE);
+			line.setStroke(key.colour);
+			hatchings.getChildren().add(line);
+		}
+	}
+
+
+	/**
+	 * @param x The X-coordinate of the origin of the pattern, in the coordinates system of the filled shape.
+	 * @param y The Y-coordinate of the origin of the pattern, in the coordinates system of the filled shape.
+	 * @return A pattern that repeats the tile from the given origin.
+	 */
+	ImagePattern createPattern(final double x, final double y) {
+		return new ImagePattern(image, x, y, tileWidth, tileHeight, false);
+	}
+
+	/**
+	 * @return The image of the tile.
+	 */
+	WritableImage getImage() {
+		return image;
+	}
+
+	/**
+	 * @return The width of the tile, in the coordinates system of the shapes.
+	 */
+	double getTileWidth() {
+		return tileWidth;
+	}
+
+	/**
+	 * @return The height of the tile, in the coordinates system of the shapes.
+	 */
+	double getTileHeight() {
+		return tileHeight;
+	}
+
+
+	private static final class Key {
+		private final FillingStyle style;
+		private final double angle;
+		private final double sep;
+		private final double width;
+		private final Color colour;
+		private final Color fillColour;
+
+		Key(final FillingStyle fillingStyle, final double hatchAngle, final double hatchSep, final double hatchWidth, final Color col,
+			final Color fillCol) {
+			style = fillingStyle;
+			angle = hatchAngle;
+			sep = hatchSep;
+			width = hatchWidth;
+			colour = col;
+			fillColour = fillCol;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if(this == obj) return true;
+			if(!(obj instanceof Key)) return false;
+			final Key key = (Key) obj;
+			return style == key.style && Double.compare(angle, key.angle) == 0 && Double.compare(sep, key.sep) == 0 &&
+				Double.compare(width, key.width) == 0 && colour.equals(key.colour) && Objects.equals(fillColour, key.fillColour);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(style, angle, sep, width, colour, fillColour);
+		}
+	}
+}
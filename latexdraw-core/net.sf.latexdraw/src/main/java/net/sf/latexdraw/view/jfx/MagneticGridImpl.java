@@ -10,8 +10,13 @@
  */
 package net.sf.latexdraw.view.jfx;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.geometry.Point3D;
+import javafx.scene.Group;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
@@ -32,10 +37,11 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 /**
- * Implementation of a magnetic grid.
+ * Implementation of a magnetic grid. The sub-lines of the standard grid are painted in their own path, below the main lines
+ * and with a lighter stroke.
  * @author Arnaud Blouin
  */
-class MagneticGridImpl extends Path implements MagneticGrid {
+class MagneticGridImpl extends Group implements MagneticGrid {
 	/** The canvas that paints the grid. */
 	private final  Canvas canvas;
 	/** Allows to know if the grid is magnetic or not. */
@@ -46,6 +52,12 @@ class MagneticGridImpl extends Path implements MagneticGrid {
 	private GridStyle style;
 	/** Defined if the canvas has been modified. */
 	private boolean modified;
+	/** The area of the canvas covered by the painted lines (null if not painted yet). */
+	private Bounds paintedArea;
+	/** The main lines of the grid. */
+	final Path mainLines;
+	/** The sub-lines of the standard grid. */
+	final Path subLines;
 
 
 	/**
@@ -57,10 +69,15 @@ class MagneticGridImpl extends Path implements MagneticGrid {
 		super();
 		modified = false;
 		canvas = canv;
+		paintedArea = null;
+		mainLines = new Path();
+		subLines = new Path();
 		reinitGrid();
-		setStroke(Color.BLACK);
-		setStrokeWidth(0.3);
-		canvas.zoomProperty().addListener((observable, oldValue, newValue) -> update());
+		mainLines.setStroke(Color.BLACK);
+		mainLines.setStrokeWidth(0.3);
+		subLines.setStroke(Color.GRAY);
+		subLines.setStrokeWidth(0.2);
+		getChildren().addAll(subLines, mainLines);
 	}
 
 
@@ -68,7 +85,9 @@ class MagneticGridImpl extends Path implements MagneticGrid {
 	public void update() {
 		if(isDisable()) return;
 
-		getElements().clear();
+		final List<PathElement> elts = new ArrayList<>();
+		final List<PathElement> subElts = new ArrayList<>();
+		final Bounds area = getAreaToPaint();
 
 		switch(style) {
 			case STANDARD:
@@ -77,15 +96,69 @@ class MagneticGridImpl extends Path implements MagneticGrid {
 					ppc *= PSTricksConstants.INCH_VAL_CM;
 				}
 
-//				paintSubLines(getElements(), canvas.getLayoutBounds());
-				paintMainLines(getElements(), ppc);
+				paintSubLines(subElts, ppc, area);
+				paintMainLines(elts, ppc, area);
 				break;
 			case CUSTOMISED:
-				paintMainLines(getElements(), gridSpacing);
+				paintMainLines(elts, gridSpacing, area);
 				break;
 			case NONE:
 				break;
 		}
+
+		paintedArea = area;
+		mainLines.getElements().setAll(elts);
+		subLines.getElements().setAll(subElts);
+	}
+
+
+	/**
+	 * Repaints the grid only when the visible part of the canvas is no more covered by the painted lines,
+	 * or when the painted lines largely exceed the visible part (e.g. after a zoom in).
+	 */
+	void onViewportChanged() {
+		if(isDisable() || style == GridStyle.NONE) return;
+
+		final Optional<Bounds> visible = getVisibleArea();
+		if(!visible.isPresent()) return;
+
+		final Bounds vis = visible.get();
+		if(paintedArea == null || !paintedArea.contains(vis) ||
+			paintedArea.getWidth() > vis.getWidth() * 4d || paintedArea.getHeight() > vis.getHeight() * 4d) {
+			update();
+		}
+	}
+
+
+	/**
+	 * @return The part of the canvas visible in its scroll pane, or nothing if the canvas is not in a scroll pane
+	 * or if the canvas is not visible.
+	 */
+	private Optional<Bounds> getVisibleArea() {
+		return canvas.getViewportBounds(this, 0d).<Bounds>map(vp -> {
+			final double minX = Math.max(0d, vp.getMinX());
+			final double minY = Math.max(0d, vp.getMinY());
+			final double maxX = Math.min(canvas.getPrefWidth(), vp.getMaxX());
+			final double maxY = Math.min(canvas.getPrefHeight(), vp.getMaxY());
+			return maxX < minX || maxY < minY ? null : new BoundingBox(minX, minY, maxX - minX, maxY - minY);
+		});
+	}
+
+
+	/**
+	 * @return The visible part of the canvas extended by half of its size on each side (to limit the repaints on scroll),
+	 * or the whole canvas if the canvas is not in a scroll pane.
+	 */
+	private Bounds getAreaToPaint() {
+		final double width = canvas.getPrefWidth();
+		final double height = canvas.getPrefHeight();
+
+		return getVisibleArea().<Bounds>map(vis -> {
+			final double minX = Math.max(0d, vis.getMinX() - vis.getWidth() / 2d);
+			final double minY = Math.max(0d, vis.getMinY() - vis.getHeight() / 2d);
+			return new BoundingBox(minX, minY, Math.min(width, vis.getMaxX() + vis.getWidth() / 2d) - minX,
+				Math.min(height, vis.getMaxY() + vis.getHeight() / 2d) - minY);
+		}).orElseGet(() -> new BoundingBox(0d, 0d, width, height));
 	}
 
 
@@ -95,69 +168,37 @@ class MagneticGridImpl extends Path implements MagneticGrid {
 	}
 
 
-	private void paintSubLines(final List<PathElement> elts) {
-		double pixPerCm10 = canvas.getPPCDrawing() / 10d;
-
-		if(ScaleRuler.getUnit() == Unit.INCH) {
-			pixPerCm10 *= PSTricksConstants.INCH_VAL_CM;
-		}
-
-		if(Double.compare(pixPerCm10, 4d) > 0d) {
-//			final double xMinclip = Math.floor(clip.getMinX() / pixPerCm10) * pixPerCm10 - clip.getMinX();
-//			final double yMinclip = Math.floor(clip.getMinY() / pixPerCm10) * pixPerCm10 - clip.getMinY();
-//			final double xMaxclip = clip.getMaxX();
-//			final double yMaxclip = clip.getMaxY();
-//			final double minX = clip.getMinX();
-//			final double minY = clip.getMinY();
-
-//			for(double i = pixPerCm10 - 1d + xMinclip + minX + canvas.getOrigin().getX() % pixPerCm10; i < xMaxclip; i += pixPerCm10) {
-//				createLine(i, minY, i, yMaxclip);
-//			}
-//
-//			for(double i = pixPerCm10 - 1d + yMinclip + minY + canvas.getOrigin().getY() % pixPerCm10; i < yMaxclip; i += pixPerCm10) {
-//				createLine(minX, i, xMaxclip, i);
-//			}
-
-			final double height = canvas.getPrefHeight();
-			final double width = canvas.getPrefWidth();
-
-			for(double i = 0; i<width; i+=pixPerCm10) {
-				createLine(elts, i, 0, i, height);
+	/**
+	 * Paints the lines of the given gap that intersect the given area.
+	 * The lines are aligned on the top-left corner of the canvas. Every line whose index is a multiple of skip is not painted (if skip > 0).
+	 */
+	private void paintLines(final List<PathElement> elts, final double gap, final Bounds area, final int skip) {
+		for(int i = (int) Math.ceil(area.getMinX() / gap), last = (int) Math.floor(area.getMaxX() / gap); i <= last; i++) {
+			if(skip <= 0 || i % skip != 0) {
+				createLine(elts, i * gap, area.getMinY(), i * gap, area.getMaxY());
 			}
+		}
 
-			for(double j = 0; j<height; j+=pixPerCm10) {
-				createLine(elts, 0, j, width, j);
+		for(int j = (int) Math.ceil(area.getMinY() / gap), last = (int) Math.floor(area.getMaxY() / gap); j <= last; j++) {
+			if(skip <= 0 || j % skip != 0) {
+				createLine(elts, area.getMinX(), j * gap, area.getMaxX(), j * gap);
 			}
 		}
 	}
 
 
-	private void paintMainLines(final List<PathElement> elts, final double gap) {
-//		final double zoom = canvas.getZoom();
-//		final double widthGap = clip.getWidth() - clip.getWidth() / zoom;
-//		final double minX = -1d * clip.getMinX() + widthGap / 2d;// - (clip.getWidth() - clip.getWidth()*zoom);
-//		final double maxX = minX + clip.getWidth() + widthGap + widthGap / 2d;
-//		final double minY = -1d * clip.getMinY();
-//		final double maxY = minY + clip.getHeight();
-
-		final double height = canvas.getPrefHeight();
-		final double width = canvas.getPrefWidth();
+	private void paintSubLines(final List<PathElement> elts, final double ppc, final Bounds area) {
+		final double pixPerCm10 = ppc / 10d;
 
-		for(double i = 0; i<width; i+=gap) {
-			createLine(elts, i, 0, i, height);
+		// The sub-lines that overlap main lines are not painted.
+		if(Double.compare(pixPerCm10, 4d) > 0) {
+			paintLines(elts, pixPerCm10, area, 10);
 		}
+	}
 
-		for(double j = 0; j<height; j+=gap) {
-			createLine(elts, 0, j, width, j);
-		}
 
-//		for(double i = minX - minX % gap, endX = maxX - maxX % gap + gap; i<endX; i+=gap) {
-//			createLine(elts, i, minY, i, maxY);
-//		}
-//
-//		for(double j = minY - minY % gap, endY = maxY - maxY % gap + gap; j<endY; j+=gap) {
-//			createLine(elts, minX, j, maxX, j);
-//		}
+	private void paintMainLines(final List<PathElement> elts, final double gap, final Bounds area) {
+		paintLines(elts, gap, area, 0);
 	}
 
 
@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import javafx.beans.value.ChangeListener;
 import javafx.scene.shape.Shape;
 import net.sf.latexdraw.models.interfaces.shape.IArrow;
@@ -31,7 +32,8 @@ import net.sf.latexdraw.models.interfaces.shape.IPoint;
 abstract class ViewArrowableTrait<T extends Shape, S extends IArrowableSingleShape> extends ViewShape<S> {
 	protected final List<ViewArrow> arrows;
 	protected final ViewSingleShape<? extends IArrowableSingleShape, T> mainView;
-	protected final ChangeListener<Object> updateArrow = (observable, oldValue, newValue) -> updateAllArrows();
+	/** The changes of points and thickness (e.g. while moving a shape) are coalesced. */
+	protected final ChangeListener<Object> updateArrow = (observable, oldValue, newValue) -> invalidate(Part.ARROWS);
 	protected final ChangeListener<Object> updateClip = (observable, oldValue, newValue) -> updateClip();
 
 	ViewArrowableTrait(final ViewSingleShape<S, T> view) {
@@ -77,6 +79,15 @@ abstract class ViewArrowableTrait<T extends Shape, S extends IArrowableSingleSha
 		model.dbleBordSepProperty().addListener(updateArrow);
 	}
 
+	@Override
+	protected void updateParts(final Set<Part> parts) {
+		if(parts.contains(Part.ARROWS)) {
+			// The clip copies the strokes of the main view, that must be updated first.
+			mainView.updateInvalidatedParts();
+			updateAllArrows();
+		}
+	}
+
 	void updateAllArrows() {
 		updateArrows(-1);
 	}
@@ -11,16 +11,37 @@
 package net.sf.latexdraw.view.jfx;
 
 import java.util.List;
+import javafx.beans.binding.Bindings;
 import javafx.beans.value.ChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.PathElement;
 import net.sf.latexdraw.models.interfaces.shape.IFreehand;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
 
 /**
  * The JFX view of a freehand model.
+ * When points are appended to the model (e.g. while drawing the shape), only the new path elements are
+ * appended to the path so that each new point costs a constant time, whatever the number of points of the shape.
  * @author Arnaud Blouin
  */
 public class ViewFreeHand extends ViewPathShape<IFreehand> {
 	private final ChangeListener<Object> update = (observable, oldValue, newValue) -> setPath();
+	private final ChangeListener<Number> nbPointsUpdate = (observable, oldValue, newValue) -> onNbPointsChanged(oldValue.intValue(), newValue.intValue());
+	/** The point that is currently listened to update the view on translation. */
+	private IPoint listenedPt;
+	/** The number of points the current path has been built from. */
+	private int nbPathPts;
+	/** The index of the next point that will produce a definitive curve (curves mode). */
+	private int curveNextIdx;
+	/** The coordinates of the latest point that produced a definitive curve (curves mode). */
+	private double curveCurX;
+	private double curveCurY;
+	/** The middle point of the latest definitive curve (curves mode). */
+	private double curveMidX;
+	private double curveMidY;
+	/** True if the last curve of the path is temporary, i.e. it joins the last point (curves mode). */
+	private boolean curveHasTail;
 
 
 	/**
@@ -30,25 +51,52 @@ public class ViewFreeHand extends ViewPathShape<IFreehand> {
 	ViewFreeHand(final IFreehand sh) {
 		super(sh);
 
+		// The shadow follows the changes of the border path (also in an incremental way).
+		Bindings.bindContent(shadow.getElements(), border.getElements());
+
 		// To update on translation. To improve.
-		if(!model.getPoints().isEmpty()) {
-			model.getPoints().get(model.getPoints().size() - 1).xProperty().addListener(update);
-			model.getPoints().get(model.getPoints().size() - 1).yProperty().addListener(update);
-		}
+		listenLastPoint();
 
 		model.intervalProperty().addListener(update);
 		model.typeProperty().addListener(update);
 		model.openProperty().addListener(update);
+		model.nbPointsProperty().addListener(nbPointsUpdate);
 
 		setPath();
 	}
 
 
+	private void listenLastPoint() {
+		if(listenedPt != null) {
+			listenedPt.xProperty().removeListener(update);
+			listenedPt.yProperty().removeListener(update);
+		}
+
+		listenedPt = model.getPtAt(-1);
+
+		if(listenedPt != null) {
+			listenedPt.xProperty().addListener(update);
+			listenedPt.yProperty().addListener(update);
+		}
+	}
+
+
+	private void onNbPointsChanged(final int oldNb, final int newNb) {
+		listenLastPoint();
+
+		if(oldNb == nbPathPts && newNb == oldNb + 1 && oldNb > 1) {
+			appendPath();
+		}else {
+			setPath();
+		}
+	}
+
+
 	private void setPath() {
 		border.getElements().clear();
-		shadow.getElements().clear();
+		nbPathPts = model.getNbPoints();
 
-		if(model.getNbPoints() > 1) {
+		if(nbPathPts > 1) {
 			switch(model.getType()) {
 				case CURVES:
 					setPathCurves();
@@ -61,8 +109,35 @@ public class ViewFreeHand extends ViewPathShape<IFreehand> {
 			if(!model.isOpen()) {
 				border.getElements().add(ViewFactory.INSTANCE.createClosePath());
 			}
+		}
+	}
 
-			shadow.getElements().addAll(border.getElements());
+
+	/**
+	 * Appends to the current path the elements related to the last point of the model.
+	 * Only the last elements of the path are updated.
+	 */
+	private void appendPath() {
+		final ObservableList<PathElement> elts = border.getElements();
+		final boolean closed = !elts.isEmpty() && elts.get(elts.size() - 1) instanceof ClosePath;
+
+		if(closed) {
+			elts.remove(elts.size() - 1);
+		}
+
+		nbPathPts = model.getNbPoints();
+
+		switch(model.getType()) {
+			case CURVES:
+				appendPathCurves();
+				break;
+			case LINES:
+				appendPathLines();
+				break;
+		}
+
+		if(closed) {
+			elts.add(ViewFactory.INSTANCE.createClosePath());
 		}
 	}
 
@@ -71,65 +146,95 @@ public class ViewFreeHand extends ViewPathShape<IFreehand> {
 	 * Fills the path of curves.
 	 */
 	private void setPathCurves() {
+		final IPoint first = model.getPtAt(0);
+
+		curveCurX = first.getX();
+		curveCurY = first.getY();
+		curveNextIdx = model.getInterval() * 2;
+		curveHasTail = false;
+
+		border.getElements().add(ViewFactory.INSTANCE.createMoveTo(curveCurX, curveCurY));
+
+		// Starting the drawing of the shape with a line.
+		if(nbPathPts > model.getInterval()) {
+			addCurvesStartingLine();
+		}
+
+		addCurves();
+	}
+
+
+	/**
+	 * Updates the path of curves with the last point of the model.
+	 */
+	private void appendPathCurves() {
+		if(curveHasTail) {
+			border.getElements().remove(border.getElements().size() - 1);
+			curveHasTail = false;
+		}
+
+		// The starting line is added once the number of points exceeds the interval.
+		if(nbPathPts - 1 == model.getInterval()) {
+			addCurvesStartingLine();
+		}
+
+		addCurves();
+	}
+
+
+	private void addCurvesStartingLine() {
+		final IPoint pt = model.getPtAt(model.getInterval());
+		final double prevx = curveCurX;
+		final double prevy = curveCurY;
+		curveCurX = pt.getX();
+		curveCurY = pt.getY();
+		curveMidX = (curveCurX + prevx) / 2d;
+		curveMidY = (curveCurY + prevy) / 2d;
+		border.getElements().add(ViewFactory.INSTANCE.createLineTo(curveMidX, curveMidY));
+	}
+
+
+	/**
+	 * Adds the curves not already added and then the temporary curve that joins the last point (if required).
+	 */
+	private void addCurves() {
 		final int interval = model.getInterval();
 		final List<IPoint> pts = model.getPoints();
-		final int size = pts.size();
-		double prevx = pts.get(size - 1).getX();
-		double prevy = pts.get(size - 1).getY();
-		double curx = pts.get(0).getX();
-		double cury = pts.get(0).getY();
-		double midx = (curx + prevx) / 2d;
-		double midy = (cury + prevy) / 2d;
-		int i;
 		double x1;
 		double x2;
 		double y1;
 		double y2;
-
-		border.getElements().add(ViewFactory.INSTANCE.createMoveTo(curx, cury));
-
-		// Starting the drawing of the shape with a line.
-		if(size > interval) {
-			prevx = curx;
-			prevy = cury;
-			curx = pts.get(interval).getX();
-			cury = pts.get(interval).getY();
-			midx = (curx + prevx) / 2d;
-			midy = (cury + prevy) / 2d;
-
-			border.getElements().add(ViewFactory.INSTANCE.createLineTo(midx, midy));
-		}
+		double prevx;
+		double prevy;
 
 		// Adding curves
-		for(i = interval * 2; i < size; i += interval) {
-			x1 = (midx + curx) / 2d;
-			y1 = (midy + cury) / 2d;
-			prevx = curx;
-			prevy = cury;
-			curx = pts.get(i).getX();
-			cury = pts.get(i).getY();
-			midx = (curx + prevx) / 2d;
-			midy = (cury + prevy) / 2d;
-			x2 = (prevx + midx) / 2d;
-			y2 = (prevy + midy) / 2d;
+		for(; curveNextIdx < nbPathPts; curveNextIdx += interval) {
+			x1 = (curveMidX + curveCurX) / 2d;
+			y1 = (curveMidY + curveCurY) / 2d;
+			prevx = curveCurX;
+			prevy = curveCurY;
+			curveCurX = pts.get(curveNextIdx).getX();
+			curveCurY = pts.get(curveNextIdx).getY();
+			curveMidX = (curveCurX + prevx) / 2d;
+			curveMidY = (curveCurY + prevy) / 2d;
+			x2 = (prevx + curveMidX) / 2d;
+			y2 = (prevy + curveMidY) / 2d;
 
-			border.getElements().add(ViewFactory.INSTANCE.createCubicCurveTo(x1, y1, x2, y2, midx, midy));
+			border.getElements().add(ViewFactory.INSTANCE.createCubicCurveTo(x1, y1, x2, y2, curveMidX, curveMidY));
 		}
 
 		// If it remains not used points.
-		if(i - interval + 1 < size) {
-			x1 = (midx + curx) / 2d;
-			y1 = (midy + cury) / 2d;
-			prevx = curx;
-			prevy = cury;
-			curx = pts.get(size - 1).getX();
-			cury = pts.get(size - 1).getY();
-			midx = (curx + prevx) / 2d;
-			midy = (cury + prevy) / 2d;
-			x2 = (prevx + midx) / 2d;
-			y2 = (prevy + midy) / 2d;
-
-			border.getElements().add(ViewFactory.INSTANCE.createCubicCurveTo(x1, y1, x2, y2, pts.get(size - 1).getX(), pts.get(size - 1).getY()));
+		if(curveNextIdx - interval + 1 < nbPathPts) {
+			final IPoint last = pts.get(nbPathPts - 1);
+			x1 = (curveMidX + curveCurX) / 2d;
+			y1 = (curveMidY + curveCurY) / 2d;
+			final double midx = (last.getX() + curveCurX) / 2d;
+			final double midy = (last.getY() + curveCurY) / 2d;
+			x2 = (curveCurX + midx) / 2d;
+			y2 = (curveCurY + midy) / 2d;
+
+			border.getElements().add(ViewFactory.INSTANCE.createCubicCurveTo(x1, y1, x2, y2, last.getX(), last.getY()));
+			curveHasTail = true;
 		}
 	}
 
@@ -140,32 +245,52 @@ public class ViewFreeHand extends ViewPathShape<IFreehand> {
 	private void setPathLines() {
 		final int interval = model.getInterval();
 		final List<IPoint> pts = model.getPoints();
-		final int size = pts.size();
 		IPoint pt = pts.get(0);
 		int i;
 
 		border.getElements().add(ViewFactory.INSTANCE.createMoveTo(pt.getX(), pt.getY()));
 
-		for(i = interval; i < size; i += interval) {
+		for(i = interval; i < nbPathPts; i += interval) {
 			pt = pts.get(i);
 			border.getElements().add(ViewFactory.INSTANCE.createLineTo(pt.getX(), pt.getY()));
 		}
 
-		if(i - interval < size) {
-			border.getElements().add(ViewFactory.INSTANCE.createLineTo(pts.get(size - 1).getX(), pts.get(size - 1).getY()));
+		if(i - interval < nbPathPts) {
+			border.getElements().add(ViewFactory.INSTANCE.createLineTo(pts.get(nbPathPts - 1).getX(), pts.get(nbPathPts - 1).getY()));
+		}
+	}
+
+
+	/**
+	 * Updates the path of lines with the last point of the model:
+	 * the last line (that always joins the last point) is replaced.
+	 */
+	private void appendPathLines() {
+		final ObservableList<PathElement> elts = border.getElements();
+		final IPoint last = model.getPtAt(nbPathPts - 1);
+
+		elts.remove(elts.size() - 1);
+
+		if((nbPathPts - 1) % model.getInterval() == 0) {
+			elts.add(ViewFactory.INSTANCE.createLineTo(last.getX(), last.getY()));
 		}
+
+		elts.add(ViewFactory.INSTANCE.createLineTo(last.getX(), last.getY()));
 	}
 
 	@Override
 	public void flush() {
-		if(!border.getElements().isEmpty()) {
-			model.getPoints().get(model.getPoints().size() - 1).xProperty().removeListener(update);
-			model.getPoints().get(model.getPoints().size() - 1).yProperty().removeListener(update);
+		if(listenedPt != null) {
+			listenedPt.xProperty().removeListener(update);
+			listenedPt.yProperty().removeListener(update);
+			listenedPt = null;
 		}
 
+		Bindings.unbindContent(shadow.getElements(), border.getElements());
 		model.intervalProperty().removeListener(update);
 		model.typeProperty().removeListener(update);
 		model.openProperty().removeListener(update);
+		model.nbPointsProperty().removeListener(nbPointsUpdate);
 
 		super.flush();
 	}
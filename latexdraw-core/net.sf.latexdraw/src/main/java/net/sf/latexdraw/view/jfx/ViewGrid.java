@@ -86,44 +86,61 @@ public class ViewGrid extends ViewStdGrid<IGrid> {
 	}
 
 
+	/**
+	 * Dotted lines are painted as dashed lines made of zero-length dashes (rendered as dots by the line caps),
+	 * so that the number of path elements does not depend on the number of dots.
+	 * @param path The path to configure.
+	 * @param dotStep The gap between two dots, or a negative value for plain lines.
+	 */
+	private static void setDotStep(final Path path, final double dotStep) {
+		if(dotStep > 0d) {
+			path.getStrokeDashArray().setAll(0d, dotStep);
+		}else {
+			path.getStrokeDashArray().clear();
+		}
+	}
+
+
+	/**
+	 * The last dot of the dotted lines (the bottom-right corner of the grid) is not painted by the dashes.
+	 */
+	private static void addEndDot(final ObservableList<PathElement> elements, final double brx, final double bry) {
+		elements.add(ViewFactory.INSTANCE.createMoveTo(brx, bry));
+		elements.add(ViewFactory.INSTANCE.createLineTo(brx, bry));
+	}
+
+
 	private void updatePathMainGridDots(final double unit, final double minX, final double maxX, final double minY, final double maxY,
 										final double posX, final double posY, final double xStep, final double yStep, final double tlx,
-										final double tly, final double brx, final double bry, final double absStep) {
-		final int gridDots = model.getGridDots();
-		final double dotStep = unit * IShape.PPC / gridDots;
+										final double tly, final double brx, final double bry) {
 		final ObservableList<PathElement> elements = maingrid.getElements();
 
+		setDotStep(maingrid, unit * IShape.PPC / model.getGridDots());
+
 		for(double k = minX, i = posX; k <= maxX; i += xStep, k++) {
-			for(double m = tly, n = minY; n < maxY; n++, m += absStep) {
-				for(double l = 0d, j = m; l < gridDots; l++, j += dotStep) {
-					elements.add(ViewFactory.INSTANCE.createMoveTo(i, j));
-					elements.add(ViewFactory.INSTANCE.createLineTo(i, j));
-				}
-			}
+			elements.add(ViewFactory.INSTANCE.createMoveTo(i, tly));
+			elements.add(ViewFactory.INSTANCE.createLineTo(i, bry));
 		}
 
 		for(double k = minY, i = posY; k <= maxY; i -= yStep, k++) {
-			for(double m = tlx, n = minX; n < maxX; n++, m += absStep) {
-				for(double l = 0d, j = m; l < gridDots; l++, j += dotStep) {
-					elements.add(ViewFactory.INSTANCE.createMoveTo(j, i));
-					elements.add(ViewFactory.INSTANCE.createLineTo(j, i));
-				}
-			}
+			elements.add(ViewFactory.INSTANCE.createMoveTo(tlx, i));
+			elements.add(ViewFactory.INSTANCE.createLineTo(brx, i));
 		}
 
-		elements.add(ViewFactory.INSTANCE.createMoveTo(brx, bry));
-		elements.add(ViewFactory.INSTANCE.createLineTo(brx, bry));
+		addEndDot(elements, brx, bry);
 	}
 
 
 	private void updatePathMainGrid(final double unit, final double minX, final double maxX, final double minY, final double maxY,
 									final double posX, final double posY, final double xStep, final double yStep, final double tlx,
-									final double tly, final double brx, final double bry, final double absStep) {
+									final double tly, final double brx, final double bry) {
 		if(model.getGridDots() > 0) {
-			updatePathMainGridDots(unit, minX, maxX, minY, maxY, posX, posY, xStep, yStep, tlx, tly, brx, bry, absStep);
+			updatePathMainGridDots(unit, minX, maxX, minY, maxY, posX, posY, xStep, yStep, tlx, tly, brx, bry);
 		}else {
 			final ObservableList<PathElement> elements = maingrid.getElements();
 
+			setDotStep(maingrid, -1d);
+
 			for(double k = minX, i = posX; k <= maxX; i += xStep, k++) {
 				elements.add(ViewFactory.INSTANCE.createMoveTo(i, bry));
 				elements.add(ViewFactory.INSTANCE.createLineTo(i, tly));
@@ -147,31 +164,27 @@ public class ViewGrid extends ViewStdGrid<IGrid> {
 		final ObservableList<PathElement> elements = subgrid.getElements();
 
 		if(subGridDots > 0d) {
-			final double dotStep = unit * IShape.PPC / (subGridDots * subGridDiv);
 			final double nbX = (maxX - minX) * subGridDiv;
 			final double nbY = (maxY - minY) * subGridDiv;
+			final double absXSubStep = Math.abs(xSubStep);
+			final double absYSubStep = Math.abs(ySubStep);
 
-			for(double i = 0d, n = tlx; i < nbX; i++, n += xSubStep) {
-				for(double j = 0d, m = tly; j <= nbY; j++, m += ySubStep) {
-					for(double k = 0d; k < subGridDots; k++) {
-						elements.add(ViewFactory.INSTANCE.createMoveTo(n + k * dotStep, m));
-						elements.add(ViewFactory.INSTANCE.createLineTo(n + k * dotStep, m));
-					}
-				}
+			setDotStep(subgrid, unit * IShape.PPC / (subGridDots * subGridDiv));
+
+			for(double j = 0d, m = tly; j <= nbY; j++, m += absYSubStep) {
+				elements.add(ViewFactory.INSTANCE.createMoveTo(tlx, m));
+				elements.add(ViewFactory.INSTANCE.createLineTo(brx, m));
 			}
 
-			for(double j = 0d, n = tly; j < nbY; j++, n += ySubStep) {
-				for(double i = 0d, m = tlx; i <= nbX; i++, m += xSubStep) {
-					for(double k = 0d; k < subGridDots; k++) {
-						elements.add(ViewFactory.INSTANCE.createMoveTo(m, n + k * dotStep));
-						elements.add(ViewFactory.INSTANCE.createLineTo(m, n + k * dotStep));
-					}
-				}
+			for(double i = 0d, m = tlx; i <= nbX; i++, m += absXSubStep) {
+				elements.add(ViewFactory.INSTANCE.createMoveTo(m, tly));
+				elements.add(ViewFactory.INSTANCE.createLineTo(m, bry));
 			}
 
-			elements.add(ViewFactory.INSTANCE.createMoveTo(brx, bry));
-			elements.add(ViewFactory.INSTANCE.createLineTo(brx, bry));
+			addEndDot(elements, brx, bry);
 		}else {
+			setDotStep(subgrid, -1d);
+
 			if(subGridDiv > 1d) {
 				for(double k = minX, i = posX; k < maxX; i += xStep, k++) {
 					for(double j = 0d; j <= subGridDiv; j++) {
@@ -264,7 +277,7 @@ public class ViewGrid extends ViewStdGrid<IGrid> {
 
 		if(mainGrid) {
 			maingrid.getElements().clear();
-			updatePathMainGrid(unit, minX, maxX, minY, maxY, posX, posY, xStep, yStep, tlx, tly, bounds.getMaxX(), bounds.getMaxY(), absStep);
+			updatePathMainGrid(unit, minX, maxX, minY, maxY, posX, posY, xStep, yStep, tlx, tly, bounds.getMaxX(), bounds.getMaxY());
 		}
 
 		if(labels) {
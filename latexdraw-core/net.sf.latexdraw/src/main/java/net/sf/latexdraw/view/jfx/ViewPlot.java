@@ -10,10 +10,26 @@
  */
 package net.sf.latexdraw.view.jfx;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.shape.ArcTo;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.StrokeLineCap;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.Color;
 import net.sf.latexdraw.models.interfaces.shape.IPlot;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.view.DotGlyph;
 import net.sf.latexdraw.view.PlotViewHelper;
 
 /**
@@ -21,11 +37,22 @@ import net.sf.latexdraw.view.PlotViewHelper;
  * @author Arnaud Blouin
  */
 public class ViewPlot extends ViewPositionShape<IPlot> {
+	/** The default number of plotted points from which the function is sampled out of the JFX thread. */
+	public static final int DEFAULT_ASYNC_THRESHOLD = 20000;
+
 	private ViewPolyline lineView;
 	private ViewPolygon polygonView;
 	private ViewBezierCurve curveView;
-	private List<ViewDot> dotsView;
+	/** With the DOTS style, the glyph of the dots is painted at each point of the plot in these two paths: the circles and the other parts of the glyph. */
+	private Path dotsCircles;
+	private Path dotsGlyphs;
 	private final ChangeListener<Object> updatePath = (observable, oldValue, newValue) -> updatePath();
+	/** Incremented at each update of the path to discard the results of the outdated samplings. */
+	private int pathVersion;
+	/** The sampling of the function in progress out of the JFX thread, if any. */
+	private CompletableFuture<Void> sampling;
+	/** From this number of plotted points, the function is sampled out of the JFX thread. */
+	private int asyncThreshold;
 
 	/**
 	 * Creates the view.
@@ -33,6 +60,7 @@ public class ViewPlot extends ViewPositionShape<IPlot> {
 	 */
 	ViewPlot(final IPlot sh) {
 		super(sh);
+		asyncThreshold = DEFAULT_ASYNC_THRESHOLD;
 
 		model.plotEquationProperty().addListener(updatePath);
 		model.dotDiametreProperty().addListener(updatePath);
@@ -44,77 +72,279 @@ public class ViewPlot extends ViewPositionShape<IPlot> {
 		model.polarProperty().addListener(updatePath);
 		model.xScaleProperty().addListener(updatePath);
 		model.yScaleProperty().addListener(updatePath);
+		model.adaptiveSamplingProperty().addListener(updatePath);
 
 		updatePath();
 	}
 
+	/**
+	 * @return The number of plotted points from which the function is sampled out of the JFX thread.
+	 * @since 4.0
+	 */
+	public int getAsyncThreshold() {
+		return asyncThreshold;
+	}
+
+	/**
+	 * Sets the number of plotted points from which the function is sampled out of the JFX thread. While the function is
+	 * sampled, the previous geometry of the plot remains displayed. Used from the next update of the plot.
+	 * @param threshold The threshold. Integer.MAX_VALUE to always sample the function in the JFX thread.
+	 * @since 4.0
+	 */
+	public void setAsyncThreshold(final int threshold) {
+		if(threshold > 0) {
+			asyncThreshold = threshold;
+		}
+	}
+
 	private void updatePath() {
+		final int version = ++pathVersion;
+		cancelSampling();
+
+		if(model.getNbPlottedPoints() < asyncThreshold || !Platform.isFxApplicationThread()) {
+			updatePathGeometry();
+			return;
+		}
+
+		// The samples cached by the model are computed in the background. The geometry is then built from them in the JFX thread
+		// if no other update occurred in the meantime. An error during the sampling occurs again, in the JFX thread, when building the geometry.
+		sampling = model.sampleAsync();
+		sampling.whenComplete((res, ex) -> {
+			if(!(ex instanceof CancellationException)) {
+				Platform.runLater(() -> {
+					if(version == pathVersion) {
+						sampling = null;
+						updatePathGeometry();
+					}
+				});
+			}
+		});
+	}
+
+	private void cancelSampling() {
+		if(sampling != null) {
+			sampling.cancel(false);
+			sampling = null;
+		}
+	}
+
+	private void updatePathGeometry() {
 		final double minX = model.getPlotMinX();
 		final double maxX = model.getPlotMaxX();
 		final double step = model.getPlottingStep();
-
-		getChildren().stream().filter(node -> node instanceof ViewShape<?>).forEach(vs -> ((ViewShape<?>) vs).flush());
-		getChildren().clear();
+		final ViewShape<?> view;
 
 		switch(model.getPlotStyle()) {
 			case LINE:
-				updateLine(minX, maxX, step);
+				view = updateLine(minX, maxX, step);
 				break;
 			case CURVE:
-				updateCurve(minX, maxX, step);
+			case CCURVE:
+				view = updateCurve(minX, maxX, step);
 				break;
 			case ECURVE:
-				updateCurve(minX + step, maxX - step, step);
+				view = updateCurve(minX + step, maxX - step, step);
 				break;
-			case CCURVE:
-				updateCurve(minX, maxX, step);
+			case POLYGON:
+				view = updatePolygon(minX, maxX, step);
 				break;
 			case DOTS:
+			default:
 				updatePoints(minX, maxX, step);
-				break;
-			case POLYGON:
-				updatePolygon(minX, maxX, step);
-				break;
+				return;
+		}
+
+		// The view of each style is kept: only the displayed one changes when the style changes.
+		if(getChildren().size() != 1 || getChildren().get(0) != view) {
+			flushDots();
+			getChildren().setAll(view);
 		}
 	}
 
 
 	private void updatePoints(final double minX, final double maxX, final double step) {
-		flushDots();
-		dotsView = PlotViewHelper.INSTANCE.updatePoints(model, 0d, 0d, minX, maxX, step).parallelStream().map(dot -> {
-			final ViewDot viewDot = new ViewDot(dot);
-			viewDot.setUserData(this);
-			return viewDot;
-		}).collect(Collectors.toList());
-		getChildren().addAll(dotsView);
+		if(dotsCircles == null) {
+			dotsCircles = new Path();
+			dotsGlyphs = new Path();
+			dotsCircles.setUserData(this);
+			dotsGlyphs.setUserData(this);
+		}
+
+		final DotGlyph glyph = DotGlyph.getGlyph(model.getDotStyle(), model.getDiametre());
+		final double[] coords = PlotViewHelper.INSTANCE.fillCoordinates(model, 0d, 0d, minX, maxX, step);
+		final List<PathElement> circles = new ArrayList<>(glyph.hasCircle() ? coords.length * 2 : 0);
+		final List<PathElement> glyphs = new ArrayList<>(coords.length / 2 * glyph.getNbSegments());
+
+		for(int i = 0; i < coords.length; i += 2) {
+			final double x = coords[i];
+			final double y = coords[i + 1];
+			if(glyph.hasCircle()) {
+				addCircle(circles, x, y, glyph.getCircleRadius());
+			}
+			for(int j = 0, size = glyph.getNbSegments(); j < size; j++) {
+				glyphs.add(ViewDot.createPathElement(glyph, j, x, y));
+			}
+		}
+
+		dotsCircles.getElements().setAll(circles);
+		dotsGlyphs.getElements().setAll(glyphs);
+		setDotsStyle(dotsCircles, glyph.getCircleFill(), glyph.getCircleLineCap(), glyph.getCircleStrokeWidth());
+		setDotsStyle(dotsGlyphs, glyph.getPathFill(), glyph.getPathLineCap(), glyph.getPathStrokeWidth());
+
+		if(getChildren().size() != 2 || getChildren().get(0) != dotsCircles) {
+			getChildren().setAll(dotsCircles, dotsGlyphs);
+		}
 	}
 
-	private void updatePolygon(final double minX, final double maxX, final double step) {
-		flushPolygon();
-		polygonView = new ViewPolygon(PlotViewHelper.INSTANCE.updatePolygon(model, 0d, 0d, minX, maxX, step));
-		polygonView.setUserData(this);
-		getChildren().add(polygonView);
+	private static void addCircle(final List<PathElement> elts, final double x, final double y, final double radius) {
+		elts.add(ViewFactory.INSTANCE.createMoveTo(x + radius, y));
+		elts.add(new ArcTo(radius, radius, 0d, x - radius, y, false, true));
+		elts.add(new ArcTo(radius, radius, 0d, x + radius, y, false, true));
+		elts.add(ViewFactory.INSTANCE.createClosePath());
 	}
 
+	private void setDotsStyle(final Path path, final DotGlyph.Fill fill, final DotGlyph.LineCap cap, final double strokeWidth) {
+		final Color fillCol = fill.getColour(model.getLineColour(), model.getDotFillingCol());
+		path.setFill(fillCol == null ? null : fillCol.toJFX());
+		path.setStroke(model.getLineColour().toJFX());
+		path.setStrokeLineCap(StrokeLineCap.valueOf(cap.name()));
+		path.setStrokeWidth(strokeWidth);
+	}
 
-	private void updateLine(final double minX, final double maxX, final double step) {
-		flushLine();
-		lineView = new ViewPolyline(PlotViewHelper.INSTANCE.updateLine(model, 0d, 0d, minX, maxX, step));
-		lineView.setUserData(this);
-		getChildren().add(lineView);
+	/**
+	 * @return The points of the models used to create the views: the geometry of the views is then set from the samples of the plot.
+	 */
+	private static List<IPoint> createViewModelPoints() {
+		return Arrays.asList(ShapeFactory.INST.createPoint(), ShapeFactory.INST.createPoint(1d, 1d));
 	}
 
+	/**
+	 * Removes the elements the views bind to the points of their model: the elements set from the samples can then be updated.
+	 */
+	private static void clearElements(final Path... paths) {
+		for(final Path path : paths) {
+			path.getElements().clear();
+		}
+	}
 
-	private void updateCurve(final double minX, final double maxX, final double step) {
-		flushCurve();
-		curveView = new ViewBezierCurve(PlotViewHelper.INSTANCE.updateCurve(model, 0d, 0d, minX, maxX, step));
-		curveView.setUserData(this);
-		getChildren().add(curveView);
+	private ViewPolygon updatePolygon(final double minX, final double maxX, final double step) {
+		if(polygonView == null) {
+			polygonView = new ViewPolygon(ShapeFactory.INST.createPolygon(createViewModelPoints()));
+			polygonView.setUserData(this);
+			clearElements(polygonView.border, polygonView.shadow, polygonView.dblBorder);
+		}
+		polygonView.getModel().copy(model);
+		final double[] coords = PlotViewHelper.INSTANCE.fillCoordinates(model, 0d, 0d, minX, maxX, step);
+		setLineElements(polygonView.border, coords, true);
+		setLineElements(polygonView.shadow, coords, true);
+		setLineElements(polygonView.dblBorder, coords, true);
+		return polygonView;
+	}
+
+
+	private ViewPolyline updateLine(final double minX, final double maxX, final double step) {
+		if(lineView == null) {
+			lineView = new ViewPolyline(ShapeFactory.INST.createPolyline(createViewModelPoints()));
+			lineView.setUserData(this);
+			clearElements(lineView.border, lineView.shadow, lineView.dblBorder);
+		}
+		lineView.getModel().copy(model);
+		final double[] coords = PlotViewHelper.INSTANCE.fillCoordinates(model, 0d, 0d, minX, maxX, step);
+		setLineElements(lineView.border, coords, false);
+		setLineElements(lineView.shadow, coords, false);
+		setLineElements(lineView.dblBorder, coords, false);
+		return lineView;
+	}
+
+
+	private ViewBezierCurve updateCurve(final double minX, final double maxX, final double step) {
+		if(curveView == null) {
+			curveView = new ViewBezierCurve(ShapeFactory.INST.createBezierCurve(createViewModelPoints()));
+			curveView.setUserData(this);
+			clearElements(curveView.border);
+		}
+		curveView.getModel().copy(model);
+		final double[] coords = PlotViewHelper.INSTANCE.fillCoordinates(model, 0d, 0d, minX, maxX, step);
+		setCurveElements(curveView.border, coords, PlotViewHelper.INSTANCE.computeFirstCtrlCoordinates(coords));
+		return curveView;
+	}
+
+	/**
+	 * Sets the path to the line that goes through the given points. The current elements of the path are updated
+	 * when the path has the same structure.
+	 */
+	private static void setLineElements(final Path path, final double[] coords, final boolean closed) {
+		final ObservableList<PathElement> elts = path.getElements();
+		final int nbPts = coords.length / 2;
+
+		if(nbPts > 0 && elts.size() == (closed ? nbPts + 1 : nbPts) && elts.get(0) instanceof MoveTo && (nbPts < 2 || elts.get(1) instanceof LineTo)) {
+			final MoveTo moveTo = (MoveTo) elts.get(0);
+			moveTo.setX(coords[0]);
+			moveTo.setY(coords[1]);
+			for(int i = 1; i < nbPts; i++) {
+				final LineTo lineTo = (LineTo) elts.get(i);
+				lineTo.setX(coords[i * 2]);
+				lineTo.setY(coords[i * 2 + 1]);
+			}
+		}else {
+			final List<PathElement> newElts = new ArrayList<>(nbPts + 1);
+			newElts.add(ViewFactory.INSTANCE.createMoveTo(coords[0], coords[1]));
+			for(int i = 1; i < nbPts; i++) {
+				newElts.add(ViewFactory.INSTANCE.createLineTo(coords[i * 2], coords[i * 2 + 1]));
+			}
+			if(closed) {
+				newElts.add(ViewFactory.INSTANCE.createClosePath());
+			}
+			elts.setAll(newElts);
+		}
+	}
+
+	/**
+	 * Sets the path to the Bézier curve that goes through the given points. The second control points are
+	 * the central symmetry of the first ones. The current elements of the path are updated when the path has the same structure.
+	 */
+	private static void setCurveElements(final Path path, final double[] coords, final double[] ctrls) {
+		final ObservableList<PathElement> elts = path.getElements();
+		final int nbPts = coords.length / 2;
+		final boolean sameStructure = elts.size() == nbPts && nbPts > 0 && elts.get(0) instanceof MoveTo && (nbPts < 2 || elts.get(1) instanceof CubicCurveTo);
+		final List<PathElement> newElts = sameStructure ? elts : new ArrayList<>(nbPts);
+
+		if(sameStructure) {
+			final MoveTo moveTo = (MoveTo) elts.get(0);
+			moveTo.setX(coords[0]);
+			moveTo.setY(coords[1]);
+		}else {
+			newElts.add(ViewFactory.INSTANCE.createMoveTo(coords[0], coords[1]));
+		}
+
+		for(int i = 1; i < nbPts; i++) {
+			// The first curve starts with the first control point of the first point, as the view of the Bézier curves does.
+			final double ctrl1X = i == 1 ? ctrls[0] : 2d * coords[i * 2 - 2] - ctrls[i * 2 - 2];
+			final double ctrl1Y = i == 1 ? ctrls[1] : 2d * coords[i * 2 - 1] - ctrls[i * 2 - 1];
+
+			if(sameStructure) {
+				final CubicCurveTo curveTo = (CubicCurveTo) elts.get(i);
+				curveTo.setControlX1(ctrl1X);
+				curveTo.setControlY1(ctrl1Y);
+				curveTo.setControlX2(ctrls[i * 2]);
+				curveTo.setControlY2(ctrls[i * 2 + 1]);
+				curveTo.setX(coords[i * 2]);
+				curveTo.setY(coords[i * 2 + 1]);
+			}else {
+				newElts.add(ViewFactory.INSTANCE.createCubicCurveTo(ctrl1X, ctrl1Y, ctrls[i * 2], ctrls[i * 2 + 1], coords[i * 2], coords[i * 2 + 1]));
+			}
+		}
+
+		if(!sameStructure) {
+			elts.setAll(newElts);
+		}
 	}
 
 	@Override
 	public void flush() {
 		super.flush();
+		pathVersion++;
+		cancelSampling();
 
 		model.plotEquationProperty().removeListener(updatePath);
 		model.dotDiametreProperty().removeListener(updatePath);
@@ -126,6 +356,7 @@ public class ViewPlot extends ViewPositionShape<IPlot> {
 		model.polarProperty().removeListener(updatePath);
 		model.xScaleProperty().removeListener(updatePath);
 		model.yScaleProperty().removeListener(updatePath);
+		model.adaptiveSamplingProperty().removeListener(updatePath);
 
 		flushLine();
 		flushCurve();
@@ -152,9 +383,9 @@ public class ViewPlot extends ViewPositionShape<IPlot> {
 	}
 
 	private void flushDots() {
-		if(dotsView != null) {
-			dotsView.forEach(v -> v.flush());
-			dotsView.clear();
+		if(dotsCircles != null) {
+			dotsCircles.getElements().clear();
+			dotsGlyphs.getElements().clear();
 		}
 	}
 }
@@ -11,7 +11,9 @@
 package net.sf.latexdraw.view.jfx;
 
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javafx.application.Platform;
 import javafx.geometry.Bounds;
@@ -29,8 +31,21 @@ import net.sf.latexdraw.models.interfaces.shape.IShape;
  * @author Arnaud Blouin
  */
 public abstract class ViewShape<S extends IShape> extends Group {
+	/**
+	 * The parts of a view that are recomputed once per pulse when invalidated.
+	 * @since 4.0
+	 */
+	protected enum Part {
+		STROKE, FILL, SHADOW, ARROWS
+	}
+
 	/** The model of the view. */
 	protected final S model;
+	/** The parts of the view to recompute at the next pulse. Guarded by itself. */
+	private final Set<Part> invalidatedParts;
+	/** The parts being recomputed and the thread that recomputes them (null otherwise). Guarded by invalidatedParts. */
+	private Set<Part> updatingParts;
+	private Thread updatingThread;
 
 	/**
 	 * Creates the view.
@@ -39,6 +54,7 @@ public abstract class ViewShape<S extends IShape> extends Group {
 	ViewShape(final S sh) {
 		super();
 		model = sh;
+		invalidatedParts = EnumSet.noneOf(Part.class);
 
 		setUserData(model);
 		setFocusTraversable(false);
@@ -74,10 +90,70 @@ public abstract class ViewShape<S extends IShape> extends Group {
 		return shapes;
 	}
 
+	/**
+	 * Marks the given part of the view as to be recomputed. The parts invalidated during the same pulse are recomputed once
+	 * at the end of the pulse, using updateParts.
+	 * @param part The part to recompute.
+	 */
+	protected void invalidate(final Part part) {
+		final boolean first;
+
+		synchronized(invalidatedParts) {
+			// Recomputing a part may invalidate it again (e.g. the strokes change the bounds on which the filling depends):
+			// these invalidations are ignored, contrary to the ones that come from other threads.
+			if(updatingThread == Thread.currentThread() && updatingParts.contains(part)) return;
+			first = invalidatedParts.isEmpty();
+			invalidatedParts.add(part);
+		}
+
+		ViewsUpdater.INSTANCE.countInvalidation();
+
+		if(first) {
+			ViewsUpdater.INSTANCE.schedule(this);
+		}
+	}
+
+	/**
+	 * Recomputes the invalidated parts of the view (if any).
+	 */
+	final void updateInvalidatedParts() {
+		final Set<Part> parts;
+
+		synchronized(invalidatedParts) {
+			if(invalidatedParts.isEmpty()) return;
+			parts = EnumSet.copyOf(invalidatedParts);
+			invalidatedParts.clear();
+			updatingParts = parts;
+			updatingThread = Thread.currentThread();
+		}
+
+		try {
+			updateParts(parts);
+		}finally {
+			synchronized(invalidatedParts) {
+				updatingParts = null;
+				updatingThread = null;
+			}
+		}
+
+		ViewsUpdater.INSTANCE.countRecomputations(parts.size());
+	}
+
+	/**
+	 * Recomputes the given parts of the view. Does nothing by default.
+	 * @param parts The invalidated parts.
+	 */
+	protected void updateParts(final Set<Part> parts) {
+		// Should be overridden by the views that invalidate parts.
+	}
+
 	/**
 	 * Flushes the view.
 	 */
 	public void flush() {
+		synchronized(invalidatedParts) {
+			invalidatedParts.clear();
+		}
 		setUserData(null);
 		getChildren().clear();
 		// Should be overridden to flush the bindings.
@@ -0,0 +1,146 @@
+/*
+ * This file is part of LaTeXDraw.
+ * Copyright (c) 2005-2017 Arnaud BLOUIN
+ * LaTeXDraw is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later version.
+ * LaTeXDraw is distributed without any warranty; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ */
+package net.sf.latexdraw.view.jfx;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javafx.application.Platform;
+
+/**
+ * Recomputes the invalidated parts of the views once per JFX pulse: the views invalidate some of their parts
+ * on model changes and the updater recomputes them in a single task run on the JFX thread.
+ * The geometry of the shapes is left out: it is still updated on each change of the models (e.g. the path elements bound to their points).
+ * The updater counts the invalidations and the recomputations to measure the coalescing.
+ * @author Arnaud Blouin
+ * @since 4.0
+ */
+public final class ViewsUpdater {
+	/** The singleton. */
+	public static final ViewsUpdater INSTANCE = new ViewsUpdater();
+
+	/** The views that have invalidated parts. Guarded by this. */
+	private final Set<ViewShape<?>> views;
+	/** True when an update of the views is planned. Guarded by this. */
+	private boolean scheduled;
+	private long nbInvalidations;
+	private long nbRecomputations;
+	private long nbFrames;
+	private int lastFrameRecomputations;
+	private int frameRecomputations;
+
+	private ViewsUpdater() {
+		super();
+		views = new LinkedHashSet<>();
+		scheduled = false;
+		resetStatistics();
+	}
+
+	/**
+	 * Plans the update of the given view. Several requests during the same pulse lead to a single update.
+	 * @param view The view that has invalidated parts.
+	 */
+	synchronized void schedule(final ViewShape<?> view) {
+		views.add(view);
+		if(!scheduled) {
+			scheduled = true;
+			Platform.runLater(this::updateViews);
+		}
+	}
+
+	/**
+	 * Counts an invalidation of a part of a view.
+	 */
+	synchronized void countInvalidation() {
+		nbInvalidations++;
+	}
+
+	/**
+	 * Counts recomputed parts of a view.
+	 * @param nb The number of recomputed parts.
+	 */
+	synchronized void countRecomputations(final int nb) {
+		nbRecomputations += nb;
+		frameRecomputations += nb;
+	}
+
+	/**
+	 * Recomputes now the invalidated parts of the planned views (e.g. before a snapshot).
+	 * Must be called in the JFX thread.
+	 */
+	public void updateViews() {
+		final List<ViewShape<?>> toUpdate;
+
+		synchronized(this) {
+			scheduled = false;
+			if(views.isEmpty()) return;
+			toUpdate = new ArrayList<>(views);
+			views.clear();
+			frameRecomputations = 0;
+		}
+
+		toUpdate.forEach(view -> view.updateInvalidatedParts());
+
+		synchronized(this) {
+			if(frameRecomputations > 0) {
+				lastFrameRecomputations = frameRecomputations;
+				nbFrames++;
+			}
+		}
+	}
+
+	/**
+	 * Resets the counters of invalidations, recomputations and frames.
+	 */
+	public synchronized void resetStatistics() {
+		nbInvalidations = 0L;
+		nbRecomputations = 0L;
+		nbFrames = 0L;
+		lastFrameRecomputations = 0;
+		frameRecomputations = 0;
+	}
+
+	/**
+	 * @return The number of parts of views invalidated since the last reset (including the coalesced ones).
+	 */
+	public synchronized long getNbInvalidations() {
+		return nbInvalidations;
+	}
+
+	/**
+	 * @return The number of parts of views recomputed since the last reset.
+	 */
+	public synchronized long getNbRecomputations() {
+		return nbRecomputations;
+	}
+
+	/**
+	 * @return The number of frames in which views have been updated since the last reset.
+	 */
+	public synchronized long getNbFrames() {
+		return nbFrames;
+	}
+
+	/**
+	 * @return The number of parts of views recomputed during the last frame.
+	 */
+	public synchronized int getLastFrameRecomputations() {
+		return lastFrameRecomputations;
+	}
+
+	/**
+	 * @return The mean number of parts of views recomputed per frame since the last reset.
+	 */
+	public synchronized double getRecomputationsPerFrame() {
+		return nbFrames == 0L ? 0d : nbRecomputations / (double) nbFrames;
+	}
+}
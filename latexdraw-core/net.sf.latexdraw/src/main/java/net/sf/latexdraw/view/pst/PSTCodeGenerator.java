@@ -10,10 +10,15 @@
  */
 package net.sf.latexdraw.view.pst;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.util.LSystem;
 import net.sf.latexdraw.view.latex.DviPsColors;
 import net.sf.latexdraw.view.latex.LaTeXGenerator;
@@ -32,12 +37,28 @@ public class PSTCodeGenerator extends LaTeXGenerator {
 		"\\usepackage{etoolbox} % For spaces in paths" + LSystem.EOL + "\\makeatletter % For spaces in paths" + LSystem.EOL +
 		"\\patchcmd\\Gread@eps{\\@inputcheck#1 }{\\@inputcheck\"#1\"\\relax}{}{}" + LSystem.EOL + "\\makeatother" + LSystem.EOL;
 
+	/** The code generated for the shapes of the drawing. An entry is reused while its shape is not modified. */
+	private final Map<IShape, ShapeCode> shapesCode;
+	/** The origin and the PPC used to generate the cached code. */
+	private double codeOriginX;
+	private double codeOriginY;
+	private int codePPC;
+	/** Incremented at each generation of the drawing code to detect the cached entries of removed shapes. */
+	private long codeGeneration;
+	/** The number of shapes whose code has been generated (not taken from the cache). */
+	private long nbGeneratedShapes;
 
 	/**
 	 * Creates and initialises the generator.
 	 */
 	public PSTCodeGenerator() {
 		super();
+		shapesCode = new IdentityHashMap<>();
+		codeOriginX = Double.NaN;
+		codeOriginY = Double.NaN;
+		codePPC = 0;
+		codeGeneration = 0L;
+		nbGeneratedShapes = 0L;
 	}
 
 
@@ -112,11 +133,24 @@ public class PSTCodeGenerator extends LaTeXGenerator {
 		cache.append(MathUtils.INST.getCutNumberFloat((tl.getX() - origin.getX()) / ppc)).append(',').append(MathUtils.INST.getCutNumberFloat((origin.getY() - tl.getY()) / ppc));
 		cache.append(')').append(LSystem.EOL);
 
-		drawing.getShapes().forEach(shape -> PSTViewsFactory.INSTANCE.createView(shape).ifPresent(pstView -> {
-			shapeCode.append(pstView.getCode(origin, ppc)).append(LSystem.EOL);
-			cache.append(generateColourCode(pstView, addedColours));
+		// The cached code depends on the origin and the PPC of the drawing.
+		if(origin.getX() != codeOriginX || origin.getY() != codeOriginY || ppc != codePPC) {
+			shapesCode.clear();
+			codeOriginX = origin.getX();
+			codeOriginY = origin.getY();
+			codePPC = ppc;
+		}
+
+		final long generation = ++codeGeneration;
+
+		drawing.getShapes().forEach(shape -> getShapeCode(shape, origin, ppc, generation).ifPresent(code -> {
+			shapeCode.append(code.code).append(LSystem.EOL);
+			cache.append(generateColourCode(code.coloursName, addedColours));
 		}));
 
+		// Removing the code of the shapes that are no more in the drawing.
+		shapesCode.values().removeIf(code -> code.generation != generation);
+
 		cache.append(shapeCode).append("\\end{pspicture}").append(LSystem.EOL).append('}').append(LSystem.EOL); //$NON-NLS-1$
 
 		if(withLatexParams) {
@@ -130,21 +164,78 @@ public class PSTCodeGenerator extends LaTeXGenerator {
 	}
 
 
+	/**
+	 * @return The number of shapes whose code has been generated instead of being taken from the cache.
+	 * @since 4.0
+	 */
+	public long getNbGeneratedShapes() {
+		return nbGeneratedShapes;
+	}
+
+
+	/**
+	 * Gives the PST code of the given shape, from the cache if the shape has not been modified since its generation.
+	 * @param shape The shape to convert.
+	 * @param origin The origin of the drawing.
+	 * @param ppc The PPC of the drawing.
+	 * @param generation The current generation of the drawing code.
+	 * @return The code of the shape or nothing if the shape cannot be converted.
+	 */
+	private Optional<ShapeCode> getShapeCode(final IShape shape, final IPoint origin, final int ppc, final long generation) {
+		final long revision = shape.getRevision();
+		ShapeCode code = shapesCode.get(shape);
+
+		if(code == null || code.revision != revision) {
+			code = PSTViewsFactory.INSTANCE.createView(shape).map(pstView -> new ShapeCode(pstView.getCode(origin, ppc),
+				pstView.coloursName == null ? Collections.emptySet() : pstView.coloursName, revision)).orElse(null);
+
+			if(code == null) {
+				return Optional.empty();
+			}
+
+			nbGeneratedShapes++;
+			shapesCode.put(shape, code);
+		}
+
+		code.generation = generation;
+		return Optional.of(code);
+	}
+
+
 	/**
 	 * Adds the PST colour code to the cache.
-	 * @param pstView The shape which colour code will be generated.
+	 * @param coloursName The names of the colours used by a shape.
 	 * @param addedColours The PST colours already generated.
 	 * @since 3.0
 	 */
-	private  String generateColourCode(final  PSTShapeView<?> pstView, final  Map<String, String> addedColours) {
-		if(pstView.coloursName != null) {
-			for(final String nameColour : pstView.coloursName) {
-				if(addedColours.get(nameColour) == null && !DviPsColors.INSTANCE.getPredefinedColour(nameColour).isPresent()) {
-					addedColours.put(nameColour, nameColour);
-					return DviPsColors.INSTANCE.getUsercolourCode(nameColour) + LSystem.EOL;
-				}
+	private  String generateColourCode(final  Set<String> coloursName, final  Map<String, String> addedColours) {
+		for(final String nameColour : coloursName) {
+			if(addedColours.get(nameColour) == null && !DviPsColors.INSTANCE.getPredefinedColour(nameColour).isPresent()) {
+				addedColours.put(nameColour, nameColour);
+				return DviPsColors.INSTANCE.getUsercolourCode(nameColour) + LSystem.EOL;
 			}
 		}
 		return ""; //$NON-NLS-1$
 	}
+
+
+	/**
+	 * The cached PST code of a shape.
+	 */
+	private static final class ShapeCode {
+		/** The code of the shape. */
+		final String code;
+		/** The names of the colours used by the shape. */
+		final Set<String> coloursName;
+		/** The revision of the shape when the code was generated. */
+		final long revision;
+		/** The last generation of the drawing code that used this code. */
+		long generation;
+
+		ShapeCode(final String code, final Set<String> coloursName, final long revision) {
+			this.code = code;
+			this.coloursName = coloursName;
+			this.revision = revision;
+		}
+	}
 }
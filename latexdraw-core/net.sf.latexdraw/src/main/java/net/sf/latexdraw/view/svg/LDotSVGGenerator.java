@@ -20,11 +20,17 @@ import net.sf.latexdraw.parsers.svg.CSSColors;
 import net.sf.latexdraw.parsers.svg.SVGAttributes;
 import net.sf.latexdraw.parsers.svg.SVGDocument;
 import net.sf.latexdraw.parsers.svg.SVGElement;
+import net.sf.latexdraw.parsers.svg.SVGEllipseElement;
 import net.sf.latexdraw.parsers.svg.SVGGElement;
+import net.sf.latexdraw.parsers.svg.SVGPathElement;
 import net.sf.latexdraw.parsers.svg.parsers.SVGPointsParser;
+import net.sf.latexdraw.parsers.svg.path.SVGPathSeg;
+import net.sf.latexdraw.parsers.svg.path.SVGPathSegClosePath;
+import net.sf.latexdraw.parsers.svg.path.SVGPathSegLineto;
+import net.sf.latexdraw.parsers.svg.path.SVGPathSegList;
+import net.sf.latexdraw.parsers.svg.path.SVGPathSegMoveto;
 import net.sf.latexdraw.util.LNamespace;
-import net.sf.latexdraw.view.jfx.JFXToSVG;
-import net.sf.latexdraw.view.jfx.ViewFactory;
+import net.sf.latexdraw.view.DotGlyph;
 
 /**
  * An SVG generator for a dot.
@@ -94,9 +100,47 @@ class LDotSVGGenerator extends LShapeSVGGenerator<IDot> {
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_POSITION, shape.getPosition().getX() + " " +
 			shape.getPosition().getY()); //$NON-NLS-1$
 
-		ViewFactory.INSTANCE.createView(shape).ifPresent(vdot -> JFXToSVG.INSTANCE.shapesToElements(vdot.getChildren(), doc).
-			forEach(elt -> root.appendChild(elt)));
+		final DotGlyph glyph = DotGlyph.getGlyph(shape.getDotStyle(), shape.getDiametre());
+		final double x = shape.getPosition().getX();
+		final double y = shape.getPosition().getY();
+
+		if(glyph.hasCircle()) {
+			final SVGElement circle = new SVGEllipseElement(x, y, glyph.getCircleRadius(), glyph.getCircleRadius(), doc);
+			setGlyphStyle(circle, glyph.getCircleFill(), glyph.getCircleLineCap(), glyph.getCircleStrokeWidth());
+			root.appendChild(circle);
+		}
+
+		if(glyph.hasPath()) {
+			final SVGPathElement path = new SVGPathElement(doc);
+			final SVGPathSegList segs = new SVGPathSegList();
+			for(int i = 0, size = glyph.getNbSegments(); i < size; i++) {
+				segs.add(createSVGPathSeg(glyph, i, x, y));
+			}
+			path.setPathData(segs);
+			setGlyphStyle(path, glyph.getPathFill(), glyph.getPathLineCap(), glyph.getPathStrokeWidth());
+			root.appendChild(path);
+		}
 
 		return root;
 	}
+
+
+	private static SVGPathSeg createSVGPathSeg(final DotGlyph glyph, final int segment, final double tx, final double ty) {
+		switch(glyph.getSegment(segment)) {
+			case MOVE:
+				return new SVGPathSegMoveto(glyph.getSegmentX(segment) + tx, glyph.getSegmentY(segment) + ty, false);
+			case LINE:
+				return new SVGPathSegLineto(glyph.getSegmentX(segment) + tx, glyph.getSegmentY(segment) + ty, false);
+			default:
+				return new SVGPathSegClosePath();
+		}
+	}
+
+
+	private void setGlyphStyle(final SVGElement elt, final DotGlyph.Fill fill, final DotGlyph.LineCap cap, final double strokeWidth) {
+		elt.setStrokeWidth(strokeWidth);
+		elt.setStroke(shape.getLineColour());
+		elt.setFill(fill.getColour(shape.getLineColour(), shape.getFillingCol()));
+		elt.setStrokeLineCap(cap == DotGlyph.LineCap.BUTT ? SVGAttributes.SVG_LINECAP_VALUE_BUTT : SVGAttributes.SVG_LINECAP_VALUE_SQUARE);
+	}
 }
@@ -10,10 +10,10 @@
  */
 package net.sf.latexdraw.view.svg;
 
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
 import java.awt.geom.Point2D;
 import java.util.List;
-import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 import net.sf.latexdraw.badaboom.BadaboomCollector;
 import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.ShapeFactory;
@@ -38,6 +38,8 @@ import net.sf.latexdraw.util.LNamespace;
  * @author Arnaud BLOUIN
  */
 class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
+	private static final FontRenderContext FONT_RENDER_CONTEXT = new FontRenderContext(null, true, true);
+
 	/**
 	 * Creates a generator of SVG grids.
 	 * @param grid The grid used for the generation.
@@ -418,10 +420,11 @@ class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
 		final double originX = shape.getOriginX();
 		final double originY = shape.getOriginY();
 		final Color gridLabelsColor = shape.getGridLabelsColour();
-		final Text fooText = new Text(String.valueOf((int) maxX));
-		fooText.setFont(new Font(null, shape.getLabelsSize()));
-		final double labelHeight = fooText.getBaselineOffset();
-		final double labelWidth = fooText.getBoundsInLocal().getWidth();
+		// The labels are measured using AWT fonts that do not require the JFX toolkit.
+		final Font font = new Font(Font.DIALOG, Font.PLAIN, gridLabelsSize);
+		final String maxXLabel = String.valueOf((int) maxX);
+		final double labelHeight = font.getLineMetrics(maxXLabel, FONT_RENDER_CONTEXT).getAscent();
+		final double labelWidth = font.getStringBounds(maxXLabel, FONT_RENDER_CONTEXT).getWidth();
 		final double xorigin = xStep * originX;
 		final double yorigin = isXLabelSouth ? yStep * originY + labelHeight : yStep * originY - 2d;
 		final double width = gridWidth / 2d;
@@ -448,8 +451,8 @@ class LGridSVGGenerator extends LShapeSVGGenerator<IGrid> {
 			for(i = tly + (isXLabelSouth ? -width - gridLabelsSize / 4d : width + labelHeight), j = maxY; j >= minY; i += absStep, j--) {
 				label = String.valueOf((int) j);
 				text = new SVGTextElement(document);
-				fooText.setText(label);
-				text.setAttribute(SVGAttributes.SVG_X, String.valueOf((int) (xorigin - fooText.getLayoutBounds().getWidth() - gridLabelsSize / 4d - width)));
+				text.setAttribute(SVGAttributes.SVG_X, String.valueOf((int) (xorigin - font.getStringBounds(label, FONT_RENDER_CONTEXT).getWidth() -
+					gridLabelsSize / 4d - width)));
 				text.setAttribute(SVGAttributes.SVG_Y, String.valueOf((int) i));
 				text.setTextContent(label);
 				texts.appendChild(text);
@@ -37,6 +37,7 @@ class LPlotSVGGenerator extends LShapeSVGGenerator<IPlot> {
 	static final String XML_YSCALE 		= "yscale"; //$NON-NLS-1$
 	static final String XML_POLAR 		= "polar"; //$NON-NLS-1$
 	static final String XML_STYLE 		= "plotstyle"; //$NON-NLS-1$
+	static final String XML_ADAPTIVE 	= "adaptive"; //$NON-NLS-1$
 
 	
 	protected LPlotSVGGenerator(final IPlot plot){
@@ -75,6 +76,8 @@ class LPlotSVGGenerator extends LShapeSVGGenerator<IPlot> {
 		try { shape.setPolar(Boolean.valueOf(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + XML_POLAR)));}
 		catch(NumberFormatException | NullPointerException ex) { BadaboomCollector.INSTANCE.add(ex); }
 		
+		shape.setAdaptiveSampling(Boolean.parseBoolean(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + XML_ADAPTIVE)));
+
 		try { shape.setX(Double.valueOf(elt.getAttribute(LNamespace.LATEXDRAW_NAMESPACE + ':' + LNamespace.XML_POSITION_X)));}
 		catch(NumberFormatException | NullPointerException ex) { BadaboomCollector.INSTANCE.add(ex); }
 		
@@ -158,6 +161,9 @@ class LPlotSVGGenerator extends LShapeSVGGenerator<IPlot> {
 
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+LNamespace.XML_TYPE, XML_TYPE_PLOT);
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_POLAR, Boolean.toString(shape.isPolar()));
+		if(shape.isAdaptiveSampling()) {
+			root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_ADAPTIVE, Boolean.TRUE.toString());
+		}
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_EQ, shape.getPlotEquation());
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_STYLE, shape.getPlotStyle().getPSTToken());
 		root.setAttribute(LNamespace.LATEXDRAW_NAMESPACE+':'+XML_MIN, Double.toString(shape.getPlotMinX()));
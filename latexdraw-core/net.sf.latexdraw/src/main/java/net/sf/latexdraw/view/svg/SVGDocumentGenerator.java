@@ -48,12 +48,9 @@ import net.sf.latexdraw.models.interfaces.shape.IGroup;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.parsers.svg.MalformedSVGDocument;
-import net.sf.latexdraw.parsers.svg.SVGAttributes;
-import net.sf.latexdraw.parsers.svg.SVGDefsElement;
 import net.sf.latexdraw.parsers.svg.SVGDocument;
 import net.sf.latexdraw.parsers.svg.SVGElement;
 import net.sf.latexdraw.parsers.svg.SVGElements;
-import net.sf.latexdraw.parsers.svg.SVGGElement;
 import net.sf.latexdraw.parsers.svg.SVGMetadataElement;
 import net.sf.latexdraw.parsers.svg.SVGSVGElement;
 import net.sf.latexdraw.util.LNamespace;
@@ -424,34 +421,8 @@ public final class SVGDocumentGenerator implements OpenSaver<Label> {
 		 * @return The created SVG document or null.
 		 */
 		private SVGDocument toSVG(final IDrawing drawing, final double incr) {
-			// Creation of the SVG document.
 			final List<IShape> shapes = onlySelection ? drawing.getSelection().getShapes() : drawing.getShapes();
-			final SVGDocument doc = new SVGDocument();
-			final SVGSVGElement root = doc.getFirstChild();
-			final SVGGElement g = new SVGGElement(doc);
-
-			root.appendChild(g);
-			root.setAttribute("xmlns:" + LNamespace.LATEXDRAW_NAMESPACE, LNamespace.LATEXDRAW_NAMESPACE_URI);//$NON-NLS-1$
-			root.appendChild(new SVGDefsElement(doc));
-
-			try {
-				shapes.forEach(sh -> {
-					// For each shape an SVG element is created.
-					SVGElement elt = SVGShapesFactory.INSTANCE.createSVGElement(sh, doc);
-					if(elt != null) {
-						g.appendChild(elt);
-					}
-					Platform.runLater(() -> updateProgress(getProgress() + incr, 100d));
-				});
-			}catch(final Exception ex) {
-				BadaboomCollector.INSTANCE.add(ex);
-			}
-
-			// Setting SVG attributes to the created document.
-			root.setAttribute(SVGAttributes.SVG_VERSION, "1.1");//$NON-NLS-1$
-			root.setAttribute(SVGAttributes.SVG_BASE_PROFILE, "full");//$NON-NLS-1$
-
-			return doc;
+			return SVGShapesFactory.INSTANCE.createSVGDocument(shapes, () -> Platform.runLater(() -> updateProgress(getProgress() + incr, 100d)));
 		}
 
 
@@ -583,7 +554,8 @@ public final class SVGDocumentGenerator implements OpenSaver<Label> {
 				final double incrProgressBar = Math.max(50d / (svgDoc.getDocumentElement().getChildNodes().getLength() + 1d), 1d);
 
 				Platform.runLater(() -> {
-					toLatexdraw(svgDoc, incrProgressBar).forEach(s -> drawing.addShape(s));
+					final List<IShape> loadedShapes = toLatexdraw(svgDoc, incrProgressBar);
+					drawing.batch(() -> loadedShapes.forEach(s -> drawing.addShape(s)));
 					updateProgress(getProgress() + 50d, 100d);
 
 					// Loads the canvas' data.
@@ -10,6 +10,8 @@
  */
 package net.sf.latexdraw.view.svg;
 
+import java.util.List;
+import net.sf.latexdraw.badaboom.BadaboomCollector;
 import net.sf.latexdraw.models.interfaces.shape.IAxes;
 import net.sf.latexdraw.models.interfaces.shape.IBezierCurve;
 import net.sf.latexdraw.models.interfaces.shape.ICircle;
@@ -29,8 +31,13 @@ import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.models.interfaces.shape.ISquare;
 import net.sf.latexdraw.models.interfaces.shape.IText;
 import net.sf.latexdraw.models.interfaces.shape.ITriangle;
+import net.sf.latexdraw.parsers.svg.SVGAttributes;
+import net.sf.latexdraw.parsers.svg.SVGDefsElement;
 import net.sf.latexdraw.parsers.svg.SVGDocument;
 import net.sf.latexdraw.parsers.svg.SVGElement;
+import net.sf.latexdraw.parsers.svg.SVGGElement;
+import net.sf.latexdraw.parsers.svg.SVGSVGElement;
+import net.sf.latexdraw.util.LNamespace;
 
 /**
  * Creates SVG elements based on latexdraw.
@@ -75,4 +82,45 @@ public final class SVGShapesFactory {
 		if(shape instanceof IFreehand) return new LFreeHandSVGGenerator((IFreehand)shape).toSVG(doc);
 		return null;
 	}
+
+
+	/**
+	 * Creates an SVG document that contains the SVG elements of the given shapes.
+	 * The elements are computed from the models only: the JFX toolkit is not required.
+	 * @param shapes The shapes to convert.
+	 * @param onShapeConverted Executed each time a shape is converted (e.g. to update a progress bar). Can be null.
+	 * @return The created SVG document.
+	 * @throws NullPointerException If the given list is null.
+	 * @since 4.0
+	 */
+	public SVGDocument createSVGDocument(final List<IShape> shapes, final Runnable onShapeConverted) {
+		final SVGDocument doc = new SVGDocument();
+		final SVGSVGElement root = doc.getFirstChild();
+		final SVGGElement g = new SVGGElement(doc);
+
+		root.appendChild(g);
+		root.setAttribute("xmlns:" + LNamespace.LATEXDRAW_NAMESPACE, LNamespace.LATEXDRAW_NAMESPACE_URI);//$NON-NLS-1$
+		root.appendChild(new SVGDefsElement(doc));
+
+		try {
+			shapes.forEach(sh -> {
+				// For each shape an SVG element is created.
+				final SVGElement elt = createSVGElement(sh, doc);
+				if(elt != null) {
+					g.appendChild(elt);
+				}
+				if(onShapeConverted != null) {
+					onShapeConverted.run();
+				}
+			});
+		}catch(final Exception ex) {
+			BadaboomCollector.INSTANCE.add(ex);
+		}
+
+		// Setting SVG attributes to the created document.
+		root.setAttribute(SVGAttributes.SVG_VERSION, "1.1");//$NON-NLS-1$
+		root.setAttribute(SVGAttributes.SVG_BASE_PROFILE, "full");//$NON-NLS-1$
+
+		return doc;
+	}
 }
@@ -62,6 +62,29 @@ public class TestMathUtils {
 		assertThat(MathUtils.INST.equalsDouble(value, value + 0.000001, 0.00001), is(true));
 	}
 
+	@Theory
+	public void testRotateSameAsAffineTransform(@DoubleData final double x, @DoubleData final double y, @DoubleData final double theta) {
+		final double[] expected = {x, y};
+		final double[] rotated = new double[2];
+		java.awt.geom.AffineTransform.getRotateInstance(theta, 10d, -5d).transform(expected, 0, expected, 0, 1);
+		MathUtils.INST.rotate(x, y, 10d, -5d, theta, rotated);
+		assertThat(rotated[0], closeTo(expected[0], 0.00001));
+		assertThat(rotated[1], closeTo(expected[1], 0.00001));
+	}
+
+	@Test
+	public void testRotateQuadrant() {
+		final double[] rotated = new double[2];
+		MathUtils.INST.rotate(1d, 0d, 0d, 0d, Math.PI / 2d, rotated);
+		assertThat(rotated[0], is(0d));
+		assertThat(rotated[1], is(1d));
+	}
+
+	@Test
+	public void testDistance() {
+		assertThat(MathUtils.INST.distance(1d, 1d, 4d, 5d), closeTo(5d, 0.00001));
+	}
+
 	@Theory
 	public void testGetCutNumberNotCut(final double value, final double threshold) {
 		assumeThat(Math.abs(threshold), greaterThan(Math.abs(value)));
@@ -41,6 +41,37 @@ public class TestIBezierCurve implements HelperTest {
 		assertTrue(shape.isTypeOf(shape.getClass()));
 	}
 
+	@Test
+	public void testDuplicateCopiesCtrlPoints() {
+		final IBezierCurve curve = ShapeFactory.INST.createBezierCurve(Arrays.asList(
+			ShapeFactory.INST.createPoint(100, 200), ShapeFactory.INST.createPoint(300, 400)));
+		final IBezierCurve dup = curve.duplicate();
+		assertEquals(curve.getFirstCtrlPts(), dup.getFirstCtrlPts());
+		assertEquals(curve.getSecondCtrlPts(), dup.getSecondCtrlPts());
+	}
+
+	@Test
+	public void testDuplicateCtrlPointsModifiedDoNotChangeSource() {
+		final IBezierCurve curve = ShapeFactory.INST.createBezierCurve(Arrays.asList(
+			ShapeFactory.INST.createPoint(100, 200), ShapeFactory.INST.createPoint(300, 400)));
+		final double x = curve.getFirstCtrlPtAt(0).getX();
+		final IBezierCurve dup = curve.duplicate();
+		dup.setXFirstCtrlPt(x + 50d, 0);
+		dup.translate(10d, 10d);
+		assertEqualsDouble(x, curve.getFirstCtrlPtAt(0).getX());
+		assertEqualsDouble(x + 60d, dup.getFirstCtrlPtAt(0).getX());
+	}
+
+	@Test
+	public void testSourceCtrlPointsModifiedDoNotChangeDuplicate() {
+		final IBezierCurve curve = ShapeFactory.INST.createBezierCurve(Arrays.asList(
+			ShapeFactory.INST.createPoint(100, 200), ShapeFactory.INST.createPoint(300, 400)));
+		final IBezierCurve dup = curve.duplicate();
+		final double y = dup.getSecondCtrlPtAt(1).getY();
+		curve.getSecondCtrlPtAt(1).setY(y - 30d);
+		assertEqualsDouble(y, dup.getSecondCtrlPtAt(1).getY());
+	}
+
 	@Test
 	public void testConstructors() {
 		assertEquals(0, shape.getPoints().size());
@@ -1,8 +1,10 @@
 package net.sf.latexdraw.models.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import javafx.collections.ListChangeListener;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.IDrawing;
 import net.sf.latexdraw.models.interfaces.shape.IGroup;
@@ -11,7 +13,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class TestIDrawing {
 	IDrawing drawing;
@@ -68,4 +72,189 @@ public class TestIDrawing {
 		assertNotNull(drawing.getSelection());
 		assertEquals(0, drawing.getSelection().size());
 	}
+
+	@Test
+	public void testBatchAddsFiresOneChange() {
+		final List<ListChangeListener.Change<? extends IShape>> changes = new ArrayList<>();
+		drawing.getShapes().addListener((ListChangeListener.Change<? extends IShape> evt) -> changes.add(evt));
+		drawing.batch(() -> {
+			drawing.addShape(ShapeFactory.INST.createRectangle());
+			drawing.addShape(ShapeFactory.INST.createEllipse());
+			drawing.addShape(ShapeFactory.INST.createCircle());
+			assertEquals(3, drawing.size());
+		});
+		assertEquals(1, changes.size());
+		assertEquals(3, drawing.getShapes().size());
+	}
+
+	@Test
+	public void testBatchRemovesFromSelection() {
+		final IShape sh1 = ShapeFactory.INST.createRectangle();
+		final IShape sh2 = ShapeFactory.INST.createEllipse();
+		final IShape sh3 = ShapeFactory.INST.createCircle();
+		drawing.addShape(sh1);
+		drawing.addShape(sh2);
+		drawing.addShape(sh3);
+		drawing.setSelection(Arrays.asList(sh1, sh3));
+		drawing.batch(() -> {
+			drawing.removeShape(sh1);
+			drawing.removeShape(sh3);
+		});
+		assertEquals(Collections.singletonList(sh2), drawing.getShapes());
+		assertTrue(drawing.getSelection().isEmpty());
+	}
+
+	@Test
+	public void testBatchInsertsAtPositions() {
+		final IShape sh1 = ShapeFactory.INST.createRectangle();
+		final IShape sh2 = ShapeFactory.INST.createEllipse();
+		final IShape sh3 = ShapeFactory.INST.createCircle();
+		final IShape sh4 = ShapeFactory.INST.createSquare();
+		drawing.addShape(sh2);
+		drawing.addShape(sh4);
+		drawing.batch(() -> {
+			drawing.addShape(sh1, 0);
+			drawing.addShape(sh3, 2);
+		});
+		assertEquals(Arrays.asList(sh1, sh2, sh3, sh4), drawing.getShapes());
+	}
+
+	@Test
+	public void testNestedBatches() {
+		final List<ListChangeListener.Change<? extends IShape>> changes = new ArrayList<>();
+		drawing.getShapes().addListener((ListChangeListener.Change<? extends IShape> evt) -> changes.add(evt));
+		drawing.beginUpdate();
+		drawing.batch(() -> drawing.addShape(ShapeFactory.INST.createRectangle()));
+		drawing.addShape(ShapeFactory.INST.createRectangle());
+		assertTrue(changes.isEmpty());
+		drawing.endUpdate();
+		assertEquals(1, changes.size());
+		assertEquals(2, drawing.size());
+	}
+
+	@Test
+	public void testIndexOf() {
+		final IShape sh1 = ShapeFactory.INST.createRectangle();
+		final IShape sh2 = ShapeFactory.INST.createEllipse();
+		final IShape sh3 = ShapeFactory.INST.createCircle();
+		drawing.addShape(sh1);
+		drawing.addShape(sh2);
+		assertEquals(1, drawing.indexOf(sh2));
+		drawing.addShape(sh3, 0);
+		assertEquals(0, drawing.indexOf(sh3));
+		assertEquals(1, drawing.indexOf(sh1));
+		assertEquals(2, drawing.indexOf(sh2));
+		drawing.removeShape(sh1);
+		assertEquals(-1, drawing.indexOf(sh1));
+		assertEquals(1, drawing.indexOf(sh2));
+	}
+
+	@Test
+	public void testIndexOfDuringBatch() {
+		final IShape sh1 = ShapeFactory.INST.createRectangle();
+		final IShape sh2 = ShapeFactory.INST.createEllipse();
+		final IShape sh3 = ShapeFactory.INST.createCircle();
+		drawing.addShape(sh1);
+		drawing.addShape(sh2);
+		drawing.batch(() -> {
+			assertEquals(1, drawing.indexOf(sh2));
+			drawing.addShape(sh3, 0);
+			assertEquals(0, drawing.indexOf(sh3));
+			assertEquals(2, drawing.indexOf(sh2));
+			drawing.removeShape(sh1);
+			assertEquals(-1, drawing.indexOf(sh1));
+			assertEquals(1, drawing.indexOf(sh2));
+		});
+		assertEquals(0, drawing.indexOf(sh3));
+		assertEquals(1, drawing.indexOf(sh2));
+	}
+
+	@Test
+	public void testIndexOfUnknownShape() {
+		drawing.addShape(ShapeFactory.INST.createRectangle());
+		assertEquals(-1, drawing.indexOf(ShapeFactory.INST.createRectangle()));
+		assertEquals(-1, drawing.indexOf(null));
+	}
+
+	@Test
+	public void testBatchMovesShapesToForeground() {
+		final IShape sh1 = ShapeFactory.INST.createRectangle();
+		final IShape sh2 = ShapeFactory.INST.createEllipse();
+		final IShape sh3 = ShapeFactory.INST.createCircle();
+		drawing.addShape(sh1);
+		drawing.addShape(sh2);
+		drawing.addShape(sh3);
+		drawing.setSelection(Collections.singletonList(sh1));
+		drawing.batch(() -> {
+			drawing.getShapes().remove(sh1);
+			drawing.getShapes().add(sh1);
+		});
+		assertEquals(Arrays.asList(sh2, sh3, sh1), drawing.getShapes());
+		assertEquals(2, drawing.indexOf(sh1));
+		assertEquals(sh1, drawing.getSelection().getShapeAt(0));
+	}
+
+	@Test
+	public void testIsModifiedWhenShapeModified() {
+		final IShape sh = ShapeFactory.INST.createRectangle();
+		drawing.addShape(sh);
+		assertFalse(drawing.isModified());
+		sh.setModified(true);
+		assertTrue(drawing.isModified());
+	}
+
+	@Test
+	public void testIsModifiedWhenShapeInGroupModified() {
+		final IShape sh = ShapeFactory.INST.createRectangle();
+		final IGroup gp = ShapeFactory.INST.createGroup();
+		gp.addShape(sh);
+		drawing.addShape(gp);
+		sh.setModified(true);
+		assertTrue(gp.isModified());
+		assertTrue(drawing.isModified());
+	}
+
+	@Test
+	public void testSetModifiedFalseResetsShapes() {
+		final IShape sh = ShapeFactory.INST.createRectangle();
+		drawing.addShape(sh);
+		sh.setModified(true);
+		drawing.setModified(false);
+		assertFalse(sh.isModified());
+		assertFalse(drawing.isModified());
+	}
+
+	@Test
+	public void testSetModifiedFalseResetsShapesInGroups() {
+		final IShape sh1 = ShapeFactory.INST.createRectangle();
+		final IShape sh2 = ShapeFactory.INST.createEllipse();
+		final IGroup gp = ShapeFactory.INST.createGroup();
+		gp.addShape(sh1);
+		drawing.addShape(gp);
+		drawing.addShape(sh2);
+		sh1.setModified(true);
+		drawing.setModified(false);
+		assertFalse(sh1.isModified());
+		assertFalse(gp.isModified());
+		assertFalse(drawing.isModified());
+		sh2.setModified(true);
+		assertTrue(drawing.isModified());
+	}
+
+	@Test
+	public void testIsModifiedAfterModifiedShapeRemoved() {
+		final IShape sh = ShapeFactory.INST.createRectangle();
+		drawing.addShape(sh);
+		sh.setModified(true);
+		drawing.removeShape(sh);
+		assertFalse(drawing.isModified());
+	}
+
+	@Test
+	public void testIsModifiedWhenModifiedShapeAdded() {
+		final IShape sh = ShapeFactory.INST.createRectangle();
+		sh.setModified(true);
+		drawing.addShape(sh);
+		assertTrue(drawing.isModified());
+	}
 }
@@ -88,6 +88,23 @@ public class TestIFreehand implements HelperTest {
 		assertEquals(FreeHandStyle.LINES, dup.getType());
 	}
 
+	@Test
+	public void testAddPoint() {
+		shape.addPoint(ShapeFactory.INST.createPoint(10d, 20d));
+		shape.addPoint(ShapeFactory.INST.createPoint(30d, 40d));
+		assertEquals(2, shape.getNbPoints());
+		assertEquals(2, shape.nbPointsProperty().get());
+		assertEquals(ShapeFactory.INST.createPoint(30d, 40d), shape.getPtAt(-1));
+	}
+
+	@Test
+	public void testAddPointKO() {
+		shape.addPoint(null);
+		shape.addPoint(ShapeFactory.INST.createPoint(Double.NaN, 20d));
+		assertEquals(0, shape.getNbPoints());
+		assertEquals(0, shape.nbPointsProperty().get());
+	}
+
 	@Test
 	public void testIsTypeOf() {
 		assertFalse(shape.isTypeOf(null));
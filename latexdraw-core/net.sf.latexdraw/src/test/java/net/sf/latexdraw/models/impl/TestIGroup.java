@@ -1,5 +1,6 @@
 package net.sf.latexdraw.models.impl;
 
+import java.lang.ref.WeakReference;
 import java.util.Collections;
 import net.sf.latexdraw.HelperTest;
 import net.sf.latexdraw.data.ShapeData;
@@ -11,6 +12,7 @@ import net.sf.latexdraw.models.interfaces.shape.DotStyle;
 import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
 import net.sf.latexdraw.models.interfaces.shape.IAxes;
 import net.sf.latexdraw.models.interfaces.shape.IDot;
+import net.sf.latexdraw.models.interfaces.shape.IGrid;
 import net.sf.latexdraw.models.interfaces.shape.IGroup;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.models.interfaces.shape.IRectangle;
@@ -33,7 +35,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
 @RunWith(Theories.class)
 public class TestIGroup implements HelperTest {
@@ -213,6 +217,110 @@ public class TestIGroup implements HelperTest {
 		assertTrue(Double.isNaN(shape.getTopRightPoint().getY()));
 	}
 
+	@Test
+	public void testGetBoundsUpdatedOnShapeTranslated() {
+		sh1.setPosition(10d, 20d);
+		sh1.setWidth(11d);
+		shape.addShape(sh1);
+		shape.getTopLeftPoint();
+		sh1.translate(5d, -3d);
+		assertEquals(sh1.getTopLeftPoint(), shape.getTopLeftPoint());
+		assertEquals(sh1.getBottomRightPoint(), shape.getBottomRightPoint());
+	}
+
+	@Test
+	public void testGetBoundsUpdatedOnShapeRemoved() {
+		sh1.setPosition(10d, 20d);
+		shape.addShape(sh1);
+		shape.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(100d, 200d), 10d, 10d));
+		shape.getBottomRightPoint();
+		shape.removeShape(1);
+		assertEquals(sh1.getBottomRightPoint(), shape.getBottomRightPoint());
+	}
+
+	@Test
+	public void testGetBoundsUpdatedInSubGroup() {
+		final IGroup sub = ShapeFactory.INST.createGroup();
+		sub.addShape(sh1);
+		shape.addShape(sub);
+		shape.getTopLeftPoint();
+		sh1.translate(-50d, -60d);
+		assertEquals(sh1.getTopLeftPoint(), shape.getTopLeftPoint());
+	}
+
+	@Test
+	public void testBoundsKeptOnUnrelatedShapeChanged() {
+		shape.addShape(sh1);
+		shape.getTopLeftPoint();
+		final LBounds bounds = ((LGroup) shape).getGroupBounds();
+		sh2.translate(10d, 10d);
+		sh3.setRotationAngle(1d);
+		assertTrue(bounds.isValid());
+	}
+
+	@Test
+	public void testBoundsInvalidatedOnShapeChanged() {
+		final IGroup sub = ShapeFactory.INST.createGroup();
+		sub.addShape(sh1);
+		shape.addShape(sub);
+		shape.getTopLeftPoint();
+		final LBounds bounds = ((LGroup) shape).getGroupBounds();
+		sh1.translate(10d, 10d);
+		assertFalse(bounds.isValid());
+	}
+
+	@Test
+	public void testGetBoundsUpdatedOnDotChanged() {
+		final IDot dot = ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint(10d, 10d));
+		shape.addShape(dot);
+		shape.getTopLeftPoint();
+		dot.setDiametre(dot.getDiametre() * 3d);
+		assertEquals(dot.getTopLeftPoint(), shape.getTopLeftPoint());
+	}
+
+	@Test
+	public void testDroppedGroupsAreNotKeptAsParents() throws InterruptedException {
+		shape.addShape(sh1);
+		final WeakReference<IGroup> dropped = new WeakReference<>(shape.duplicateDeep(false));
+		final LModifiedTracker tracker = ((LModifiedTracked) sh1).getModifiedTracker();
+		assertEquals(2, tracker.getNbParents());
+		for(int i = 0; i < 50 && dropped.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10L);
+		}
+		// The garbage collector may not collect the group: nothing can be checked then.
+		assumeTrue(dropped.get() == null);
+		assertEquals(1, tracker.getNbParents());
+	}
+
+	@Test
+	public void testRemovedShapeNoLongerModifiesGroup() {
+		final IGroup dup = shape.duplicateDeep(false);
+		dup.addShape(sh1);
+		sh1.setModified(true);
+		assertTrue(dup.isModified());
+		dup.removeShape(sh1);
+		assertFalse(dup.isModified());
+	}
+
+	@Test
+	public void testGroupBoundsCachedWithDot() {
+		shape.addShape(ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint(10d, 10d)));
+		final LBounds bounds = ((LBoundsCache) shape).getCachedBounds();
+		assertNotNull(bounds);
+		assertTrue(bounds.isValid());
+		assertSame(bounds, ((LBoundsCache) shape).getCachedBounds());
+	}
+
+	@Test
+	public void testGetBoundsUpdatedOnGridChanged() {
+		final IGrid grid = ShapeFactory.INST.createGrid(ShapeFactory.INST.createPoint(10d, 10d));
+		shape.addShape(grid);
+		shape.getBottomRightPoint();
+		grid.setGridEndX(grid.getGridEndX() + 5d);
+		assertEquals(grid.getBottomRightPoint(), shape.getBottomRightPoint());
+	}
+
 	@Test
 	public void testGetGravityCentreKO() {
 		assertEquals(ShapeFactory.INST.createPoint(0, 0), shape.getGravityCentre());
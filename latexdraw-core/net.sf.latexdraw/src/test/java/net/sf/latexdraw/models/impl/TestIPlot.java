@@ -1,5 +1,7 @@
 package net.sf.latexdraw.models.impl;
 
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import net.sf.latexdraw.HelperTest;
 import net.sf.latexdraw.data.DoubleData;
 import net.sf.latexdraw.data.StringData;
@@ -26,8 +28,11 @@ import org.junit.runner.RunWith;
 
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeThat;
 
@@ -259,6 +264,116 @@ public class TestIPlot implements HelperTest {
 		assertEquals(20.0 - 20.0 * IShape.PPC, pt.getY(), 0.0001);
 	}
 
+	@Test
+	public void testPlotSamples() {
+		shape.setPlotEquation("x 2 mul");
+		shape.setPlotMinX(1.0);
+		shape.setPlotMaxX(5.0);
+		shape.setNbPlottedPoints(5);
+
+		assertArrayEquals(new double[] {1d, 2d, 3d, 4d, 5d}, shape.getPlotSamplesX(), 0.00001);
+		assertArrayEquals(new double[] {2d, 4d, 6d, 8d, 10d}, shape.getPlotSamplesY(), 0.00001);
+	}
+
+	@Test
+	public void testPlotSamplesCached() {
+		final double[] ys = shape.getPlotSamplesY();
+		shape.setPolar(true);
+		shape.setXScale(2d);
+		assertSame(ys, shape.getPlotSamplesY());
+	}
+
+	@Test
+	public void testSampleAsyncCachesSamples() throws Exception {
+		shape.setPlotEquation("x 2 mul");
+		shape.setNbPlottedPoints(5);
+		shape.sampleAsync().get();
+		final double[] ys = shape.getPlotSamplesY();
+		assertArrayEquals(new double[] {0d, 5d, 10d, 15d, 20d}, ys, 0.00001);
+		assertTrue(shape.sampleAsync().isDone());
+		assertSame(ys, shape.getPlotSamplesY());
+	}
+
+	@Test
+	public void testSampleAsyncReplacesPendingSampling() {
+		shape.setNbPlottedPoints(100000);
+		final CompletableFuture<Void> first = shape.sampleAsync();
+		shape.setNbPlottedPoints(10);
+		shape.sampleAsync().join();
+		assertTrue(first.isDone());
+		assertEquals(10, shape.getPlotSamplesY().length);
+	}
+
+	@Test
+	public void testPlotSamplesUpdated() {
+		final double[] ys = shape.getPlotSamplesY();
+		shape.setPlotEquation("x 2 add");
+		assertNotSame(ys, shape.getPlotSamplesY());
+		assertEquals(2d, shape.getPlotSamplesY()[0], 0.00001);
+		shape.setNbPlottedPoints(10);
+		assertEquals(10, shape.getPlotSamplesY().length);
+	}
+
+	@Test
+	public void testPlotSamplesBoundsUpdated() {
+		shape.setPosition(0d, 0d);
+		shape.getTopLeftPoint();
+		shape.setPlotMaxX(20d);
+		assertEquals(-20d * IShape.PPC, shape.getTopLeftPoint().getY(), 0.0001);
+	}
+
+	@Test
+	public void testAdaptiveSamplingLinearFunction() {
+		shape.setNbPlottedPoints(100);
+		shape.setAdaptiveSampling(true);
+		assertTrue(shape.getPlotSamplesX().length < 100);
+		assertEquals(0d, shape.getPlotSamplesX()[0], 0.00001);
+		assertEquals(10d, shape.getPlotSamplesX()[shape.getPlotSamplesX().length - 1], 0.00001);
+	}
+
+	@Test
+	public void testAdaptiveSamplingBudget() {
+		shape.setPlotEquation("x sin");
+		shape.setPlotMinX(-360d);
+		shape.setPlotMaxX(360d);
+		shape.setNbPlottedPoints(40);
+		shape.setAdaptiveSampling(true);
+		final double[] xs = shape.getPlotSamplesX();
+		assertEquals(40, xs.length);
+		for(int i = 1; i < xs.length; i++) {
+			assertTrue(xs[i] > xs[i - 1]);
+		}
+		assertEquals(-1d, Arrays.stream(shape.getPlotSamplesY()).min().orElse(0d), 0.01);
+	}
+
+	@Test
+	public void testAdaptiveSamplingUpdatesSamples() {
+		final double[] xs = shape.getPlotSamplesX();
+		shape.setAdaptiveSampling(true);
+		assertNotSame(xs, shape.getPlotSamplesX());
+	}
+
+	@Test
+	public void testPlotSamplesLargePlot() {
+		shape.setPlotEquation("x 3 mul sin");
+		shape.setNbPlottedPoints(50000);
+		final double[] xs = shape.getPlotSamplesX();
+		final double[] ys = shape.getPlotSamplesY();
+		assertEquals(50000, ys.length);
+		for(int i = 0; i < xs.length; i += 997) {
+			assertEquals(shape.getY(xs[i]), ys[i], 0d);
+		}
+		assertEquals(shape.getY(xs[xs.length - 1]), ys[ys.length - 1], 0d);
+	}
+
+	@Test
+	public void testCopyAdaptiveSampling() {
+		final IPlot shape2 = ShapeFactory.INST.createPlot(ShapeFactory.INST.createPoint(), 1d, 11d, "x 2 mul", false);
+		shape2.setAdaptiveSampling(true);
+		shape.copy(shape2);
+		assertTrue(shape.isAdaptiveSampling());
+	}
+
 	@Theory
 	public void testInvalidMirrorHorizontal(@DoubleData(bads = true, vals = {}) final double value) {
 		shape.setPosition(100, 200);
@@ -52,6 +52,28 @@ public class TestIPoint implements HelperTest {
 		assertEquals(ShapeFactory.INST.createPoint(0, -1), ShapeFactory.INST.createPoint(0, -1).rotatePoint(pt, 0));
 	}
 
+	@Theory
+	public void testZoom(@DoubleData final double x, @DoubleData final double y) {
+		final IPoint zoomed = ShapeFactory.INST.createPoint(x, y).zoom(2d);
+		assertEqualsDouble(x * 2d, zoomed.getX());
+		assertEqualsDouble(y * 2d, zoomed.getY());
+	}
+
+	@Test
+	public void testSetXUpdatesCreatedProperty() {
+		pt.setX(5d);
+		assertEqualsDouble(5d, pt.xProperty().get());
+		pt.setX(12d);
+		assertEqualsDouble(12d, pt.xProperty().get());
+		assertEqualsDouble(12d, pt.getX());
+	}
+
+	@Test
+	public void testPropertyUpdatesY() {
+		pt.yProperty().set(-3d);
+		assertEqualsDouble(-3d, pt.getY());
+	}
+
 	@Test
 	public void testCentralSymmetry() {
 		assertEquals(ShapeFactory.INST.createPoint(-1, 0), ShapeFactory.INST.createPoint(1, 0).centralSymmetry(pt));
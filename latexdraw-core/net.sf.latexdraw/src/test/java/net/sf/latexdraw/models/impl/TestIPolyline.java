@@ -1,5 +1,6 @@
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.AffineTransform;
 import java.util.Arrays;
 import java.util.Collections;
 import net.sf.latexdraw.HelperTest;
@@ -40,4 +41,29 @@ public class TestIPolyline implements HelperTest {
 		assertTrue(shape.isTypeOf(IPolyline.class));
 		assertTrue(shape.isTypeOf(shape.getClass()));
 	}
+
+	@Test
+	public void testTransformScale() {
+		final IPolyline pol = ShapeFactory.INST.createPolyline(Arrays.asList(ShapeFactory.INST.createPoint(1d, 1d), ShapeFactory.INST.createPoint(2d, 4d)));
+		pol.transform(AffineTransform.getScaleInstance(2d, 3d));
+		assertEquals(ShapeFactory.INST.createPoint(2d, 3d), pol.getPtAt(0));
+		assertEquals(ShapeFactory.INST.createPoint(4d, 12d), pol.getPtAt(1));
+	}
+
+	@Test
+	public void testTransformShear() {
+		final IPolyline pol = ShapeFactory.INST.createPolyline(Arrays.asList(ShapeFactory.INST.createPoint(1d, 1d), ShapeFactory.INST.createPoint(2d, 4d)));
+		pol.transform(AffineTransform.getShearInstance(0.5, 0d));
+		assertEquals(ShapeFactory.INST.createPoint(1.5, 1d), pol.getPtAt(0));
+		assertEquals(ShapeFactory.INST.createPoint(4d, 4d), pol.getPtAt(1));
+	}
+
+	@Test
+	public void testTransformRotationAppliedOnceToPoints() {
+		final IPolyline pol = ShapeFactory.INST.createPolyline(Arrays.asList(ShapeFactory.INST.createPoint(1d, 0d), ShapeFactory.INST.createPoint(2d, 0d)));
+		pol.transform(AffineTransform.getRotateInstance(Math.PI / 2d));
+		assertEquals(ShapeFactory.INST.createPoint(0d, 1d), pol.getPtAt(0));
+		assertEquals(ShapeFactory.INST.createPoint(0d, 2d), pol.getPtAt(1));
+		assertEqualsDouble(0d, pol.getRotationAngle());
+	}
 }
@@ -1,5 +1,6 @@
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.AffineTransform;
 import net.sf.latexdraw.HelperTest;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.prop.ILineArcProp;
@@ -108,4 +109,37 @@ public class TestIRectangle implements HelperTest {
 		assertTrue(shape.isTypeOf(IRectangle.class));
 		assertTrue(shape.isTypeOf(shape.getClass()));
 	}
+
+	@Test
+	public void testTransformScale() {
+		final IRectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(10d, 20d), 30d, 40d);
+		rec.transform(AffineTransform.getScaleInstance(2d, 3d));
+		assertEquals(ShapeFactory.INST.createPoint(20d, 60d), rec.getTopLeftPoint());
+		assertEquals(ShapeFactory.INST.createPoint(80d, 180d), rec.getBottomRightPoint());
+		assertEqualsDouble(0d, rec.getRotationAngle());
+	}
+
+	@Test
+	public void testTransformShear() {
+		final IRectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(10d, 20d), 30d, 40d);
+		rec.transform(AffineTransform.getShearInstance(0d, 0.5));
+		// The rotation part of the shear goes into the rotation angle.
+		assertEqualsDouble(Math.atan2(0.5, 1d), rec.getRotationAngle());
+		assertEquals(ShapeFactory.INST.createPoint(25d, 52.5), rec.getGravityCentre());
+	}
+
+	@Test
+	public void testTransformScaleRotatedRectangle() {
+		final IRectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(10d, 20d), 30d, 40d);
+		rec.setRotationAngle(0.3);
+		final AffineTransform transform = AffineTransform.getRotateInstance(0.2);
+		transform.scale(2d, 2d);
+		rec.transform(transform);
+		assertEqualsDouble(0.5, rec.getRotationAngle());
+		assertEqualsDouble(60d, rec.getWidth());
+		assertEqualsDouble(80d, rec.getHeight());
+		final double[] gc = {25d, 40d};
+		transform.transform(gc, 0, gc, 0, 1);
+		assertEquals(ShapeFactory.INST.createPoint(gc[0], gc[1]), rec.getGravityCentre());
+	}
 }
@@ -1,6 +1,9 @@
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.AffineTransform;
 import java.util.List;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
 import net.sf.latexdraw.HelperTest;
 import net.sf.latexdraw.data.DoubleData;
 import net.sf.latexdraw.data.ShapeData;
@@ -8,8 +11,10 @@ import net.sf.latexdraw.models.MathUtils;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.BorderPos;
 import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.models.interfaces.shape.IModifiablePointsShape;
 import net.sf.latexdraw.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.models.interfaces.shape.IShape;
+import net.sf.latexdraw.models.interfaces.shape.ISingleShape;
 import net.sf.latexdraw.models.interfaces.shape.LineStyle;
 import net.sf.latexdraw.view.latex.DviPsColors;
 import org.junit.experimental.theories.Theories;
@@ -27,6 +32,36 @@ import static org.junit.Assume.assumeTrue;
 
 @RunWith(Theories.class)
 public class TestIShape implements HelperTest {
+	@Theory
+	public void testPropertyCreatedAfterSet(@ShapeData final ISingleShape shape) {
+		assumeTrue(shape.isThicknessable());
+		shape.setThickness(13d);
+		assertEqualsDouble(13d, shape.thicknessProperty().get());
+	}
+
+	@Theory
+	public void testSetterUpdatesCreatedProperty(@ShapeData final ISingleShape shape) {
+		assumeTrue(shape.isFillable());
+		final ObjectProperty<FillingStyle> prop = shape.fillingProperty();
+		shape.setFillingStyle(FillingStyle.GRAD);
+		assertEquals(FillingStyle.GRAD, prop.get());
+	}
+
+	@Theory
+	public void testCreatedPropertyUpdatesGetter(@ShapeData final ISingleShape shape) {
+		final DoubleProperty prop = shape.shadowSizeProperty();
+		prop.set(21d);
+		assertEqualsDouble(21d, shape.getShadowSize());
+	}
+
+	@Theory
+	public void testGetFillingStyleAfterPropertyCreated(@ShapeData final ISingleShape shape) {
+		assumeTrue(shape.isFillable());
+		shape.setFillingStyle(FillingStyle.PLAIN);
+		shape.fillingProperty();
+		assertEquals(FillingStyle.PLAIN, shape.getFillingStyle());
+	}
+
 	@Theory
 	public void testGetPoints(@ShapeData final IShape shape) {
 		assertNotNull(shape.getPoints());
@@ -158,6 +193,54 @@ public class TestIShape implements HelperTest {
 		assertEqualsDouble(shape.getRotationAngle(), shape2.getRotationAngle());
 	}
 
+	@Theory
+	public void testTransformTranslation(@ShapeData final IShape shape) {
+		final IShape dup = shape.duplicate();
+		shape.transform(AffineTransform.getTranslateInstance(11d, -23d));
+		dup.translate(11d, -23d);
+		assertEquals(dup.getPoints(), shape.getPoints());
+	}
+
+	@Theory
+	public void testTransformRotation(@ShapeData final IShape shape) {
+		assumeTrue(MathUtils.INST.isValidPt(shape.getGravityCentre()));
+		final IShape dup = shape.duplicate();
+		shape.transform(AffineTransform.getRotateInstance(1.2, 10d, 20d));
+		dup.addToRotationAngle(ShapeFactory.INST.createPoint(10d, 20d), 1.2);
+		assertEquals(dup.getGravityCentre(), shape.getGravityCentre());
+		if(shape instanceof IModifiablePointsShape) {
+			// These shapes apply the rotation to their points only.
+			assertEquals(dup.getPoints(), shape.getPoints());
+		}else {
+			assertEquals(dup.getRotationAngle(), shape.getRotationAngle(), 0.0001);
+		}
+	}
+
+	@Theory
+	public void testTransformMirrorHorizontal(@ShapeData final IShape shape) {
+		final IShape dup = shape.duplicate();
+		shape.transform(new AffineTransform(-1d, 0d, 0d, 1d, 2d * 30d, 0d));
+		dup.mirrorHorizontal(30d);
+		assertEquals(dup.getPoints(), shape.getPoints());
+		assertEquals(dup.getRotationAngle(), shape.getRotationAngle(), 0.0001);
+	}
+
+	@Theory
+	public void testTransformMirrorVertical(@ShapeData final IShape shape) {
+		final IShape dup = shape.duplicate();
+		shape.transform(new AffineTransform(1d, 0d, 0d, -1d, 0d, 2d * -15d));
+		dup.mirrorVertical(-15d);
+		assertEquals(dup.getPoints(), shape.getPoints());
+		assertEquals(dup.getRotationAngle(), shape.getRotationAngle(), 0.0001);
+	}
+
+	@Theory
+	public void testTransformNotInvertibleIgnored(@ShapeData final IShape shape) {
+		final IShape dup = shape.duplicate();
+		shape.transform(AffineTransform.getScaleInstance(0d, 3d));
+		assertEquals(dup.getPoints(), shape.getPoints());
+	}
+
 	@Theory
 	public void testGetGravityCentre(@ShapeData final IShape shape) {
 		final IPoint gc = shape.getGravityCentre();
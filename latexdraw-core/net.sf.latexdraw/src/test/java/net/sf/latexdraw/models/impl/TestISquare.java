@@ -1,10 +1,12 @@
 package net.sf.latexdraw.models.impl;
 
+import java.awt.geom.AffineTransform;
 import net.sf.latexdraw.HelperTest;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.prop.ILineArcProp;
 import net.sf.latexdraw.models.interfaces.shape.ICircle;
 import net.sf.latexdraw.models.interfaces.shape.IGrid;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
 import net.sf.latexdraw.models.interfaces.shape.IPositionShape;
 import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.models.interfaces.shape.ISquare;
@@ -69,4 +71,14 @@ public class TestISquare implements HelperTest {
 		assertTrue(shape.isTypeOf(ISquare.class));
 		assertTrue(shape.isTypeOf(shape.getClass()));
 	}
+
+	@Test
+	public void testTransformNonUniformScaleKeepsSquare() {
+		final ISquare sq = ShapeFactory.INST.createSquare(ShapeFactory.INST.createPoint(10d, 10d), 10d);
+		final IPoint gc = sq.getGravityCentre();
+		sq.transform(AffineTransform.getScaleInstance(2d, 8d));
+		assertEqualsDouble(40d, sq.getWidth());
+		assertEqualsDouble(40d, sq.getHeight());
+		assertEquals(ShapeFactory.INST.createPoint(gc.getX() * 2d, gc.getY() * 8d), sq.getGravityCentre());
+	}
 }
@@ -0,0 +1,255 @@
+package net.sf.latexdraw.models.impl;
+
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
+import javafx.beans.property.DoubleProperty;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IPoint;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestLPackedPoints {
+	LPackedPoints pts;
+
+	@Before
+	public void setUp() {
+		pts = new LPackedPoints(Arrays.asList(ShapeFactory.INST.createPoint(1d, 2d), ShapeFactory.INST.createPoint(3d, 4d)));
+	}
+
+	@Test
+	public void testSize() {
+		assertEquals(2, pts.size());
+	}
+
+	@Test
+	public void testGet() {
+		assertEquals(ShapeFactory.INST.createPoint(3d, 4d), pts.get(1));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGetKO() {
+		pts.get(2);
+	}
+
+	@Test
+	public void testSet() {
+		final IPoint old = pts.set(1, ShapeFactory.INST.createPoint(5d, 6d));
+		assertEquals(ShapeFactory.INST.createPoint(3d, 4d), old);
+		assertEquals(ShapeFactory.INST.createPoint(5d, 6d), pts.get(1));
+	}
+
+	@Test
+	public void testSetUpdatesProperty() {
+		final DoubleProperty x = pts.get(0).xProperty();
+		pts.set(0, ShapeFactory.INST.createPoint(7d, 8d));
+		assertEquals(7d, x.get(), 0.0001);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testRemoveUnsupported() {
+		pts.remove(0);
+	}
+
+	@Test
+	public void testEqualPointsHaveSameHashCode() {
+		final IPoint pt = ShapeFactory.INST.createPoint(1d + 1e-9, 2d);
+		assertEquals(pt, pts.get(0));
+		assertEquals(pt.hashCode(), pts.get(0).hashCode());
+	}
+
+	@Test
+	public void testAddGrows() {
+		for(int i = 0; i < 100; i++) {
+			pts.add(i, -i);
+		}
+		assertEquals(102, pts.size());
+		assertEquals(99d, pts.getX(101), 0.0001);
+		assertEquals(-99d, pts.getY(101), 0.0001);
+	}
+
+	@Test
+	public void testSetPointThroughView() {
+		pts.get(0).setPoint(10d, 20d);
+		assertEquals(10d, pts.getX(0), 0.0001);
+		assertEquals(20d, pts.getY(0), 0.0001);
+	}
+
+	@Test
+	public void testPropertyKeptOnceCreated() {
+		final DoubleProperty x = pts.get(1).xProperty();
+		assertSame(x, pts.get(1).xProperty());
+		assertSame(pts.get(1), pts.get(1));
+	}
+
+	@Test
+	public void testPropertyNotifiedOnSet() {
+		final DoubleProperty y = pts.get(1).yProperty();
+		final IPoint pt = pts.get(1);
+		pts.setY(1, 30d);
+		assertEquals(30d, y.get(), 0.0001);
+		assertEquals(30d, pt.getY(), 0.0001);
+	}
+
+	@Test
+	public void testPropertySetUpdatesCoords() {
+		pts.get(0).xProperty().set(42d);
+		assertEquals(42d, pts.getX(0), 0.0001);
+		assertEquals(42d, pts.get(0).getX(), 0.0001);
+	}
+
+	@Test
+	public void testPropertyCreatedAfterGrowth() {
+		pts.get(0).xProperty();
+		pts.add(5d, 6d);
+		pts.get(2).yProperty().set(7d);
+		assertEquals(7d, pts.getY(2), 0.0001);
+	}
+
+	@Test
+	public void testTransform() {
+		pts.transform(AffineTransform.getTranslateInstance(10d, -1d));
+		assertEquals(ShapeFactory.INST.createPoint(11d, 1d), pts.get(0));
+		assertEquals(ShapeFactory.INST.createPoint(13d, 3d), pts.get(1));
+	}
+
+	@Test
+	public void testTransformShear() {
+		pts.transform(AffineTransform.getShearInstance(0.5, 0d));
+		assertEquals(ShapeFactory.INST.createPoint(2d, 2d), pts.get(0));
+		assertEquals(ShapeFactory.INST.createPoint(5d, 4d), pts.get(1));
+	}
+
+	@Test
+	public void testScale() {
+		pts.scale(1d, 0d, 2d, 3d);
+		assertEquals(ShapeFactory.INST.createPoint(1d, 6d), pts.get(0));
+		assertEquals(ShapeFactory.INST.createPoint(5d, 12d), pts.get(1));
+	}
+
+	@Test
+	public void testScaleUpdatesProperties() {
+		final DoubleProperty x = pts.get(1).xProperty();
+		pts.scale(0d, 0d, 2d, 1d);
+		assertEquals(6d, x.get(), 0.0000001);
+	}
+
+	@Test
+	public void testTransformUpdatesProperties() {
+		final DoubleProperty y = pts.get(1).yProperty();
+		pts.transform(AffineTransform.getTranslateInstance(0d, 5d));
+		assertEquals(9d, y.get(), 0.0000001);
+	}
+
+	@Test
+	public void testTransformNotifiesOnce() {
+		final int[] nbChanges = {0};
+		final LPackedPoints list = new LPackedPoints(() -> nbChanges[0]++);
+		list.add(1d, 1d);
+		list.add(2d, 2d);
+		list.get(0).xProperty();
+		nbChanges[0] = 0;
+		list.transform(AffineTransform.getTranslateInstance(1d, 1d));
+		assertEquals(1, nbChanges[0]);
+	}
+
+	@Test
+	public void testCopyHasSameCoords() {
+		final LPackedPoints copy = new LPackedPoints(pts);
+		assertEquals(2, copy.size());
+		assertEquals(ShapeFactory.INST.createPoint(1d, 2d), copy.get(0));
+		assertEquals(ShapeFactory.INST.createPoint(3d, 4d), copy.get(1));
+	}
+
+	@Test
+	public void testCopyModifiedDoesNotChangeSource() {
+		final LPackedPoints copy = new LPackedPoints(pts);
+		copy.setX(0, 10d);
+		copy.get(1).yProperty().set(20d);
+		copy.transform(AffineTransform.getTranslateInstance(1d, 1d));
+		assertEquals(1d, pts.getX(0), 0.0001);
+		assertEquals(4d, pts.getY(1), 0.0001);
+		assertEquals(11d, copy.getX(0), 0.0001);
+		assertEquals(21d, copy.getY(1), 0.0001);
+	}
+
+	@Test
+	public void testSourceModifiedDoesNotChangeCopy() {
+		final LPackedPoints copy = new LPackedPoints(pts);
+		pts.setY(0, 10d);
+		pts.transform(AffineTransform.getTranslateInstance(1d, 1d));
+		pts.add(5d, 6d);
+		assertEquals(2, copy.size());
+		assertEquals(1d, copy.getX(0), 0.0001);
+		assertEquals(2d, copy.getY(0), 0.0001);
+		assertEquals(3d, copy.getX(1), 0.0001);
+	}
+
+	@Test
+	public void testCopyAddDoesNotChangeSource() {
+		final LPackedPoints copy = new LPackedPoints(pts);
+		copy.add(5d, 6d);
+		copy.setX(1, 0d);
+		assertEquals(2, pts.size());
+		assertEquals(3d, pts.getX(1), 0.0001);
+		assertEquals(3, copy.size());
+	}
+
+	@Test
+	public void testWrap() {
+		final double[] coords = {1d, 2d, 3d, 4d};
+		final LPackedPoints wrapped = LPackedPoints.wrap(coords);
+		assertEquals(2, wrapped.size());
+		assertEquals(3d, wrapped.getX(1), 0.0001);
+		assertEquals(4d, wrapped.getY(1), 0.0001);
+	}
+
+	@Test
+	public void testWrapSetDoesNotChangeArray() {
+		final double[] coords = {1d, 2d, 3d, 4d};
+		LPackedPoints.wrap(coords).setX(0, 10d);
+		assertEquals(1d, coords[0], 0.0001);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrapOddKO() {
+		LPackedPoints.wrap(new double[] {1d, 2d, 3d});
+	}
+
+	@Test
+	public void testCopySharesCoords() {
+		final LPackedPoints copy = new LPackedPoints(pts);
+		assertTrue(pts.isSharingCoords());
+		assertTrue(copy.isSharingCoords());
+	}
+
+	@Test
+	public void testSourceNotSharedOnceCopyDetached() {
+		final LPackedPoints copy = new LPackedPoints(pts);
+		copy.setX(0, 10d);
+		assertFalse(copy.isSharingCoords());
+		assertFalse(pts.isSharingCoords());
+	}
+
+	@Test
+	public void testSourceModifiedInPlaceOnceCopyDetached() {
+		final LPackedPoints copy = new LPackedPoints(pts);
+		copy.setX(0, 10d);
+		pts.setX(0, 20d);
+		assertEquals(10d, copy.getX(0), 0.0001);
+		assertEquals(20d, pts.getX(0), 0.0001);
+	}
+
+	@Test
+	public void testWrappedCoordsStaySharedWithCaller() {
+		final double[] coords = {1d, 2d};
+		final LPackedPoints list = LPackedPoints.wrap(coords);
+		assertTrue(list.isSharingCoords());
+		list.setX(0, 10d);
+		assertEquals(1d, coords[0], 0.0001);
+	}
+}
@@ -0,0 +1,66 @@
+package net.sf.latexdraw.models.impl;
+
+import net.sf.latexdraw.parsers.ps.PSFunctionParser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TestLPlotSamples {
+	final PSFunctionParser parser = new PSFunctionParser("x 2 mul");
+
+	@Test
+	public void testUniformXs() {
+		assertArrayEquals(new double[] {0d, 0.5, 1d}, LPlotSamples.uniformXs(0d, 1d, 3), 0.0000001);
+	}
+
+	@Test
+	public void testUniformXsOnePoint() {
+		assertArrayEquals(new double[] {2d}, LPlotSamples.uniformXs(2d, 5d, 1), 0d);
+	}
+
+	@Test
+	public void testUniformXsNoPoint() {
+		assertEquals(0, LPlotSamples.uniformXs(2d, 5d, 0).length);
+		assertEquals(0, LPlotSamples.uniformXs(2d, 5d, -1).length);
+	}
+
+	@Test
+	public void testSampleOnePoint() {
+		final LPlotSamples samples = LPlotSamples.sample(parser, 2d, 5d, 1, false);
+		assertArrayEquals(new double[] {2d}, samples.xs, 0d);
+		assertArrayEquals(new double[] {4d}, samples.ys, 0d);
+		assertEquals(4d, samples.minY, 0d);
+		assertEquals(4d, samples.maxY, 0d);
+	}
+
+	@Test
+	public void testSampleNoPoint() {
+		final LPlotSamples samples = LPlotSamples.sample(parser, 2d, 5d, 0, false);
+		assertEquals(0, samples.xs.length);
+		assertEquals(0, samples.ys.length);
+		assertEquals(0d, samples.minY, 0d);
+		assertEquals(0d, samples.maxY, 0d);
+	}
+
+	@Test
+	public void testSampleAdaptiveOnePoint() {
+		final LPlotSamples samples = LPlotSamples.sample(parser, 2d, 5d, 1, true);
+		assertArrayEquals(new double[] {2d}, samples.xs, 0d);
+		assertArrayEquals(new double[] {4d}, samples.ys, 0d);
+	}
+
+	@Test
+	public void testSampleAdaptiveNoPoint() {
+		final LPlotSamples samples = LPlotSamples.sample(parser, 2d, 5d, 0, true);
+		assertEquals(0, samples.xs.length);
+		assertEquals(0d, samples.minY, 0d);
+	}
+
+	@Test
+	public void testSampleMinMaxY() {
+		final LPlotSamples samples = LPlotSamples.sample(new PSFunctionParser("x x mul"), -2d, 1d, 4, false);
+		assertEquals(0d, samples.minY, 0.0000001);
+		assertEquals(4d, samples.maxY, 0.0000001);
+	}
+}
@@ -0,0 +1,85 @@
+package net.sf.latexdraw.models.impl;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javafx.beans.property.Property;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.models.interfaces.shape.ISingleShape;
+import net.sf.latexdraw.view.latex.DviPsColors;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestLShapeLazyProperties {
+	List<ISingleShape> shapes;
+
+	@Before
+	public void setUp() {
+		shapes = Arrays.asList(ShapeFactory.INST.createRectangle(), ShapeFactory.INST.createCircle(),
+			ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint()), ShapeFactory.INST.createText(),
+			ShapeFactory.INST.createPolyline(Arrays.asList(ShapeFactory.INST.createPoint(), ShapeFactory.INST.createPoint(1d, 2d))),
+			ShapeFactory.INST.createPlot(ShapeFactory.INST.createPoint(), 0d, 10d, "x", false));
+	}
+
+	/**
+	 * @return The names of the JavaFX properties of LShape that the given shape has created.
+	 */
+	private static List<String> getCreatedProperties(final ISingleShape shape) {
+		return Arrays.stream(LShape.class.getDeclaredFields()).filter(field -> Property.class.isAssignableFrom(field.getType())).
+			filter(field -> {
+				try {
+					field.setAccessible(true);
+					return field.get(shape) != null;
+				}catch(final IllegalAccessException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}).map(Field::getName).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testLShapeHasProperties() {
+		assertTrue(Arrays.stream(LShape.class.getDeclaredFields()).filter(field -> Property.class.isAssignableFrom(field.getType())).count() > 20);
+	}
+
+	@Test
+	public void testNoPropertyCreatedByConstructors() {
+		shapes.forEach(sh -> assertEquals(sh.getClass().getSimpleName(), Collections.emptyList(), getCreatedProperties(sh)));
+	}
+
+	@Test
+	public void testNoPropertyCreatedBySettersAndGetters() {
+		shapes.forEach(sh -> {
+			sh.setThickness(12d);
+			sh.setLineColour(DviPsColors.RED);
+			sh.setFillingStyle(FillingStyle.PLAIN);
+			sh.setRotationAngle(1d);
+			sh.getThickness();
+			sh.getLineColour();
+			sh.getFillingStyle();
+			sh.getRotationAngle();
+			assertEquals(sh.getClass().getSimpleName(), Collections.emptyList(), getCreatedProperties(sh));
+		});
+	}
+
+	@Test
+	public void testOnlyRequestedPropertyCreated() {
+		shapes.forEach(sh -> {
+			sh.thicknessProperty();
+			assertEquals(sh.getClass().getSimpleName(), Arrays.asList("thickness"), getCreatedProperties(sh));
+		});
+	}
+
+	@Test
+	public void testNoPropertyCreatedByDuplication() {
+		shapes.forEach(sh -> {
+			sh.thicknessProperty();
+			assertEquals(sh.getClass().getSimpleName(), Collections.emptyList(), getCreatedProperties(sh.<ISingleShape>duplicate()));
+		});
+	}
+}
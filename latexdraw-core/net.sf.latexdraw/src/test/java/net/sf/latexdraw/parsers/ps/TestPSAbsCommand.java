@@ -1,42 +0,0 @@
-package net.sf.latexdraw.parsers.ps;
-
-import org.junit.Test;
-
-import static org.junit.Assert.assertEquals;
-
-public class TestPSAbsCommand extends TestPSCommand<PSAbsCommand> {
-	@Override
-	protected PSAbsCommand createCmd() {
-		return new PSAbsCommand();
-	}
-
-	@Override
-	@Test
-	public void testExecuteVal0() throws InvalidFormatPSFunctionException {
-		dequeue.push(0d);
-		cmd.execute(dequeue, 0.0001);
-		assertEquals(0d, dequeue.peek(), 0.0001);
-	}
-
-	@Override
-	@Test
-	public void testExecuteValNeg() throws InvalidFormatPSFunctionException {
-		dequeue.push(-10d);
-		cmd.execute(dequeue, 0.0001);
-		assertEquals(10d, dequeue.peek(), 0.0001);
-	}
-
-	@Override
-	@Test
-	public void testExecuteValPos() throws InvalidFormatPSFunctionException {
-		dequeue.push(10d);
-		cmd.execute(dequeue, 0.0001);
-		assertEquals(10d, dequeue.peek(), 0.0001);
-	}
-
-	@Override
-	@Test(expected = InvalidFormatPSFunctionException.class)
-	public void testExecuteInvalidDequeueSize() throws InvalidFormatPSFunctionException {
-		cmd.execute(dequeue, 0d);
-	}
-}
@@ -1,42 +0,0 @@
-package net.sf.latexdraw.parsers.ps;
-
-import org.junit.Test;
-
-import static org.junit.Assert.assertEquals;
-
-public class TestPSCeilingCommand extends TestPSCommand<PSCeilingCommand> {
-	@Override
-	protected PSCeilingCommand createCmd() {
-		return new PSCeilingCommand();
-	}
-
-	@Override
-	@Test
-	public void testExecuteVal0() throws InvalidFormatPSFunctionException {
-		dequeue.push(0d);
-		cmd.execute(dequeue, 0d);
-		assertEquals(0.0, dequeue.peek(), 0.00001);
-	}
-
-	@Override
-	@Test
-	public void testExecuteValNeg() throws InvalidFormatPSFunctionException {
-		dequeue.push(-11.2);
-		cmd.execute(dequeue, 0d);
-		assertEquals(Math.ceil(-11.2), dequeue.peek(), 0.00001);
-	}
-
-	@Override
-	@Test
-	public void testExecuteValPos() throws InvalidFormatPSFunctionException {
-		dequeue.push(11.2);
-		cmd.execute(dequeue, 0d);
-		assertEquals(Math.ceil(11.2), dequeue.peek(), 0.00001);
-	}
-
-	@Override
-	@Test(expected = InvalidFormatPSFunctionException.class)
-	public void testExecuteInvalidDequeueSize() throws InvalidFormatPSFunctionException {
-		cmd.execute(dequeue, 0d);
-	}
-}
@@ -2,7 +2,10 @@ package net.sf.latexdraw.parsers.ps;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class TestPSFunctionParser {
 	@SuppressWarnings("unused")
@@ -166,4 +169,87 @@ public class TestPSFunctionParser {
 		PSFunctionParser parser = new PSFunctionParser("x add");
 		parser.getY(3);
 	}
+
+	@Test
+	public void testGetYSqrt() throws InvalidFormatPSFunctionException {
+		PSFunctionParser parser = new PSFunctionParser("x sqrt");
+		assertEquals(3.0, parser.getY(9), 0.0);
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testGetYSqrtNeg() throws InvalidFormatPSFunctionException {
+		new PSFunctionParser("x sqrt").getY(-1);
+	}
+
+	@Test
+	public void testGetYRoll() throws InvalidFormatPSFunctionException {
+		PSFunctionParser parser = new PSFunctionParser("x 2 3 3 1 roll");
+		assertEquals(2.0, parser.getY(1), 0.0);
+		parser = new PSFunctionParser("x 2 3 3 -1 roll");
+		assertEquals(1.0, parser.getY(1), 0.0);
+	}
+
+	@Test(expected = InvalidFormatPSFunctionException.class)
+	public void testGetYRollTooManyValues() throws InvalidFormatPSFunctionException {
+		new PSFunctionParser("x 2 x roll").getY(3);
+	}
+
+	@Test
+	public void testGetYStackOperators() throws InvalidFormatPSFunctionException {
+		assertEquals(0.5, new PSFunctionParser("x 2 exch div").getY(4), 0.0);
+		assertEquals(16.0, new PSFunctionParser("x dup mul").getY(4), 0.0);
+		assertEquals(1.0, new PSFunctionParser("x 3 pop 1 count pop").getY(4), 0.0);
+		assertEquals(5.0, new PSFunctionParser("x 3 clear 5").getY(4), 0.0);
+		assertEquals(8.0, new PSFunctionParser("2 x exp").getY(3), 0.0);
+	}
+
+	@Test
+	public void testGetYOperators() throws InvalidFormatPSFunctionException {
+		assertEquals(3.0, new PSFunctionParser("x abs").getY(-3), 0.0);
+		assertEquals(-3.0, new PSFunctionParser("x neg").getY(3), 0.0);
+		assertEquals(2.0, new PSFunctionParser("x ceiling").getY(1.2), 0.0);
+		assertEquals(1.0, new PSFunctionParser("x floor").getY(1.8), 0.0);
+		assertEquals(2.0, new PSFunctionParser("x 3 idiv").getY(7), 0.0);
+		assertEquals(1.0, new PSFunctionParser("x 3 mod").getY(7), 0.0);
+		assertEquals(2.0, new PSFunctionParser("x log").getY(100), 0.0000001);
+		assertEquals(Math.cos(Math.toRadians(30.0)), new PSFunctionParser("x cos").getY(30), 0.0);
+		assertEquals(8.0, new PSFunctionParser("x 3 exp").getY(2), 0.0);
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testGetYDivByZero() throws InvalidFormatPSFunctionException {
+		new PSFunctionParser("1 x div").getY(0);
+	}
+
+	@Test
+	public void testGetYWithStack() throws InvalidFormatPSFunctionException {
+		final PSFunctionParser parser = new PSFunctionParser("x dup mul 1 add");
+		final double[] stack = parser.createStack();
+		assertEquals(5.0, parser.getY(2, stack), 0.0);
+		assertEquals(10.0, parser.getY(3, stack), 0.0);
+	}
+
+	@Test
+	public void testEvaluate() throws InvalidFormatPSFunctionException {
+		final double[] ys = new double[3];
+		new PSFunctionParser("x 2 mul 1 sub").evaluate(new double[] {0d, 1d, 2d}, ys);
+		assertArrayEquals(new double[] {-1d, 1d, 3d}, ys, 0.0);
+	}
+
+	@Test
+	public void testIsValidStack() throws InvalidFormatPSFunctionException {
+		assertTrue(new PSFunctionParser("x 2 add").isValidStack());
+		assertFalse(new PSFunctionParser("x add").isValidStack());
+		assertFalse(new PSFunctionParser("x pop").isValidStack());
+		assertFalse(new PSFunctionParser("x clear").isValidStack());
+		assertFalse(new PSFunctionParser("x 3 1 roll").isValidStack());
+	}
+
+	@Test
+	public void testIsValidPostFixEquation() {
+		assertTrue(PSFunctionParser.isValidPostFixEquation("x sin 2 mul", -5d, 5d, 10d));
+		assertFalse(PSFunctionParser.isValidPostFixEquation("x mul", -5d, 5d, 10d));
+		assertFalse(PSFunctionParser.isValidPostFixEquation("1 x div", -5d, 5d, 11d));
+		assertFalse(PSFunctionParser.isValidPostFixEquation("foo", -5d, 5d, 11d));
+	}
 }
@@ -0,0 +1,101 @@
+package net.sf.latexdraw.parsers.pst;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TestPSTDataReader {
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path createFile(final String content) throws IOException {
+		final Path path = folder.newFile().toPath();
+		Files.write(path, Collections.singletonList(content), StandardCharsets.US_ASCII);
+		return path;
+	}
+
+	@Test
+	public void testReadTextSpaces() {
+		assertArrayEquals(new double[] {1d, 2d, -3.5, 4d}, PSTDataReader.INSTANCE.readText("1 2\n-3.5\t4"), 0.000001);
+	}
+
+	@Test
+	public void testReadTextSeparators() {
+		assertArrayEquals(new double[] {1d, 2d, 3d, 4d, 5d, 6d}, PSTDataReader.INSTANCE.readText("{1,2};[3, 4] (5 ,6)"), 0.000001);
+	}
+
+	@Test
+	public void testReadTextExponent() {
+		assertArrayEquals(new double[] {1.5e3, -2e-2, .5, 1E+2}, PSTDataReader.INSTANCE.readText("1.5e3 -2e-2 .5 1E+2"), 0.000001);
+	}
+
+	@Test
+	public void testReadTextComments() {
+		assertArrayEquals(new double[] {1d, 2d}, PSTDataReader.INSTANCE.readText("% 10 20\n1 2 % 30 40"), 0.000001);
+	}
+
+	@Test
+	public void testReadTextOddNumber() {
+		assertArrayEquals(new double[] {1d, 2d}, PSTDataReader.INSTANCE.readText("1 2 3"), 0.000001);
+	}
+
+	@Test
+	public void testReadTextNotNumbers() {
+		assertArrayEquals(new double[] {1d, 2d}, PSTDataReader.INSTANCE.readText("foo 1 bar 2"), 0.000001);
+	}
+
+	@Test
+	public void testReadTextEmpty() {
+		assertEquals(0, PSTDataReader.INSTANCE.readText("").length);
+	}
+
+	@Test
+	public void testReadFile() throws IOException {
+		assertArrayEquals(new double[] {0d, 1d, 2.25, -3d}, PSTDataReader.INSTANCE.readFile(createFile("0 1\n2.25 -3")), 0.000001);
+	}
+
+	@Test
+	public void testReadFileSmallWindows() throws IOException {
+		final String content = IntStream.range(0, 2000).mapToObj(i -> i + ".125").collect(Collectors.joining(" "));
+		final double[] coords = PSTDataReader.INSTANCE.readFile(createFile(content), 100);
+		assertEquals(2000, coords.length);
+		IntStream.range(0, 2000).forEach(i -> assertEquals(i + 0.125, coords[i], 0.000001));
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadFileUnknownFile() throws IOException {
+		PSTDataReader.INSTANCE.readFile(folder.getRoot().toPath().resolve("foo.dat"));
+	}
+
+	@Test
+	public void testDecimateNotRequired() {
+		final double[] coords = {0d, 0d, 1d, 1d, 2d, 2d};
+		assertSame(coords, PSTDataReader.INSTANCE.decimate(coords, 3));
+		assertSame(coords, PSTDataReader.INSTANCE.decimate(coords, 0));
+	}
+
+	@Test
+	public void testDecimate() {
+		final double[] coords = new double[2000];
+		IntStream.range(0, 1000).forEach(i -> {
+			coords[i * 2] = i;
+			coords[i * 2 + 1] = i == 500 ? 100d : 0d;
+		});
+		final double[] res = PSTDataReader.INSTANCE.decimate(coords, 50);
+		assertEquals(100, res.length);
+		assertEquals(0d, res[0], 0.000001);
+		assertEquals(999d, res[98], 0.000001);
+		// The peak is kept.
+		assertEquals(1L, IntStream.range(0, 50).filter(i -> res[i * 2 + 1] == 100d).count());
+	}
+}
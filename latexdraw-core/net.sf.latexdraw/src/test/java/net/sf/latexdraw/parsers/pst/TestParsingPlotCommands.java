@@ -1,17 +1,39 @@
 package net.sf.latexdraw.parsers.pst;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.models.interfaces.shape.IDot;
 import net.sf.latexdraw.models.interfaces.shape.IPlot;
+import net.sf.latexdraw.models.interfaces.shape.IPolygon;
+import net.sf.latexdraw.models.interfaces.shape.IPolyline;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.models.interfaces.shape.PlotStyle;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(Theories.class)
 public class TestParsingPlotCommands extends TestPSTParser {
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	private String createDataFile(final String content) throws IOException {
+		final File file = folder.newFile("data.dat");
+		Files.write(file.toPath(), Collections.singletonList(content), StandardCharsets.US_ASCII);
+		return file.getAbsolutePath();
+	}
+
 	@Test
 	public void testPsplot() {
 		parser("\\psplot{0}{720}{x sin}");
@@ -65,4 +87,99 @@ public class TestParsingPlotCommands extends TestPSTParser {
 		final IPlot plot = getShapeAt(0);
 		assertEquals(polar, plot.isPolar());
 	}
+
+	@Test
+	public void testListplot() {
+		parser("\\listplot{0 0 1 2 3.5 -1}");
+		final IPolyline line = getShapeAt(0);
+		assertEquals(3, line.getNbPoints());
+		assertEquals(IShape.PPC, line.getPtAt(1).getX(), 0.00001);
+		assertEquals(-2d * IShape.PPC, line.getPtAt(1).getY(), 0.00001);
+		assertEquals(3.5 * IShape.PPC, line.getPtAt(2).getX(), 0.00001);
+		assertEquals(IShape.PPC, line.getPtAt(2).getY(), 0.00001);
+	}
+
+	@Test
+	public void testListplotUnits() {
+		parser("\\listplot[xunit=2,yunit=0.5]{1,1 2,2}");
+		final IPolyline line = getShapeAt(0);
+		assertEquals(2d * IShape.PPC, line.getPtAt(0).getX(), 0.00001);
+		assertEquals(-0.5 * IShape.PPC, line.getPtAt(0).getY(), 0.00001);
+	}
+
+	@Test
+	public void testListplotDots() {
+		parser("\\listplot[plotstyle=dots]{0 0 1 2 3 4}");
+		assertEquals(3, listener.getShapes().size());
+		assertTrue(listener.getShapes().stream().allMatch(sh -> sh instanceof IDot));
+	}
+
+	@Test
+	public void testListplotPolygon() {
+		parser("\\listplot[plotstyle=polygon]{0 0 1 2 3 4}");
+		final IPolygon pol = getShapeAt(0);
+		assertEquals(3, pol.getNbPoints());
+	}
+
+	@Test
+	public void testListplotStar() {
+		parser("\\listplot*{0 0 1 2 3 4}");
+		assertEquals(FillingStyle.PLAIN, listener.getShapes().get(0).getFillingStyle());
+	}
+
+	@Test
+	public void testDataNotDecimatedByDefault() {
+		assertEquals(0, listener.getDataMaxNbPoints());
+		parser("\\listplot{" + IntStream.range(0, 200).mapToObj(i -> i + " " + i).collect(Collectors.joining(" ")) + "}");
+		final IPolyline line = getShapeAt(0);
+		assertEquals(100, line.getNbPoints());
+	}
+
+	@Test
+	public void testListplotDecimated() {
+		listener.setDataMaxNbPoints(10);
+		parser("\\listplot{" + IntStream.range(0, 100).mapToObj(i -> i + " " + i % 7).collect(Collectors.joining(" ")) + "}");
+		final IPolyline line = getShapeAt(0);
+		assertEquals(10, line.getNbPoints());
+	}
+
+	@Test
+	public void testFileplot() throws IOException {
+		parser("\\fileplot{" + createDataFile("% x y\n0 0\n1 2\n2 4") + "}");
+		final IPolyline line = getShapeAt(0);
+		assertEquals(3, line.getNbPoints());
+		assertEquals(4d * -IShape.PPC, line.getPtAt(2).getY(), 0.00001);
+	}
+
+	@Test
+	public void testFileplotRelativeToDocument() throws IOException {
+		final File data = new File(createDataFile("0 0 1 2"));
+		listener.setDocumentPath(new File(data.getParentFile(), "doc.tex").toPath());
+		parser("\\fileplot{" + data.getName() + "}");
+		final IPolyline line = getShapeAt(0);
+		assertEquals(2, line.getNbPoints());
+	}
+
+	@Test
+	public void testReaddataRelativeToDocument() throws IOException {
+		final File data = new File(createDataFile("0 0 1 2 2 4"));
+		listener.setDocumentPath(new File(data.getParentFile(), "doc.tex").toPath());
+		parser("\\readdata{\\data}{" + data.getName() + "}\\dataplot{\\data}");
+		final IPolyline line = getShapeAt(0);
+		assertEquals(3, line.getNbPoints());
+	}
+
+	@Test
+	public void testReaddataDataplot() throws IOException {
+		parser("\\readdata{\\data}{" + createDataFile("{0,0}{1,2}{2,4}{3,6}") + "}\\dataplot{\\data}");
+		final IPolyline line = getShapeAt(0);
+		assertEquals(4, line.getNbPoints());
+		assertEquals(3d * IShape.PPC, line.getPtAt(3).getX(), 0.00001);
+	}
+
+	@Test
+	public void testReaddataListplot() throws IOException {
+		parser("\\readdata{\\data}{" + createDataFile("0 0 1 2") + "}\\listplot[plotstyle=dots]{\\data}");
+		assertEquals(2, listener.getShapes().size());
+	}
 }
@@ -0,0 +1,133 @@
+package net.sf.latexdraw.view;
+
+import net.sf.latexdraw.models.interfaces.shape.DotStyle;
+import net.sf.latexdraw.view.latex.DviPsColors;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestDotGlyph {
+	@Test(expected = NullPointerException.class)
+	public void testGetGlyphNullStyle() {
+		DotGlyph.getGlyph(null, 10d);
+	}
+
+	@Test
+	public void testGetGlyphCached() {
+		assertSame(DotGlyph.getGlyph(DotStyle.ASTERISK, 12d), DotGlyph.getGlyph(DotStyle.ASTERISK, 12d));
+	}
+
+	@Test
+	public void testGetGlyphOtherDiametre() {
+		assertNotSame(DotGlyph.getGlyph(DotStyle.ASTERISK, 12d), DotGlyph.getGlyph(DotStyle.ASTERISK, 13d));
+	}
+
+	@Test
+	public void testGetGlyphOtherStyle() {
+		assertNotSame(DotGlyph.getGlyph(DotStyle.ASTERISK, 12d), DotGlyph.getGlyph(DotStyle.BAR, 12d));
+	}
+
+	@Test
+	public void testGetGlyphKey() {
+		final DotGlyph glyph = DotGlyph.getGlyph(DotStyle.FSQUARE, 7d);
+		assertEquals(DotStyle.FSQUARE, glyph.getStyle());
+		assertEquals(7d, glyph.getDiametre(), 0.0001);
+	}
+
+	@Test
+	public void testCircleStyles() {
+		for(final DotStyle style : DotStyle.values()) {
+			final boolean circle = style == DotStyle.DOT || style == DotStyle.O || style == DotStyle.OPLUS || style == DotStyle.OTIMES;
+			assertEquals(circle, DotGlyph.getGlyph(style, 10d).hasCircle());
+		}
+	}
+
+	@Test
+	public void testPathStyles() {
+		for(final DotStyle style : DotStyle.values()) {
+			assertEquals(style != DotStyle.DOT && style != DotStyle.O, DotGlyph.getGlyph(style, 10d).hasPath());
+		}
+	}
+
+	@Test
+	public void testNoCircleRadiusNaN() {
+		assertTrue(Double.isNaN(DotGlyph.getGlyph(DotStyle.PLUS, 10d).getCircleRadius()));
+	}
+
+	@Test
+	public void testCircleRadiusO() {
+		assertEquals((10d - 10d * (0.1 / 3.6) * 2d) / 2d, DotGlyph.getGlyph(DotStyle.O, 10d).getCircleRadius(), 0.0001);
+	}
+
+	@Test
+	public void testCircleRadiusDot() {
+		assertEquals((10d - 10d * (0.1 / 2.6) * 2d) / 2d, DotGlyph.getGlyph(DotStyle.DOT, 10d).getCircleRadius(), 0.0001);
+	}
+
+	@Test
+	public void testSegmentsStartWithMove() {
+		for(final DotStyle style : DotStyle.values()) {
+			final DotGlyph glyph = DotGlyph.getGlyph(style, 10d);
+			if(glyph.hasPath()) {
+				assertEquals(DotGlyph.Segment.MOVE, glyph.getSegment(0));
+			}
+		}
+	}
+
+	@Test
+	public void testSegmentsRelativeToCentre() {
+		final DotGlyph glyph = DotGlyph.getGlyph(DotStyle.X, 10d);
+		assertEquals(-glyph.getSegmentX(0), glyph.getSegmentX(1), 0.0001);
+		assertEquals(-glyph.getSegmentY(0), glyph.getSegmentY(1), 0.0001);
+	}
+
+	@Test
+	public void testSquareClosed() {
+		final DotGlyph glyph = DotGlyph.getGlyph(DotStyle.SQUARE, 10d);
+		assertEquals(5, glyph.getNbSegments());
+		assertEquals(DotGlyph.Segment.CLOSE, glyph.getSegment(4));
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testGetSegmentKO() {
+		final DotGlyph glyph = DotGlyph.getGlyph(DotStyle.BAR, 10d);
+		glyph.getSegment(glyph.getNbSegments());
+	}
+
+	@Test
+	public void testFills() {
+		assertEquals(DotGlyph.Fill.LINE_COLOUR, DotGlyph.getGlyph(DotStyle.DOT, 10d).getCircleFill());
+		assertEquals(DotGlyph.Fill.FILLING_COLOUR, DotGlyph.getGlyph(DotStyle.O, 10d).getCircleFill());
+		assertEquals(DotGlyph.Fill.NONE, DotGlyph.getGlyph(DotStyle.OPLUS, 10d).getCircleFill());
+		assertEquals(DotGlyph.Fill.FILLING_COLOUR, DotGlyph.getGlyph(DotStyle.TRIANGLE, 10d).getPathFill());
+		assertEquals(DotGlyph.Fill.LINE_COLOUR, DotGlyph.getGlyph(DotStyle.FTRIANGLE, 10d).getPathFill());
+		assertEquals(DotGlyph.Fill.NONE, DotGlyph.getGlyph(DotStyle.ASTERISK, 10d).getPathFill());
+	}
+
+	@Test
+	public void testFillGetColour() {
+		assertSame(DviPsColors.RED, DotGlyph.Fill.LINE_COLOUR.getColour(DviPsColors.RED, DviPsColors.BLUE));
+		assertSame(DviPsColors.BLUE, DotGlyph.Fill.FILLING_COLOUR.getColour(DviPsColors.RED, DviPsColors.BLUE));
+		assertNull(DotGlyph.Fill.NONE.getColour(DviPsColors.RED, DviPsColors.BLUE));
+	}
+
+	@Test
+	public void testLineCaps() {
+		assertEquals(DotGlyph.LineCap.BUTT, DotGlyph.getGlyph(DotStyle.SQUARE, 10d).getPathLineCap());
+		assertEquals(DotGlyph.LineCap.BUTT, DotGlyph.getGlyph(DotStyle.OTIMES, 10d).getPathLineCap());
+		assertEquals(DotGlyph.LineCap.SQUARE, DotGlyph.getGlyph(DotStyle.X, 10d).getPathLineCap());
+		assertFalse(DotGlyph.getGlyph(DotStyle.X, 10d).hasCircle());
+	}
+
+	@Test
+	public void testStrokeWidths() {
+		assertEquals(10d / 8d, DotGlyph.getGlyph(DotStyle.BAR, 10d).getPathStrokeWidth(), 0.0001);
+		assertEquals(1d, DotGlyph.getGlyph(DotStyle.X, 10d).getPathStrokeWidth(), 0.0001);
+		assertEquals(10d / 16d, DotGlyph.getGlyph(DotStyle.O, 10d).getCircleStrokeWidth(), 0.0001);
+	}
+}
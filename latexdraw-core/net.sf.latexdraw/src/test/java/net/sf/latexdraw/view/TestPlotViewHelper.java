@@ -0,0 +1,48 @@
+package net.sf.latexdraw.view;
+
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IPlot;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+import net.sf.latexdraw.models.interfaces.shape.PlotStyle;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestPlotViewHelper {
+	IPlot plot;
+
+	@Before
+	public void setUp() {
+		plot = ShapeFactory.INST.createPlot(ShapeFactory.INST.createPoint(), 0d, 360d, "x sin", false);
+		plot.setNbPlottedPoints(50);
+		plot.setAdaptiveSampling(true);
+	}
+
+	@Test
+	public void testAdaptiveFullRangeUsesSamples() {
+		final double[] coords = PlotViewHelper.INSTANCE.fillCoordinates(plot, 0d, 0d, 0d, 360d, plot.getPlottingStep());
+		assertEquals(plot.getPlotSamplesX().length * 2, coords.length);
+	}
+
+	@Test
+	public void testAdaptiveECurveRangeTrimmed() {
+		plot.setPlotStyle(PlotStyle.ECURVE);
+		final double step = plot.getPlottingStep();
+		final double[] coords = PlotViewHelper.INSTANCE.fillCoordinates(plot, 0d, 0d, step, 360d - step, step);
+		assertEquals(step * IShape.PPC, coords[0], 0.0001);
+		assertEquals((360d - step) * IShape.PPC, coords[coords.length - 2], 0.0001);
+		for(int i = 2; i < coords.length; i += 2) {
+			assertTrue(coords[i] > coords[i - 2]);
+		}
+	}
+
+	@Test
+	public void testAdaptiveRangeBoundsOnCurve() {
+		final double step = plot.getPlottingStep();
+		final double[] coords = PlotViewHelper.INSTANCE.fillCoordinates(plot, 0d, 0d, step, 360d - step, step);
+		assertEquals(-plot.getY(step) * IShape.PPC, coords[1], 0.0001);
+		assertEquals(-plot.getY(360d - step) * IShape.PPC, coords[coords.length - 1], 0.0001);
+	}
+}
@@ -0,0 +1,168 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IRectangle;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestCanvasCulling {
+	Canvas canvas;
+	IRectangle visibleRec;
+	IRectangle farRec;
+
+	@BeforeClass
+	public static void beforeClass() throws TimeoutException {
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Before
+	public void setUp() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			canvas = new Canvas();
+			final ScrollPane scrollPane = new ScrollPane(canvas);
+			new Scene(scrollPane, 400d, 300d);
+			scrollPane.applyCss();
+			scrollPane.layout();
+			// The scroll pane shows the top-left part of the canvas.
+			visibleRec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(-Canvas.ORIGIN.getX() + 20d,
+				-Canvas.ORIGIN.getY() + 20d), 50d, 50d);
+			farRec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(3000d, 3000d), 50d, 50d);
+			canvas.getDrawing().addShape(visibleRec);
+			canvas.getDrawing().addShape(farRec);
+			canvas.updateViewportCulling();
+		});
+	}
+
+	private List<Object> getAttachedShapes() {
+		return canvas.getViews().getChildren().stream().map(view -> ((ViewShape<?>) view).getModel()).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testViewOutOfViewportDetached() {
+		assertNull(canvas.getViewFromShape(farRec).get().getParent());
+		assertSame(canvas.getViews(), canvas.getViewFromShape(visibleRec).get().getParent());
+	}
+
+	@Test
+	public void testDetachedViewStillBound() throws TimeoutException {
+		FxToolkit.setupFixture(() -> farRec.translate(10d, 0d));
+		assertEquals(3010d, canvas.getViewFromShape(farRec).get().getBoundsInParent().getMinX(), 1d);
+	}
+
+	@Test
+	public void testDrawingBoundsIncludeDetachedViews() {
+		assertTrue(canvas.getTopRightDrawingPoint().getX() >= 3050d);
+	}
+
+	@Test
+	public void testViewAttachedWhenMovedIntoViewport() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			farRec.setPosition(-Canvas.ORIGIN.getX() + 100d, -Canvas.ORIGIN.getY() + 20d);
+			canvas.updateViewportCulling();
+		});
+		assertNotNull(canvas.getViewFromShape(farRec).get().getParent());
+	}
+
+	@Test
+	public void testViewAttachedWhenMovedIntoViewportWithoutFullUpdate() throws TimeoutException {
+		FxToolkit.setupFixture(() -> farRec.setPosition(-Canvas.ORIGIN.getX() + 100d, -Canvas.ORIGIN.getY() + 20d));
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(canvas.getDrawing().getShapes(), getAttachedShapes());
+	}
+
+	@Test
+	public void testViewCulledWhenMovedOutOfViewport() throws TimeoutException {
+		FxToolkit.setupFixture(() -> visibleRec.setPosition(4000d, 4000d));
+		WaitForAsyncUtils.waitForFxEvents();
+		assertNull(canvas.getViewFromShape(visibleRec).get().getParent());
+	}
+
+	@Test
+	public void testSelectedViewAttachedWithoutFullUpdate() throws TimeoutException {
+		FxToolkit.setupFixture(() -> canvas.getDrawing().getSelection().addShape(farRec));
+		WaitForAsyncUtils.waitForFxEvents();
+		assertNotNull(canvas.getViewFromShape(farRec).get().getParent());
+	}
+
+	@Test
+	public void testSelectedViewAttached() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			canvas.getDrawing().getSelection().addShape(farRec);
+			canvas.updateViewportCulling();
+		});
+		assertNotNull(canvas.getViewFromShape(farRec).get().getParent());
+	}
+
+	@Test
+	public void testDisableCullingAttachesViewsInOrder() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			canvas.getDrawing().addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(-Canvas.ORIGIN.getX() + 50d,
+				-Canvas.ORIGIN.getY() + 50d), 10d, 10d));
+			canvas.setViewportCulling(false);
+		});
+		assertFalse(canvas.isViewportCulling());
+		assertEquals(canvas.getDrawing().getShapes(), getAttachedShapes());
+	}
+
+	@Test
+	public void testAddShapeAfterCulledView() throws TimeoutException {
+		final IRectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(-Canvas.ORIGIN.getX() + 50d,
+			-Canvas.ORIGIN.getY() + 50d), 10d, 10d);
+		FxToolkit.setupFixture(() -> canvas.getDrawing().addShape(rec, 1));
+		assertEquals(2, canvas.getViews().getChildren().size());
+		assertSame(rec, getAttachedShapes().get(1));
+	}
+
+	@Test
+	public void testRemoveDetachedView() throws TimeoutException {
+		FxToolkit.setupFixture(() -> canvas.getDrawing().removeShape(farRec));
+		assertFalse(canvas.getViewFromShape(farRec).isPresent());
+		FxToolkit.setupFixture(() -> canvas.setViewportCulling(false));
+		assertEquals(1, canvas.getViews().getChildren().size());
+	}
+
+	@Test
+	public void testAddRemoveShapesAtEndAfterCulledView() throws TimeoutException {
+		final IRectangle rec1 = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(-Canvas.ORIGIN.getX() + 50d,
+			-Canvas.ORIGIN.getY() + 50d), 10d, 10d);
+		final IRectangle rec2 = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(-Canvas.ORIGIN.getX() + 80d,
+			-Canvas.ORIGIN.getY() + 50d), 10d, 10d);
+		FxToolkit.setupFixture(() -> {
+			canvas.getDrawing().addShape(rec1);
+			canvas.getDrawing().addShape(rec2);
+			canvas.getDrawing().removeShape(rec1);
+		});
+		assertEquals(2, canvas.getViews().getChildren().size());
+		assertSame(visibleRec, getAttachedShapes().get(0));
+		assertSame(rec2, getAttachedShapes().get(1));
+	}
+
+	@Test
+	public void testAddShapeAfterViewAttachedBack() throws TimeoutException {
+		final IRectangle rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(-Canvas.ORIGIN.getX() + 50d,
+			-Canvas.ORIGIN.getY() + 50d), 10d, 10d);
+		FxToolkit.setupFixture(() -> {
+			canvas.getDrawing().addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(4000d, 4000d), 10d, 10d));
+			canvas.getDrawing().getSelection().addShape(farRec);
+			canvas.updateViewportCulling();
+			canvas.getDrawing().addShape(rec, 2);
+		});
+		assertEquals(Arrays.asList(visibleRec, farRec, rec), getAttachedShapes());
+	}
+}
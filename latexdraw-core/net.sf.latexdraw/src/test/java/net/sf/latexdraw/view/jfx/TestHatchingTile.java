@@ -0,0 +1,110 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.util.concurrent.TimeoutException;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TestHatchingTile {
+	@BeforeClass
+	public static void beforeClass() throws TimeoutException {
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Before
+	public void setUp() {
+		HatchingTile.clearCache();
+	}
+
+	private static HatchingTile getTile(final FillingStyle style, final double angle) throws TimeoutException {
+		return getTile(style, angle, Color.BLACK, Color.RED);
+	}
+
+	/**
+	 * Gets the tile in the JFX thread, where its image is drawn at once.
+	 */
+	private static HatchingTile getTile(final FillingStyle style, final double angle, final Color colour, final Color fillColour)
+		throws TimeoutException {
+		return FxToolkit.setupFixture(() -> HatchingTile.getTile(style, angle, 8d, 2d, colour, fillColour));
+	}
+
+	@Test
+	public void testSameTileForSameHatchings() throws TimeoutException {
+		assertSame(getTile(FillingStyle.VLINES, 0.3), getTile(FillingStyle.VLINES, 0.3));
+		assertEquals(1, HatchingTile.getCacheSize());
+	}
+
+	@Test
+	public void testOtherTileForOtherHatchings() throws TimeoutException {
+		assertNotSame(getTile(FillingStyle.VLINES, 0.3), getTile(FillingStyle.VLINES, 0.4));
+		assertNotSame(getTile(FillingStyle.VLINES, 0.3), getTile(FillingStyle.HLINES, 0.3));
+		assertNotSame(getTile(FillingStyle.VLINES, 0.3), getTile(FillingStyle.VLINES, 0.3, Color.BLUE, Color.RED));
+	}
+
+	@Test
+	public void testFillColourIgnoredWhenNotFilled() throws TimeoutException {
+		assertSame(getTile(FillingStyle.VLINES, 0.3), getTile(FillingStyle.VLINES, 0.3, Color.BLACK, Color.GREEN));
+		assertNotSame(getTile(FillingStyle.VLINES_PLAIN, 0.3),
+			getTile(FillingStyle.VLINES_PLAIN, 0.3, Color.BLACK, Color.GREEN));
+	}
+
+	@Test
+	public void testCacheBounded() throws TimeoutException {
+		for(int i = 0; i < 200; i++) {
+			getTile(FillingStyle.VLINES, i / 100d);
+		}
+		assertFalse(HatchingTile.getCacheSize() > 64);
+	}
+
+	@Test
+	public void testVerticalTile() throws TimeoutException {
+		final HatchingTile tile = getTile(FillingStyle.VLINES, 0d);
+		assertEquals(10d, tile.getTileWidth(), 0.000001);
+		assertEquals(10, (int) tile.getImage().getWidth());
+	}
+
+	@Test
+	public void testHorizontalTile() throws TimeoutException {
+		final HatchingTile tile = getTile(FillingStyle.HLINES, 0d);
+		assertEquals(10d, tile.getTileHeight(), 0.000001);
+	}
+
+	@Test
+	public void testDiagonalTile() throws TimeoutException {
+		final HatchingTile tile = getTile(FillingStyle.VLINES, Math.PI / 4d);
+		assertEquals(10d * Math.sqrt(2d), tile.getTileWidth(), 0.000001);
+		assertEquals(10d * Math.sqrt(2d), tile.getTileHeight(), 0.000001);
+	}
+
+	@Test
+	public void testCrossedTileSquare() throws TimeoutException {
+		final HatchingTile tile = getTile(FillingStyle.CLINES, Math.toRadians(30d));
+		assertEquals(tile.getTileWidth(), tile.getTileHeight(), 0.000001);
+	}
+
+	@Test
+	public void testPatternAnchored() throws TimeoutException {
+		final ImagePattern pattern = getTile(FillingStyle.VLINES, 0d).createPattern(12d, 34d);
+		assertEquals(12d, pattern.getX(), 0.000001);
+		assertEquals(34d, pattern.getY(), 0.000001);
+		assertFalse(pattern.isProportional());
+	}
+
+	@Test
+	public void testTileCachedOnceDrawnOutOfJFXThread() {
+		final HatchingTile tile = HatchingTile.getTile(FillingStyle.VLINES, 0.3, 8d, 2d, Color.BLACK, Color.RED);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(1, HatchingTile.getCacheSize());
+		assertSame(tile, HatchingTile.getTile(FillingStyle.VLINES, 0.3, 8d, 2d, Color.BLACK, Color.RED));
+	}
+}
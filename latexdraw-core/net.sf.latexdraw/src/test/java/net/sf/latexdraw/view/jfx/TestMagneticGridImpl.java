@@ -0,0 +1,112 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.util.concurrent.TimeoutException;
+import javafx.geometry.Bounds;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import net.sf.latexdraw.view.GridStyle;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestMagneticGridImpl {
+	Canvas canvas;
+	ScrollPane scrollPane;
+	MagneticGridImpl grid;
+
+	@BeforeClass
+	public static void beforeClass() throws TimeoutException {
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Before
+	public void setUp() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			canvas = new Canvas();
+			scrollPane = new ScrollPane(canvas);
+			new Scene(scrollPane, 400d, 300d);
+			scrollPane.applyCss();
+			scrollPane.layout();
+			grid = (MagneticGridImpl) canvas.getMagneticGrid();
+			grid.setGridStyle(GridStyle.CUSTOMISED);
+			grid.setGridSpacing(10);
+			grid.update();
+		});
+	}
+
+	private boolean hasVerticalLineAt(final double x) {
+		return hasVerticalLineAt(grid.mainLines, x);
+	}
+
+	private static boolean hasVerticalLineAt(final Path path, final double x) {
+		return path.getElements().stream().anyMatch(elt -> elt instanceof MoveTo && Double.compare(((MoveTo) elt).getX(), x) == 0);
+	}
+
+	@Test
+	public void testOnlyLinesAroundViewportPainted() {
+		final int nbAllLines = (int) (canvas.getPrefWidth() / 10d + canvas.getPrefHeight() / 10d);
+		assertTrue(grid.mainLines.getElements().size() < nbAllLines);
+		assertTrue(grid.mainLines.getElements().size() > 0);
+	}
+
+	@Test
+	public void testLinesVisible() {
+		final Bounds vp = canvas.getViewportBounds(grid, 0d).get();
+		assertTrue(hasVerticalLineAt(Math.ceil(vp.getMinX() / 10d) * 10d));
+		assertTrue(hasVerticalLineAt(Math.floor(vp.getMaxX() / 10d) * 10d));
+	}
+
+	@Test
+	public void testLinesPaintedAfterScroll() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			scrollPane.setHvalue(scrollPane.getHmax());
+			scrollPane.layout();
+		});
+		WaitForAsyncUtils.waitForFxEvents();
+		assertTrue(hasVerticalLineAt(Math.floor(canvas.getPrefWidth() / 10d) * 10d));
+	}
+
+	@Test
+	public void testNoRepaintWhenViewportStillCovered() throws TimeoutException {
+		final Object elt = grid.mainLines.getElements().get(0);
+		FxToolkit.setupFixture(() -> grid.onViewportChanged());
+		assertEquals(elt, grid.mainLines.getElements().get(0));
+	}
+
+	@Test
+	public void testSubLinesPainted() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			grid.setGridStyle(GridStyle.STANDARD);
+			grid.update();
+		});
+		final double sub = canvas.getPPCDrawing() / 10d;
+		final Bounds vp = canvas.getViewportBounds(grid, 0d).get();
+		final double firstMain = Math.ceil(vp.getMinX() / canvas.getPPCDrawing()) * canvas.getPPCDrawing();
+		assertTrue(hasVerticalLineAt(firstMain));
+		assertTrue(hasVerticalLineAt(grid.subLines, firstMain + sub));
+		assertFalse(hasVerticalLineAt(firstMain + sub));
+		assertFalse(hasVerticalLineAt(grid.subLines, firstMain));
+		assertTrue(grid.subLines.getElements().stream().allMatch(elt -> elt instanceof MoveTo || elt instanceof LineTo));
+	}
+
+	@Test
+	public void testSubLinesLighterThanMainLines() {
+		assertNotEquals(grid.mainLines.getStroke(), grid.subLines.getStroke());
+		assertTrue(grid.subLines.getStrokeWidth() < grid.mainLines.getStrokeWidth());
+	}
+
+	@Test
+	public void testNoSubLinesWithCustomisedGrid() {
+		assertTrue(grid.subLines.getElements().isEmpty());
+	}
+}
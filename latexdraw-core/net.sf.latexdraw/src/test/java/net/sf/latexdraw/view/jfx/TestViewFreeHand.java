@@ -3,6 +3,7 @@ package net.sf.latexdraw.view.jfx;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
 import net.sf.latexdraw.models.ShapeFactory;
@@ -64,6 +65,46 @@ public class TestViewFreeHand extends TestViewBorderedShape<ViewFreeHand, IFreeh
 		assertNotEquals(border.getElements(), before);
 	}
 
+	private void assertSamePathThanNewView() {
+		final ViewFreeHand view2 = (ViewFreeHand) ViewFactory.INSTANCE.createView(model).get();
+		assertEquals(view2.border.getElements().stream().map(Object::toString).collect(Collectors.toList()),
+			border.getElements().stream().map(Object::toString).collect(Collectors.toList()));
+		view2.flush();
+	}
+
+	private void addPoints() {
+		for(int i = 0; i < 7; i++) {
+			model.addPoint(ShapeFactory.INST.createPoint(100d + i * 13d, 200d - i * 7d));
+			assertSamePathThanNewView();
+		}
+	}
+
+	@Test
+	public void testAddPointCurves() {
+		model.setType(FreeHandStyle.CURVES);
+		model.setInterval(3);
+		addPoints();
+	}
+
+	@Test
+	public void testAddPointLines() {
+		model.setType(FreeHandStyle.LINES);
+		model.setInterval(3);
+		addPoints();
+	}
+
+	@Test
+	public void testAddPointClosed() {
+		model.setOpen(false);
+		addPoints();
+	}
+
+	@Test
+	public void testAddPointShadowFollows() {
+		addPoints();
+		assertEquals(border.getElements(), view.getShadow().get().getElements());
+	}
+
 	@Override
 	@Test
 	public void testShadowPositionSameThanBorder() {
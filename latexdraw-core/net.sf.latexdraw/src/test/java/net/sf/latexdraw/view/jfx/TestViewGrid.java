@@ -20,6 +20,7 @@ import org.testfx.util.WaitForAsyncUtils;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TestViewGrid extends TestViewStdGrid<ViewGrid, IGrid> {
 	List<PathElement> mainGridBefore;
@@ -81,6 +82,38 @@ public class TestViewGrid extends TestViewStdGrid<ViewGrid, IGrid> {
 		assertEquals(mainGridBefore, view.getMaingrid().getElements());
 	}
 
+	@Test
+	public void testGridDotsElementsNotDependingOnNbDots() {
+		model.setGridDots(2);
+		WaitForAsyncUtils.waitForFxEvents();
+		final int size = view.getMaingrid().getElements().size();
+		model.setGridDots(50);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(size, view.getMaingrid().getElements().size());
+		assertEquals(2, view.getMaingrid().getStrokeDashArray().size());
+	}
+
+	@Test
+	public void testSubGridDotsElementsNotDependingOnNbDots() {
+		model.setSubGridDots(2);
+		WaitForAsyncUtils.waitForFxEvents();
+		final int size = view.getSubgrid().getElements().size();
+		model.setSubGridDots(50);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(size, view.getSubgrid().getElements().size());
+		assertEquals(2, view.getSubgrid().getStrokeDashArray().size());
+	}
+
+	@Test
+	public void testNoGridDotsNoDashes() {
+		model.setGridDots(10);
+		WaitForAsyncUtils.waitForFxEvents();
+		model.setGridDots(0);
+		WaitForAsyncUtils.waitForFxEvents();
+		assertTrue(view.getMaingrid().getStrokeDashArray().isEmpty());
+		assertEquals(mainGridBefore, view.getMaingrid().getElements());
+	}
+
 	@Test
 	public void testChangeSubGridDiv() {
 		model.setSubGridDiv(11);
@@ -1,23 +1,34 @@
 package net.sf.latexdraw.view.jfx;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import javafx.scene.shape.Ellipse;
+import java.util.stream.Collectors;
+import javafx.scene.Node;
+import javafx.scene.shape.ArcTo;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.CubicCurveTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
 import net.sf.latexdraw.models.ShapeFactory;
 import net.sf.latexdraw.models.interfaces.shape.DotStyle;
 import net.sf.latexdraw.models.interfaces.shape.IPlot;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
 import net.sf.latexdraw.models.interfaces.shape.PlotStyle;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
 
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -109,7 +120,9 @@ public class TestViewPlot extends TestViewShape<ViewPlot, IPlot> {
 	@Test
 	public void testOnChangeStyleDOTS() {
 		model.setPlotStyle(PlotStyle.DOTS);
-		assertTrue(view.getChildren().get(0) instanceof ViewDot);
+		assertEquals(2, view.getChildren().size());
+		assertTrue(view.getChildren().get(0) instanceof Path);
+		assertTrue(view.getChildren().get(1) instanceof Path);
 	}
 
 	@Test
@@ -132,38 +145,159 @@ public class TestViewPlot extends TestViewShape<ViewPlot, IPlot> {
 		assertTrue(view.getChildren().get(0) instanceof ViewBezierCurve);
 	}
 
+	@Test
+	public void testCurveViewReusedOnChange() {
+		final Node child = view.getChildren().get(0);
+		final PathElement elt = getCurvePath().get(1);
+		model.setYScale(model.getYScale() * 2d);
+		assertSame(child, view.getChildren().get(0));
+		assertSame(elt, getCurvePath().get(1));
+	}
+
+	@Test
+	public void testLineViewReusedOnStyleChange() {
+		model.setPlotStyle(PlotStyle.LINE);
+		final Node child = view.getChildren().get(0);
+		model.setPlotStyle(PlotStyle.CURVE);
+		model.setPlotStyle(PlotStyle.LINE);
+		assertSame(child, view.getChildren().get(0));
+		assertEquals(1, view.getChildren().size());
+	}
+
+	@Test
+	public void testLinePathNbElements() {
+		model.setPlotStyle(PlotStyle.LINE);
+		model.setNbPlottedPoints(33);
+		assertEquals(33, ((ViewPolyline) view.getChildren().get(0)).getBorder().getElements().size());
+	}
+
+	@Test
+	public void testPolygonPathClosed() {
+		model.setPlotStyle(PlotStyle.POLYGON);
+		final List<PathElement> elts = ((ViewPolygon) view.getChildren().get(0)).getBorder().getElements();
+		assertEquals(model.getNbPlottedPoints() + 1, elts.size());
+		assertTrue(elts.get(elts.size() - 1) instanceof ClosePath);
+	}
+
+	@Test
+	public void testAsyncSamplingUpdatesPath() throws TimeoutException {
+		model.setPlotStyle(PlotStyle.LINE);
+		model.setNbPlottedPoints(50);
+		view.setAsyncThreshold(40);
+		FxToolkit.setupFixture(() -> {
+			model.setPlotMaxX(20d);
+			model.setPlotEquation("x 2 mul");
+		});
+		// Created out of the JFX thread: sampled synchronously.
+		final ViewPolyline expected = (ViewPolyline) ((ViewPlot) ViewFactory.INSTANCE.createView(model.duplicate()).get()).getChildren().get(0);
+		final List<PathElement> expectedPath = duplicatePath(expected.getBorder().getElements());
+		final List<PathElement> path = ((ViewPolyline) view.getChildren().get(0)).getBorder().getElements();
+		WaitForAsyncUtils.waitFor(10, TimeUnit.SECONDS, () -> expectedPath.equals(duplicatePath(path)));
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(expectedPath, duplicatePath(path));
+	}
+
+	@Test
+	public void testAsyncThresholdPerView() {
+		final ViewPlot other = (ViewPlot) ViewFactory.INSTANCE.createView(model.duplicate()).get();
+		view.setAsyncThreshold(40);
+		assertEquals(40, view.getAsyncThreshold());
+		assertEquals(ViewPlot.DEFAULT_ASYNC_THRESHOLD, other.getAsyncThreshold());
+	}
+
+	/**
+	 * @return The border of a view of a plot of two points with the given style, created and then updated.
+	 */
+	private List<PathElement> createTwoPointsPlotPath(final PlotStyle style) {
+		final IPlot plot = createModel();
+		plot.setNbPlottedPoints(2);
+		plot.setPlotStyle(style);
+		final ViewPlot plotView = (ViewPlot) ViewFactory.INSTANCE.createView(plot).get();
+		plot.setPlotMaxX(20d);
+		return ((ViewPathShape<?>) plotView.getChildren().get(0)).getBorder().getElements();
+	}
+
+	@Test
+	public void testLineWithTwoPointsUpdated() {
+		final List<PathElement> path = createTwoPointsPlotPath(PlotStyle.LINE);
+		assertEquals(2, path.size());
+		assertEquals(20d * IShape.PPC, ((LineTo) path.get(1)).getX(), 0.0001);
+	}
+
+	@Test
+	public void testPolygonWithTwoPointsUpdated() {
+		final List<PathElement> path = createTwoPointsPlotPath(PlotStyle.POLYGON);
+		assertEquals(3, path.size());
+		assertEquals(20d * IShape.PPC, ((LineTo) path.get(1)).getX(), 0.0001);
+	}
+
+	@Test
+	public void testCurveWithTwoPointsUpdated() {
+		final List<PathElement> path = createTwoPointsPlotPath(PlotStyle.CURVE);
+		assertEquals(2, path.size());
+		assertEquals(20d * IShape.PPC, ((CubicCurveTo) path.get(1)).getX(), 0.0001);
+	}
+
+	private List<PathElement> getDotsCircles() {
+		return ((Path) view.getChildren().get(0)).getElements();
+	}
+
+	private List<PathElement> getDotsGlyphs() {
+		return ((Path) view.getChildren().get(1)).getElements();
+	}
+
 	@Test
 	public void testOnChangeDotDiametre() {
 		model.setPlotStyle(PlotStyle.DOTS);
-		final double before = ((Ellipse) ((ViewDot) view.getChildren().get(0)).getChildren().get(0)).getRadiusX();
+		model.setDotStyle(DotStyle.DOT);
+		final double before = ((ArcTo) getDotsCircles().get(1)).getRadiusX();
 		model.setDiametre(model.getDiametre() * 1.577);
-		assertNotEquals(before, ((Ellipse) ((ViewDot) view.getChildren().get(0)).getChildren().get(0)).getRadiusX());
+		assertNotEquals(before, ((ArcTo) getDotsCircles().get(1)).getRadiusX());
 	}
 
 	@Test
 	public void testOnChangeDotStyle() {
 		model.setPlotStyle(PlotStyle.DOTS);
-		final List<PathElement> before = ((Path) ((ViewDot) view.getChildren().get(0)).getChildren().get(1)).getElements();
+		model.setDotStyle(DotStyle.ASTERISK);
+		final List<PathElement> before = new ArrayList<>(getDotsGlyphs());
 		model.setDotStyle(DotStyle.FDIAMOND);
-		assertNotEquals(before, ((Path) ((ViewDot) view.getChildren().get(0)).getChildren().get(1)).getElements());
+		assertNotEquals(before, getDotsGlyphs());
 	}
 
+	@Test
+	public void testOnChangeDotStyleNoCircle() {
+		model.setPlotStyle(PlotStyle.DOTS);
+		model.setDotStyle(DotStyle.FDIAMOND);
+		assertTrue(getDotsCircles().isEmpty());
+		assertEquals(model.getNbPlottedPoints(), getDotsGlyphs().stream().filter(elt -> elt instanceof MoveTo).count());
+	}
+
+	@Test
+	public void testDotsPathsReusedOnChange() {
+		model.setPlotStyle(PlotStyle.DOTS);
+		final Node circles = view.getChildren().get(0);
+		model.setNbPlottedPoints(model.getNbPlottedPoints() + 10);
+		assertSame(circles, view.getChildren().get(0));
+	}
 
 	@Test
 	public void testOnDotNotSamePoints() {
 		model.setPlotStyle(PlotStyle.DOTS);
+		model.setDotStyle(DotStyle.DOT);
+		final List<MoveTo> moves = getDotsCircles().stream().filter(elt -> elt instanceof MoveTo).map(elt -> (MoveTo) elt).collect(Collectors.toList());
 		// Computing the number of different x
-		final int nbXDiff = (int) view.getChildren().stream().map(node -> ((ViewDot)node).dot.centerXProperty().get()).distinct().count();
+		final int nbXDiff = (int) moves.stream().map(elt -> elt.getX()).distinct().count();
 		// Computing the number of different y
-		final int nbYDiff = (int) view.getChildren().stream().map(node -> ((ViewDot)node).dot.centerYProperty().get()).distinct().count();
+		final int nbYDiff = (int) moves.stream().map(elt -> elt.getY()).distinct().count();
 		// The points of the plot must all differ
-		assertThat(view.getChildren().size(), anyOf(equalTo(nbXDiff), equalTo(nbYDiff)));
+		assertThat(moves.size(), anyOf(equalTo(nbXDiff), equalTo(nbYDiff)));
 	}
 
 	@Test
 	public void testOnDotNbPoints() {
 		model.setPlotStyle(PlotStyle.DOTS);
-		assertEquals(model.getNbPlottedPoints(), view.getChildren().size());
+		model.setDotStyle(DotStyle.DOT);
+		assertEquals(model.getNbPlottedPoints(), getDotsCircles().stream().filter(elt -> elt instanceof MoveTo).count());
 	}
 
 
@@ -0,0 +1,157 @@
+package net.sf.latexdraw.view.jfx;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import javafx.scene.paint.LinearGradient;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.FillingStyle;
+import net.sf.latexdraw.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.models.interfaces.shape.LineStyle;
+import net.sf.latexdraw.view.latex.DviPsColors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestViewsUpdater {
+	IRectangle rec;
+	ViewRectangle view;
+
+	@BeforeClass
+	public static void beforeClass() throws TimeoutException {
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Before
+	public void setUp() {
+		rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(10d, 20d), 100d, 50d);
+		view = (ViewRectangle) ViewFactory.INSTANCE.createView(rec).get();
+		WaitForAsyncUtils.waitForFxEvents();
+		ViewsUpdater.INSTANCE.resetStatistics();
+	}
+
+	@After
+	public void tearDown() {
+		view.flush();
+	}
+
+	@Test
+	public void testChangesInSamePulseRecomputedOnce() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			rec.setThickness(3d);
+			rec.setLineStyle(LineStyle.DASHED);
+			rec.setDashSepBlack(5d);
+			rec.setDashSepWhite(7d);
+			rec.setFillingStyle(FillingStyle.GRAD);
+			rec.setGradColStart(DviPsColors.APRICOT);
+			rec.setGradColEnd(DviPsColors.BITTERSWEET);
+		});
+		WaitForAsyncUtils.waitForFxEvents();
+		assertTrue(ViewsUpdater.INSTANCE.getNbInvalidations() >= 7L);
+		assertEquals(2L, ViewsUpdater.INSTANCE.getNbRecomputations());
+		assertEquals(2, ViewsUpdater.INSTANCE.getLastFrameRecomputations());
+		assertEquals(1L, ViewsUpdater.INSTANCE.getNbFrames());
+	}
+
+	@Test
+	public void testLastValuesUsed() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			rec.setThickness(3d);
+			rec.setLineStyle(LineStyle.DASHED);
+			rec.setDashSepBlack(5d);
+			rec.setDashSepWhite(7d);
+			rec.setFillingStyle(FillingStyle.GRAD);
+			rec.setGradColStart(DviPsColors.APRICOT);
+		});
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(3d, view.getBorder().getStrokeWidth(), 0.0001);
+		assertEquals(Arrays.asList(5d, 7d), view.getBorder().getStrokeDashArray());
+		assertEquals(DviPsColors.APRICOT.toJFX(), ((LinearGradient) view.getBorder().getFill()).getStops().get(0).getColor());
+	}
+
+	@Test
+	public void testUpdateViewsNow() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			rec.setThickness(4d);
+			ViewsUpdater.INSTANCE.updateViews();
+			assertEquals(4d, view.getBorder().getStrokeWidth(), 0.0001);
+		});
+	}
+
+	@Test
+	public void testFlushedViewNotUpdated() throws TimeoutException {
+		FxToolkit.setupFixture(() -> {
+			rec.setThickness(4d);
+			view.flush();
+		});
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(0L, ViewsUpdater.INSTANCE.getNbRecomputations());
+	}
+
+	@Test
+	public void testRecomputationsPerFrame() throws TimeoutException {
+		FxToolkit.setupFixture(() -> rec.setThickness(4d));
+		WaitForAsyncUtils.waitForFxEvents();
+		FxToolkit.setupFixture(() -> rec.setLineStyle(LineStyle.DOTTED));
+		WaitForAsyncUtils.waitForFxEvents();
+		assertTrue(ViewsUpdater.INSTANCE.getNbFrames() >= 2L);
+		assertEquals(ViewsUpdater.INSTANCE.getNbRecomputations() / (double) ViewsUpdater.INSTANCE.getNbFrames(), ViewsUpdater.INSTANCE.getRecomputationsPerFrame(), 0.0001);
+	}
+
+	/**
+	 * A view that counts its recomputations. The first one invalidates the recomputed part from the JFX thread
+	 * and, optionally, from another thread.
+	 */
+	private static class CountingView extends ViewShape<IRectangle> {
+		final boolean fromOtherThread;
+		int nbUpdates;
+
+		CountingView(final IRectangle sh, final boolean otherThread) {
+			super(sh);
+			fromOtherThread = otherThread;
+		}
+
+		@Override
+		protected void updateParts(final Set<Part> parts) {
+			nbUpdates++;
+			if(nbUpdates == 1) {
+				invalidate(Part.STROKE);
+			}
+			if(nbUpdates == 1 && fromOtherThread) {
+				final Thread thread = new Thread(() -> invalidate(Part.STROKE));
+				thread.start();
+				try {
+					thread.join();
+				}catch(final InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidationsOfRecomputationIgnored() throws TimeoutException {
+		final CountingView counting = new CountingView(rec, false);
+		FxToolkit.setupFixture(() -> counting.invalidate(ViewShape.Part.STROKE));
+		WaitForAsyncUtils.waitForFxEvents();
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(1, counting.nbUpdates);
+		counting.flush();
+	}
+
+	@Test
+	public void testInvalidationsFromOtherThreadDuringRecomputationKept() throws TimeoutException {
+		final CountingView counting = new CountingView(rec, true);
+		FxToolkit.setupFixture(() -> counting.invalidate(ViewShape.Part.STROKE));
+		WaitForAsyncUtils.waitForFxEvents();
+		WaitForAsyncUtils.waitForFxEvents();
+		assertEquals(2, counting.nbUpdates);
+		counting.flush();
+	}
+}
@@ -0,0 +1,99 @@
+package net.sf.latexdraw.view.pst;
+
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.IDrawing;
+import net.sf.latexdraw.models.interfaces.shape.IGroup;
+import net.sf.latexdraw.models.interfaces.shape.IRectangle;
+import net.sf.latexdraw.util.Injector;
+import net.sf.latexdraw.view.ViewsSynchroniserHandler;
+import net.sf.latexdraw.view.jfx.Canvas;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+public class TestPSTCodeGenerator {
+	IDrawing drawing;
+	PSTCodeGenerator gen;
+	IRectangle rec;
+
+	@Before
+	public void setUp() throws Exception {
+		final Injector injector = new Injector() {
+			@Override
+			protected void configure() throws IllegalAccessException, InstantiationException {
+				bindAsEagerSingleton(Canvas.class);
+				bindAsEagerSingleton(PSTCodeGenerator.class);
+				bindWithCommand(IDrawing.class, Canvas.class, canvas -> canvas.getDrawing());
+				bindWithCommand(ViewsSynchroniserHandler.class, Canvas.class, canvas -> canvas);
+			}
+		};
+		gen = injector.getInstance(PSTCodeGenerator.class);
+		drawing = injector.getInstance(IDrawing.class);
+		// Two shapes that define the bounds of the drawing, and so its origin.
+		drawing.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(0d, 0d), 10d, 10d));
+		drawing.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(500d, 500d), 10d, 10d));
+		rec = ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(100d, 100d), 50d, 20d);
+		drawing.addShape(rec);
+		for(int i = 0; i < 10; i++) {
+			drawing.addShape(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(200d + i, 200d), 20d, 20d));
+		}
+	}
+
+	@Test
+	public void testCodeNotRegeneratedWhenNotModified() {
+		final String code = gen.getDrawingCode();
+		final long nb = gen.getNbGeneratedShapes();
+		assertEquals(code, gen.getDrawingCode());
+		assertEquals(nb, gen.getNbGeneratedShapes());
+	}
+
+	@Test
+	public void testOnlyTranslatedShapeRegenerated() {
+		final String code = gen.getDrawingCode();
+		final long nb = gen.getNbGeneratedShapes();
+		rec.translate(10d, 10d);
+		assertNotEquals(code, gen.getDrawingCode());
+		assertEquals(nb + 1L, gen.getNbGeneratedShapes());
+	}
+
+	@Test
+	public void testModifiedShapeRegenerated() {
+		final String code = gen.getDrawingCode();
+		final long nb = gen.getNbGeneratedShapes();
+		rec.setThickness(rec.getThickness() * 2d);
+		rec.setModified(true);
+		assertNotEquals(code, gen.getDrawingCode());
+		assertEquals(nb + 1L, gen.getNbGeneratedShapes());
+	}
+
+	@Test
+	public void testModifiedShapeInGroupRegenerated() {
+		final IGroup group = ShapeFactory.INST.createGroup();
+		drawing.removeShape(rec);
+		group.addShape(rec);
+		drawing.addShape(group);
+		final String code = gen.getDrawingCode();
+		rec.translate(5d, 0d);
+		assertNotEquals(code, gen.getDrawingCode());
+	}
+
+	@Test
+	public void testRemovedShapeNotGenerated() {
+		final String code = gen.getDrawingCode();
+		drawing.removeShape(rec);
+		final String code2 = gen.getDrawingCode();
+		assertNotEquals(code, code2);
+		drawing.addShape(rec);
+		assertEquals(code.length(), gen.getDrawingCode().length());
+	}
+
+	@Test
+	public void testEmptyDrawing() {
+		gen.getDrawingCode();
+		drawing.clear();
+		assertFalse(gen.getDrawingCode().contains("psframe"));
+	}
+}
@@ -0,0 +1,143 @@
+package net.sf.latexdraw.view.svg;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.sf.latexdraw.HelperTest;
+import net.sf.latexdraw.badaboom.BadaboomCollector;
+import net.sf.latexdraw.models.ShapeFactory;
+import net.sf.latexdraw.models.interfaces.shape.DotStyle;
+import net.sf.latexdraw.models.interfaces.shape.IDot;
+import net.sf.latexdraw.models.interfaces.shape.IGrid;
+import net.sf.latexdraw.models.interfaces.shape.IPlot;
+import net.sf.latexdraw.models.interfaces.shape.IShape;
+import net.sf.latexdraw.models.interfaces.shape.PlotStyle;
+import net.sf.latexdraw.parsers.svg.SVGAttributes;
+import net.sf.latexdraw.parsers.svg.SVGDocument;
+import net.sf.latexdraw.parsers.svg.SVGElement;
+import net.sf.latexdraw.parsers.svg.SVGTextElement;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The JFX toolkit is not initialised by this test class: the SVG export must compute the elements from the models only.
+ */
+public class TestSVGShapesFactory {
+	static final int NB_DOTS = 20000;
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	List<IShape> shapes;
+
+	@Before
+	public void setUp() {
+		BadaboomCollector.INSTANCE.clear();
+		shapes = new ArrayList<>();
+		final DotStyle[] styles = DotStyle.values();
+
+		for(int i = 0; i < NB_DOTS; i++) {
+			final IDot dot = ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint(i % 200 * 5d, i / 200 * 5d));
+			dot.setDotStyle(styles[i % styles.length]);
+			shapes.add(dot);
+		}
+
+		final IPlot plot = ShapeFactory.INST.createPlot(ShapeFactory.INST.createPoint(), 0d, 10d, "x", false);
+		plot.setPlotStyle(PlotStyle.DOTS);
+		shapes.add(plot);
+		shapes.add(ShapeFactory.INST.createGrid(ShapeFactory.INST.createPoint()));
+		shapes.add(ShapeFactory.INST.createAxes(ShapeFactory.INST.createPoint()));
+		shapes.add(ShapeFactory.INST.createText(ShapeFactory.INST.createPoint(), "foo"));
+		shapes.add(ShapeFactory.INST.createRectangle(ShapeFactory.INST.createPoint(), 10d, 20d));
+		shapes.add(ShapeFactory.INST.createPolyline(Arrays.asList(ShapeFactory.INST.createPoint(), ShapeFactory.INST.createPoint(10d, 20d))));
+	}
+
+	@Test
+	public void testCreateSVGDocumentAllShapes() {
+		final SVGDocument doc = SVGShapesFactory.INSTANCE.createSVGDocument(shapes, null);
+		assertEquals(shapes.size(), ((SVGElement) doc.getFirstChild().getFirstChild()).getChildNodes().getLength());
+		assertTrue(HelperTest.getBadaboomMessages(), BadaboomCollector.INSTANCE.isEmpty());
+	}
+
+	@Test
+	public void testCreateSVGDocumentCallback() {
+		final int[] cpt = {0};
+		SVGShapesFactory.INSTANCE.createSVGDocument(shapes, () -> cpt[0]++);
+		assertEquals(shapes.size(), cpt[0]);
+	}
+
+	@Test
+	public void testCreateSVGDocumentDotGlyph() {
+		final IDot dot = ShapeFactory.INST.createDot(ShapeFactory.INST.createPoint());
+		dot.setDotStyle(DotStyle.OPLUS);
+		final SVGDocument doc = SVGShapesFactory.INSTANCE.createSVGDocument(Arrays.asList(dot), null);
+		final SVGElement elt = (SVGElement) doc.getFirstChild().getFirstChild().getFirstChild();
+		assertNotNull(elt);
+		// The circle and the path of the glyph.
+		assertEquals(2, elt.getChildNodes().getLength());
+	}
+
+	@Test
+	public void testSaveLargeDrawing() throws IOException {
+		final File file = folder.newFile("large.svg");
+		assertTrue(SVGShapesFactory.INSTANCE.createSVGDocument(shapes, null).saveSVGDocument(file.getPath()));
+		assertTrue(file.length() > 0L);
+		assertTrue(HelperTest.getBadaboomMessages(), BadaboomCollector.INSTANCE.isEmpty());
+	}
+
+	@Test
+	public void testGridLabelsCoordinates() {
+		final IGrid grid = ShapeFactory.INST.createGrid(ShapeFactory.INST.createPoint());
+		grid.setGridStart(-10d, -10d);
+		grid.setGridEnd(2d, 2d);
+		final List<SVGTextElement> texts = new ArrayList<>();
+		collectTexts(SVGShapesFactory.INSTANCE.createSVGElement(grid, new SVGDocument()), texts);
+		final Font font = new Font(Font.DIALOG, Font.PLAIN, grid.getLabelsSize());
+		final FontRenderContext frc = new FontRenderContext(null, true, true);
+
+		// The labels of the X axis, then the ones of the Y axis from the max Y.
+		assertEquals(26, texts.size());
+		final List<SVGTextElement> xLabels = texts.subList(0, 13);
+		final List<SVGTextElement> yLabels = texts.subList(13, 26);
+		assertEquals("-10", xLabels.get(0).getTextContent());
+		assertEquals("2", yLabels.get(0).getTextContent());
+
+		for(int i = 1; i < xLabels.size(); i++) {
+			assertTrue(getCoord(xLabels.get(i), SVGAttributes.SVG_X) > getCoord(xLabels.get(i - 1), SVGAttributes.SVG_X));
+			assertEquals(getCoord(xLabels.get(0), SVGAttributes.SVG_Y), getCoord(xLabels.get(i), SVGAttributes.SVG_Y), 0d);
+		}
+
+		// The labels of the Y axis are right-aligned on the west of the grid using the AWT metrics of the labels.
+		final double right = getCoord(yLabels.get(0), SVGAttributes.SVG_X) + font.getStringBounds(yLabels.get(0).getTextContent(), frc).getWidth();
+		for(int i = 1; i < yLabels.size(); i++) {
+			final SVGTextElement label = yLabels.get(i);
+			assertEquals(right, getCoord(label, SVGAttributes.SVG_X) + font.getStringBounds(label.getTextContent(), frc).getWidth(), 1d);
+			assertTrue(getCoord(label, SVGAttributes.SVG_Y) > getCoord(yLabels.get(i - 1), SVGAttributes.SVG_Y));
+		}
+	}
+
+	private static double getCoord(final SVGElement elt, final String attr) {
+		return Double.parseDouble(elt.getAttribute(attr));
+	}
+
+	private static void collectTexts(final Node node, final List<SVGTextElement> texts) {
+		if(node instanceof SVGTextElement) {
+			texts.add((SVGTextElement) node);
+		}
+		final NodeList children = node.getChildNodes();
+		for(int i = 0, size = children == null ? 0 : children.getLength(); i < size; i++) {
+			collectTexts(children.item(i), texts);
+		}
+	}
+}